@@ -0,0 +1,710 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/22/2018
+ * <p>
+ * PolynomialBenchmark.java : JMH benchmarks for the hot paths of Polynomial and Term over sizes from 10 to 10^6
+ * terms, for dense and sparse polynomials and for sorted and random insertion order.  Each group of benchmarks
+ * takes its inputs from one state class, whose parameters are the sizes, shapes and orders that group runs by
+ * default:
+ * <ul>
+ * <li>Operands     : the linear operations, 10 to 10^6 terms, dense and sparse.</li>
+ * <li>Insertion    : building a polynomial term by term, 10 to 10^5 terms, sorted and random order.</li>
+ * <li>Factors      : the multiplications that take either shape, 10 to 10^4 terms.</li>
+ * <li>DenseFactors : the dense only multiplications, division and GCD, 10 to 10^4 terms.</li>
+ * </ul>
+ * Other values can be given on the command line, for example -p size=100000 to run the quadratic cases further.
+ * Run with gradle jmh, see build.gradle.  When the vector source root is on the class path and the JVM runs with
+ * --add-modules jdk.incubator.vector, evaluateBatch uses the SIMD evaluator and evaluateBatchScalar times the
+ * scalar loops on the same input.
+ */
+package edu.miracosta.cs113;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBenchmark
+{
+    // Terms times points done by one evaluateBatch operation
+    private final static int EVALUATE_STEPS = 10000000;
+
+    // A prime the number theoretic transform does not use directly, so multiplyMod times the three prime path
+    private final static int MODULUS = 1000000007;
+
+    private final static String DENSE = "dense";
+    private final static String RANDOM = "random";
+
+    /**
+     * Inputs for the linear operations, two polynomials of the same size and shape and their other forms.
+     */
+    @State(Scope.Benchmark)
+    public static class Operands
+    {
+        @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+        public int size;
+
+        @Param({"dense", "sparse"})
+        public String shape;
+
+        Polynomial polyA;
+        Polynomial polyB;
+        Polynomial copyA;
+        BigPolynomial bigA;
+        BigPolynomial bigB;
+        String[] termStrings;
+        String text;
+        byte[] binary;
+        double[] points;
+        double[] values;
+
+        /**
+         * Builds the inputs once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            // local variables
+            int[] coefficients, exponents;
+
+            coefficients = randomCoefficients(this.size, this.size);
+            exponents = exponents(this.size, this.shape, this.size);
+            this.polyA = build(coefficients, exponents);
+            this.polyB = build(randomCoefficients(this.size, this.size + 1), exponents(this.size, this.shape,
+                    this.size + 1));
+            this.copyA = new Polynomial(this.polyA);
+            this.bigA = new BigPolynomial(this.polyA);
+            this.bigB = new BigPolynomial(this.polyB);
+            this.termStrings = termStrings(coefficients, exponents);
+            this.text = this.polyA.toString();
+            this.binary = toBinary(this.polyA);
+            this.points = points(this.size);
+            this.values = new double[this.points.length];
+        }
+    }
+
+    /**
+     * Terms to build a polynomial from, in sorted or random order.
+     */
+    @State(Scope.Benchmark)
+    public static class Insertion
+    {
+        @Param({"10", "100", "1000", "10000", "100000"})
+        public int size;
+
+        @Param({"dense", "sparse"})
+        public String shape;
+
+        @Param({"sorted", "random"})
+        public String order;
+
+        int[] coefficients;
+        int[] exponents;
+
+        /**
+         * Builds the terms once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.coefficients = randomCoefficients(this.size, this.size);
+            this.exponents = exponents(this.size, this.shape, this.size);
+            if (this.order.equals(RANDOM))
+            {
+                shuffle(this.exponents, this.size);
+            }
+        }
+    }
+
+    /**
+     * Factors for the multiplications that handle both shapes, small enough for the quadratic algorithms.
+     */
+    @State(Scope.Benchmark)
+    public static class Factors
+    {
+        @Param({"10", "100", "1000", "10000"})
+        public int size;
+
+        @Param({"dense", "sparse"})
+        public String shape;
+
+        Polynomial polyA;
+        Polynomial polyB;
+
+        /**
+         * Builds the factors once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            this.polyA = build(randomCoefficients(this.size, this.size), exponents(this.size, this.shape,
+                    this.size));
+            this.polyB = build(randomCoefficients(this.size, this.size + 1), exponents(this.size, this.shape,
+                    this.size + 1));
+        }
+    }
+
+    /**
+     * Dense factors for the multiplications over coefficient arrays, and a dividend and divisor whose quotient
+     * is exact.
+     */
+    @State(Scope.Benchmark)
+    public static class DenseFactors
+    {
+        @Param({"10", "100", "1000", "10000"})
+        public int size;
+
+        Polynomial polyA;
+        Polynomial polyB;
+        ModPolynomial modA;
+        ModPolynomial modB;
+        Polynomial dividend;
+        Polynomial divisor;
+        ModPolynomial modDividend;
+        ModPolynomial modDivisor;
+
+        /**
+         * Builds the factors once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            // local variables
+            int[] monic;
+
+            this.polyA = build(randomCoefficients(this.size, this.size), exponents(this.size, DENSE, this.size));
+            this.polyB = build(randomCoefficients(this.size, this.size + 1), exponents(this.size, DENSE,
+                    this.size + 1));
+            this.modA = new ModPolynomial(this.polyA, MODULUS);
+            this.modB = new ModPolynomial(this.polyB, MODULUS);
+
+            // a divisor leading with 1 divides any product exactly and takes the Newton path once large
+            monic = this.polyB.toDenseArray();
+            monic[monic.length - 1] = 1;
+            this.divisor = Polynomial.fromDense(monic, this.polyB.lowestExponent());
+            this.dividend = Polynomial.product(this.polyA, this.divisor);
+            this.modDividend = new ModPolynomial(this.dividend, MODULUS);
+            this.modDivisor = new ModPolynomial(this.divisor, MODULUS);
+        }
+    }
+
+    /**
+     * Turns the SIMD evaluator off for the benchmarks that use this state, and back on after them.
+     */
+    @State(Scope.Benchmark)
+    public static class ScalarOnly
+    {
+        /**
+         * Turns the SIMD evaluator off.
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            VectorSupport.setEnabled(false);
+        }
+
+        /**
+         * Turns the SIMD evaluator back on.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            VectorSupport.setEnabled(true);
+        }
+    }
+
+    /**
+     * Times building a polynomial with addTerm, one term at a time.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial addTerm(Insertion state)
+    {
+        return build(state.coefficients, state.exponents);
+    }
+
+    /**
+     * Times building a polynomial with Polynomial.Builder.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial builder(Insertion state)
+    {
+        return new Polynomial.Builder(state.size).addTerms(state.coefficients, state.exponents).build();
+    }
+
+    /**
+     * Times adding the terms to a ConcurrentPolynomialAccumulator from the threads of the common pool.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial accumulateParallel(Insertion state)
+    {
+        // local variables
+        ConcurrentPolynomialAccumulator accumulator;
+
+        accumulator = new ConcurrentPolynomialAccumulator(state.size);
+        IntStream.range(0, state.size).parallel()
+                .forEach(i -> accumulator.addTerm(state.coefficients[i], state.exponents[i]));
+        return accumulator.snapshot();
+    }
+
+    /**
+     * Times Polynomial.toString().
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public String polynomialToString(Operands state)
+    {
+        return state.polyA.toString();
+    }
+
+    /**
+     * Times Polynomial.sum.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial add(Operands state)
+    {
+        return Polynomial.sum(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times ParallelPolynomialOps.sum.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial addParallel(Operands state)
+    {
+        return ParallelPolynomialOps.getDefault().sum(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times BigPolynomial.sum.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public BigPolynomial addBig(Operands state)
+    {
+        return BigPolynomial.sum(state.bigA, state.bigB);
+    }
+
+    /**
+     * Times Polynomial.equals against a copy, which has to compare every term.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public boolean polynomialEquals(Operands state)
+    {
+        return state.polyA.equals(state.copyA);
+    }
+
+    /**
+     * Times Term(String) over the Term.toString() form of every term.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public int parseTerm(Operands state)
+    {
+        // local variables
+        int sum;
+
+        sum = 0;
+        for (String str : state.termStrings)
+        {
+            sum += new Term(str).getCoefficient();
+        }
+        return sum;
+    }
+
+    /**
+     * Times PolynomialParser.parse over the Polynomial.toString() form.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial parse(Operands state)
+    {
+        return PolynomialParser.parse(state.text);
+    }
+
+    /**
+     * Times Polynomial.writeBinary to memory.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public byte[] writeBinary(Operands state)
+    {
+        return toBinary(state.polyA);
+    }
+
+    /**
+     * Times Polynomial.readBinary from memory.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial readBinary(Operands state) throws IOException
+    {
+        return Polynomial.readBinary(new ByteArrayInputStream(state.binary));
+    }
+
+    /**
+     * Times Polynomial.evaluate(double) at one point.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public double evaluate(Operands state)
+    {
+        return state.polyA.evaluate(0.999);
+    }
+
+    /**
+     * Times Polynomial.evaluate(double[], double[]), with the SIMD evaluator when it is available.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public double[] evaluateBatch(Operands state)
+    {
+        state.polyA.evaluate(state.points, state.values);
+        return state.values;
+    }
+
+    /**
+     * Times Polynomial.evaluate(double[], double[]) with the SIMD evaluator turned off.
+     *
+     * @param state the inputs.
+     * @param scalar turns the SIMD evaluator off.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public double[] evaluateBatchScalar(Operands state, ScalarOnly scalar)
+    {
+        state.polyA.evaluate(state.points, state.values);
+        return state.values;
+    }
+
+    /**
+     * Times ParallelPolynomialOps.evaluate at one point.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public double evaluateParallel(Operands state)
+    {
+        return ParallelPolynomialOps.getDefault().evaluate(state.polyA, 0.999);
+    }
+
+    /**
+     * Times Polynomial.product, which picks the algorithm.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial multiply(Factors state)
+    {
+        return Polynomial.product(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times PolynomialMultiplier.multiplySparse.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial multiplySparse(Factors state)
+    {
+        return PolynomialMultiplier.multiplySparse(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times ParallelPolynomialOps.product.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial multiplyParallel(Factors state)
+    {
+        return ParallelPolynomialOps.getDefault().product(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times PolynomialMultiplier.multiplySchoolbook.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial multiplySchoolbook(DenseFactors state)
+    {
+        return PolynomialMultiplier.multiplySchoolbook(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times PolynomialMultiplier.multiplyKaratsuba with the default threshold.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial multiplyKaratsuba(DenseFactors state)
+    {
+        return PolynomialMultiplier.getDefault().multiplyKaratsuba(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times PolynomialMultiplier.multiplyNtt.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial multiplyNtt(DenseFactors state)
+    {
+        return PolynomialMultiplier.multiplyNtt(state.polyA, state.polyB);
+    }
+
+    /**
+     * Times ModPolynomial.product.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public ModPolynomial multiplyMod(DenseFactors state)
+    {
+        return ModPolynomial.product(state.modA, state.modB);
+    }
+
+    /**
+     * Times Polynomial.divideAndRemainder.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial divide(DenseFactors state)
+    {
+        return state.dividend.divideAndRemainder(state.divisor)[0];
+    }
+
+    /**
+     * Times ModPolynomial.divideAndRemainder.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public ModPolynomial divideMod(DenseFactors state)
+    {
+        return state.modDividend.divideAndRemainder(state.modDivisor)[0];
+    }
+
+    /**
+     * Times Polynomial.gcd.
+     *
+     * @param state the inputs.
+     * @return the result, so it is not optimized away.
+     */
+    @Benchmark
+    public Polynomial gcd(DenseFactors state)
+    {
+        // random polynomials are almost always coprime, so one prime settles the GCD
+        return state.polyA.gcd(state.polyB);
+    }
+
+    /**
+     * Builds a polynomial by adding terms one at a time in the given order.
+     *
+     * @param coefficients the coefficients.
+     * @param exponents    the exponents.
+     * @return the built polynomial.
+     */
+    private static Polynomial build(int[] coefficients, int[] exponents)
+    {
+        Polynomial temp = new Polynomial();
+
+        for (int i = 0; i < coefficients.length; i++)
+        {
+            temp.addTerm(coefficients[i], exponents[i]);
+        }
+        return temp;
+    }
+
+    /**
+     * Writes a polynomial in binary form to memory.
+     *
+     * @param poly the polynomial to write.
+     * @return the bytes written.
+     */
+    private static byte[] toBinary(Polynomial poly)
+    {
+        ByteArrayOutputStream temp = new ByteArrayOutputStream();
+
+        try
+        {
+            poly.writeBinary(temp);
+        } catch (IOException e)
+        {
+            // ByteArrayOutputStream never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toByteArray();
+    }
+
+    /**
+     * Points between -1 and 1 to evaluate at, fewer for large polynomials so a batch stays near 10^7 steps.
+     *
+     * @param size the number of terms.
+     * @return the points.
+     */
+    private static double[] points(int size)
+    {
+        Random random = new Random(size);
+        double[] temp = new double[Math.max(16, EVALUATE_STEPS / size)];
+
+        for (int i = 0; i < temp.length; i++)
+        {
+            temp[i] = random.nextDouble() * 2 - 1;
+        }
+        return temp;
+    }
+
+    /**
+     * Non zero coefficients between -1000 and 1000.
+     *
+     * @param size the number of coefficients.
+     * @param seed random seed.
+     * @return the coefficients.
+     */
+    private static int[] randomCoefficients(int size, long seed)
+    {
+        Random random = new Random(seed);
+        int[] temp = new int[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            do
+            {
+                temp[i] = random.nextInt(2001) - 1000;
+            }
+            while (temp[i] == 0);
+        }
+        return temp;
+    }
+
+    /**
+     * Distinct exponents from highest to lowest.  Dense fills every exponent from 0 to size - 1, sparse leaves
+     * random gaps averaging 64 exponents.
+     *
+     * @param size  the number of exponents.
+     * @param shape dense or sparse.
+     * @param seed  random seed.
+     * @return the exponents.
+     */
+    private static int[] exponents(int size, String shape, long seed)
+    {
+        Random random = new Random(seed);
+        int[] temp = new int[size];
+        int exponent = 0;
+
+        for (int i = size - 1; i >= 0; i--)
+        {
+            temp[i] = exponent;
+            exponent += shape.equals(DENSE) ? 1 : 1 + random.nextInt(127);
+        }
+        return temp;
+    }
+
+    /**
+     * Fisher-Yates shuffle.
+     *
+     * @param values the array to shuffle in place.
+     * @param seed   random seed.
+     * @return the shuffled array.
+     */
+    private static int[] shuffle(int[] values, long seed)
+    {
+        Random random = new Random(seed);
+        int swap, temp;
+
+        for (int i = values.length - 1; i > 0; i--)
+        {
+            swap = random.nextInt(i + 1);
+            temp = values[i];
+            values[i] = values[swap];
+            values[swap] = temp;
+        }
+        return values;
+    }
+
+    /**
+     * The Term.toString() form of every term.
+     *
+     * @param coefficients the coefficients.
+     * @param exponents    the exponents.
+     * @return one string per term.
+     */
+    private static String[] termStrings(int[] coefficients, int[] exponents)
+    {
+        String[] temp = new String[coefficients.length];
+
+        for (int i = 0; i < temp.length; i++)
+        {
+            temp[i] = new Term(coefficients[i], exponents[i]).toString();
+        }
+        return temp;
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 3/2/2018
+ * <p>
+ * BatchProcessor.java : runs polynomial jobs read line by line, for Driver --batch.  Each job writes exactly one
+ * line of output, so results line up with jobs:
+ * <pre>
+ *     add  p q      sum of p and q
+ *     mul  p q      product of p and q
+ *     eval p x      value of p at x, exact with wraparound for an integer x and no negative exponents,
+ *                   otherwise as a double
+ * </pre>
+ * Arguments are separated by whitespace, so polynomials are written without spaces, example
+ * "add 3x^4+2x^2+3x+7 2x^3+4x+5".  Blank lines and lines starting with '#' are skipped.  A job that can not be
+ * run writes "error line n: message" instead of a result and the batch carries on.
+ * Polynomial results are written in the grammar of PolynomialParser, so they can be fed back in as arguments.
+ * Unlike Polynomial.toString(), a constant 1 is written "1" rather than "+" and x^-1 is written "x^-1" rather
+ * than "x".
+ * Lines are copied into one reused char array and parsed in place, and results are streamed straight to the
+ * writer, so a job allocates little beyond its polynomials.
+ */
+package edu.miracosta.cs113;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+public final class BatchProcessor
+{
+    private final static String ADD = "add";
+    private final static String MULTIPLY = "mul";
+    private final static String EVALUATE = "eval";
+    private final static char COMMENT_SYMBOL = '#';
+    private final static int ARGUMENTS = 2;
+
+    // Class variables
+    private final BufferedReader in;
+    private final Writer out;
+    private char[] line;
+
+    // token bounds in line, filled by split
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+
+    /**
+     * Full constructor.
+     *
+     * @param in  where jobs are read from, one per line.
+     * @param out where results are written, one line per job.  Not flushed until run() returns.
+     */
+    public BatchProcessor(BufferedReader in, Writer out)
+    {
+        this.in = in;
+        this.out = out;
+        this.line = new char[256];
+        this.tokenStarts = new int[ARGUMENTS + 1];
+        this.tokenEnds = new int[ARGUMENTS + 1];
+    }
+
+    /**
+     * Runs every job until the input ends, then flushes the output.
+     *
+     * @return the number of jobs that wrote an error line.
+     * @throws IOException if reading or writing fails.
+     */
+    public int run() throws IOException
+    {
+        // local variables
+        String text;
+        int lineNumber, errors;
+
+        lineNumber = 0;
+        errors = 0;
+        while ((text = this.in.readLine()) != null)
+        {
+            lineNumber++;
+            try
+            {
+                this.runJob(text);
+            } catch (RuntimeException e)
+            {
+                // PolynomialFormatException, NumberFormatException and ArithmeticException all land here
+                this.out.write("error line " + lineNumber + ": " + e.getMessage());
+                this.out.write(System.lineSeparator());
+                errors++;
+            }
+        }
+        this.out.flush();
+        return errors;
+    }
+
+    /**
+     * Helper method, runs one job line.
+     *
+     * @param text the job line.
+     * @throws IOException              if writing fails.
+     * @throws IllegalArgumentException if the command is unknown or has the wrong number of arguments.
+     */
+    private void runJob(String text) throws IOException
+    {
+        // local variables
+        Polynomial result;
+        int count;
+
+        if (text.length() > this.line.length)
+        {
+            this.line = new char[Math.max(text.length(), this.line.length * 2)];
+        }
+        text.getChars(0, text.length(), this.line, 0);
+
+        count = this.split(text.length());
+        if (count == 0 || this.line[this.tokenStarts[0]] == COMMENT_SYMBOL)
+        {
+            return;
+        }
+        if (count != ARGUMENTS + 1)
+        {
+            throw new IllegalArgumentException("Expected a command and " + ARGUMENTS + " arguments");
+        }
+
+        if (this.isCommand(EVALUATE))
+        {
+            this.out.write(this.evaluate(this.parseToken(1), this.token(2)));
+        }
+        else if (this.isCommand(ADD))
+        {
+            result = this.parseToken(1);
+            result.add(this.parseToken(2));
+            this.write(result);
+        }
+        else if (this.isCommand(MULTIPLY))
+        {
+            this.write(Polynomial.product(this.parseToken(1), this.parseToken(2)));
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown command '" + this.token(0) + "'");
+        }
+        this.out.write(System.lineSeparator());
+    }
+
+    /**
+     * Helper method, writes a polynomial result so that PolynomialParser reads it back, see the class comment.
+     *
+     * @param polynomial the result.
+     * @throws IOException if writing fails.
+     */
+    private void write(Polynomial polynomial) throws IOException
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        boolean leading;
+
+        if (polynomial.getNumTerms() == 0)
+        {
+            this.out.write('0');
+            return;
+        }
+
+        cursor = polynomial.cursor();
+        leading = true;
+        while (cursor.next())
+        {
+            Term.appendParsableTerm(this.out, cursor.getCoefficient(), cursor.getExponent(), leading);
+            leading = false;
+        }
+    }
+
+    /**
+     * Helper method, evaluates a polynomial at a value, see the class comment.
+     *
+     * @param polynomial the polynomial.
+     * @param value      the text of the value.
+     * @return the value of the polynomial as text.
+     * @throws NumberFormatException if value is not a number.
+     */
+    private String evaluate(Polynomial polynomial, String value)
+    {
+        // local variables
+        long integer;
+
+        if (polynomial.getNumTerms() == 0 || polynomial.lowestExponent() >= 0)
+        {
+            try
+            {
+                integer = Long.parseLong(value);
+                return Long.toString(polynomial.evaluate(integer));
+            } catch (NumberFormatException e)
+            {
+                // not an integer, evaluated as a double below
+            }
+        }
+        return Double.toString(polynomial.evaluate(Double.parseDouble(value)));
+    }
+
+    /**
+     * Helper method, finds up to ARGUMENTS + 1 whitespace separated tokens in line.
+     *
+     * @param length the number of characters in line.
+     * @return the number of tokens, ARGUMENTS + 2 if there are more than ARGUMENTS + 1.
+     */
+    private int split(int length)
+    {
+        // local variables
+        int position, count;
+
+        position = 0;
+        count = 0;
+        while (true)
+        {
+            while (position < length && Character.isWhitespace(this.line[position]))
+            {
+                position++;
+            }
+            if (position == length)
+            {
+                return count;
+            }
+            if (count == this.tokenStarts.length)
+            {
+                return count + 1;
+            }
+
+            this.tokenStarts[count] = position;
+            while (position < length && !Character.isWhitespace(this.line[position]))
+            {
+                position++;
+            }
+            this.tokenEnds[count++] = position;
+        }
+    }
+
+    /**
+     * Helper method, parses a token as a polynomial without copying it.
+     *
+     * @param index the token number.
+     * @return a new Polynomial.
+     * @throws PolynomialFormatException if the token is not a polynomial, offsets are columns of the line.
+     */
+    private Polynomial parseToken(int index)
+    {
+        return PolynomialParser.parse(this.line, this.tokenStarts[index],
+                this.tokenEnds[index] - this.tokenStarts[index]);
+    }
+
+    /**
+     * Helper method, copies a token.
+     *
+     * @param index the token number.
+     * @return the token text.
+     */
+    private String token(int index)
+    {
+        return new String(this.line, this.tokenStarts[index], this.tokenEnds[index] - this.tokenStarts[index]);
+    }
+
+    /**
+     * Helper method, checks the command token without copying it.
+     *
+     * @param command the command name.
+     * @return true if the first token is command.
+     */
+    private boolean isCommand(String command)
+    {
+        // local variables
+        int start;
+
+        start = this.tokenStarts[0];
+        if (this.tokenEnds[0] - start != command.length())
+        {
+            return false;
+        }
+        for (int i = 0; i < command.length(); i++)
+        {
+            if (this.line[start + i] != command.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
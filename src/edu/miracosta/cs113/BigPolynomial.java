@@ -0,0 +1,886 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/26/2018
+ * <p>
+ * BigPolynomial.java : a polynomial whose coefficients never overflow.  Terms are kept from highest exponent to
+ * lowest in parallel arrays like the sparse form of Polynomial, with long coefficients.  Every long sum and product
+ * is checked, and a coefficient that no longer fits in a long is moved to a BigInteger for that term only, so
+ * polynomials with small coefficients never pay for BigInteger arithmetic.  A coefficient goes back to the long
+ * array when it fits again, so equal polynomials are always stored the same way.
+ * Polynomial keeps int coefficients that wrap around like int arithmetic, convert with BigPolynomial(Polynomial)
+ * and toPolynomial() where exact results are needed.
+ */
+package edu.miracosta.cs113;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+public class BigPolynomial
+{
+    private final static int DEFAULT_CAPACITY = 8;
+
+    // Products whose exponent range is at most this many slots per term pair are summed in a dense array
+    private final static int DENSE_PRODUCT_FILL = 4;
+    private final static int DENSE_PRODUCT_LIMIT = 1 << 24;
+
+    // Longs whose magnitude is below 2^31 can be multiplied without overflow
+    private final static long SAFE_FACTOR = 1L << 31;
+
+    // Class variables
+    // bigCoefficients is null until a coefficient does not fit in a long, then bigCoefficients[i] is non null
+    // exactly when coefficient i is held there instead of in coefficients[i]
+    private long[] coefficients;
+    private BigInteger[] bigCoefficients;
+    private int[] exponents;
+    private int numTerms;
+
+    /**
+     * Default constructor, creates a polynomial with no terms.
+     */
+    public BigPolynomial()
+    {
+        this.setEmpty();
+    }
+
+    /**
+     * Copy constructor, copies the terms of a polynomial with int coefficients.
+     *
+     * @param polynomial the polynomial to copy.
+     */
+    public BigPolynomial(Polynomial polynomial)
+    {
+        // local variables
+        int[] intCoefficients;
+
+        this.setEmpty();
+        if (polynomial.getNumTerms() > 0)
+        {
+            intCoefficients = new int[polynomial.getNumTerms()];
+            this.exponents = new int[intCoefficients.length];
+            this.coefficients = new long[intCoefficients.length];
+            polynomial.copyTerms(intCoefficients, this.exponents);
+
+            for (int i = 0; i < intCoefficients.length; i++)
+            {
+                this.coefficients[i] = intCoefficients[i];
+            }
+            this.numTerms = intCoefficients.length;
+        }
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param polynomial the polynomial to copy.
+     */
+    public BigPolynomial(BigPolynomial polynomial)
+    {
+        this.coefficients = polynomial.coefficients.clone();
+        this.bigCoefficients = polynomial.bigCoefficients == null ? null : polynomial.bigCoefficients.clone();
+        this.exponents = polynomial.exponents.clone();
+        this.numTerms = polynomial.numTerms;
+    }
+
+    /**
+     * Adds the given polynomial to this polynomial, no coefficient ever overflows.
+     *
+     * @param polynomial the polynomial to add to this one.
+     */
+    public void add(BigPolynomial polynomial)
+    {
+        this.assign(sum(this, polynomial));
+    }
+
+    /**
+     * Adds a polynomial with int coefficients to this polynomial, no coefficient ever overflows.
+     *
+     * @param polynomial the polynomial to add to this one.
+     */
+    public void add(Polynomial polynomial)
+    {
+        this.add(new BigPolynomial(polynomial));
+    }
+
+    /**
+     * Returns the sum of two polynomials without modifying either one.  Runs in O(n + m).
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new BigPolynomial holding the sum.
+     */
+    public static BigPolynomial sum(BigPolynomial polyA, BigPolynomial polyB)
+    {
+        // local variables
+        BigPolynomial result;
+        int indexA, indexB;
+
+        result = new BigPolynomial();
+        result.ensureCapacity(polyA.numTerms + polyB.numTerms);
+        indexA = 0;
+        indexB = 0;
+
+        while (indexA < polyA.numTerms || indexB < polyB.numTerms)
+        {
+            if (indexB == polyB.numTerms
+                    || (indexA < polyA.numTerms && polyA.exponents[indexA] > polyB.exponents[indexB]))
+            {
+                result.append(polyA, indexA++);
+            }
+            else if (indexA == polyA.numTerms || polyA.exponents[indexA] < polyB.exponents[indexB])
+            {
+                result.append(polyB, indexB++);
+            }
+            else
+            {
+                // matching exponents, the term is dropped when coefficients cancel out
+                result.append(polyA, indexA++);
+                result.accumulate(result.numTerms - 1, polyB, indexB++);
+                if (result.isZero(result.numTerms - 1))
+                {
+                    result.numTerms--;
+                    result.clearBig(result.numTerms);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies this polynomial by the given polynomial, the product replaces the terms of this polynomial.
+     *
+     * @param polynomial the polynomial to multiply this polynomial by.
+     * @throws ArithmeticException if a product exponent does not fit in an int.
+     */
+    public void multiply(BigPolynomial polynomial)
+    {
+        this.assign(product(this, polynomial));
+    }
+
+    /**
+     * Returns the product of two polynomials without modifying either one, no coefficient ever overflows.
+     * Products with a small exponent range are summed in a dense array, others are split into rows of the
+     * shorter operand that are added back together in halves.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new BigPolynomial holding the product.
+     * @throws ArithmeticException if a product exponent does not fit in an int.
+     */
+    public static BigPolynomial product(BigPolynomial polyA, BigPolynomial polyB)
+    {
+        // local variables
+        long span;
+
+        if (polyA.numTerms == 0 || polyB.numTerms == 0)
+        {
+            return new BigPolynomial();
+        }
+
+        // keep the shorter operand as rows
+        if (polyA.numTerms > polyB.numTerms)
+        {
+            BigPolynomial temp = polyA;
+            polyA = polyB;
+            polyB = temp;
+        }
+
+        Math.addExact(polyA.exponents[0], polyB.exponents[0]);
+        Math.addExact(polyA.exponents[polyA.numTerms - 1], polyB.exponents[polyB.numTerms - 1]);
+
+        span = (long) polyA.exponents[0] - polyA.exponents[polyA.numTerms - 1]
+                + polyB.exponents[0] - polyB.exponents[polyB.numTerms - 1] + 1;
+        if (span <= DENSE_PRODUCT_LIMIT && span <= (long) polyA.numTerms * polyB.numTerms * DENSE_PRODUCT_FILL)
+        {
+            return productDense(polyA, polyB, (int) span);
+        }
+        return productRows(polyA, 0, polyA.numTerms, polyB);
+    }
+
+    /**
+     * Adds a term to this polynomial, combining it with a term of the same exponent.
+     *
+     * @param coefficient the coefficient of the term, nothing is added if 0.
+     * @param exponent    the exponent of the term.
+     */
+    public void addTerm(long coefficient, int exponent)
+    {
+        // local variables
+        int index;
+
+        if (coefficient == 0)
+        {
+            return;
+        }
+
+        index = this.indexOfExponent(exponent);
+        if (index >= 0)
+        {
+            this.accumulate(index, coefficient, null);
+            this.removeIfZero(index);
+        }
+        else
+        {
+            index = -index - 1;
+            this.insertAt(index, exponent);
+            this.coefficients[index] = coefficient;
+        }
+    }
+
+    /**
+     * Adds a term with a coefficient of any size to this polynomial, combining it with a term of the same
+     * exponent.
+     *
+     * @param coefficient the coefficient of the term, nothing is added if 0.
+     * @param exponent    the exponent of the term.
+     */
+    public void addTerm(BigInteger coefficient, int exponent)
+    {
+        // local variables
+        int index;
+
+        if (coefficient.signum() == 0)
+        {
+            return;
+        }
+        if (coefficient.bitLength() < Long.SIZE)
+        {
+            this.addTerm(coefficient.longValue(), exponent);
+            return;
+        }
+
+        index = this.indexOfExponent(exponent);
+        if (index >= 0)
+        {
+            this.accumulate(index, 0, coefficient);
+            this.removeIfZero(index);
+        }
+        else
+        {
+            index = -index - 1;
+            this.insertAt(index, exponent);
+            this.store(index, coefficient);
+        }
+    }
+
+    /**
+     * Adds a term to this polynomial, combining it with a term of the same exponent.
+     *
+     * @param termToAdd the term to add, nothing is added if its coefficient is 0.
+     */
+    public void addTerm(Term termToAdd)
+    {
+        this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+    }
+
+    /**
+     * Removes every term from this polynomial.
+     */
+    public void clear()
+    {
+        this.setEmpty();
+    }
+
+    /**
+     * The term count accessor for this polynomial.
+     *
+     * @return the number of terms.
+     */
+    public int getNumTerms()
+    {
+        return this.numTerms;
+    }
+
+    /**
+     * Coefficient accessor, terms are numbered from highest exponent to lowest.
+     *
+     * @param index the index of the term, 0 up to getNumTerms() - 1.
+     * @return the coefficient of that term.
+     * @throws IndexOutOfBoundsException if index is not the index of a term.
+     */
+    public BigInteger getCoefficient(int index)
+    {
+        this.checkIndex(index);
+        return this.coefficientAt(index);
+    }
+
+    /**
+     * Exponent accessor, terms are numbered from highest exponent to lowest.
+     *
+     * @param index the index of the term, 0 up to getNumTerms() - 1.
+     * @return the exponent of that term.
+     * @throws IndexOutOfBoundsException if index is not the index of a term.
+     */
+    public int getExponent(int index)
+    {
+        this.checkIndex(index);
+        return this.exponents[index];
+    }
+
+    /**
+     * Checks if every coefficient fits in an int, so toPolynomial() gives the exact same terms.
+     *
+     * @return true if every coefficient is between Integer.MIN_VALUE and Integer.MAX_VALUE.
+     */
+    public boolean fitsInt()
+    {
+        if (this.bigCoefficients != null)
+        {
+            for (int i = 0; i < this.numTerms; i++)
+            {
+                if (this.bigCoefficients[i] != null)
+                {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            if (this.coefficients[i] != (int) this.coefficients[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies this polynomial into a polynomial with int coefficients.
+     *
+     * @return a new Polynomial with the same terms.
+     * @throws ArithmeticException if a coefficient does not fit in an int.
+     */
+    public Polynomial toPolynomial()
+    {
+        // local variables
+        int[] intCoefficients, intExponents;
+
+        if (!this.fitsInt())
+        {
+            throw new ArithmeticException("Coefficient does not fit in an int");
+        }
+
+        intCoefficients = new int[this.numTerms];
+        intExponents = Arrays.copyOf(this.exponents, this.numTerms);
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            intCoefficients[i] = (int) this.coefficients[i];
+        }
+        return Polynomial.fromSparse(intCoefficients, intExponents, this.numTerms);
+    }
+
+    /**
+     * Compares equality of two polynomials, both must hold the same terms.
+     *
+     * @param other object to compare this polynomial against.
+     * @return true if other is a BigPolynomial with the same terms.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        // local variables
+        BigPolynomial polynomial;
+
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof BigPolynomial))
+        {
+            return false;
+        }
+
+        polynomial = (BigPolynomial) other;
+        if (this.numTerms != polynomial.numTerms)
+        {
+            return false;
+        }
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            if (this.exponents[i] != polynomial.exponents[i] || this.coefficients[i] != polynomial.coefficients[i]
+                    || !this.bigAt(i).equals(polynomial.bigAt(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash code consistent with equals(Object).
+     *
+     * @return the hash code of the terms.
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = 1;
+
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            hash = 31 * hash + this.exponents[i];
+            hash = 31 * hash + (this.isLong(i) ? Long.hashCode(this.coefficients[i])
+                    : this.bigCoefficients[i].hashCode());
+        }
+        return hash;
+    }
+
+    /**
+     * toString method for polynomial, the same form as Polynomial.toString().
+     *
+     * @return String with all terms in polynomial.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder temp = new StringBuilder(Term.textCapacity(this.numTerms));
+
+        try
+        {
+            this.writeTo(temp);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
+
+    /**
+     * Writes this polynomial in the same form as toString() term by term, see Polynomial.writeTo(Appendable).
+     *
+     * @param out where to write the polynomial.
+     * @throws IOException if out throws IOException.
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
+        if (this.numTerms == 0)
+        {
+            out.append('0');
+            return;
+        }
+
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            if (this.bigCoefficients != null && this.bigCoefficients[i] != null)
+            {
+                Term.appendTerm(out, this.bigCoefficients[i], this.exponents[i], i == 0);
+            }
+            else
+            {
+                Term.appendTerm(out, this.coefficients[i], this.exponents[i], i == 0);
+            }
+        }
+    }
+
+    /**
+     * Helper method for product, sums every term pair product in a dense array of long accumulators, moving an
+     * accumulator to BigInteger only when it overflows.
+     *
+     * @param polyA the first polynomial, with at least 1 term.
+     * @param polyB the second polynomial, with at least 1 term.
+     * @param span  the number of exponents from the lowest to the highest product exponent.
+     * @return a new BigPolynomial holding the product.
+     */
+    private static BigPolynomial productDense(BigPolynomial polyA, BigPolynomial polyB, int span)
+    {
+        // local variables
+        BigPolynomial result;
+        long[] sums;
+        BigInteger[] bigSums;
+        long coefficientA, coefficientB, product, sum;
+        int high, slot;
+
+        high = polyA.exponents[0] + polyB.exponents[0];
+        sums = new long[span];
+        bigSums = null;
+
+        for (int i = 0; i < polyA.numTerms; i++)
+        {
+            for (int j = 0; j < polyB.numTerms; j++)
+            {
+                slot = high - polyA.exponents[i] - polyB.exponents[j];
+                coefficientA = polyA.coefficients[i];
+                coefficientB = polyB.coefficients[j];
+
+                if (polyA.isLong(i) && polyB.isLong(j) && fitsProduct(coefficientA, coefficientB))
+                {
+                    product = coefficientA * coefficientB;
+                    sum = sums[slot] + product;
+
+                    // same overflow test as Math.addExact, without the exception
+                    if (((sums[slot] ^ sum) & (product ^ sum)) >= 0)
+                    {
+                        sums[slot] = sum;
+                        continue;
+                    }
+                }
+
+                if (bigSums == null)
+                {
+                    bigSums = new BigInteger[span];
+                }
+                // the long part so far moves into the BigInteger part along with this product
+                bigSums[slot] = (bigSums[slot] == null ? BigInteger.ZERO : bigSums[slot])
+                        .add(BigInteger.valueOf(sums[slot]))
+                        .add(polyA.coefficientAt(i).multiply(polyB.coefficientAt(j)));
+                sums[slot] = 0;
+            }
+        }
+
+        result = new BigPolynomial();
+        result.ensureCapacity(span);
+        for (slot = 0; slot < span; slot++)
+        {
+            if (bigSums != null && bigSums[slot] != null)
+            {
+                // a sum that came back into the long range is stored as a long again
+                bigSums[slot] = bigSums[slot].add(BigInteger.valueOf(sums[slot]));
+                if (bigSums[slot].signum() != 0)
+                {
+                    result.exponents[result.numTerms] = high - slot;
+                    result.store(result.numTerms++, bigSums[slot]);
+                }
+            }
+            else if (sums[slot] != 0)
+            {
+                result.exponents[result.numTerms] = high - slot;
+                result.coefficients[result.numTerms++] = sums[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method for product, multiplies the terms from up to to of polyA by polyB one row at a time and adds
+     * the rows back together in halves, so each term is merged O(log(rows)) times.
+     *
+     * @param polyA the polynomial whose terms make the rows.
+     * @param from  the first term of polyA.
+     * @param to    one past the last term of polyA.
+     * @param polyB the polynomial every row is multiplied by.
+     * @return a new BigPolynomial holding the partial product.
+     */
+    private static BigPolynomial productRows(BigPolynomial polyA, int from, int to, BigPolynomial polyB)
+    {
+        // local variables
+        BigPolynomial row;
+        int middle;
+
+        if (to - from > 1)
+        {
+            middle = (from + to) >>> 1;
+            return sum(productRows(polyA, from, middle, polyB), productRows(polyA, middle, to, polyB));
+        }
+
+        row = new BigPolynomial();
+        row.ensureCapacity(polyB.numTerms);
+        for (int j = 0; j < polyB.numTerms; j++)
+        {
+            row.exponents[j] = polyA.exponents[from] + polyB.exponents[j];
+            if (polyA.isLong(from) && polyB.isLong(j) && fitsProduct(polyA.coefficients[from], polyB.coefficients[j]))
+            {
+                row.coefficients[j] = polyA.coefficients[from] * polyB.coefficients[j];
+            }
+            else
+            {
+                row.store(j, polyA.coefficientAt(from).multiply(polyB.coefficientAt(j)));
+            }
+        }
+        row.numTerms = polyB.numTerms;
+        return row;
+    }
+
+    /**
+     * Helper method, checks if the product of two longs can not overflow, without dividing.  Some products that
+     * would fit are sent to BigInteger as well, which is still exact.
+     *
+     * @param a the first factor.
+     * @param b the second factor.
+     * @return true if a * b fits in a long.
+     */
+    private static boolean fitsProduct(long a, long b)
+    {
+        if (a > -SAFE_FACTOR && a < SAFE_FACTOR && b > -SAFE_FACTOR && b < SAFE_FACTOR)
+        {
+            return true;
+        }
+        // |a| < 2^(64 - leading zeros of |a|), the product magnitude stays below 2^63
+        return a != Long.MIN_VALUE && b != Long.MIN_VALUE
+                && Long.numberOfLeadingZeros(Math.abs(a)) + Long.numberOfLeadingZeros(Math.abs(b)) > Long.SIZE;
+    }
+
+    /**
+     * Helper method, adds a long or BigInteger value to the coefficient at index, moving it to BigInteger if
+     * the long sum overflows and back to long if the sum fits again.
+     *
+     * @param index the term to add to.
+     * @param value the value to add when big is null.
+     * @param big   the value to add, or null to add value.
+     */
+    private void accumulate(int index, long value, BigInteger big)
+    {
+        if (big == null && this.isLong(index))
+        {
+            try
+            {
+                this.coefficients[index] = Math.addExact(this.coefficients[index], value);
+                return;
+            } catch (ArithmeticException e)
+            {
+                // overflowed, finish in BigInteger below
+            }
+        }
+        this.store(index, this.coefficientAt(index).add(big == null ? BigInteger.valueOf(value) : big));
+    }
+
+    /**
+     * Helper method for sum, adds the coefficient of a term of another polynomial to the coefficient at index.
+     *
+     * @param index the term to add to.
+     * @param other the polynomial holding the term to add.
+     * @param term  the index of the term in other.
+     */
+    private void accumulate(int index, BigPolynomial other, int term)
+    {
+        this.accumulate(index, other.coefficients[term], other.isLong(term) ? null : other.bigCoefficients[term]);
+    }
+
+    /**
+     * Helper method for sum, copies a term of another polynomial to the end of this one.
+     * Precondition - there is room for the term and its exponent is below every exponent of this polynomial.
+     *
+     * @param other the polynomial holding the term.
+     * @param term  the index of the term in other.
+     */
+    private void append(BigPolynomial other, int term)
+    {
+        this.exponents[this.numTerms] = other.exponents[term];
+        if (other.isLong(term))
+        {
+            this.coefficients[this.numTerms] = other.coefficients[term];
+        }
+        else
+        {
+            this.store(this.numTerms, other.bigCoefficients[term]);
+        }
+        this.numTerms++;
+    }
+
+    /**
+     * Helper method, stores a coefficient as a long when it fits, otherwise as a BigInteger.
+     *
+     * @param index the term to store the coefficient of.
+     * @param value the coefficient.
+     */
+    private void store(int index, BigInteger value)
+    {
+        if (value.bitLength() < Long.SIZE)
+        {
+            this.coefficients[index] = value.longValue();
+            this.clearBig(index);
+        }
+        else
+        {
+            if (this.bigCoefficients == null)
+            {
+                this.bigCoefficients = new BigInteger[this.coefficients.length];
+            }
+            this.coefficients[index] = 0;
+            this.bigCoefficients[index] = value;
+        }
+    }
+
+    /**
+     * Helper method, checks if the coefficient at index is held in the long array.
+     *
+     * @param index the term.
+     * @return true if the coefficient is a long.
+     */
+    private boolean isLong(int index)
+    {
+        return this.bigCoefficients == null || this.bigCoefficients[index] == null;
+    }
+
+    /**
+     * Helper method, checks if the coefficient at index is zero.
+     *
+     * @param index the term.
+     * @return true if the coefficient is 0.
+     */
+    private boolean isZero(int index)
+    {
+        return this.isLong(index) && this.coefficients[index] == 0;
+    }
+
+    /**
+     * Helper method, the coefficient at index as a BigInteger.
+     *
+     * @param index the term.
+     * @return the coefficient.
+     */
+    private BigInteger coefficientAt(int index)
+    {
+        return this.isLong(index) ? BigInteger.valueOf(this.coefficients[index]) : this.bigCoefficients[index];
+    }
+
+    /**
+     * Helper method for equals, the BigInteger part of the coefficient at index.
+     *
+     * @param index the term.
+     * @return the BigInteger coefficient, or zero when the coefficient is a long.
+     */
+    private BigInteger bigAt(int index)
+    {
+        return this.isLong(index) ? BigInteger.ZERO : this.bigCoefficients[index];
+    }
+
+    /**
+     * Helper method, marks the coefficient at index as a long.
+     *
+     * @param index the term.
+     */
+    private void clearBig(int index)
+    {
+        if (this.bigCoefficients != null)
+        {
+            this.bigCoefficients[index] = null;
+        }
+    }
+
+    /**
+     * Helper method, removes the term at index if its coefficient is zero.
+     *
+     * @param index the term.
+     */
+    private void removeIfZero(int index)
+    {
+        if (this.isZero(index))
+        {
+            System.arraycopy(this.coefficients, index + 1, this.coefficients, index, this.numTerms - index - 1);
+            System.arraycopy(this.exponents, index + 1, this.exponents, index, this.numTerms - index - 1);
+            if (this.bigCoefficients != null)
+            {
+                System.arraycopy(this.bigCoefficients, index + 1, this.bigCoefficients, index,
+                        this.numTerms - index - 1);
+            }
+            this.numTerms--;
+            this.coefficients[this.numTerms] = 0;
+            this.clearBig(this.numTerms);
+        }
+    }
+
+    /**
+     * Helper method, opens a slot for a new term with a zero coefficient.
+     *
+     * @param index    where the term goes.
+     * @param exponent the exponent of the term.
+     */
+    private void insertAt(int index, int exponent)
+    {
+        this.ensureCapacity(this.numTerms + 1);
+        System.arraycopy(this.coefficients, index, this.coefficients, index + 1, this.numTerms - index);
+        System.arraycopy(this.exponents, index, this.exponents, index + 1, this.numTerms - index);
+        if (this.bigCoefficients != null)
+        {
+            System.arraycopy(this.bigCoefficients, index, this.bigCoefficients, index + 1, this.numTerms - index);
+            this.bigCoefficients[index] = null;
+        }
+        this.coefficients[index] = 0;
+        this.exponents[index] = exponent;
+        this.numTerms++;
+    }
+
+    /**
+     * Helper method, binary search for an exponent in the exponents ordered from highest to lowest.
+     *
+     * @param exponent the exponent to find.
+     * @return the index of the term, or -(insertion point) - 1 if there is none.
+     */
+    private int indexOfExponent(int exponent)
+    {
+        // local variables
+        int low, high, middle;
+
+        low = 0;
+        high = this.numTerms - 1;
+        while (low <= high)
+        {
+            middle = (low + high) >>> 1;
+            if (this.exponents[middle] > exponent)
+            {
+                low = middle + 1;
+            }
+            else if (this.exponents[middle] < exponent)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Helper method, grows the arrays to hold at least the given number of terms.
+     *
+     * @param capacity the number of terms needed.
+     */
+    private void ensureCapacity(int capacity)
+    {
+        // local variables
+        int length;
+
+        if (capacity > this.coefficients.length)
+        {
+            length = Math.max(capacity, this.coefficients.length * 2);
+            this.coefficients = Arrays.copyOf(this.coefficients, length);
+            this.exponents = Arrays.copyOf(this.exponents, length);
+            if (this.bigCoefficients != null)
+            {
+                this.bigCoefficients = Arrays.copyOf(this.bigCoefficients, length);
+            }
+        }
+    }
+
+    /**
+     * Helper method, resets this polynomial to no terms.
+     */
+    private void setEmpty()
+    {
+        this.coefficients = new long[DEFAULT_CAPACITY];
+        this.bigCoefficients = null;
+        this.exponents = new int[DEFAULT_CAPACITY];
+        this.numTerms = 0;
+    }
+
+    /**
+     * Helper method, takes over the storage of a polynomial that is not used anywhere else.
+     *
+     * @param other the polynomial to take the terms from.
+     */
+    private void assign(BigPolynomial other)
+    {
+        this.coefficients = other.coefficients;
+        this.bigCoefficients = other.bigCoefficients;
+        this.exponents = other.exponents;
+        this.numTerms = other.numTerms;
+    }
+
+    /**
+     * Helper method, checks an index is the index of a term.
+     *
+     * @param index the index to check.
+     * @throws IndexOutOfBoundsException if it is not.
+     */
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= this.numTerms)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.numTerms);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/26/2018
+ * <p>
+ * ConcurrentPolynomialAccumulator.java : sums terms added by many threads at once.  Each exponent has its own
+ * LongAdder cell in a ConcurrentHashMap, so threads adding to different exponents never wait for each other and
+ * threads adding to the same exponent spread their updates over the cells of its LongAdder instead of fighting over
+ * one lock.  snapshot() sums the cells into an ordered Polynomial, and snapshotBig() into a BigPolynomial.
+ * A snapshot taken while terms are being added is not a single point in time, each exponent shows the terms added
+ * to it so far, the same guarantee as LongAdder.sum().  Sums are exact as long as no exponent gets 2^32 or more
+ * terms, snapshot() then wraps each sum around like int arithmetic the same way Polynomial.addTerm does.
+ */
+package edu.miracosta.cs113;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentPolynomialAccumulator
+{
+    private final static int DEFAULT_CAPACITY = 16;
+
+    // Class variables
+    private final ConcurrentHashMap<Integer, LongAdder> cells;
+
+    /**
+     * Default constructor, creates an accumulator with no terms.
+     */
+    public ConcurrentPolynomialAccumulator()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Sized constructor, creates an accumulator with no terms and room for some exponents before it has to grow.
+     *
+     * @param expectedExponents the number of different exponents expected, 0 or higher.
+     * @throws IllegalArgumentException if expectedExponents is negative.
+     */
+    public ConcurrentPolynomialAccumulator(int expectedExponents)
+    {
+        if (expectedExponents < 0)
+        {
+            throw new IllegalArgumentException("expected exponents " + expectedExponents + " is negative");
+        }
+        this.cells = new ConcurrentHashMap<>(Math.max(expectedExponents, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Adds a term, combining it with terms of the same exponent.  Safe to call from any number of threads.
+     *
+     * @param coefficient the coefficient of the term, nothing is added if 0.
+     * @param exponent    the exponent of the term.
+     */
+    public void addTerm(int coefficient, int exponent)
+    {
+        // local variables
+        LongAdder cell;
+
+        if (coefficient == 0)
+        {
+            return;
+        }
+
+        // a plain get does not lock, computeIfAbsent is only needed the first time an exponent is seen
+        cell = this.cells.get(exponent);
+        if (cell == null)
+        {
+            cell = this.cells.computeIfAbsent(exponent, key -> new LongAdder());
+        }
+        cell.add(coefficient);
+    }
+
+    /**
+     * Adds a term, combining it with terms of the same exponent.  Safe to call from any number of threads.
+     *
+     * @param termToAdd the term to add.
+     */
+    public void addTerm(Term termToAdd)
+    {
+        this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+    }
+
+    /**
+     * Adds every term of a polynomial.  Safe to call from any number of threads, as long as no thread changes the
+     * polynomial while it is added.
+     *
+     * @param polynomial the polynomial to add.
+     */
+    public void add(Polynomial polynomial)
+    {
+        polynomial.forEachTerm(this::addTerm);
+    }
+
+    /**
+     * Sums the terms added so far into a polynomial, each sum wrapped around like int arithmetic.
+     *
+     * @return a new Polynomial, ordered from highest exponent to lowest.
+     */
+    public Polynomial snapshot()
+    {
+        // local variables
+        int[] exponents;
+        int[] coefficients;
+        int[] sparseExponents;
+        int count;
+        int sum;
+
+        exponents = this.sortedExponents();
+        coefficients = new int[exponents.length];
+        sparseExponents = new int[exponents.length];
+        count = 0;
+        for (int i = exponents.length - 1; i >= 0; i--)
+        {
+            sum = (int) this.sumOf(exponents[i]);
+            if (sum != 0)
+            {
+                coefficients[count] = sum;
+                sparseExponents[count] = exponents[i];
+                count++;
+            }
+        }
+        return Polynomial.fromSparse(coefficients, sparseExponents, count);
+    }
+
+    /**
+     * Sums the terms added so far into a polynomial whose coefficients never overflow.
+     *
+     * @return a new BigPolynomial.
+     */
+    public BigPolynomial snapshotBig()
+    {
+        // local variables
+        int[] exponents;
+        BigPolynomial temp;
+
+        exponents = this.sortedExponents();
+        temp = new BigPolynomial();
+
+        // highest exponent first, so every term is appended at the end
+        for (int i = exponents.length - 1; i >= 0; i--)
+        {
+            temp.addTerm(this.sumOf(exponents[i]), exponents[i]);
+        }
+        return temp;
+    }
+
+    /**
+     * Removes every term.  Terms added by other threads while this runs may or may not be kept.
+     */
+    public void clear()
+    {
+        this.cells.clear();
+    }
+
+    /**
+     * Accessor for the number of exponents that have had terms added, including ones whose terms cancelled out.
+     *
+     * @return the number of exponents.
+     */
+    public int getNumExponents()
+    {
+        return this.cells.size();
+    }
+
+    /**
+     * Prints the terms added so far in the same form as Polynomial.toString().
+     *
+     * @return the snapshot as a string.
+     */
+    @Override
+    public String toString()
+    {
+        return this.snapshot().toString();
+    }
+
+    /**
+     * Copies the exponents that have cells, the map can grow while they are copied.
+     *
+     * @return the exponents in increasing order.
+     */
+    private int[] sortedExponents()
+    {
+        // local variables
+        int[] exponents;
+        int count;
+
+        exponents = new int[this.cells.size()];
+        count = 0;
+        for (Integer exponent : this.cells.keySet())
+        {
+            if (count == exponents.length)
+            {
+                exponents = Arrays.copyOf(exponents, 2 * count + 1);
+            }
+            exponents[count] = exponent;
+            count++;
+        }
+        exponents = count == exponents.length ? exponents : Arrays.copyOf(exponents, count);
+        Arrays.sort(exponents);
+        return exponents;
+    }
+
+    /**
+     * Sums the cell of one exponent.
+     *
+     * @param exponent the exponent.
+     * @return the sum, 0 if the cell was removed by clear() since its exponent was copied.
+     */
+    private long sumOf(int exponent)
+    {
+        // local variables
+        LongAdder cell;
+
+        cell = this.cells.get(exponent);
+        return cell == null ? 0 : cell.sum();
+    }
+}
@@ -5,6 +5,8 @@
  * Driver.java : This driver stores 2 polynomials which the user can edit then display the sum of their totals.
  * each polynomial can have terms added or removed as well as cleared. Once the use is satisfied
  * they can output the total without deleting the original polynomials that where created.
+ * Screens run one after another in a single loop, each returning the next screen, and all input is read from
+ * one BufferedReader so long or piped sessions neither grow the stack nor lose buffered input.
  **/
 
 /*  -------------- PSEUDOCODE -------------------------------------
@@ -87,8 +89,7 @@
         go back to editPolynomial
 
     --- displaySum(polyA: Polynomial, polyB: Polynomial) ---
-    create new Polynomial called polySum which is a copy of polyA
-    Add polyB to polyA  sum.add(polyB)
+    create new Polynomial called polySum = Polynomial.sum(polyA, polyB)
     Print "PolynomialA : " + polyA
     Print "PolynomialB : " + polyB
     Print " Sum : " + polySum
@@ -109,7 +110,14 @@
 
 package edu.miracosta.cs113;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 public class Driver
 {
@@ -117,220 +125,281 @@ public class Driver
     private static final String POLY_NAME_A = "Polynomial A: ";
     private static final String POLY_NAME_B = "Polynomial B: ";
     private static final int BUFFER_A = -8;
+    private static final String BATCH_OPTION = "--batch";
+    private static final String STANDARD_INPUT = "-";
+    private static final int BATCH_BUFFER = 1 << 16;
+    private static final Menu MAIN_OPTIONS =
+            new Menu(new String[]{"Edit Polynomial A", "Edit Polynomial B", "Display Sum", "Exit"});
+    private static final Menu EDIT_OPTIONS =
+            new Menu(new String[]{"Add Term", "Remove Term", "Clear Polynomial", "Main menu"});
+
+    /**
+     * The screens of the interactive driver.  Each screen method returns the next screen instead of calling it,
+     * so a session of any length runs in one loop with a constant call stack.
+     */
+    private enum State
+    {
+        MAIN_MENU, EDIT_POLYNOMIAL, ADD_TERM, REMOVE_TERM, CLEAR_POLYNOMIAL, DISPLAY_SUM, EXIT
+    }
 
     // Static
     private static Polynomial polyA, polyB;
-    private static Scanner keyboard;
+    private static BufferedReader keyboard;
+
+    // the polynomial being edited and its name
+    private static Polynomial currentPoly;
+    private static String currentName;
 
     /**
-     * Driver Starting point, prints author information and gets things started.
+     * Driver Starting point, prints author information and gets things started.  With --batch [file] it runs
+     * the jobs in file, or standard input when file is missing or "-", see BatchProcessor.
+     * The interactive driver ends when Exit is chosen or the input ends.
      *
-     * @param args arguments are not used.
+     * @param args optional --batch and job file.
      */
     public static void main(String[] args)
     {
+        // local variables
+        State state;
+
+        if (args.length > 0 && args[0].equals(BATCH_OPTION))
+        {
+            runBatch(args.length > 1 ? args[1] : STANDARD_INPUT);
+            return;
+        }
+
         // Instantiate variables
         polyA = new Polynomial();
         polyB = new Polynomial();
+        keyboard = new BufferedReader(new InputStreamReader(System.in));
 
         // Header
         ConsoleForm.printHeader(3, "Polynomials", "2/15/2018");
         ConsoleForm.printTitle(60, "----- Polynomial Driver -----");
 
-        // execute main menu
-        mainMenu();
+        // run screens until exit
+        state = State.MAIN_MENU;
+        try
+        {
+            while (state != State.EXIT)
+            {
+                state = runState(state);
+            }
+            keyboard.close();
+        } catch (EOFException e)
+        {
+            // input ended, same as choosing Exit
+            System.out.println();
+        } catch (IOException e)
+        {
+            System.err.println("Input failed: " + e.getMessage());
+            System.exit(2);
+        }
     }
 
     /**
-     * Main menu for Driver, allows user to manipulate polynomials and display their sum.
+     * Runs a batch of jobs with buffered input and output and no menus.  Exits with status 1 if any job failed
+     * and 2 if the jobs could not be read.
+     *
+     * @param fileName the job file, "-" for standard input.
      */
-    private static void mainMenu()
+    private static void runBatch(String fileName)
     {
-        // Declare
-        int userChoice;
-        String[] menuOptions;
-        Menu mainMenu;
-
-        // Initialize
-        menuOptions = new String[]{"Edit Polynomial A", "Edit Polynomial B", "Display Sum", "Exit"};
-        mainMenu = new Menu(menuOptions);
-        keyboard = new Scanner(System.in);
-
-        // Title
-        ConsoleForm.printTitle(60, "--- Main Menu ---");
+        // local variables
+        BufferedReader in;
+        Writer out;
+        int errors;
 
-        // Display polynomials
-        printPolynomial(POLY_NAME_A, polyA);
-        printPolynomial(POLY_NAME_B, polyB);
-        System.out.println();
+        try
+        {
+            in = fileName.equals(STANDARD_INPUT)
+                    ? new BufferedReader(new InputStreamReader(System.in), BATCH_BUFFER)
+                    : new BufferedReader(new FileReader(fileName), BATCH_BUFFER);
+            out = new BufferedWriter(new OutputStreamWriter(System.out), BATCH_BUFFER);
 
-        // Display menu
-        mainMenu.printOptions();
-        userChoice = mainMenu.prompt(keyboard);
-        executeMainMenuChoice(userChoice);
+            try
+            {
+                errors = new BatchProcessor(in, out).run();
+            } finally
+            {
+                in.close();
+            }
+        } catch (IOException e)
+        {
+            System.err.println("Batch failed: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
 
+        if (errors > 0)
+        {
+            System.exit(1);
+        }
     }
 
     /**
-     * Executes the selected option from mainMenu.
+     * Runs one screen.
      *
-     * @param choice the options the user selected.
+     * @param state the screen to run.
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void executeMainMenuChoice(int choice)
+    private static State runState(State state) throws IOException
     {
-        switch (choice)
+        switch (state)
         {
-            case 1:
-                editPolynomial(POLY_NAME_A, polyA);
-                break;
+            case MAIN_MENU:
+                return mainMenu();
 
-            case 2:
-                editPolynomial(POLY_NAME_B, polyB);
-                break;
+            case EDIT_POLYNOMIAL:
+                return editPolynomial();
 
-            case 3:
-                displaySum();
-                break;
+            case ADD_TERM:
+                return addTerm();
+
+            case REMOVE_TERM:
+                return removeTerm();
+
+            case CLEAR_POLYNOMIAL:
+                return clearPolynomial();
 
-            case 4:
-                keyboard.close();
-                System.exit(0);
+            case DISPLAY_SUM:
+                return displaySum();
 
             default:
-                System.out.println("Unknown State");
-                break;
+                return State.EXIT;
         }
     }
 
     /**
-     * Allows the user to edits polynomials by adding term, removing term, or clearing polynomial.
-     * final options is to go back to main menu.
+     * Main menu for Driver, allows user to manipulate polynomials and display their sum.
      *
-     * @param polyName for display purposes, the name of the polynomial to edit.
-     * @param poly     the refeerence to the polynomial to edit.
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void editPolynomial(String polyName, Polynomial poly)
+    private static State mainMenu() throws IOException
     {
-        // Declare local variables
-        String[] menuOptions;
-        Menu subMenu;
-        int userChoice;
-
-        // Initialize local variables
-        menuOptions = new String[]{"Add Term", "Remove Term", "Clear Polynomial", "Main menu"};
-        subMenu = new Menu(menuOptions);
-
-        // Print header
-        ConsoleForm.printTitle(60, "-- Edit Polynomial --");
+        // Title
+        ConsoleForm.printTitle(60, "--- Main Menu ---");
 
-        // print polynomial
-        printPolynomial(polyName, poly);
+        // Display polynomials
+        printPolynomial(POLY_NAME_A, polyA);
+        printPolynomial(POLY_NAME_B, polyB);
         System.out.println();
 
-        // print menu
-        subMenu.printOptions();
+        // Display menu
+        MAIN_OPTIONS.printOptions();
+        switch (MAIN_OPTIONS.prompt(keyboard))
+        {
+            case 1:
+                currentName = POLY_NAME_A;
+                currentPoly = polyA;
+                return State.EDIT_POLYNOMIAL;
+
+            case 2:
+                currentName = POLY_NAME_B;
+                currentPoly = polyB;
+                return State.EDIT_POLYNOMIAL;
 
-        // prompt for choice
-        userChoice = subMenu.prompt(keyboard);
+            case 3:
+                return State.DISPLAY_SUM;
 
-        executeEditPolynomialChoice(userChoice, poly, polyName);
+            default:
+                return State.EXIT;
+        }
     }
 
     /**
-     * Executes 1 of four choices.
-     * 1) allows user to add a term to given polynomial.
-     * 2) allows user to removed a term from given polynomial.
-     * 3) allows user to clear all terms in given polynomial.
+     * Allows the user to edits the current polynomial by adding term, removing term, or clearing polynomial.
+     * final options is to go back to main menu.
      *
-     * @param choice   The user choice to execute.
-     * @param poly     the referenced polynomial to edit.
-     * @param polyName the name of the polynomial we are editing.
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void executeEditPolynomialChoice(int choice, Polynomial poly, String polyName)
+    private static State editPolynomial() throws IOException
     {
-        switch (choice)
+        // Print header
+        ConsoleForm.printTitle(60, "-- Edit Polynomial --");
+
+        // print polynomial
+        printPolynomial(currentName, currentPoly);
+        System.out.println();
+
+        // print menu and prompt for choice
+        EDIT_OPTIONS.printOptions();
+        switch (EDIT_OPTIONS.prompt(keyboard))
         {
             case 1:
-                addTerm(polyName, poly);
-                break;
+                return State.ADD_TERM;
 
             case 2:
-                removeTerm(polyName, poly);
-                break;
+                return State.REMOVE_TERM;
 
             case 3:
-                clearPolynomial(polyName, poly);
-                break;
-
-            case 4:
-                mainMenu();
-                break;
+                return State.CLEAR_POLYNOMIAL;
 
             default:
-                System.out.println("Unknown State");
-                break;
+                return State.MAIN_MENU;
         }
     }
 
     /**
-     * Prompts for term values which are validated then added to given polynomial.
+     * Prompts for term values which are validated then added to the current polynomial.  Stays on this screen
+     * until an empty input goes back.
      *
-     * @param polyName The name of the polynomial we are adding to.
-     * @param poly     The polynomial reference to add term too.
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void addTerm(String polyName, Polynomial poly)
+    private static State addTerm() throws IOException
     {
         // Local variables
         String input;
         int coefficient, exponent;
 
-        // Initialize variables
-
-
         // Print information
         ConsoleForm.printTitle(60, "- Add Term -");
-        printPolynomial(polyName, poly);
+        printPolynomial(currentName, currentPoly);
 
         System.out.println("Leave input empty to go back.\n");
 
         // prompt user for Coefficient
         System.out.print("Enter term Coefficient: ");
-        input = keyboard.nextLine();
+        input = readLine();
 
         // check for empty string
         if (input.isEmpty())
         {
-            editPolynomial(polyName, poly);
+            return State.EDIT_POLYNOMIAL;
         }
         coefficient = validateInput("Enter a valid Coefficient value  ", input);
 
         // prompt user for Exponent
         System.out.print("Enter term Exponent: ");
-        input = keyboard.nextLine();
+        input = readLine();
 
         // check for empty string
         if (input.isEmpty())
         {
-            editPolynomial(polyName, poly);
+            return State.EDIT_POLYNOMIAL;
         }
         exponent = validateInput("Enter a valid Exponent value ", input);
 
         // Add term to polyNomial
-        poly.addTerm(new Term(coefficient, exponent));
+        currentPoly.addTerm(new Term(coefficient, exponent));
 
         // Start from top
-        addTerm(polyName, poly);
+        return State.ADD_TERM;
     }
 
     /**
-     * Removes a term from given polynomial, the user is able to select the index of the term to remove from
-     * polynomial. The term is then removed and polynomial is updated and user is prompted again until they
-     * chose to go back or polynomial is empty.
+     * Removes a term from the current polynomial, the user is able to select the index of the term to remove.
+     * The term is then removed and polynomial is updated and user is prompted again until they chose to go back
+     * or polynomial is empty.
      *
-     * @param polyName the name of the polynomial we are removing terms from.
-     * @param poly     the referenced polynomial to remove terms from.
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void removeTerm(String polyName, Polynomial poly)
+    private static State removeTerm() throws IOException
     {
         // local variables
         String input;
@@ -339,24 +408,23 @@ public class Driver
 
         // Print infomration
         ConsoleForm.printTitle(60, "- Remove Term -");
-        printFormattedPolynomial(polyName, poly);
-        printIndexes(poly);
+        printFormattedPolynomial(currentName, currentPoly);
+        printIndexes(currentPoly);
 
         System.out.println("Leave Blank to go back or");
         System.out.print("Enter a Term choice to remove: ");
-        input = keyboard.nextLine();
+        input = readLine();
         if (input.isEmpty())
         {
-            editPolynomial(polyName, poly);
+            return State.EDIT_POLYNOMIAL;
         }
-        else if (poly.getNumTerms() == 0)
+        else if (currentPoly.getNumTerms() == 0)
         {
             System.out.println("No move Terms to remove, going back!!!!");
-            editPolynomial(polyName, poly);
-
+            return State.EDIT_POLYNOMIAL;
         }
-        index = validateIndex(input, poly.getNumTerms());
-        removedTerm = poly.remove(index - 1);
+        index = validateIndex(input, currentPoly.getNumTerms());
+        removedTerm = currentPoly.remove(index - 1);
 
         if (removedTerm == null)
         {
@@ -367,53 +435,53 @@ public class Driver
             System.out.println(removedTerm + " was removed.");
         }
 
-        removeTerm(polyName, poly);
-
+        return State.REMOVE_TERM;
     }
 
     /**
-     * Prompts user if they want to remove all the terms in selected polynomial.
+     * Prompts user if they want to remove all the terms in the current polynomial.
      * If user selects "yes" the polynomial is cleared, if "no" polynomial is not cleared.
      * In both cases the user is then returned to edit polynomial menu.
      *
-     * @param polyName The polynomial name to display.
-     * @param poly     The polynomial to clear.
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void clearPolynomial(String polyName, Polynomial poly)
+    private static State clearPolynomial() throws IOException
     {
         String input;
-        System.out.print("This will remove all terms from " + polyName + ", are you sure(Y/N): ");
-        input = keyboard.nextLine();
+        System.out.print("This will remove all terms from " + currentName + ", are you sure(Y/N): ");
+        input = readLine();
         if (input.equalsIgnoreCase("y"))
         {
-            poly.clear();
-            System.out.println(polyName + " was cleared");
+            currentPoly.clear();
+            System.out.println(currentName + " was cleared");
         }
         else
         {
-            System.out.println(polyName + " was not cleared");
+            System.out.println(currentName + " was not cleared");
         }
 
-        editPolynomial(polyName, poly);
+        return State.EDIT_POLYNOMIAL;
     }
 
     /**
      * Displays the sum of both Polynomial A and Polynomial B without destroying the contents of original.
      * if both polynomials are empty the sum will reflect that. afterwards the user is prompted to enter
      * any key to return to main menu.
+     *
+     * @return the next screen.
+     * @throws IOException if the input fails or ends.
      */
-    private static void displaySum()
+    private static State displaySum() throws IOException
     {
         // local variable
-        String temp;
         Polynomial polySum;
 
         // Title
         ConsoleForm.printTitle(60, "- Display Sum -");
 
         // calculate
-        polySum = new Polynomial(polyA);
-        polySum.add(polyB);
+        polySum = Polynomial.sum(polyA, polyB);
 
         // display results
         printPolynomial(POLY_NAME_A, polyA);
@@ -423,8 +491,25 @@ public class Driver
 
         // Prompt use to continue
         System.out.print("Press any key to continue...");
-        temp = keyboard.nextLine();
-        mainMenu();
+        readLine();
+        return State.MAIN_MENU;
+    }
+
+    /**
+     * Reads one line from the shared reader.
+     *
+     * @return the line without its line terminator.
+     * @throws IOException if the input fails, EOFException if it has ended.
+     */
+    private static String readLine() throws IOException
+    {
+        String temp = keyboard.readLine();
+
+        if (temp == null)
+        {
+            throw new EOFException("End of input");
+        }
+        return temp;
     }
 
     /**
@@ -433,8 +518,9 @@ public class Driver
      * @param str      the string to parse/validate.
      * @param maxRange The max integer that str can be parsed as.
      * @return integer value parsed from str.
+     * @throws IOException if the input fails or ends.
      */
-    private static int validateIndex(String str, int maxRange)
+    private static int validateIndex(String str, int maxRange) throws IOException
     {
         String message = "Must enter a value of (1-" + maxRange + "): ";
         boolean notValid;
@@ -456,12 +542,12 @@ public class Driver
             } catch (IndexOutOfBoundsException e)
             {
                 System.out.print("Invalid Range, " + message);
-                str = keyboard.nextLine();
+                str = readLine();
                 System.out.println();
             } catch (NumberFormatException e)
             {
                 System.out.print("Invalid Input, " + message);
-                str = keyboard.nextLine();
+                str = readLine();
                 System.out.println();
             } catch (Exception e)
             {
@@ -503,21 +589,17 @@ public class Driver
      */
     private static void printFormattedPolynomial(String title, Polynomial polynomial)
     {
-        String temp, str;
-        int buffer;
+        final StringBuilder temp = new StringBuilder();
+        final String format = "%" + BUFFER_A + "s";
 
         if (polynomial.getNumTerms() == 0)
         {
-            temp = " - Empty - ";
+            temp.append(" - Empty - ");
         }
         else
         {
-            temp = "";
-            for (int i = 0; i < polynomial.getNumTerms(); i++)
-            {
-                temp += String.format("%" + BUFFER_A + "s", polynomial.getTerm(i));
-            }
-
+            polynomial.forEachTerm((coefficient, exponent) ->
+                    temp.append(String.format(format, Term.of(coefficient, exponent))));
         }
 
         System.out.println(String.format("%s%s", title, temp));
@@ -563,8 +645,9 @@ public class Driver
      * @param prompt The message to prompt if string not parsed to integer.
      * @param input  The string containing the value to parse.
      * @return A validated integer.
+     * @throws IOException if the input fails or ends.
      */
-    private static int validateInput(String prompt, String input)
+    private static int validateInput(String prompt, String input) throws IOException
     {
         // local variables
         boolean invalid;
@@ -584,7 +667,7 @@ public class Driver
             {
                 System.out.println("\nInvalid Input, only Integers allowed EX:(-45, 0, 56):");
                 System.out.print(prompt);
-                input = keyboard.nextLine();
+                input = readLine();
             }
         }
         return value;
@@ -0,0 +1,166 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/28/2018
+ * <p>
+ * MappedPolynomialReader.java : walks the terms of a binary polynomial file (see Polynomial.writeBinary) from
+ * highest exponent to lowest without loading them onto the heap.  The file is memory mapped a window at a time,
+ * so files larger than 2GB can be read, and only the pages being decoded need to be in memory.  Call next()
+ * before reading each term, like Polynomial.TermCursor.
+ */
+package edu.miracosta.cs113;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedPolynomialReader implements Closeable
+{
+    // Bytes mapped at a time, a window is moved along once fewer than a term's worth of bytes are left in it
+    private final static long WINDOW_SIZE = 1L << 28;
+
+    // Class variables
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private final int numTerms;
+    private final PolynomialCodec decoder;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int termsRead;
+
+    /**
+     * Full constructor, opens a file and reads its header.  The reader is placed before the first term.
+     *
+     * @param path the binary polynomial file.
+     * @throws IOException if the file can not be opened or does not start with a valid header.
+     */
+    public MappedPolynomialReader(Path path) throws IOException
+    {
+        this(path, WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor with the window size, used for testing window moves on small files.
+     *
+     * @param path       the binary polynomial file.
+     * @param windowSize the bytes mapped at a time, at least HEADER_BYTES + MAX_TERM_BYTES of PolynomialCodec.
+     * @throws IOException if the file can not be opened or does not start with a valid header.
+     */
+    MappedPolynomialReader(Path path, long windowSize) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        this.decoder = new PolynomialCodec();
+
+        try
+        {
+            this.fileSize = this.channel.size();
+            this.map(0);
+            this.numTerms = PolynomialCodec.readHeader(this.window);
+        } catch (IOException | RuntimeException e)
+        {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The term count accessor, from the file header.
+     *
+     * @return the number of terms in the file.
+     */
+    public int getNumTerms()
+    {
+        return this.numTerms;
+    }
+
+    /**
+     * Moves to the next term.
+     *
+     * @return false if there are no more terms.
+     * @throws IOException if the reader is closed, or the file ends early or holds an invalid term.
+     */
+    public boolean next() throws IOException
+    {
+        if (!this.channel.isOpen())
+        {
+            throw new ClosedChannelException();
+        }
+        if (this.termsRead == this.numTerms)
+        {
+            return false;
+        }
+
+        if (this.window.remaining() < PolynomialCodec.MAX_TERM_BYTES
+                && this.windowStart + this.window.limit() < this.fileSize)
+        {
+            this.map(this.windowStart + this.window.position());
+        }
+        this.decoder.next(this.window);
+        this.termsRead++;
+        return true;
+    }
+
+    /**
+     * Accessor for the coefficient of the current term.
+     *
+     * @return the coefficient, never 0.
+     */
+    public int getCoefficient()
+    {
+        return this.decoder.getCoefficient();
+    }
+
+    /**
+     * Accessor for the exponent of the current term.
+     *
+     * @return the exponent.
+     */
+    public int getExponent()
+    {
+        return this.decoder.getExponent();
+    }
+
+    /**
+     * Passes every remaining term to the consumer, from highest exponent to lowest.
+     *
+     * @param consumer receives the coefficient and exponent of each term.
+     * @throws IOException if the reader is closed, or the file ends early or holds an invalid term.
+     */
+    public void forEachTerm(TermConsumer consumer) throws IOException
+    {
+        while (this.next())
+        {
+            consumer.accept(this.decoder.getCoefficient(), this.decoder.getExponent());
+        }
+    }
+
+    /**
+     * Closes the file.  The mapped window is released once it is garbage collected.
+     *
+     * @throws IOException if the file can not be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.channel.close();
+    }
+
+    /**
+     * Helper method, maps the window starting at a file offset.
+     *
+     * @param start the file offset of the first byte of the window.
+     * @throws IOException if the file can not be mapped.
+     */
+    private void map(long start) throws IOException
+    {
+        this.windowStart = start;
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+                Math.min(this.windowSize, this.fileSize - start));
+    }
+}
@@ -10,6 +10,9 @@
 package edu.miracosta.cs113;
 
 // imports
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
 import java.util.Scanner;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -70,6 +73,18 @@ public class Menu
 		return temp;
 	}
 	
+	// METHOD: prompts the user for a choice within option range, throws EOFException once input ends
+	public int prompt(BufferedReader keyboard) throws IOException
+	{
+		int temp = 0;
+		String prompt;
+
+		prompt = String.format("Select an option (1 - %d): ", options.size());
+		temp = readInt(keyboard, prompt, options.size());
+
+		return temp;
+	}
+	
 	// METHOD: reads input from user wihting options range
 	private static int readInt(Scanner keyboard, String prompt, int maxRange)
 	{
@@ -103,6 +118,45 @@ public class Menu
 		}
 		while (isNotValid);
 
+		return result;
+	}
+	
+	// METHOD: reads input from user wihting options range, throws EOFException once input ends
+	private static int readInt(BufferedReader keyboard, String prompt, int maxRange) throws IOException
+	{
+		// Local variables
+		String temp;
+		boolean isNotValid;
+		int result;
+		
+		result = -1;	
+		isNotValid = false;
+
+		do
+		{
+			System.out.print(prompt);
+			temp = keyboard.readLine();
+			if (temp == null)
+			{
+				throw new EOFException("End of input");
+			}
+			try
+			{
+				result = Integer.parseInt(temp.trim());
+				isNotValid = result <= 0 || result > maxRange;
+			}
+			catch (NumberFormatException e)
+			{
+				isNotValid = true;
+			}
+
+			if (isNotValid)
+			{
+				System.out.println("Invalid Choice!!\n");
+			}
+		}
+		while (isNotValid);
+
 		return result;
 	}
 	
@@ -0,0 +1,1065 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/27/2018
+ * <p>
+ * ModPolynomial.java : a polynomial with coefficients modulo an odd prime p below 2^30.  Terms are kept from
+ * highest exponent to lowest in parallel arrays like the sparse form of Polynomial, every coefficient is a residue
+ * from 1 up to p - 1, and exponents may be negative like in Term.
+ * Products and evaluation multiply with Montgomery reduction (see Montgomery) so the inner loops never divide.
+ * Large dense products use the number theoretic transform: a single transform when p is one of its primes
+ * (998244353, 167772161 or 469762049), otherwise three transforms whose exact result is reduced modulo p.
+ */
+package edu.miracosta.cs113;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+public class ModPolynomial
+{
+    private final static int DEFAULT_CAPACITY = 8;
+    private final static int MAX_MODULUS = 1 << 30;
+
+    // Dense products whose shorter operand spans at least this many exponents use the transform
+    private final static int NTT_THRESHOLD = 64;
+
+    // Operands with at least 1 term per DENSE_FILL exponents are multiplied as dense arrays
+    private final static int DENSE_FILL = 8;
+
+    // Division uses a Newton inverse once the quotient and the divisor both span at least this many exponents
+    private final static int NEWTON_THRESHOLD = 4096;
+
+    // Dividends spanning more exponents than this are divided by merging instead of in dense arrays
+    private final static int MAX_DENSE_SPAN = 1 << 24;
+
+    // Class variables
+    private final Montgomery arithmetic;
+    private int[] coefficients;
+    private int[] exponents;
+    private int numTerms;
+
+    /**
+     * Full constructor, creates a polynomial with no terms.
+     *
+     * @param modulus an odd prime below 2^30.
+     * @throws IllegalArgumentException if modulus is not an odd prime below 2^30.
+     */
+    public ModPolynomial(int modulus)
+    {
+        if (modulus < 3 || modulus >= MAX_MODULUS || !BigInteger.valueOf(modulus).isProbablePrime(64))
+        {
+            throw new IllegalArgumentException("Modulus must be an odd prime below 2^30: " + modulus);
+        }
+        this.arithmetic = new Montgomery(modulus);
+        this.setEmpty();
+    }
+
+    /**
+     * Copy constructor, reduces the int coefficients of a polynomial modulo a prime.
+     *
+     * @param polynomial the polynomial to copy.
+     * @param modulus    an odd prime below 2^30.
+     * @throws IllegalArgumentException if modulus is not an odd prime below 2^30.
+     */
+    public ModPolynomial(Polynomial polynomial, int modulus)
+    {
+        this(modulus);
+
+        // local variables
+        int[] intCoefficients, intExponents;
+
+        intCoefficients = new int[polynomial.getNumTerms()];
+        intExponents = new int[intCoefficients.length];
+        polynomial.copyTerms(intCoefficients, intExponents);
+        this.ensureCapacity(intCoefficients.length);
+
+        for (int i = 0; i < intCoefficients.length; i++)
+        {
+            this.append(Math.floorMod(intCoefficients[i], modulus), intExponents[i]);
+        }
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param polynomial the polynomial to copy.
+     */
+    public ModPolynomial(ModPolynomial polynomial)
+    {
+        this.arithmetic = polynomial.arithmetic;
+        this.coefficients = polynomial.coefficients.clone();
+        this.exponents = polynomial.exponents.clone();
+        this.numTerms = polynomial.numTerms;
+    }
+
+    /**
+     * Private constructor sharing the arithmetic of another polynomial, creates a polynomial with no terms.
+     *
+     * @param arithmetic the Montgomery arithmetic for the modulus.
+     */
+    private ModPolynomial(Montgomery arithmetic)
+    {
+        this.arithmetic = arithmetic;
+        this.setEmpty();
+    }
+
+    /**
+     * Accessor for the modulus.
+     *
+     * @return the prime the coefficients are reduced by.
+     */
+    public int getModulus()
+    {
+        return this.arithmetic.getModulus();
+    }
+
+    /**
+     * Adds the given polynomial to this polynomial.
+     *
+     * @param polynomial the polynomial to add to this one, with the same modulus.
+     * @throws IllegalArgumentException if the moduli differ.
+     */
+    public void add(ModPolynomial polynomial)
+    {
+        this.assign(sum(this, polynomial));
+    }
+
+    /**
+     * Returns the sum of two polynomials without modifying either one.  Runs in O(n + m).
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial, with the same modulus.
+     * @return a new ModPolynomial holding the sum.
+     * @throws IllegalArgumentException if the moduli differ.
+     */
+    public static ModPolynomial sum(ModPolynomial polyA, ModPolynomial polyB)
+    {
+        // local variables
+        ModPolynomial result;
+        int indexA, indexB;
+
+        checkModulus(polyA, polyB);
+        result = new ModPolynomial(polyA.arithmetic);
+        result.ensureCapacity(polyA.numTerms + polyB.numTerms);
+        indexA = 0;
+        indexB = 0;
+
+        while (indexA < polyA.numTerms || indexB < polyB.numTerms)
+        {
+            if (indexB == polyB.numTerms
+                    || (indexA < polyA.numTerms && polyA.exponents[indexA] > polyB.exponents[indexB]))
+            {
+                result.append(polyA.coefficients[indexA], polyA.exponents[indexA++]);
+            }
+            else if (indexA == polyA.numTerms || polyA.exponents[indexA] < polyB.exponents[indexB])
+            {
+                result.append(polyB.coefficients[indexB], polyB.exponents[indexB++]);
+            }
+            else
+            {
+                // append leaves out a coefficient that cancelled to 0
+                result.append(result.arithmetic.add(polyA.coefficients[indexA++], polyB.coefficients[indexB]),
+                        polyB.exponents[indexB++]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies this polynomial by the given polynomial, the product replaces the terms of this polynomial.
+     *
+     * @param polynomial the polynomial to multiply this polynomial by, with the same modulus.
+     * @throws IllegalArgumentException if the moduli differ.
+     * @throws ArithmeticException      if a product exponent does not fit in an int.
+     */
+    public void multiply(ModPolynomial polynomial)
+    {
+        this.assign(product(this, polynomial));
+    }
+
+    /**
+     * Returns the product of two polynomials without modifying either one.  Dense operands are multiplied as
+     * coefficient arrays, by schoolbook with Montgomery products when short and by the number theoretic
+     * transform when long.  Sparse operands are multiplied term by term, one row per term of the shorter one.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial, with the same modulus.
+     * @return a new ModPolynomial holding the product.
+     * @throws IllegalArgumentException if the moduli differ.
+     * @throws ArithmeticException      if a product exponent does not fit in an int.
+     */
+    public static ModPolynomial product(ModPolynomial polyA, ModPolynomial polyB)
+    {
+        // local variables
+        long spanA, spanB;
+        int low;
+
+        checkModulus(polyA, polyB);
+        if (polyA.numTerms == 0 || polyB.numTerms == 0)
+        {
+            return new ModPolynomial(polyA.arithmetic);
+        }
+
+        Math.addExact(polyA.exponents[0], polyB.exponents[0]);
+        low = Math.addExact(polyA.exponents[polyA.numTerms - 1], polyB.exponents[polyB.numTerms - 1]);
+
+        spanA = (long) polyA.exponents[0] - polyA.exponents[polyA.numTerms - 1] + 1;
+        spanB = (long) polyB.exponents[0] - polyB.exponents[polyB.numTerms - 1] + 1;
+        if (spanA > (long) polyA.numTerms * DENSE_FILL || spanB > (long) polyB.numTerms * DENSE_FILL)
+        {
+            return polyA.numTerms <= polyB.numTerms ? productRows(polyA, 0, polyA.numTerms, polyB)
+                    : productRows(polyB, 0, polyB.numTerms, polyA);
+        }
+
+        return fromDense(polyA.arithmetic, polyA.multiplyDense(polyA.toDenseArray(), polyB.toDenseArray()), low);
+    }
+
+    /**
+     * Divides this polynomial by another with long division, without modifying either one.  The quotient q and
+     * remainder r satisfy this = q * divisor + r, where every exponent of r is below the highest exponent of
+     * divisor.  Every non zero residue has an inverse modulo a prime, so any divisor with a term divides.
+     * Short quotients are divided term by term, long ones through a Newton inverse of the reversed divisor built
+     * on product, O(M(n)) like multiplication.
+     *
+     * @param divisor the polynomial to divide by, with the same modulus.
+     * @return a new quotient at index 0 and a new remainder at index 1.
+     * @throws IllegalArgumentException if the moduli differ.
+     * @throws ArithmeticException      if divisor has no terms.
+     */
+    public ModPolynomial[] divideAndRemainder(ModPolynomial divisor)
+    {
+        // local variables
+        long quotientSpan, span;
+        int low;
+
+        checkModulus(this, divisor);
+        if (divisor.numTerms == 0)
+        {
+            throw new ArithmeticException("Division by a polynomial with no terms");
+        }
+        if (this.numTerms == 0 || this.exponents[0] < divisor.exponents[0])
+        {
+            return new ModPolynomial[]{new ModPolynomial(this.arithmetic), new ModPolynomial(this)};
+        }
+
+        low = Math.min(this.exponents[this.numTerms - 1], divisor.exponents[divisor.numTerms - 1]);
+        span = (long) this.exponents[0] - low + 1;
+        if (span > MAX_DENSE_SPAN)
+        {
+            return this.divideSparse(divisor);
+        }
+
+        quotientSpan = (long) this.exponents[0] - divisor.exponents[0] + 1;
+        if (quotientSpan >= NEWTON_THRESHOLD
+                && (long) divisor.exponents[0] - divisor.exponents[divisor.numTerms - 1] + 1 >= NEWTON_THRESHOLD)
+        {
+            return this.divideNewton(divisor, (int) quotientSpan);
+        }
+        return this.divideDense(divisor, low, (int) span);
+    }
+
+    /**
+     * Returns the monic greatest common divisor of this polynomial and another, without modifying either one.
+     * With negative exponents the power of x is the lower of the two lowest.  The GCD with a polynomial that
+     * has no terms is the other polynomial made monic.  Euclid's algorithm is used for small degrees and the
+     * half GCD for large ones, O(M(n) log n), see PolynomialGcd.
+     *
+     * @param polynomial the other polynomial, with the same modulus.
+     * @return a new ModPolynomial holding the GCD, leading coefficient 1 unless both have no terms.
+     * @throws IllegalArgumentException if the moduli differ.
+     */
+    public ModPolynomial gcd(ModPolynomial polynomial)
+    {
+        return PolynomialGcd.gcd(this, polynomial);
+    }
+
+    /**
+     * Adds a term to this polynomial, combining it with a term of the same exponent.
+     *
+     * @param coefficient the coefficient of the term, reduced modulo the prime.
+     * @param exponent    the exponent of the term.
+     */
+    public void addTerm(long coefficient, int exponent)
+    {
+        // local variables
+        int residue, index;
+
+        residue = (int) Math.floorMod(coefficient, (long) this.getModulus());
+        if (residue == 0)
+        {
+            return;
+        }
+
+        index = this.indexOfExponent(exponent);
+        if (index >= 0)
+        {
+            this.coefficients[index] = this.arithmetic.add(this.coefficients[index], residue);
+            if (this.coefficients[index] == 0)
+            {
+                this.removeAt(index);
+            }
+        }
+        else
+        {
+            this.insertAt(-index - 1, residue, exponent);
+        }
+    }
+
+    /**
+     * Adds a term to this polynomial, combining it with a term of the same exponent.
+     *
+     * @param termToAdd the term to add, its coefficient is reduced modulo the prime.
+     */
+    public void addTerm(Term termToAdd)
+    {
+        this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+    }
+
+    /**
+     * Evaluates this polynomial at x modulo the prime with Horner's method.  Gaps between exponents are crossed
+     * with one power of x, and every step is a Montgomery product so nothing is divided.  Negative exponents use
+     * the inverse of x.
+     *
+     * @param x the value of the variable.
+     * @return the value of this polynomial at x, from 0 up to getModulus() - 1.
+     * @throws ArithmeticException if there is a negative exponent and x is a multiple of the prime.
+     */
+    public int evaluate(long x)
+    {
+        // local variables
+        int residue, xMontgomery, result, lowest;
+        long gap;
+
+        if (this.numTerms == 0)
+        {
+            return 0;
+        }
+
+        residue = (int) Math.floorMod(x, (long) this.getModulus());
+        xMontgomery = this.arithmetic.toMontgomery(residue);
+
+        // result stays a plain value, a plain value times a Montgomery form value is the plain product
+        result = this.coefficients[0];
+        for (int i = 1; i < this.numTerms; i++)
+        {
+            gap = (long) this.exponents[i - 1] - this.exponents[i];
+            result = this.arithmetic.multiply(result,
+                    gap == 1 ? xMontgomery : this.arithmetic.powerMontgomery(xMontgomery, gap));
+            result = this.arithmetic.add(result, this.coefficients[i]);
+        }
+
+        lowest = this.exponents[this.numTerms - 1];
+        if (lowest < 0)
+        {
+            xMontgomery = this.arithmetic.toMontgomery(this.arithmetic.inverse(residue));
+        }
+        return this.arithmetic.multiply(result, this.arithmetic.powerMontgomery(xMontgomery, Math.abs((long) lowest)));
+    }
+
+    /**
+     * Removes every term from this polynomial.
+     */
+    public void clear()
+    {
+        this.setEmpty();
+    }
+
+    /**
+     * The term count accessor for this polynomial.
+     *
+     * @return the number of terms.
+     */
+    public int getNumTerms()
+    {
+        return this.numTerms;
+    }
+
+    /**
+     * Coefficient accessor, terms are numbered from highest exponent to lowest.
+     *
+     * @param index the index of the term, 0 up to getNumTerms() - 1.
+     * @return the coefficient of that term, from 1 up to getModulus() - 1.
+     * @throws IndexOutOfBoundsException if index is not the index of a term.
+     */
+    public int getCoefficient(int index)
+    {
+        this.checkIndex(index);
+        return this.coefficients[index];
+    }
+
+    /**
+     * Exponent accessor, terms are numbered from highest exponent to lowest.
+     *
+     * @param index the index of the term, 0 up to getNumTerms() - 1.
+     * @return the exponent of that term.
+     * @throws IndexOutOfBoundsException if index is not the index of a term.
+     */
+    public int getExponent(int index)
+    {
+        this.checkIndex(index);
+        return this.exponents[index];
+    }
+
+    /**
+     * Copies this polynomial into a polynomial with int coefficients, each one the residue from 1 up to
+     * getModulus() - 1.
+     *
+     * @return a new Polynomial with the same terms.
+     */
+    public Polynomial toPolynomial()
+    {
+        return Polynomial.fromSparse(Arrays.copyOf(this.coefficients, this.numTerms),
+                Arrays.copyOf(this.exponents, this.numTerms), this.numTerms);
+    }
+
+    /**
+     * Compares equality of two polynomials, both must have the same modulus and the same terms.
+     *
+     * @param other object to compare this polynomial against.
+     * @return true if other is a ModPolynomial with the same modulus and terms.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        // local variables
+        ModPolynomial polynomial;
+
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof ModPolynomial))
+        {
+            return false;
+        }
+
+        polynomial = (ModPolynomial) other;
+        if (this.getModulus() != polynomial.getModulus() || this.numTerms != polynomial.numTerms)
+        {
+            return false;
+        }
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            if (this.exponents[i] != polynomial.exponents[i] || this.coefficients[i] != polynomial.coefficients[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash code consistent with equals(Object).
+     *
+     * @return the hash code of the modulus and terms.
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = this.getModulus();
+
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            hash = 31 * hash + this.exponents[i];
+            hash = 31 * hash + this.coefficients[i];
+        }
+        return hash;
+    }
+
+    /**
+     * toString method for polynomial, the same form as Polynomial.toString() with residues as coefficients.
+     *
+     * @return String with all terms in polynomial.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder temp = new StringBuilder(Term.textCapacity(this.numTerms));
+
+        try
+        {
+            this.writeTo(temp);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
+
+    /**
+     * Writes this polynomial in the same form as toString() term by term, see Polynomial.writeTo(Appendable).
+     *
+     * @param out where to write the polynomial.
+     * @throws IOException if out throws IOException.
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
+        if (this.numTerms == 0)
+        {
+            out.append('0');
+            return;
+        }
+
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            Term.appendTerm(out, this.coefficients[i], this.exponents[i], i == 0);
+        }
+    }
+
+    /**
+     * Returns the coefficients from lowest to highest exponent with zeros for missing exponents, index i holds
+     * the coefficient of x^(lowest exponent + i).
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @return a new dense coefficient array.
+     */
+    int[] toDenseArray()
+    {
+        // local variables
+        int[] temp;
+        int low;
+
+        low = this.exponents[this.numTerms - 1];
+        temp = new int[this.exponents[0] - low + 1];
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            temp[this.exponents[i] - low] = this.coefficients[i];
+        }
+        return temp;
+    }
+
+    /**
+     * Builds a polynomial from a dense array of residues, index i holds the coefficient of x^(lowExponent + i).
+     *
+     * @param arithmetic        the Montgomery arithmetic for the modulus.
+     * @param denseCoefficients the residues, zero for missing exponents.
+     * @param lowExponent       the exponent of index 0.
+     * @return a new ModPolynomial holding those terms.
+     */
+    static ModPolynomial fromDense(Montgomery arithmetic, int[] denseCoefficients, int lowExponent)
+    {
+        ModPolynomial temp = new ModPolynomial(arithmetic);
+
+        temp.ensureCapacity(denseCoefficients.length);
+        for (int i = denseCoefficients.length - 1; i >= 0; i--)
+        {
+            temp.append(denseCoefficients[i], lowExponent + i);
+        }
+        return temp;
+    }
+
+    /**
+     * Accessor for the Montgomery arithmetic shared by polynomials with this modulus.
+     *
+     * @return the arithmetic.
+     */
+    Montgomery getArithmetic()
+    {
+        return this.arithmetic;
+    }
+
+    /**
+     * Returns a new polynomial with every coefficient negated.
+     *
+     * @return the negated copy.
+     */
+    ModPolynomial negate()
+    {
+        // local variables
+        ModPolynomial temp;
+
+        temp = new ModPolynomial(this.arithmetic);
+        temp.ensureCapacity(this.numTerms);
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            temp.coefficients[i] = this.getModulus() - this.coefficients[i];
+            temp.exponents[i] = this.exponents[i];
+        }
+        temp.numTerms = this.numTerms;
+        return temp;
+    }
+
+    /**
+     * Returns a new polynomial with every coefficient multiplied by a residue.
+     *
+     * @param residue the factor, from 0 up to getModulus() - 1.
+     * @return the scaled copy.
+     */
+    ModPolynomial scale(int residue)
+    {
+        // local variables
+        ModPolynomial temp;
+        int montgomery;
+
+        temp = new ModPolynomial(this.arithmetic);
+        if (residue == 0)
+        {
+            return temp;
+        }
+        temp.ensureCapacity(this.numTerms);
+        montgomery = this.arithmetic.toMontgomery(residue);
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            // a product of two non zero residues modulo a prime is never 0
+            temp.coefficients[i] = this.arithmetic.multiply(montgomery, this.coefficients[i]);
+            temp.exponents[i] = this.exponents[i];
+        }
+        temp.numTerms = this.numTerms;
+        return temp;
+    }
+
+    /**
+     * Returns a new polynomial with every exponent moved by the same amount, this polynomial times x^offset.
+     *
+     * @param offset the amount added to every exponent.
+     * @return the shifted copy.
+     * @throws ArithmeticException if an exponent does not fit in an int.
+     */
+    ModPolynomial shift(int offset)
+    {
+        // local variables
+        ModPolynomial temp;
+
+        temp = new ModPolynomial(this.arithmetic);
+        temp.ensureCapacity(this.numTerms);
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            temp.coefficients[i] = this.coefficients[i];
+            temp.exponents[i] = Math.addExact(this.exponents[i], offset);
+        }
+        temp.numTerms = this.numTerms;
+        return temp;
+    }
+
+    /**
+     * Returns the quotient of this polynomial divided by x^power, the terms with exponent power or higher with
+     * power taken off every exponent.
+     *
+     * @param power the exponent of the divisor.
+     * @return a new ModPolynomial holding the quotient.
+     */
+    ModPolynomial divideByPower(int power)
+    {
+        // local variables
+        ModPolynomial temp;
+        int count;
+
+        count = 0;
+        while (count < this.numTerms && this.exponents[count] >= power)
+        {
+            count++;
+        }
+        temp = new ModPolynomial(this.arithmetic);
+        temp.ensureCapacity(count);
+        for (int i = 0; i < count; i++)
+        {
+            temp.coefficients[i] = this.coefficients[i];
+            temp.exponents[i] = this.exponents[i] - power;
+        }
+        temp.numTerms = count;
+        return temp;
+    }
+
+    /**
+     * Helper method, product of two residue arrays, by the transform when both are long and schoolbook otherwise.
+     *
+     * @param a the first residue array.
+     * @param b the second residue array.
+     * @return the product residue array, a.length + b.length - 1 long.
+     */
+    private int[] multiplyDense(int[] a, int[] b)
+    {
+        if (Math.min(a.length, b.length) >= NTT_THRESHOLD
+                && NumberTheoreticTransform.supports((long) a.length + b.length - 1))
+        {
+            return NumberTheoreticTransform.multiplyModulo(a, b, this.getModulus());
+        }
+        return this.schoolbook(a, b);
+    }
+
+    /**
+     * Helper method for divideAndRemainder, schoolbook division in a dense array holding the running remainder.
+     * The divisor is negated and put in Montgomery form once, so cancelling a quotient term costs one Montgomery
+     * product and one addition per divisor term.
+     *
+     * @param divisor the polynomial to divide by, highest exponent at most that of this polynomial.
+     * @param low     the lowest exponent of both.
+     * @param span    the number of exponents from low to the highest exponent of this polynomial.
+     * @return the quotient and remainder.
+     */
+    private ModPolynomial[] divideDense(ModPolynomial divisor, int low, int span)
+    {
+        // local variables
+        int[] remainder, quotient, negated, offsets;
+        int top, inverse, factor, modulus;
+
+        modulus = this.getModulus();
+        remainder = new int[span];
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            remainder[this.exponents[i] - low] = this.coefficients[i];
+        }
+
+        top = divisor.exponents[0];
+        inverse = this.arithmetic.toMontgomery(this.arithmetic.inverse(divisor.coefficients[0]));
+        negated = new int[divisor.numTerms];
+        offsets = new int[divisor.numTerms];
+        for (int j = 1; j < divisor.numTerms; j++)
+        {
+            negated[j] = this.arithmetic.toMontgomery(modulus - divisor.coefficients[j]);
+            offsets[j] = top - divisor.exponents[j];
+        }
+
+        quotient = new int[span - (top - low)];
+        for (int i = span - 1; i >= top - low; i--)
+        {
+            if (remainder[i] != 0)
+            {
+                factor = this.arithmetic.multiply(inverse, remainder[i]);
+                quotient[i - (top - low)] = factor;
+                remainder[i] = 0;
+                for (int j = 1; j < divisor.numTerms; j++)
+                {
+                    remainder[i - offsets[j]] = this.arithmetic.add(remainder[i - offsets[j]],
+                            this.arithmetic.multiply(negated[j], factor));
+                }
+            }
+        }
+        return new ModPolynomial[]{fromDense(this.arithmetic, quotient, 0),
+                fromDense(this.arithmetic, Arrays.copyOf(remainder, top - low), low)};
+    }
+
+    /**
+     * Helper method for divideAndRemainder, division through a Newton power series inverse.  With this
+     * polynomial written from its highest exponent down as A(y), index i holding the coefficient of
+     * x^(highest - i), and the divisor likewise as B(y), the quotient written the same way is A(y) / B(y) cut
+     * after quotientSpan terms.  The inverse g of B starts from the inverse of the leading coefficient and each
+     * step g = g * (2 - B * g) doubles the number of correct terms.
+     *
+     * @param divisor      the polynomial to divide by.
+     * @param quotientSpan the highest exponent of this polynomial minus that of divisor, plus 1.
+     * @return the quotient and remainder.
+     */
+    private ModPolynomial[] divideNewton(ModPolynomial divisor, int quotientSpan)
+    {
+        // local variables
+        ModPolynomial quotient;
+        int[] reversedDivisor, inverse, correction, reversedQuotient, quotientResidues;
+        int length, modulus;
+
+        modulus = this.getModulus();
+        reversedDivisor = divisor.topResidues(quotientSpan);
+        inverse = new int[]{this.arithmetic.inverse(reversedDivisor[0])};
+        for (length = 1; length < quotientSpan; )
+        {
+            length = Math.min(length * 2, quotientSpan);
+
+            // correction = 2 - B * g
+            correction = Arrays.copyOf(this.multiplyDense(Arrays.copyOf(reversedDivisor, length), inverse), length);
+            for (int i = 0; i < length; i++)
+            {
+                correction[i] = correction[i] == 0 ? 0 : modulus - correction[i];
+            }
+            correction[0] = this.arithmetic.add(correction[0], 2);
+
+            inverse = Arrays.copyOf(this.multiplyDense(inverse, correction), length);
+        }
+
+        // quotient exponent quotientSpan - 1 - i holds reversed index i
+        reversedQuotient = this.multiplyDense(this.topResidues(quotientSpan), inverse);
+        quotientResidues = new int[quotientSpan];
+        for (int i = 0; i < quotientSpan; i++)
+        {
+            quotientResidues[quotientSpan - 1 - i] = reversedQuotient[i];
+        }
+        quotient = fromDense(this.arithmetic, quotientResidues, 0);
+
+        // remainder = this - quotient * divisor, the terms from the top of the divisor up cancel exactly
+        return new ModPolynomial[]{quotient, sum(this, product(quotient.negate(), divisor))};
+    }
+
+    /**
+     * Helper method for divideAndRemainder, division of a polynomial spread over too many exponents for a dense
+     * array.  Each quotient term is cancelled by adding one negated row of the divisor to the running remainder.
+     *
+     * @param divisor the polynomial to divide by, highest exponent at most that of this polynomial.
+     * @return the quotient and remainder.
+     */
+    private ModPolynomial[] divideSparse(ModPolynomial divisor)
+    {
+        // local variables
+        ModPolynomial quotient, remainder, negated, row;
+        int inverse, factor, shift;
+
+        inverse = this.arithmetic.toMontgomery(this.arithmetic.inverse(divisor.coefficients[0]));
+        negated = divisor.negate();
+        quotient = new ModPolynomial(this.arithmetic);
+        remainder = new ModPolynomial(this);
+        while (remainder.numTerms > 0 && remainder.exponents[0] >= divisor.exponents[0])
+        {
+            factor = this.arithmetic.multiply(inverse, remainder.coefficients[0]);
+            shift = remainder.exponents[0] - divisor.exponents[0];
+            quotient.ensureCapacity(quotient.numTerms + 1);
+            quotient.append(factor, shift);
+
+            // the leading term of the row cancels the leading term of the remainder
+            factor = this.arithmetic.toMontgomery(factor);
+
+            row = new ModPolynomial(this.arithmetic);
+            row.ensureCapacity(negated.numTerms);
+            for (int j = 0; j < negated.numTerms; j++)
+            {
+                row.coefficients[j] = this.arithmetic.multiply(factor, negated.coefficients[j]);
+                row.exponents[j] = negated.exponents[j] + shift;
+            }
+            row.numTerms = negated.numTerms;
+            remainder = sum(remainder, row);
+        }
+        return new ModPolynomial[]{quotient, remainder};
+    }
+
+    /**
+     * Helper method, the residues of the highest exponents from the highest down.
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @param length the number of exponents.
+     * @return index i holds the coefficient of x^(highest exponent - i), 0 where there is no term.
+     */
+    private int[] topResidues(int length)
+    {
+        // local variables
+        int[] temp;
+        long offset;
+
+        temp = new int[length];
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            offset = (long) this.exponents[0] - this.exponents[i];
+            if (offset >= length)
+            {
+                break;
+            }
+            temp[(int) offset] = this.coefficients[i];
+        }
+        return temp;
+    }
+
+    /**
+     * Helper method for product, schoolbook product of two residue arrays.  The first operand is put in Montgomery
+     * form once, so each product of it with a plain residue comes out plain and is summed without reduction.
+     *
+     * @param a the first residue array.
+     * @param b the second residue array.
+     * @return the product residue array.
+     */
+    private int[] schoolbook(int[] a, int[] b)
+    {
+        // local variables
+        long[] sums;
+        int[] result;
+        int montgomery, modulus;
+
+        modulus = this.getModulus();
+        sums = new long[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++)
+        {
+            if (a[i] != 0)
+            {
+                montgomery = this.arithmetic.toMontgomery(a[i]);
+                for (int j = 0; j < b.length; j++)
+                {
+                    sums[i + j] += this.arithmetic.multiply(montgomery, b[j]);
+                }
+            }
+        }
+
+        // each sum is below b.length * 2^30, far from overflowing a long
+        result = new int[sums.length];
+        for (int i = 0; i < sums.length; i++)
+        {
+            result[i] = (int) (sums[i] % modulus);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method for product, multiplies the terms from up to to of polyA by polyB one row at a time and adds
+     * the rows back together in halves.
+     *
+     * @param polyA the polynomial whose terms make the rows.
+     * @param from  the first term of polyA.
+     * @param to    one past the last term of polyA.
+     * @param polyB the polynomial every row is multiplied by.
+     * @return a new ModPolynomial holding the partial product.
+     */
+    private static ModPolynomial productRows(ModPolynomial polyA, int from, int to, ModPolynomial polyB)
+    {
+        // local variables
+        ModPolynomial row;
+        int montgomery, middle;
+
+        if (to - from > 1)
+        {
+            middle = (from + to) >>> 1;
+            return sum(productRows(polyA, from, middle, polyB), productRows(polyA, middle, to, polyB));
+        }
+
+        row = new ModPolynomial(polyA.arithmetic);
+        row.ensureCapacity(polyB.numTerms);
+        montgomery = polyA.arithmetic.toMontgomery(polyA.coefficients[from]);
+        for (int j = 0; j < polyB.numTerms; j++)
+        {
+            // a product of two non zero residues modulo a prime is never 0
+            row.coefficients[j] = polyA.arithmetic.multiply(montgomery, polyB.coefficients[j]);
+            row.exponents[j] = polyA.exponents[from] + polyB.exponents[j];
+        }
+        row.numTerms = polyB.numTerms;
+        return row;
+    }
+
+    /**
+     * Helper method, checks two polynomials have the same modulus.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @throws IllegalArgumentException if the moduli differ.
+     */
+    private static void checkModulus(ModPolynomial polyA, ModPolynomial polyB)
+    {
+        if (polyA.getModulus() != polyB.getModulus())
+        {
+            throw new IllegalArgumentException("Moduli differ: " + polyA.getModulus() + " and "
+                    + polyB.getModulus());
+        }
+    }
+
+    /**
+     * Helper method, adds a term after the last term if its coefficient is not 0.
+     * Precondition - there is room for the term and its exponent is below every exponent of this polynomial.
+     *
+     * @param residue  the coefficient, from 0 up to getModulus() - 1.
+     * @param exponent the exponent.
+     */
+    private void append(int residue, int exponent)
+    {
+        if (residue != 0)
+        {
+            this.coefficients[this.numTerms] = residue;
+            this.exponents[this.numTerms++] = exponent;
+        }
+    }
+
+    /**
+     * Helper method, inserts a term at index.
+     *
+     * @param index    where the term goes.
+     * @param residue  the coefficient.
+     * @param exponent the exponent.
+     */
+    private void insertAt(int index, int residue, int exponent)
+    {
+        this.ensureCapacity(this.numTerms + 1);
+        System.arraycopy(this.coefficients, index, this.coefficients, index + 1, this.numTerms - index);
+        System.arraycopy(this.exponents, index, this.exponents, index + 1, this.numTerms - index);
+        this.coefficients[index] = residue;
+        this.exponents[index] = exponent;
+        this.numTerms++;
+    }
+
+    /**
+     * Helper method, removes the term at index.
+     *
+     * @param index the term to remove.
+     */
+    private void removeAt(int index)
+    {
+        System.arraycopy(this.coefficients, index + 1, this.coefficients, index, this.numTerms - index - 1);
+        System.arraycopy(this.exponents, index + 1, this.exponents, index, this.numTerms - index - 1);
+        this.numTerms--;
+    }
+
+    /**
+     * Helper method, binary search for an exponent in the exponents ordered from highest to lowest.
+     *
+     * @param exponent the exponent to find.
+     * @return the index of the term, or -(insertion point) - 1 if there is none.
+     */
+    private int indexOfExponent(int exponent)
+    {
+        // local variables
+        int low, high, middle;
+
+        low = 0;
+        high = this.numTerms - 1;
+        while (low <= high)
+        {
+            middle = (low + high) >>> 1;
+            if (this.exponents[middle] > exponent)
+            {
+                low = middle + 1;
+            }
+            else if (this.exponents[middle] < exponent)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Helper method, grows the arrays to hold at least the given number of terms.
+     *
+     * @param capacity the number of terms needed.
+     */
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > this.coefficients.length)
+        {
+            capacity = Math.max(capacity, this.coefficients.length * 2);
+            this.coefficients = Arrays.copyOf(this.coefficients, capacity);
+            this.exponents = Arrays.copyOf(this.exponents, capacity);
+        }
+    }
+
+    /**
+     * Helper method, resets this polynomial to no terms.
+     */
+    private void setEmpty()
+    {
+        this.coefficients = new int[DEFAULT_CAPACITY];
+        this.exponents = new int[DEFAULT_CAPACITY];
+        this.numTerms = 0;
+    }
+
+    /**
+     * Helper method, takes over the storage of a polynomial with the same modulus that is not used anywhere else.
+     *
+     * @param other the polynomial to take the terms from.
+     */
+    private void assign(ModPolynomial other)
+    {
+        this.coefficients = other.coefficients;
+        this.exponents = other.exponents;
+        this.numTerms = other.numTerms;
+    }
+
+    /**
+     * Helper method, checks an index is the index of a term.
+     *
+     * @param index the index to check.
+     * @throws IndexOutOfBoundsException if it is not.
+     */
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= this.numTerms)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.numTerms);
+        }
+    }
+}
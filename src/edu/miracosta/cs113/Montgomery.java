@@ -0,0 +1,158 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/27/2018
+ * <p>
+ * Montgomery.java : multiplication modulo an odd prime below 2^30 without division.  A value a is kept in
+ * Montgomery form a * 2^32 mod p, and the product of two values is reduced with shifts and multiplies instead of
+ * the % operator.  Multiplying a Montgomery form value by a plain value gives the plain product, which is how
+ * ModPolynomial uses it in its inner loops.
+ */
+package edu.miracosta.cs113;
+
+final class Montgomery
+{
+    private final static long LOW_BITS = 0xFFFFFFFFL;
+
+    // Class variables
+    private final int modulus;
+    private final int negativeInverse;    // -modulus^-1 mod 2^32
+    private final long rSquared;          // 2^64 mod modulus
+
+    /**
+     * Full constructor.
+     *
+     * @param modulus an odd prime below 2^30.
+     */
+    Montgomery(int modulus)
+    {
+        // local variables
+        int inverse;
+
+        // Newton's iteration, each step doubles the number of correct low bits of modulus^-1
+        inverse = modulus;
+        for (int i = 0; i < 5; i++)
+        {
+            inverse *= 2 - modulus * inverse;
+        }
+
+        this.modulus = modulus;
+        this.negativeInverse = -inverse;
+        this.rSquared = ((1L << 32) % modulus) * ((1L << 32) % modulus) % modulus;
+    }
+
+    /**
+     * Accessor for the modulus.
+     *
+     * @return the prime.
+     */
+    int getModulus()
+    {
+        return this.modulus;
+    }
+
+    /**
+     * Montgomery reduction, t * 2^-32 mod modulus.
+     *
+     * @param t a value from 0 up to modulus * 2^32 - 1.
+     * @return t * 2^-32 mod modulus, from 0 up to modulus - 1.
+     */
+    int reduce(long t)
+    {
+        // local variables
+        long m, u;
+
+        m = ((int) t * this.negativeInverse) & LOW_BITS;
+        u = (t + m * this.modulus) >>> 32;
+        return (int) (u >= this.modulus ? u - this.modulus : u);
+    }
+
+    /**
+     * Converts a value to Montgomery form.
+     *
+     * @param value a value from 0 up to modulus - 1.
+     * @return value * 2^32 mod modulus.
+     */
+    int toMontgomery(int value)
+    {
+        return this.reduce(value * this.rSquared);
+    }
+
+    /**
+     * Multiplies two values, the result is in Montgomery form if both were and plain if only one was.
+     *
+     * @param a a value from 0 up to modulus - 1.
+     * @param b a value from 0 up to modulus - 1.
+     * @return a * b * 2^-32 mod modulus.
+     */
+    int multiply(int a, int b)
+    {
+        return this.reduce((long) a * b);
+    }
+
+    /**
+     * Adds two values modulo the prime, in either form.
+     *
+     * @param a a value from 0 up to modulus - 1.
+     * @param b a value from 0 up to modulus - 1.
+     * @return a + b mod modulus.
+     */
+    int add(int a, int b)
+    {
+        int sum = a + b;
+        return sum >= this.modulus ? sum - this.modulus : sum;
+    }
+
+    /**
+     * Modular exponentiation by squaring on plain values.
+     *
+     * @param base     a value from 0 up to modulus - 1.
+     * @param exponent the exponent, 0 or higher.
+     * @return base^exponent mod modulus.
+     */
+    int power(int base, long exponent)
+    {
+        return this.reduce(this.powerMontgomery(this.toMontgomery(base), exponent));
+    }
+
+    /**
+     * Modular exponentiation by squaring on Montgomery form values.
+     *
+     * @param base     a Montgomery form value.
+     * @param exponent the exponent, 0 or higher.
+     * @return base^exponent in Montgomery form.
+     */
+    int powerMontgomery(int base, long exponent)
+    {
+        // local variables
+        int result;
+
+        result = this.toMontgomery(1);
+        while (exponent > 0)
+        {
+            if ((exponent & 1) == 1)
+            {
+                result = this.multiply(result, base);
+            }
+            base = this.multiply(base, base);
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Multiplicative inverse by Fermat's little theorem.
+     *
+     * @param value a value from 1 up to modulus - 1.
+     * @return value^-1 mod modulus.
+     * @throws ArithmeticException if value is 0.
+     */
+    int inverse(int value)
+    {
+        if (value == 0)
+        {
+            throw new ArithmeticException("0 has no inverse modulo " + this.modulus);
+        }
+        return this.power(value, this.modulus - 2);
+    }
+}
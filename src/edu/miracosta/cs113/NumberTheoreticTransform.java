@@ -0,0 +1,300 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/20/2018
+ * <p>
+ * NumberTheoreticTransform.java : exact cyclic convolution of coefficient arrays using the number theoretic
+ * transform (an FFT done with modular integers instead of complex numbers, so there is no rounding error).
+ * Int coefficients are convolved under three NTT friendly primes and put back together with the Chinese
+ * remainder theorem (Garner's method), which recovers every product coefficient exactly before it is narrowed.
+ */
+package edu.miracosta.cs113;
+
+final class NumberTheoreticTransform
+{
+    // NTT friendly primes c * 2^k + 1, all have 3 as a primitive root
+    final static int PRIME_A = 998244353;   // 119 * 2^23 + 1
+    final static int PRIME_B = 167772161;   // 5 * 2^25 + 1
+    final static int PRIME_C = 469762049;   // 7 * 2^26 + 1
+    final static int PRIMITIVE_ROOT = 3;
+
+    // Longest transform all three primes support, limited by PRIME_A
+    final static int MAX_LENGTH = 1 << 23;
+
+    // Garner constants
+    private final static long INVERSE_A_MOD_B = power(PRIME_A, PRIME_B - 2, PRIME_B);
+    private final static long INVERSE_AB_MOD_C = power((long) PRIME_A * PRIME_B % PRIME_C, PRIME_C - 2, PRIME_C);
+    private final static long PRODUCT_AB = (long) PRIME_A * PRIME_B;
+
+    /**
+     * Static helper class, not meant to be instantiated.
+     */
+    private NumberTheoreticTransform()
+    {
+    }
+
+    /**
+     * Checks if a product of the given length can be done by multiplyExact(int[], int[]).
+     *
+     * @param resultLength length of the product array, lengthA + lengthB - 1.
+     * @return true if the three prime transform supports that length.
+     */
+    static boolean supports(long resultLength)
+    {
+        return resultLength <= MAX_LENGTH;
+    }
+
+    /**
+     * Multiplies two coefficient arrays (index i is the coefficient of x^i).  Every product coefficient is
+     * computed exactly then narrowed to int, the same result int arithmetic gives on overflow.
+     * Precondition - supports(a.length + b.length - 1) is true.
+     *
+     * @param a the first coefficient array.
+     * @param b the second coefficient array.
+     * @return the product coefficient array of length a.length + b.length - 1.
+     */
+    static int[] multiplyExact(int[] a, int[] b)
+    {
+        // local variables
+        int[] result;
+
+        result = new int[a.length + b.length - 1];
+        combine(convolve(a, b, PRIME_A), convolve(a, b, PRIME_B), convolve(a, b, PRIME_C), result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Puts product coefficients back together from their residues under the three primes with Garner's method,
+     * narrowing them to int.  Each index is independent, so ranges can be done in parallel.
+     *
+     * @param residuesA residues modulo PRIME_A, from convolve.
+     * @param residuesB residues modulo PRIME_B, from convolve.
+     * @param residuesC residues modulo PRIME_C, from convolve.
+     * @param result    receives the product coefficients.
+     * @param from      the first index to combine.
+     * @param to        one past the last index to combine.
+     */
+    static void combine(int[] residuesA, int[] residuesB, int[] residuesC, int[] result, int from, int to)
+    {
+        // local variables
+        long digitA, digitB, digitC;
+
+        for (int i = from; i < to; i++)
+        {
+            // mixed radix digits, value = digitA + digitB * PRIME_A + digitC * PRIME_A * PRIME_B
+            digitA = residuesA[i];
+            digitB = (residuesB[i] - digitA % PRIME_B + PRIME_B) % PRIME_B * INVERSE_A_MOD_B % PRIME_B;
+            digitC = ((residuesC[i] - (digitA + digitB * PRIME_A) % PRIME_C) % PRIME_C + PRIME_C)
+                    % PRIME_C * INVERSE_AB_MOD_C % PRIME_C;
+
+            // the top digit is taken as negative for values in the upper half, giving signed results
+            if (digitC > PRIME_C / 2)
+            {
+                digitC -= PRIME_C;
+            }
+
+            // overflowing long arithmetic keeps the value modulo 2^64, enough for the low 32 bits
+            result[i] = (int) (digitA + digitB * PRIME_A + digitC * PRODUCT_AB);
+        }
+    }
+
+    /**
+     * Multiplies two coefficient arrays modulo a prime below 2^30.  When the prime is one of the transform primes
+     * a single transform is enough, otherwise the exact product is rebuilt from the three primes and reduced.
+     * Precondition - supports(a.length + b.length - 1) is true and every value is in 0 up to modulus - 1.
+     *
+     * @param a       the first coefficient array.
+     * @param b       the second coefficient array.
+     * @param modulus a prime below 2^30.
+     * @return the product coefficients modulo the prime, length a.length + b.length - 1.
+     */
+    static int[] multiplyModulo(int[] a, int[] b, int modulus)
+    {
+        // local variables
+        int[] result;
+
+        if (modulus == PRIME_A || modulus == PRIME_B || modulus == PRIME_C)
+        {
+            return convolve(a, b, modulus);
+        }
+
+        // each exact coefficient is below min(a.length, b.length) * 2^60 <= 2^83, under PRIME_A * PRIME_B * PRIME_C
+        result = new int[a.length + b.length - 1];
+        combineModulo(convolve(a, b, PRIME_A), convolve(a, b, PRIME_B), convolve(a, b, PRIME_C), result,
+                modulus);
+        return result;
+    }
+
+    /**
+     * Puts non negative product coefficients back together from their residues under the three primes with
+     * Garner's method, and reduces them modulo another prime instead of narrowing them to int.
+     *
+     * @param residuesA residues modulo PRIME_A, from convolve.
+     * @param residuesB residues modulo PRIME_B, from convolve.
+     * @param residuesC residues modulo PRIME_C, from convolve.
+     * @param result    receives the product coefficients modulo the prime.
+     * @param modulus   the prime, below 2^30.
+     */
+    private static void combineModulo(int[] residuesA, int[] residuesB, int[] residuesC, int[] result, int modulus)
+    {
+        // local variables
+        long digitA, digitB, digitC, radixB, radixC;
+
+        radixB = PRIME_A % modulus;
+        radixC = PRODUCT_AB % modulus;
+
+        for (int i = 0; i < result.length; i++)
+        {
+            digitA = residuesA[i];
+            digitB = (residuesB[i] - digitA % PRIME_B + PRIME_B) % PRIME_B * INVERSE_A_MOD_B % PRIME_B;
+            digitC = ((residuesC[i] - (digitA + digitB * PRIME_A) % PRIME_C) % PRIME_C + PRIME_C)
+                    % PRIME_C * INVERSE_AB_MOD_C % PRIME_C;
+
+            result[i] = (int) ((digitA % modulus + digitB * radixB % modulus + digitC * radixC % modulus) % modulus);
+        }
+    }
+
+    /**
+     * Cyclic convolution of two int arrays modulo a single NTT prime, coefficients may be negative.
+     *
+     * @param a       the first coefficient array.
+     * @param b       the second coefficient array.
+     * @param modulus an NTT friendly prime with 3 as primitive root.
+     * @return residues of the product coefficients, length a.length + b.length - 1.
+     */
+    static int[] convolve(int[] a, int[] b, int modulus)
+    {
+        // local variables
+        long[] transformA, transformB;
+        int[] result;
+        int resultLength, size;
+
+        resultLength = a.length + b.length - 1;
+        size = Integer.highestOneBit(Math.max(resultLength - 1, 1)) << 1;
+        transformA = new long[size];
+        transformB = new long[size];
+
+        for (int i = 0; i < a.length; i++)
+        {
+            transformA[i] = Math.floorMod(a[i], modulus);
+        }
+        for (int i = 0; i < b.length; i++)
+        {
+            transformB[i] = Math.floorMod(b[i], modulus);
+        }
+
+        transform(transformA, false, modulus);
+        transform(transformB, false, modulus);
+        for (int i = 0; i < size; i++)
+        {
+            transformA[i] = transformA[i] * transformB[i] % modulus;
+        }
+        transform(transformA, true, modulus);
+
+        result = new int[resultLength];
+        for (int i = 0; i < resultLength; i++)
+        {
+            result[i] = (int) transformA[i];
+        }
+        return result;
+    }
+
+    /**
+     * In place iterative transform, values must already be reduced modulo the prime.
+     * Precondition - values.length is a power of 2 dividing (modulus - 1).
+     *
+     * @param values  the array to transform.
+     * @param invert  true for the inverse transform, which also divides by the length.
+     * @param modulus an NTT friendly prime with 3 as primitive root.
+     */
+    static void transform(long[] values, boolean invert, int modulus)
+    {
+        // local variables
+        long[] roots;
+        long rootStep, even, odd, lengthInverse;
+        int length, half;
+
+        length = values.length;
+
+        // bit reversal permutation
+        for (int i = 1, j = 0; i < length; i++)
+        {
+            int bit = length >> 1;
+            for (; (j & bit) != 0; bit >>= 1)
+            {
+                j ^= bit;
+            }
+            j ^= bit;
+
+            if (i < j)
+            {
+                long temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            }
+        }
+
+        // butterflies, the powers of the root for each stage are computed once and reused by every block
+        roots = new long[length >> 1];
+        for (int span = 2; span <= length; span <<= 1)
+        {
+            half = span >> 1;
+            rootStep = power(PRIMITIVE_ROOT, (modulus - 1) / span, modulus);
+            if (invert)
+            {
+                rootStep = power(rootStep, modulus - 2, modulus);
+            }
+
+            roots[0] = 1;
+            for (int k = 1; k < half; k++)
+            {
+                roots[k] = roots[k - 1] * rootStep % modulus;
+            }
+
+            for (int start = 0; start < length; start += span)
+            {
+                for (int k = 0; k < half; k++)
+                {
+                    even = values[start + k];
+                    odd = values[start + k + half] * roots[k] % modulus;
+                    values[start + k] = even + odd < modulus ? even + odd : even + odd - modulus;
+                    values[start + k + half] = even - odd >= 0 ? even - odd : even - odd + modulus;
+                }
+            }
+        }
+
+        if (invert)
+        {
+            lengthInverse = power(length, modulus - 2, modulus);
+            for (int i = 0; i < length; i++)
+            {
+                values[i] = values[i] * lengthInverse % modulus;
+            }
+        }
+    }
+
+    /**
+     * Modular exponentiation by squaring.
+     *
+     * @param base     the base, 0 <= base < modulus.
+     * @param exponent the exponent, 0 or higher.
+     * @param modulus  the modulus, below 2^31.
+     * @return base^exponent mod modulus.
+     */
+    static long power(long base, long exponent, long modulus)
+    {
+        long result = 1;
+
+        base %= modulus;
+        while (exponent > 0)
+        {
+            if ((exponent & 1) == 1)
+            {
+                result = result * base % modulus;
+            }
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,814 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 3/1/2018
+ * <p>
+ * OffHeapPolynomial.java : a polynomial whose terms live outside the garbage collected heap, for polynomials of
+ * hundreds of millions of terms.  Terms are ordered from highest exponent to lowest like the sparse form of
+ * Polynomial, each one packed into a long (exponent in the high 32 bits, coefficient in the low 32 bits) in direct
+ * ByteBuffers.  Storage grows by doubling up to one chunk of CHUNK_TERMS terms, then a chunk at a time, so no
+ * single buffer has to reach the 2GB limit and growing never copies more than one chunk.
+ * The memory is released by close(), after which every method but close() and equals() throws
+ * IllegalStateException.
+ * Terms are added fastest from highest exponent to lowest, which appends them, or a whole polynomial at a time
+ * with add.
+ */
+package edu.miracosta.cs113;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+public class OffHeapPolynomial implements Closeable
+{
+    private final static int DEFAULT_CAPACITY = 8;
+
+    // Terms per chunk, 2^24 terms is 128MB
+    private final static int CHUNK_SHIFT = 24;
+    private final static int CHUNK_TERMS = 1 << CHUNK_SHIFT;
+    private final static int CHUNK_MASK = CHUNK_TERMS - 1;
+    private final static int TERM_SHIFT = 3;
+
+    private final static long LOW_BITS = 0xFFFFFFFFL;
+
+    // Class variables
+    private ByteBuffer[] chunks;
+    private long capacity;
+    private int numTerms;
+
+    /**
+     * Default constructor, initializes an empty polynomial.
+     */
+    public OffHeapPolynomial()
+    {
+        this.setEmpty();
+    }
+
+    /**
+     * Copy constructor, copies the terms of a heap polynomial off the heap.
+     *
+     * @param polynomial the polynomial to copy.
+     */
+    public OffHeapPolynomial(Polynomial polynomial)
+    {
+        this.setEmpty();
+        this.add(polynomial);
+    }
+
+    /**
+     * Adds a term to this polynomial, combining it with a term of the same exponent and dropping it if they
+     * cancel out.  The position is found with a binary search, and terms after it are moved along unless it is
+     * the last position.  Terms with a coefficient of 0 are ignored.
+     *
+     * @param coefficient the coefficient of the term to add.
+     * @param exponent    the exponent of the term to add.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public void addTerm(int coefficient, int exponent)
+    {
+        // local variables
+        int index, sum;
+
+        this.checkOpen();
+        if (coefficient == 0)
+        {
+            return;
+        }
+
+        index = this.indexOfExponent(exponent);
+        if (index >= 0)
+        {
+            sum = coefficient(this.get(index)) + coefficient;
+            if (sum != 0)
+            {
+                this.set(index, pack(sum, exponent));
+            }
+            else
+            {
+                this.removeAt(index);
+            }
+        }
+        else
+        {
+            this.insertAt(-index - 1, pack(coefficient, exponent));
+        }
+    }
+
+    /**
+     * Adds a term to this polynomial, see addTerm(int, int).
+     *
+     * @param termToAdd the term to add.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public void addTerm(Term termToAdd)
+    {
+        this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+    }
+
+    /**
+     * Merges the given polynomial into this polynomial in a single pass.  The merged terms are written to new
+     * off heap storage and the old storage is released.
+     *
+     * @param polynomial the polynomial to add to this one.
+     * @throws IllegalStateException if either polynomial is closed.
+     */
+    public void add(OffHeapPolynomial polynomial)
+    {
+        // local variables
+        OffHeapPolynomial result;
+        int indexA, indexB, countB;
+        long termA, termB;
+
+        this.checkOpen();
+        polynomial.checkOpen();
+        countB = polynomial.numTerms;
+        result = new OffHeapPolynomial();
+        result.ensureCapacity((long) this.numTerms + countB);
+        indexA = 0;
+        indexB = 0;
+
+        while (indexA < this.numTerms || indexB < countB)
+        {
+            termA = indexA < this.numTerms ? this.get(indexA) : 0;
+            termB = indexB < countB ? polynomial.get(indexB) : 0;
+
+            if (indexB == countB || (indexA < this.numTerms && exponent(termA) > exponent(termB)))
+            {
+                result.append(termA);
+                indexA++;
+            }
+            else if (indexA == this.numTerms || exponent(termA) < exponent(termB))
+            {
+                result.append(termB);
+                indexB++;
+            }
+            else
+            {
+                if (coefficient(termA) + coefficient(termB) != 0)
+                {
+                    result.append(pack(coefficient(termA) + coefficient(termB), exponent(termA)));
+                }
+                indexA++;
+                indexB++;
+            }
+        }
+
+        this.release();
+        this.chunks = result.chunks;
+        this.capacity = result.capacity;
+        this.numTerms = result.numTerms;
+    }
+
+    /**
+     * Merges the given heap polynomial into this polynomial in a single pass, see add(OffHeapPolynomial).
+     *
+     * @param polynomial the polynomial to add to this one.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public void add(Polynomial polynomial)
+    {
+        // local variables
+        OffHeapPolynomial other;
+        Polynomial.TermCursor cursor;
+
+        this.checkOpen();
+        other = new OffHeapPolynomial();
+        try
+        {
+            other.ensureCapacity(polynomial.getNumTerms());
+            cursor = polynomial.cursor();
+            while (cursor.next())
+            {
+                other.append(pack(cursor.getCoefficient(), cursor.getExponent()));
+            }
+
+            if (this.numTerms == 0)
+            {
+                this.swap(other);
+            }
+            else
+            {
+                this.add(other);
+            }
+        } finally
+        {
+            other.close();
+        }
+    }
+
+    /**
+     * Removes the term at the selected index.
+     *
+     * @param index the index of the term to remove.
+     * @return the removed Term which is immutable, or null if index is out of range.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public Term remove(int index)
+    {
+        // local variables
+        long term;
+
+        this.checkOpen();
+        if (index < 0 || index >= this.numTerms)
+        {
+            return null;
+        }
+
+        term = this.get(index);
+        this.removeAt(index);
+        return Term.of(coefficient(term), exponent(term));
+    }
+
+    /**
+     * Returns a new Term holding the values of the term at the index given, terms are numbered from highest
+     * exponent to lowest.
+     *
+     * @param index the location of the term.
+     * @return a new Term from the index.
+     * @throws IndexOutOfBoundsException if index is not between 0 and getNumTerms() - 1.
+     * @throws IllegalStateException     if this polynomial is closed.
+     */
+    public Term getTerm(int index)
+    {
+        // local variables
+        long term;
+
+        this.checkOpen();
+        if (index < 0 || index >= this.numTerms)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.numTerms);
+        }
+
+        term = this.get(index);
+        return new Term(coefficient(term), exponent(term));
+    }
+
+    /**
+     * Passes every term from highest exponent to lowest to the consumer without creating Term objects.
+     *
+     * @param consumer receives the coefficient and exponent of each term.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public void forEachTerm(TermConsumer consumer)
+    {
+        // local variables
+        long term;
+
+        this.checkOpen();
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            term = this.get(i);
+            consumer.accept(coefficient(term), exponent(term));
+        }
+    }
+
+    /**
+     * Copies this polynomial onto the heap.
+     *
+     * @return a new Polynomial with the same terms.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public Polynomial toPolynomial()
+    {
+        // local variables
+        int[] coefficients, exponents;
+        long term;
+
+        this.checkOpen();
+        coefficients = new int[this.numTerms];
+        exponents = new int[this.numTerms];
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            term = this.get(i);
+            coefficients[i] = coefficient(term);
+            exponents[i] = exponent(term);
+        }
+        return Polynomial.fromSparse(coefficients, exponents, this.numTerms);
+    }
+
+    /**
+     * Removes every term from this polynomial and releases its storage.
+     *
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public void clear()
+    {
+        this.checkOpen();
+        this.release();
+        this.setEmpty();
+    }
+
+    /**
+     * The term count accessor for this polynomial.
+     *
+     * @return the number of terms.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public int getNumTerms()
+    {
+        this.checkOpen();
+        return this.numTerms;
+    }
+
+    /**
+     * Releases the off heap storage.  Closing twice does nothing.
+     */
+    @Override
+    public void close()
+    {
+        if (this.chunks != null)
+        {
+            this.release();
+            this.chunks = null;
+            this.capacity = 0;
+            this.numTerms = 0;
+        }
+    }
+
+    /**
+     * Compares equality of two polynomials, both must have the same terms.  A closed polynomial has no terms to
+     * compare, it is only equal to itself.
+     *
+     * @param other object to compare this polynomial against.
+     * @return true if other is this polynomial, or if both are open OffHeapPolynomials with the same terms.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        // local variables
+        OffHeapPolynomial polynomial;
+
+        if (this == other)
+        {
+            return true;
+        }
+        if (this.chunks == null || !(other instanceof OffHeapPolynomial) || ((OffHeapPolynomial) other).chunks == null)
+        {
+            return false;
+        }
+
+        polynomial = (OffHeapPolynomial) other;
+        if (this.numTerms != polynomial.numTerms)
+        {
+            return false;
+        }
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            if (this.get(i) != polynomial.get(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash code consistent with equals(Object), the same as Polynomial.hashCode() for the same terms.
+     *
+     * @return the hash code of the terms.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    @Override
+    public int hashCode()
+    {
+        // local variables
+        long term;
+        int hash;
+
+        this.checkOpen();
+        hash = 0;
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            term = this.get(i);
+            hash += Term.hashOf(coefficient(term), exponent(term));
+        }
+        return hash;
+    }
+
+    /**
+     * toString method for polynomial, the same form as Polynomial.toString().
+     *
+     * @return String with all terms in polynomial.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder temp = new StringBuilder(Term.textCapacity(this.getNumTerms()));
+
+        try
+        {
+            this.writeTo(temp);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
+
+    /**
+     * Writes this polynomial in the same form as toString() term by term, see Polynomial.writeTo(Appendable).
+     *
+     * @param out where to write the polynomial.
+     * @throws IOException           if out throws IOException.
+     * @throws IllegalStateException if this polynomial is closed.
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
+        // local variables
+        long term;
+
+        this.checkOpen();
+        if (this.numTerms == 0)
+        {
+            out.append('0');
+            return;
+        }
+
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            term = this.get(i);
+            Term.appendTerm(out, coefficient(term), exponent(term), i == 0);
+        }
+    }
+
+    /**
+     * Helper method, packs a term into a long with the exponent in the high 32 bits.
+     *
+     * @param coefficient the coefficient.
+     * @param exponent    the exponent.
+     * @return the packed term.
+     */
+    private static long pack(int coefficient, int exponent)
+    {
+        return ((long) exponent << 32) | (coefficient & LOW_BITS);
+    }
+
+    /**
+     * Helper method, the coefficient of a packed term.
+     *
+     * @param term the packed term.
+     * @return the coefficient.
+     */
+    private static int coefficient(long term)
+    {
+        return (int) term;
+    }
+
+    /**
+     * Helper method, the exponent of a packed term.
+     *
+     * @param term the packed term.
+     * @return the exponent.
+     */
+    private static int exponent(long term)
+    {
+        return (int) (term >> 32);
+    }
+
+    /**
+     * Helper method, reads the packed term at an index.
+     *
+     * @param index the index, below the capacity.
+     * @return the packed term.
+     */
+    private long get(int index)
+    {
+        return this.chunks[index >>> CHUNK_SHIFT].getLong((index & CHUNK_MASK) << TERM_SHIFT);
+    }
+
+    /**
+     * Helper method, writes the packed term at an index.
+     *
+     * @param index the index, below the capacity.
+     * @param term  the packed term.
+     */
+    private void set(int index, long term)
+    {
+        this.chunks[index >>> CHUNK_SHIFT].putLong((index & CHUNK_MASK) << TERM_SHIFT, term);
+    }
+
+    /**
+     * Helper method, adds a term after the last term.
+     * Precondition - its exponent is below every exponent of this polynomial and its coefficient is not 0.
+     *
+     * @param term the packed term.
+     */
+    private void append(long term)
+    {
+        this.ensureCapacity((long) this.numTerms + 1);
+        this.set(this.numTerms++, term);
+    }
+
+    /**
+     * Helper method, inserts a term at index, moving the terms after it along by one.
+     *
+     * @param index where the term goes.
+     * @param term  the packed term.
+     */
+    private void insertAt(int index, long term)
+    {
+        this.ensureCapacity((long) this.numTerms + 1);
+        this.moveTerms(index, index + 1, this.numTerms - index);
+        this.set(index, term);
+        this.numTerms++;
+    }
+
+    /**
+     * Helper method, removes the term at index, moving the terms after it back by one.
+     *
+     * @param index the term to remove.
+     */
+    private void removeAt(int index)
+    {
+        this.moveTerms(index + 1, index, this.numTerms - index - 1);
+        this.numTerms--;
+    }
+
+    /**
+     * Helper method, copies count terms from index source to index target, the ranges may overlap.  The terms
+     * are copied with one bulk put per piece that stays inside one chunk on both sides, pieces are copied from
+     * the end when moving terms up so none is overwritten before it is copied.
+     * Precondition - both ranges are below the capacity.
+     *
+     * @param source the index of the first term to copy.
+     * @param target the index it is copied to.
+     * @param count  the number of terms.
+     */
+    private void moveTerms(int source, int target, int count)
+    {
+        // local variables
+        int length;
+
+        if (target > source)
+        {
+            while (count > 0)
+            {
+                length = Math.min(count, Math.min(((source + count - 1) & CHUNK_MASK) + 1,
+                        ((target + count - 1) & CHUNK_MASK) + 1));
+                count -= length;
+                this.copyPiece(source + count, target + count, length);
+            }
+        }
+        else
+        {
+            while (count > 0)
+            {
+                length = Math.min(count, Math.min(CHUNK_TERMS - (source & CHUNK_MASK),
+                        CHUNK_TERMS - (target & CHUNK_MASK)));
+                this.copyPiece(source, target, length);
+                source += length;
+                target += length;
+                count -= length;
+            }
+        }
+    }
+
+    /**
+     * Helper method for moveTerms, copies terms that stay inside one chunk on both sides with a bulk put.  A put
+     * between views of the same chunk copies as if through a temporary buffer, so the ranges may overlap.
+     *
+     * @param source the index of the first term to copy.
+     * @param target the index it is copied to.
+     * @param count  the number of terms, none of them in the next chunk on either side.
+     */
+    private void copyPiece(int source, int target, int count)
+    {
+        // local variables
+        ByteBuffer from, to;
+
+        // views, so the positions and limits of the chunks themselves never change
+        from = this.chunks[source >>> CHUNK_SHIFT].duplicate();
+        to = this.chunks[target >>> CHUNK_SHIFT].duplicate();
+        from.position((source & CHUNK_MASK) << TERM_SHIFT);
+        from.limit(from.position() + (count << TERM_SHIFT));
+        to.position((target & CHUNK_MASK) << TERM_SHIFT);
+        to.put(from);
+    }
+
+    /**
+     * Helper method, binary search for an exponent in the terms ordered from highest exponent to lowest.
+     *
+     * @param exponent the exponent to find.
+     * @return the index of the term, or -(insertion point) - 1 if there is none.
+     */
+    private int indexOfExponent(int exponent)
+    {
+        // local variables
+        int low, high, middle, found;
+
+        // terms are usually added from highest exponent to lowest, check the end first
+        if (this.numTerms == 0 || exponent(this.get(this.numTerms - 1)) > exponent)
+        {
+            return -this.numTerms - 1;
+        }
+
+        low = 0;
+        high = this.numTerms - 1;
+        while (low <= high)
+        {
+            middle = (low + high) >>> 1;
+            found = exponent(this.get(middle));
+            if (found > exponent)
+            {
+                low = middle + 1;
+            }
+            else if (found < exponent)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Helper method, grows the storage to hold at least the given number of terms.  A single chunk doubles until
+     * it holds CHUNK_TERMS terms, after that whole chunks are added.
+     *
+     * @param needed the number of terms needed.
+     * @throws IllegalStateException if more than Integer.MAX_VALUE terms are needed.
+     */
+    private void ensureCapacity(long needed)
+    {
+        // local variables
+        ByteBuffer grown;
+        long size;
+        int count;
+
+        if (needed <= this.capacity)
+        {
+            return;
+        }
+        if (needed > Integer.MAX_VALUE)
+        {
+            throw new IllegalStateException("More than " + Integer.MAX_VALUE + " terms");
+        }
+
+        if (this.capacity < CHUNK_TERMS)
+        {
+            size = Math.min(Math.max(needed, this.capacity * 2), CHUNK_TERMS);
+            grown = allocate((int) size);
+            for (int i = 0; i < this.numTerms; i++)
+            {
+                grown.putLong(i << TERM_SHIFT, this.get(i));
+            }
+            BufferReleaser.free(this.chunks[0]);
+            this.chunks[0] = grown;
+            this.capacity = size;
+        }
+
+        if (needed > this.capacity)
+        {
+            count = (int) ((needed + CHUNK_MASK) >>> CHUNK_SHIFT);
+            this.chunks = Arrays.copyOf(this.chunks, count);
+            for (int i = (int) (this.capacity >>> CHUNK_SHIFT); i < count; i++)
+            {
+                this.chunks[i] = allocate(CHUNK_TERMS);
+            }
+            this.capacity = (long) count << CHUNK_SHIFT;
+        }
+    }
+
+    /**
+     * Helper method, takes over the storage of another polynomial and gives it this polynomial's storage.
+     *
+     * @param other the polynomial to swap storage with.
+     */
+    private void swap(OffHeapPolynomial other)
+    {
+        // local variables
+        ByteBuffer[] chunks;
+        long capacity;
+        int count;
+
+        chunks = this.chunks;
+        capacity = this.capacity;
+        count = this.numTerms;
+        this.chunks = other.chunks;
+        this.capacity = other.capacity;
+        this.numTerms = other.numTerms;
+        other.chunks = chunks;
+        other.capacity = capacity;
+        other.numTerms = count;
+    }
+
+    /**
+     * Helper method, resets this polynomial to no terms with a small chunk.
+     */
+    private void setEmpty()
+    {
+        this.chunks = new ByteBuffer[]{allocate(DEFAULT_CAPACITY)};
+        this.capacity = DEFAULT_CAPACITY;
+        this.numTerms = 0;
+    }
+
+    /**
+     * Helper method, releases every chunk.
+     */
+    private void release()
+    {
+        for (ByteBuffer chunk : this.chunks)
+        {
+            BufferReleaser.free(chunk);
+        }
+    }
+
+    /**
+     * Helper method, checks this polynomial is not closed.
+     *
+     * @throws IllegalStateException if it is.
+     */
+    private void checkOpen()
+    {
+        if (this.chunks == null)
+        {
+            throw new IllegalStateException("Polynomial is closed");
+        }
+    }
+
+    /**
+     * Helper method, allocates a chunk in native byte order.
+     *
+     * @param terms the number of terms the chunk holds.
+     * @return the new direct buffer.
+     */
+    private static ByteBuffer allocate(int terms)
+    {
+        return ByteBuffer.allocateDirect(terms << TERM_SHIFT).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the memory of direct buffers right away rather than when they are garbage collected.  Uses
+     * Unsafe.invokeCleaner on Java 9 and later and the buffer's own cleaner on Java 8, found once on first use.
+     * If neither can be reached the memory is left for the garbage collector.
+     */
+    private static final class BufferReleaser
+    {
+        private final static Object UNSAFE;
+        private final static Method INVOKE_CLEANER;
+
+        static
+        {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+
+            try
+            {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (ReflectiveOperationException | RuntimeException e)
+            {
+                // Java 8 has no invokeCleaner, free falls back to the buffer's cleaner
+                invokeCleaner = null;
+            }
+
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+
+        /**
+         * Releases the memory of a direct buffer if there is a way to.
+         *
+         * @param buffer the direct buffer, not used afterwards.
+         */
+        static void free(ByteBuffer buffer)
+        {
+            // local variables
+            Method cleanerMethod;
+            Object cleaner;
+
+            try
+            {
+                if (INVOKE_CLEANER != null)
+                {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                }
+                else
+                {
+                    cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null)
+                    {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException e)
+            {
+                // left for the garbage collector
+            }
+        }
+    }
+}
@@ -0,0 +1,558 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/25/2018
+ * <p>
+ * ParallelPolynomialOps.java : runs evaluation, addition and multiplication of huge polynomials on a ForkJoinPool.
+ * Inputs smaller than twice the threshold are handed to the sequential methods of Polynomial.
+ * <ul>
+ * <li>evaluate at many points : the points are split into ranges, each point gives exactly the same value as
+ * Polynomial.evaluate(double).</li>
+ * <li>evaluate at one point   : with long arithmetic the terms are split into chunks of threshold terms, each
+ * chunk is done with Horner's method and the chunks are stitched together with powers of x, which gives exactly
+ * the sequential result.  Doubles would round differently once the chunks are stitched, so double evaluation at
+ * one point is always done by Polynomial.evaluate(double).</li>
+ * <li>add      : the exponent range is split at exponents of the longer operand and each range is merged on
+ * its own, the sum is exactly the sequential one.</li>
+ * <li>multiply : the longer operand is split into blocks of terms, each block is multiplied by the other operand
+ * with PolynomialMultiplier, and the partial products are added.  Int coefficients wrap the same way whatever
+ * order they are added in, so the product is exactly the sequential one.  Operands big enough for the number
+ * theoretic transform are not split, the transforms under its three primes run in parallel instead.</li>
+ * </ul>
+ */
+package edu.miracosta.cs113;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelPolynomialOps
+{
+    // Default number of terms or points handled by one task
+    public final static int DEFAULT_THRESHOLD = 1 << 15;
+
+    private final static ParallelPolynomialOps DEFAULT_OPS = new ParallelPolynomialOps();
+
+    private final static int[] NTT_PRIMES = {NumberTheoreticTransform.PRIME_A, NumberTheoreticTransform.PRIME_B,
+            NumberTheoreticTransform.PRIME_C};
+
+    // Class variables
+    private ForkJoinPool pool;
+    private int threshold;
+    private PolynomialMultiplier multiplier;
+
+    /**
+     * Work on part of a range, split by RangeTask.
+     */
+    private interface RangeBody
+    {
+        void run(int from, int to);
+    }
+
+    /**
+     * Default constructor, uses the common pool, the default threshold and the default multiplier.
+     */
+    public ParallelPolynomialOps()
+    {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Full constructor, uses the default multiplier.
+     *
+     * @param pool      the pool to run tasks on.
+     * @param threshold number of terms or points handled by one task, 1 or higher.
+     */
+    public ParallelPolynomialOps(ForkJoinPool pool, int threshold)
+    {
+        this.setPool(pool);
+        this.setThreshold(threshold);
+        this.setMultiplier(PolynomialMultiplier.getDefault());
+    }
+
+    /**
+     * Accessor for the shared instance running on the common pool.
+     *
+     * @return the default ParallelPolynomialOps.
+     */
+    public static ParallelPolynomialOps getDefault()
+    {
+        return DEFAULT_OPS;
+    }
+
+    /**
+     * Mutator for the pool.
+     *
+     * @param value the pool to run tasks on.
+     */
+    public void setPool(ForkJoinPool value)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException("Pool must not be null");
+        }
+        this.pool = value;
+    }
+
+    /**
+     * Mutator for the threshold.
+     *
+     * @param value number of terms or points handled by one task, 1 or higher.
+     */
+    public void setThreshold(int value)
+    {
+        if (value < 1)
+        {
+            throw new IllegalArgumentException("Threshold must be 1 or higher: " + value);
+        }
+        this.threshold = value;
+    }
+
+    /**
+     * Mutator for the multiplier used on each block of a product.
+     *
+     * @param value the multiplier.
+     */
+    public void setMultiplier(PolynomialMultiplier value)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException("Multiplier must not be null");
+        }
+        this.multiplier = value;
+    }
+
+    /**
+     * Accessor for the pool.
+     *
+     * @return the pool tasks run on.
+     */
+    public ForkJoinPool getPool()
+    {
+        return this.pool;
+    }
+
+    /**
+     * Accessor for the threshold.
+     *
+     * @return number of terms or points handled by one task.
+     */
+    public int getThreshold()
+    {
+        return this.threshold;
+    }
+
+    /**
+     * Accessor for the multiplier.
+     *
+     * @return the multiplier used on each block of a product.
+     */
+    public PolynomialMultiplier getMultiplier()
+    {
+        return this.multiplier;
+    }
+
+    /**
+     * Evaluates a polynomial at x, exactly Polynomial.evaluate(double).  Each Horner step rounds, and stitching
+     * chunks evaluated in parallel would round differently from the single sequential pass, so this one is not
+     * split.  Use evaluate(Polynomial, double[], double[]) to evaluate many points in parallel.
+     *
+     * @param polynomial the polynomial to evaluate.
+     * @param x          the value of the variable.
+     * @return the value of the polynomial at x.
+     */
+    public double evaluate(Polynomial polynomial, double x)
+    {
+        return polynomial.evaluate(x);
+    }
+
+    /**
+     * Evaluates a polynomial at an integer x, Horner's method on chunks of terms in parallel.  The result is
+     * exactly Polynomial.evaluate(long), wrapping around the same way.
+     *
+     * @param polynomial the polynomial to evaluate.
+     * @param x          the value of the variable.
+     * @return the value of the polynomial at x.
+     * @throws ArithmeticException if the polynomial has a negative exponent.
+     */
+    public long evaluate(final Polynomial polynomial, final long x)
+    {
+        // local variables
+        final long[] values;
+        final int from, to, chunks;
+        long result;
+
+        if (polynomial.getNumTerms() == 0 || polynomial.slotCount() < 2 * this.threshold
+                || polynomial.lowestExponent() < 0)
+        {
+            return polynomial.evaluate(x);
+        }
+
+        from = polynomial.firstSlot();
+        to = polynomial.endSlot();
+        chunks = this.chunkCount(from, to);
+        values = new long[chunks];
+
+        this.invoke(0, chunks, 1, (first, last) ->
+        {
+            for (int k = first; k < last; k++)
+            {
+                values[k] = polynomial.evaluateSlots(x, this.chunkStart(from, k), this.chunkStart(from, k + 1, to));
+            }
+        });
+
+        result = values[0];
+        for (int k = 1; k < chunks; k++)
+        {
+            result = result * Polynomial.power(x, polynomial.slotExponent(this.chunkStart(from, k) - 1)
+                    - polynomial.slotExponent(this.chunkStart(from, k + 1, to) - 1)) + values[k];
+        }
+        return result * Polynomial.power(x, polynomial.slotExponent(to - 1));
+    }
+
+    /**
+     * Evaluates a polynomial at every value of xs in parallel, out[i] is set to polynomial.evaluate(xs[i])
+     * exactly, see Polynomial.evaluate(double[], double[]).
+     *
+     * @param polynomial the polynomial to evaluate.
+     * @param xs         the values of the variable.
+     * @param out        where to store the results, a different array than xs.
+     * @throws IllegalArgumentException if out is xs or shorter than xs.
+     */
+    public void evaluate(final Polynomial polynomial, final double[] xs, final double[] out)
+    {
+        if (xs.length < 2 * this.threshold)
+        {
+            polynomial.evaluate(xs, out);
+            return;
+        }
+        if (out == xs)
+        {
+            throw new IllegalArgumentException("Output array is the input array");
+        }
+        if (out.length < xs.length)
+        {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + xs.length);
+        }
+
+        this.invoke(0, xs.length, this.threshold, (first, last) -> polynomial.evaluateRange(xs, out, first, last));
+    }
+
+    /**
+     * Returns the sum of two polynomials without modifying either one, merging exponent ranges in parallel.
+     * The result equals Polynomial.sum(polyA, polyB).
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the sum.
+     */
+    public Polynomial sum(final Polynomial polyA, final Polynomial polyB)
+    {
+        // local variables
+        final Polynomial longer, shorter;
+        final int[] coefficients, exponents, counts, startsA, startsB;
+        final int ranges;
+        int count;
+
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0
+                || Math.max(polyA.slotCount(), polyB.slotCount()) < 2 * this.threshold)
+        {
+            return Polynomial.sum(polyA, polyB);
+        }
+
+        if (polyA.isDense() && polyB.isDense() && Polynomial.fitsDense(polyA, polyB))
+        {
+            return this.sumDense(polyA, polyB);
+        }
+
+        // ranges end at every threshold-th slot of the longer operand, the same exponents split the shorter one
+        longer = polyA.slotCount() >= polyB.slotCount() ? polyA : polyB;
+        shorter = longer == polyA ? polyB : polyA;
+        ranges = (longer.slotCount() + this.threshold - 1) / this.threshold;
+        startsA = new int[ranges + 1];
+        startsB = new int[ranges + 1];
+        for (int r = 0; r < ranges; r++)
+        {
+            startsA[r] = r * this.threshold;
+            startsB[r] = r == 0 ? 0 : shorter.slotAtOrBelow(longer.slotExponent(startsA[r] - 1) - 1L);
+        }
+        startsA[ranges] = longer.slotCount();
+        startsB[ranges] = shorter.slotCount();
+
+        // range r is merged into its own part of the arrays, starting at startsA[r] + startsB[r]
+        coefficients = new int[longer.slotCount() + shorter.slotCount()];
+        exponents = new int[coefficients.length];
+        counts = new int[ranges];
+        this.invoke(0, ranges, 1, (first, last) ->
+        {
+            for (int r = first; r < last; r++)
+            {
+                counts[r] = Polynomial.mergeSlots(longer, startsA[r], startsA[r + 1], shorter, startsB[r],
+                        startsB[r + 1], coefficients, exponents, startsA[r] + startsB[r]);
+            }
+        });
+
+        // close the gaps between ranges
+        count = counts[0];
+        for (int r = 1; r < ranges; r++)
+        {
+            System.arraycopy(coefficients, startsA[r] + startsB[r], coefficients, count, counts[r]);
+            System.arraycopy(exponents, startsA[r] + startsB[r], exponents, count, counts[r]);
+            count += counts[r];
+        }
+        return Polynomial.fromSparse(coefficients, exponents, count);
+    }
+
+    /**
+     * Returns the product of two polynomials without modifying either one, multiplying blocks of the first
+     * polynomial in parallel.  The result equals Polynomial.product(polyA, polyB).
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     * @throws ArithmeticException if a product exponent does not fit in an int.
+     */
+    public Polynomial product(final Polynomial polyA, final Polynomial polyB)
+    {
+        // split the longer operand, each block is multiplied by all of the shorter one
+        final Polynomial longer = polyA.slotCount() >= polyB.slotCount() ? polyA : polyB;
+        final Polynomial shorter = longer == polyA ? polyB : polyA;
+
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0 || longer.slotCount() < 2 * this.threshold)
+        {
+            return this.multiplier.multiply(polyA, polyB);
+        }
+        if (this.multiplier.usesNtt(polyA, polyB))
+        {
+            return this.productNtt(polyA, polyB);
+        }
+
+        return this.run(new ProductTask(longer, shorter, longer.firstSlot(), longer.endSlot()));
+    }
+
+    /**
+     * Helper method for product, the three prime transforms run side by side and the coefficients are put back
+     * together range by range.  Splitting the operands would repeat the transform of the other operand for every
+     * block, so the blocks are not used here.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     */
+    private Polynomial productNtt(Polynomial polyA, Polynomial polyB)
+    {
+        // local variables
+        final int[] denseA, denseB, result;
+        final int[][] residues;
+        final int low;
+
+        low = PolynomialMultiplier.productLowExponent(polyA, polyB);
+        denseA = polyA.toDenseArray();
+        denseB = polyB.toDenseArray();
+        residues = new int[NTT_PRIMES.length][];
+        result = new int[denseA.length + denseB.length - 1];
+
+        this.invoke(0, NTT_PRIMES.length, 1, (first, last) ->
+        {
+            for (int p = first; p < last; p++)
+            {
+                residues[p] = NumberTheoreticTransform.convolve(denseA, denseB, NTT_PRIMES[p]);
+            }
+        });
+        this.invoke(0, result.length, this.threshold, (first, last) -> NumberTheoreticTransform.combine(residues[0],
+                residues[1], residues[2], result, first, last));
+
+        return Polynomial.fromDense(result, low);
+    }
+
+    /**
+     * Helper method for sum, adds two dense polynomials index range by index range.
+     *
+     * @param polyA the first dense polynomial.
+     * @param polyB the second dense polynomial.
+     * @return a new Polynomial holding the sum.
+     */
+    private Polynomial sumDense(final Polynomial polyA, final Polynomial polyB)
+    {
+        // local variables
+        final int[] sum;
+        final int low;
+
+        low = Math.min(polyA.slotExponent(polyA.slotCount() - 1), polyB.slotExponent(polyB.slotCount() - 1));
+        sum = new int[Math.max(polyA.slotExponent(0), polyB.slotExponent(0)) - low + 1];
+
+        this.invoke(0, sum.length, this.threshold, (first, last) -> Polynomial.addDense(polyA, polyB, sum, low,
+                first, last));
+        return Polynomial.fromDense(sum, low);
+    }
+
+    /**
+     * Helper method for evaluate, number of chunks of threshold slots from the first slot up to the end slot.
+     *
+     * @param from the first slot.
+     * @param to   one past the last slot.
+     * @return the chunk count.
+     */
+    private int chunkCount(int from, int to)
+    {
+        return (int) (((long) to - from + this.threshold - 1) / this.threshold);
+    }
+
+    /**
+     * Helper method for evaluate, the first slot of a chunk.
+     *
+     * @param from  the first slot of the polynomial.
+     * @param chunk the chunk.
+     * @return the first slot of the chunk.
+     */
+    private int chunkStart(int from, int chunk)
+    {
+        return (int) (from + (long) chunk * this.threshold);
+    }
+
+    /**
+     * Helper method for evaluate, the first slot of a chunk, capped at the end slot.
+     *
+     * @param from  the first slot of the polynomial.
+     * @param chunk the chunk.
+     * @param to    one past the last slot of the polynomial.
+     * @return the first slot of the chunk, or to.
+     */
+    private int chunkStart(int from, int chunk, int to)
+    {
+        return (int) Math.min(to, from + (long) chunk * this.threshold);
+    }
+
+    /**
+     * Runs body over the range from up to to on the pool, split in halves until parts are at most grain long.
+     *
+     * @param from  the start of the range.
+     * @param to    the end of the range.
+     * @param grain the longest part run by one task.
+     * @param body  the work to do on each part.
+     */
+    private void invoke(int from, int to, int grain, RangeBody body)
+    {
+        this.run(new RangeTask(from, to, grain, body));
+    }
+
+    /**
+     * Runs a task on the pool, or directly when already running in the pool so nested calls do not block a
+     * worker thread.
+     *
+     * @param task the task to run.
+     * @param <T>  the result type of the task.
+     * @return the result of the task.
+     */
+    private <T> T run(ForkJoinTask<T> task)
+    {
+        return ForkJoinTask.getPool() == this.pool ? task.invoke() : this.pool.invoke(task);
+    }
+
+    /**
+     * Multiplies a range of slots of one polynomial by another, split in halves until the range is at most
+     * threshold slots, with the partial products added back together.
+     */
+    private class ProductTask extends RecursiveTask<Polynomial>
+    {
+        private final static long serialVersionUID = 1L;
+
+        private final Polynomial longer;
+        private final Polynomial shorter;
+        private final int from;
+        private final int to;
+
+        /**
+         * Full constructor.
+         *
+         * @param longer  the polynomial to split.
+         * @param shorter the polynomial every block is multiplied by.
+         * @param from    the first slot of longer.
+         * @param to      one past the last slot of longer.
+         */
+        private ProductTask(Polynomial longer, Polynomial shorter, int from, int to)
+        {
+            this.longer = longer;
+            this.shorter = shorter;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Multiplies the block, or splits it and adds the products of both halves.
+         *
+         * @return the partial product.
+         */
+        @Override
+        protected Polynomial compute()
+        {
+            // local variables
+            ProductTask upper;
+            Polynomial lower;
+            int middle;
+
+            if (this.to - this.from <= ParallelPolynomialOps.this.threshold)
+            {
+                return ParallelPolynomialOps.this.multiplier.multiply(this.longer.slice(this.from, this.to),
+                        this.shorter);
+            }
+
+            middle = (this.from + this.to) >>> 1;
+            upper = new ProductTask(this.longer, this.shorter, this.from, middle);
+            upper.fork();
+            lower = new ProductTask(this.longer, this.shorter, middle, this.to).compute();
+            return ParallelPolynomialOps.this.sum(upper.join(), lower);
+        }
+    }
+
+    /**
+     * Splits a range in halves until the parts are small enough, then runs the body on each part.
+     */
+    private static class RangeTask extends RecursiveAction
+    {
+        private final static long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeBody body;
+
+        /**
+         * Full constructor.
+         *
+         * @param from  the start of the range.
+         * @param to    the end of the range.
+         * @param grain the longest part run by one task.
+         * @param body  the work to do on each part.
+         */
+        private RangeTask(int from, int to, int grain, RangeBody body)
+        {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        /**
+         * Runs the body, or splits the range and runs both halves.
+         */
+        @Override
+        protected void compute()
+        {
+            // local variables
+            int middle;
+
+            if (this.to - this.from <= this.grain)
+            {
+                this.body.run(this.from, this.to);
+            }
+            else
+            {
+                middle = (this.from + this.to) >>> 1;
+                invokeAll(new RangeTask(this.from, middle, this.grain, this.body),
+                        new RangeTask(middle, this.to, this.grain, this.body));
+            }
+        }
+    }
+}
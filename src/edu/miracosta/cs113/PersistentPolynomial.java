@@ -0,0 +1,951 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 3/6/2018
+ * <p>
+ * PersistentPolynomial.java : an immutable polynomial whose changes return new versions that share storage with
+ * the old ones, so keeping an operand unchanged never needs a deep copy and every version stays usable.
+ * The terms are cut into chunks of at most 64, highest exponent first like Polynomial, and the chunks are the
+ * leaves of a B+ tree whose branches hold up to 64 children and count the terms below them:
+ * <ul>
+ * <li>copies are O(1), a version is just a reference to its root.</li>
+ * <li>addTerm, removeExponent and remove copy only the path from the root to one chunk, O(log n) nodes of at
+ * most 64 entries, every other chunk is shared with the old version.</li>
+ * <li>coefficientOf and getTerm are O(log n).</li>
+ * <li>add adds the terms of a small operand one at a time, and merges a large one with this polynomial and
+ * rebuilds the tree in O(n + m).</li>
+ * </ul>
+ * Chunks and branches that shrink below a quarter full are merged with a neighbour when they fit, so the tree
+ * stays shallow as terms are removed.
+ */
+package edu.miracosta.cs113;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public final class PersistentPolynomial
+{
+    // Most terms in a chunk and most children of a branch, nodes with fewer than MIN_ENTRIES are merged
+    private final static int MAX_ENTRIES = 64;
+    private final static int MIN_ENTRIES = MAX_ENTRIES / 4;
+
+    private final static Node[] NO_NODES = new Node[0];
+
+    // Class variables
+    // null when there are no terms
+    private final Node root;
+
+    /**
+     * A chunk of terms or a branch of the tree.  Nothing in a node is changed after it is built, so nodes and
+     * their arrays are shared freely between versions.
+     */
+    private final static class Node
+    {
+        // a chunk holds exponents from highest to lowest and their coefficients, children is null
+        // a branch holds children from highest exponents to lowest, exponents and coefficients are null
+        private final int[] exponents;
+        private final int[] coefficients;
+        private final Node[] children;
+        private final int size;
+        private final int lowest;
+
+        /**
+         * Chunk constructor.
+         *
+         * @param exponents    the exponents, strictly decreasing, at least one.
+         * @param coefficients the coefficients, none 0.
+         */
+        Node(int[] exponents, int[] coefficients)
+        {
+            this.exponents = exponents;
+            this.coefficients = coefficients;
+            this.children = null;
+            this.size = exponents.length;
+            this.lowest = exponents[exponents.length - 1];
+        }
+
+        /**
+         * Branch constructor.
+         *
+         * @param children the children, at least one, all the same depth.
+         */
+        Node(Node[] children)
+        {
+            // local variables
+            int total;
+
+            total = 0;
+            for (Node child : children)
+            {
+                total += child.size;
+            }
+            this.exponents = null;
+            this.coefficients = null;
+            this.children = children;
+            this.size = total;
+            this.lowest = children[children.length - 1].lowest;
+        }
+
+        /**
+         * Checks if this node is a chunk of terms.
+         *
+         * @return true for a chunk, false for a branch.
+         */
+        boolean isChunk()
+        {
+            return this.children == null;
+        }
+
+        /**
+         * Accessor for the number of terms in a chunk or children in a branch.
+         *
+         * @return the number of entries.
+         */
+        int entries()
+        {
+            return this.isChunk() ? this.exponents.length : this.children.length;
+        }
+    }
+
+    /**
+     * Walks the chunks of a tree in order, highest exponents first, keeping the path from the root on a stack.
+     */
+    private final static class ChunkCursor
+    {
+        private Node[] branches;
+        private int[] positions;
+        private int depth;
+        private Node pending;
+
+        /**
+         * Root constructor, starts before the first chunk.
+         *
+         * @param root the root of the tree, not null.
+         */
+        ChunkCursor(Node root)
+        {
+            this.branches = new Node[8];
+            this.positions = new int[8];
+            this.depth = 0;
+            this.pending = this.descend(root);
+        }
+
+        /**
+         * Moves to the next chunk.
+         *
+         * @return the chunk, or null after the last one.
+         */
+        Node next()
+        {
+            // local variables
+            Node chunk;
+
+            chunk = this.pending;
+            if (chunk != null)
+            {
+                this.pending = this.advance();
+            }
+            return chunk;
+        }
+
+        /**
+         * Finds the chunk after the last one returned, climbing until a branch has a child left.
+         *
+         * @return the chunk, or null if there are no more.
+         */
+        private Node advance()
+        {
+            // local variables
+            Node branch;
+
+            while (this.depth > 0)
+            {
+                branch = this.branches[this.depth - 1];
+                if (++this.positions[this.depth - 1] < branch.children.length)
+                {
+                    return this.descend(branch.children[this.positions[this.depth - 1]]);
+                }
+                this.depth--;
+            }
+            return null;
+        }
+
+        /**
+         * Follows the first children from a node down to a chunk, pushing each branch passed.
+         *
+         * @param node the node to start at.
+         * @return the first chunk below node.
+         */
+        private Node descend(Node node)
+        {
+            while (!node.isChunk())
+            {
+                if (this.depth == this.branches.length)
+                {
+                    this.branches = Arrays.copyOf(this.branches, this.depth * 2);
+                    this.positions = Arrays.copyOf(this.positions, this.depth * 2);
+                }
+                this.branches[this.depth] = node;
+                this.positions[this.depth++] = 0;
+                node = node.children[0];
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Default constructor, creates a polynomial with no terms.
+     */
+    public PersistentPolynomial()
+    {
+        this.root = null;
+    }
+
+    /**
+     * Copy constructor, copies the terms of a polynomial.  The terms are already in order, so the tree is built
+     * bottom up in O(n).
+     *
+     * @param polynomial the polynomial to copy.
+     */
+    public PersistentPolynomial(Polynomial polynomial)
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        int[] exponents, coefficients;
+        int count;
+
+        exponents = new int[polynomial.getNumTerms()];
+        coefficients = new int[exponents.length];
+        count = 0;
+        cursor = polynomial.cursor();
+        while (cursor.next())
+        {
+            exponents[count] = cursor.getExponent();
+            coefficients[count] = cursor.getCoefficient();
+            count++;
+        }
+        this.root = build(exponents, coefficients, count);
+    }
+
+    /**
+     * Version constructor.
+     *
+     * @param root the root of the new version, null for no terms.
+     */
+    private PersistentPolynomial(Node root)
+    {
+        this.root = root;
+    }
+
+    /**
+     * Adds a term, combining it with a term of the same exponent and dropping it if they cancel out.  Like
+     * Polynomial.addTerm(int, int), a coefficient sum that does not fit in an int wraps around.  O(log n).
+     *
+     * @param coefficient the coefficient of the term to add, this version is returned if 0.
+     * @param exponent    the exponent of the term to add.
+     * @return the new version, this one is unchanged.
+     */
+    public PersistentPolynomial addTerm(int coefficient, int exponent)
+    {
+        if (coefficient == 0)
+        {
+            return this;
+        }
+        return new PersistentPolynomial(update(this.root, coefficient, exponent));
+    }
+
+    /**
+     * Adds a term, see addTerm(int, int).
+     *
+     * @param termToAdd the term to add.
+     * @return the new version, this one is unchanged.
+     */
+    public PersistentPolynomial addTerm(Term termToAdd)
+    {
+        return this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+    }
+
+    /**
+     * Adds every term of another persistent polynomial.  Adding no terms returns this version, and adding to no
+     * terms returns the other one, without copying.
+     *
+     * @param polynomial the polynomial to add.
+     * @return the sum, neither operand is changed.
+     */
+    public PersistentPolynomial add(PersistentPolynomial polynomial)
+    {
+        // local variables
+        final Node[] temp;
+
+        if (polynomial.root == null)
+        {
+            return this;
+        }
+        if (this.root == null)
+        {
+            return polynomial;
+        }
+        if (!this.isSmall(polynomial.getNumTerms()))
+        {
+            return new PersistentPolynomial(Polynomial.sum(this.toPolynomial(), polynomial.toPolynomial()));
+        }
+
+        temp = new Node[]{this.root};
+        polynomial.forEachTerm((coefficient, exponent) -> temp[0] = update(temp[0], coefficient, exponent));
+        return new PersistentPolynomial(temp[0]);
+    }
+
+    /**
+     * Adds every term of a polynomial.
+     *
+     * @param polynomial the polynomial to add, it is not changed.
+     * @return the sum, this version is unchanged.
+     */
+    public PersistentPolynomial add(Polynomial polynomial)
+    {
+        // local variables
+        final Node[] temp;
+
+        if (!this.isSmall(polynomial.getNumTerms()))
+        {
+            return new PersistentPolynomial(Polynomial.sum(this.toPolynomial(), polynomial));
+        }
+
+        temp = new Node[]{this.root};
+        polynomial.forEachTerm((coefficient, exponent) -> temp[0] = update(temp[0], coefficient, exponent));
+        return new PersistentPolynomial(temp[0]);
+    }
+
+    /**
+     * Returns the coefficient of the term with the given exponent.  O(log n).
+     *
+     * @param exponent the exponent to look up.
+     * @return the coefficient of that term, 0 if there is none.
+     */
+    public int coefficientOf(int exponent)
+    {
+        // local variables
+        Node node;
+        int index;
+
+        if (this.root == null)
+        {
+            return 0;
+        }
+        node = this.root;
+        while (!node.isChunk())
+        {
+            node = node.children[childFor(node, exponent)];
+        }
+        index = indexOf(node.exponents, exponent);
+        return index >= 0 ? node.coefficients[index] : 0;
+    }
+
+    /**
+     * Removes the term with the given exponent.  O(log n).
+     *
+     * @param exponent the exponent of the term to remove.
+     * @return the new version, or this one if there is no term with that exponent.
+     */
+    public PersistentPolynomial removeExponent(int exponent)
+    {
+        // a coefficient and its negation always add to 0, even for Integer.MIN_VALUE
+        return this.addTerm(-this.coefficientOf(exponent), exponent);
+    }
+
+    /**
+     * Removes the term at the selected index, terms are numbered from highest exponent to lowest.  O(log n).
+     *
+     * @param index the index to remove term from.
+     * @return the new version, or this one if index is out of range.
+     */
+    public PersistentPolynomial remove(int index)
+    {
+        if (index < 0 || index >= this.getNumTerms())
+        {
+            return this;
+        }
+        return this.removeExponent(this.getTerm(index).getExponent());
+    }
+
+    /**
+     * Returns a new Term holding the values of the term at the index given.  O(log n).
+     *
+     * @param index the location of the term, from 0 for the highest exponent.
+     * @return a new Term from desired index.
+     * @throws IndexOutOfBoundsException if index is not between 0 and getNumTerms() - 1.
+     */
+    public Term getTerm(int index)
+    {
+        // local variables
+        Node node;
+        int child;
+
+        if (index < 0 || index >= this.getNumTerms())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.getNumTerms());
+        }
+        node = this.root;
+        while (!node.isChunk())
+        {
+            child = 0;
+            while (index >= node.children[child].size)
+            {
+                index -= node.children[child].size;
+                child++;
+            }
+            node = node.children[child];
+        }
+        return new Term(node.coefficients[index], node.exponents[index]);
+    }
+
+    /**
+     * Passes every term from highest exponent to lowest to the consumer without creating Term objects.
+     *
+     * @param consumer receives the coefficient and exponent of each term.
+     */
+    public void forEachTerm(TermConsumer consumer)
+    {
+        if (this.root != null)
+        {
+            forEachTerm(this.root, consumer);
+        }
+    }
+
+    /**
+     * Copies the terms into a heap polynomial.
+     *
+     * @return a new Polynomial holding the same terms.
+     */
+    public Polynomial toPolynomial()
+    {
+        // local variables
+        final int[] sparseCoefficients, sparseExponents;
+        final int[] count;
+
+        sparseCoefficients = new int[this.getNumTerms()];
+        sparseExponents = new int[sparseCoefficients.length];
+        count = new int[1];
+        this.forEachTerm((coefficient, exponent) ->
+        {
+            sparseCoefficients[count[0]] = coefficient;
+            sparseExponents[count[0]++] = exponent;
+        });
+        return Polynomial.fromSparse(sparseCoefficients, sparseExponents, count[0]);
+    }
+
+    /**
+     * Accessor for the number of terms.
+     *
+     * @return the number of terms in this polynomial.
+     */
+    public int getNumTerms()
+    {
+        return this.root == null ? 0 : this.root.size;
+    }
+
+    /**
+     * Checks if two polynomials hold the same terms.  Versions sharing a root are equal without comparing terms,
+     * otherwise the chunks of both trees are walked side by side, chunks shared at the same place are skipped
+     * whole and the walk stops at the first term that differs.  The shape of the trees does not matter.
+     *
+     * @param other the object to compare with.
+     * @return true if other is a PersistentPolynomial with exactly the same terms.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        // local variables
+        ChunkCursor thisCursor, otherCursor;
+        Node thisChunk, otherChunk;
+        int thisIndex, otherIndex;
+
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof PersistentPolynomial)
+                || ((PersistentPolynomial) other).getNumTerms() != this.getNumTerms())
+        {
+            return false;
+        }
+        if (((PersistentPolynomial) other).root == this.root)
+        {
+            return true;
+        }
+        if (this.root == null)
+        {
+            return true;
+        }
+
+        thisCursor = new ChunkCursor(this.root);
+        otherCursor = new ChunkCursor(((PersistentPolynomial) other).root);
+        thisChunk = thisCursor.next();
+        otherChunk = otherCursor.next();
+        thisIndex = 0;
+        otherIndex = 0;
+
+        // the same number of terms, so both walks end together
+        while (thisChunk != null)
+        {
+            if (thisChunk == otherChunk && thisIndex == 0 && otherIndex == 0)
+            {
+                thisChunk = thisCursor.next();
+                otherChunk = otherCursor.next();
+                continue;
+            }
+            if (thisChunk.exponents[thisIndex] != otherChunk.exponents[otherIndex]
+                    || thisChunk.coefficients[thisIndex] != otherChunk.coefficients[otherIndex])
+            {
+                return false;
+            }
+            if (++thisIndex == thisChunk.exponents.length)
+            {
+                thisChunk = thisCursor.next();
+                thisIndex = 0;
+            }
+            if (++otherIndex == otherChunk.exponents.length)
+            {
+                otherChunk = otherCursor.next();
+                otherIndex = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash code consistent with equals(Object), the same as Polynomial.hashCode() for the same terms.
+     *
+     * @return the hash code of the terms.
+     */
+    @Override
+    public int hashCode()
+    {
+        // local variables
+        final int[] hash;
+
+        hash = new int[1];
+        this.forEachTerm((coefficient, exponent) -> hash[0] += Term.hashOf(coefficient, exponent));
+        return hash[0];
+    }
+
+    /**
+     * toString method for polynomial, the same form as Polynomial.toString().
+     *
+     * @return String with all terms in polynomial.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder temp = new StringBuilder(Term.textCapacity(this.getNumTerms()));
+
+        try
+        {
+            this.writeTo(temp);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
+
+    /**
+     * Writes this polynomial in the same form as toString() term by term, see Polynomial.writeTo(Appendable).
+     *
+     * @param out where to write the polynomial.
+     * @throws IOException if out throws IOException.
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
+        // local variables
+        ChunkCursor cursor;
+        Node chunk;
+        boolean leading;
+
+        if (this.root == null)
+        {
+            out.append('0');
+            return;
+        }
+
+        cursor = new ChunkCursor(this.root);
+        leading = true;
+        while ((chunk = cursor.next()) != null)
+        {
+            for (int i = 0; i < chunk.exponents.length; i++)
+            {
+                Term.appendTerm(out, chunk.coefficients[i], chunk.exponents[i], leading);
+                leading = false;
+            }
+        }
+    }
+
+    /**
+     * Checks if adding a number of terms one at a time is cheaper than merging and rebuilding the tree.  Each
+     * single term copies a path of up to MAX_ENTRIES entries per level, a rebuild touches every term once.
+     *
+     * @param numTerms the number of terms to add.
+     * @return true if the terms should be added one at a time.
+     */
+    private boolean isSmall(int numTerms)
+    {
+        return (long) numTerms * MAX_ENTRIES <= this.getNumTerms();
+    }
+
+    /**
+     * Adds a term below a node, copying the path to the chunk that holds its exponent.
+     *
+     * @param node        the root of the tree, null for no terms.
+     * @param coefficient the coefficient of the term, not 0.
+     * @param exponent    the exponent of the term.
+     * @return the root of the new tree, null if it has no terms.
+     */
+    private static Node update(Node node, int coefficient, int exponent)
+    {
+        // local variables
+        Node[] parts;
+        Node temp;
+
+        if (node == null)
+        {
+            return new Node(new int[]{exponent}, new int[]{coefficient});
+        }
+
+        parts = updateNode(node, coefficient, exponent);
+        if (parts.length == 0)
+        {
+            return null;
+        }
+        temp = parts.length == 1 ? parts[0] : new Node(parts);
+
+        // a branch left with one child is replaced by it, so the tree never gets deeper than it needs to be
+        while (!temp.isChunk() && temp.children.length == 1)
+        {
+            temp = temp.children[0];
+        }
+        return temp;
+    }
+
+    /**
+     * Adds a term below a node.
+     *
+     * @param node        the node, chunk or branch.
+     * @param coefficient the coefficient of the term, not 0.
+     * @param exponent    the exponent of the term.
+     * @return no nodes if every term cancelled out, the new node, or two halves if it had to be split.
+     */
+    private static Node[] updateNode(Node node, int coefficient, int exponent)
+    {
+        // local variables
+        Node[] parts, children;
+        int child, count;
+
+        if (node.isChunk())
+        {
+            return updateChunk(node, coefficient, exponent);
+        }
+
+        child = childFor(node, exponent);
+        parts = updateNode(node.children[child], coefficient, exponent);
+        count = node.children.length - 1 + parts.length;
+        if (count == 0)
+        {
+            return NO_NODES;
+        }
+
+        children = new Node[count];
+        System.arraycopy(node.children, 0, children, 0, child);
+        System.arraycopy(parts, 0, children, child, parts.length);
+        System.arraycopy(node.children, child + 1, children, child + parts.length,
+                node.children.length - child - 1);
+        if (parts.length == 1)
+        {
+            children = mergeSmall(children, child);
+        }
+        return split(children);
+    }
+
+    /**
+     * Adds a term to a chunk.
+     *
+     * @param node        the chunk.
+     * @param coefficient the coefficient of the term, not 0.
+     * @param exponent    the exponent of the term.
+     * @return no nodes if the chunk is left empty, the new chunk, or two halves if it had to be split.
+     */
+    private static Node[] updateChunk(Node node, int coefficient, int exponent)
+    {
+        // local variables
+        int[] exponents, coefficients;
+        int index, length, half;
+
+        length = node.exponents.length;
+        index = indexOf(node.exponents, exponent);
+        if (index >= 0)
+        {
+            if (node.coefficients[index] + coefficient != 0)
+            {
+                // the exponents do not change, so the new chunk shares them
+                coefficients = node.coefficients.clone();
+                coefficients[index] += coefficient;
+                return new Node[]{new Node(node.exponents, coefficients)};
+            }
+            if (length == 1)
+            {
+                return NO_NODES;
+            }
+            exponents = new int[length - 1];
+            coefficients = new int[length - 1];
+            System.arraycopy(node.exponents, 0, exponents, 0, index);
+            System.arraycopy(node.exponents, index + 1, exponents, index, length - index - 1);
+            System.arraycopy(node.coefficients, 0, coefficients, 0, index);
+            System.arraycopy(node.coefficients, index + 1, coefficients, index, length - index - 1);
+            return new Node[]{new Node(exponents, coefficients)};
+        }
+
+        index = -index - 1;
+        exponents = new int[length + 1];
+        coefficients = new int[length + 1];
+        System.arraycopy(node.exponents, 0, exponents, 0, index);
+        System.arraycopy(node.exponents, index, exponents, index + 1, length - index);
+        System.arraycopy(node.coefficients, 0, coefficients, 0, index);
+        System.arraycopy(node.coefficients, index, coefficients, index + 1, length - index);
+        exponents[index] = exponent;
+        coefficients[index] = coefficient;
+        if (length < MAX_ENTRIES)
+        {
+            return new Node[]{new Node(exponents, coefficients)};
+        }
+
+        half = (length + 1) / 2;
+        return new Node[]{
+                new Node(Arrays.copyOfRange(exponents, 0, half), Arrays.copyOfRange(coefficients, 0, half)),
+                new Node(Arrays.copyOfRange(exponents, half, length + 1),
+                        Arrays.copyOfRange(coefficients, half, length + 1))};
+    }
+
+    /**
+     * Merges a child that has become small with a neighbour, when both fit in one node.
+     *
+     * @param children the children of a branch, a new array that can be changed.
+     * @param child    the index of the child that changed.
+     * @return the children, one shorter if the child was merged.
+     */
+    private static Node[] mergeSmall(Node[] children, int child)
+    {
+        // local variables
+        Node[] temp;
+        int first;
+
+        if (children[child].entries() >= MIN_ENTRIES || children.length == 1)
+        {
+            return children;
+        }
+
+        // the smaller neighbour, the one after the child if it is first
+        first = child;
+        if (child == children.length - 1
+                || (child > 0 && children[child - 1].entries() < children[child + 1].entries()))
+        {
+            first = child - 1;
+        }
+        if (children[first].entries() + children[first + 1].entries() > MAX_ENTRIES)
+        {
+            return children;
+        }
+
+        temp = new Node[children.length - 1];
+        System.arraycopy(children, 0, temp, 0, first);
+        temp[first] = merge(children[first], children[first + 1]);
+        System.arraycopy(children, first + 2, temp, first + 1, children.length - first - 2);
+        return temp;
+    }
+
+    /**
+     * Joins two neighbouring nodes of the same depth into one.
+     *
+     * @param higher the node with the higher exponents.
+     * @param lower  the node with the lower exponents.
+     * @return the joined node.
+     */
+    private static Node merge(Node higher, Node lower)
+    {
+        // local variables
+        Node[] children;
+
+        if (higher.isChunk())
+        {
+            return new Node(concat(higher.exponents, lower.exponents), concat(higher.coefficients, lower.coefficients));
+        }
+        children = Arrays.copyOf(higher.children, higher.children.length + lower.children.length);
+        System.arraycopy(lower.children, 0, children, higher.children.length, lower.children.length);
+        return new Node(children);
+    }
+
+    /**
+     * Joins two int arrays.
+     *
+     * @param first  the first values.
+     * @param second the values that follow them.
+     * @return a new array holding both.
+     */
+    private static int[] concat(int[] first, int[] second)
+    {
+        // local variables
+        int[] temp;
+
+        temp = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, temp, first.length, second.length);
+        return temp;
+    }
+
+    /**
+     * Makes a branch of children, split in two halves if there are too many.
+     *
+     * @param children the children.
+     * @return the branch, or its two halves.
+     */
+    private static Node[] split(Node[] children)
+    {
+        // local variables
+        int half;
+
+        if (children.length <= MAX_ENTRIES)
+        {
+            return new Node[]{new Node(children)};
+        }
+        half = children.length / 2;
+        return new Node[]{new Node(Arrays.copyOfRange(children, 0, half)),
+                new Node(Arrays.copyOfRange(children, half, children.length))};
+    }
+
+    /**
+     * Finds the child of a branch whose exponent range holds an exponent, or where it would go.
+     *
+     * @param node     the branch.
+     * @param exponent the exponent to look for.
+     * @return the index of the first child whose lowest exponent is not above exponent, the last child if there
+     * is none.
+     */
+    private static int childFor(Node node, int exponent)
+    {
+        // local variables
+        int low, high, middle;
+
+        low = 0;
+        high = node.children.length - 1;
+        while (low < high)
+        {
+            middle = (low + high) >>> 1;
+            if (node.children[middle].lowest <= exponent)
+            {
+                high = middle;
+            }
+            else
+            {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Binary search in exponents ordered from highest to lowest.
+     *
+     * @param exponents the exponents of a chunk.
+     * @param exponent  the exponent to look for.
+     * @return its index, or -(insertion point) - 1 if it is not there.
+     */
+    private static int indexOf(int[] exponents, int exponent)
+    {
+        // local variables
+        int low, high, middle;
+
+        low = 0;
+        high = exponents.length - 1;
+        while (low <= high)
+        {
+            middle = (low + high) >>> 1;
+            if (exponents[middle] > exponent)
+            {
+                low = middle + 1;
+            }
+            else if (exponents[middle] < exponent)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Passes every term below a node to the consumer.
+     *
+     * @param node     the node.
+     * @param consumer receives the coefficient and exponent of each term.
+     */
+    private static void forEachTerm(Node node, TermConsumer consumer)
+    {
+        if (node.isChunk())
+        {
+            for (int i = 0; i < node.exponents.length; i++)
+            {
+                consumer.accept(node.coefficients[i], node.exponents[i]);
+            }
+            return;
+        }
+        for (Node child : node.children)
+        {
+            forEachTerm(child, consumer);
+        }
+    }
+
+    /**
+     * Builds a tree bottom up from terms in order.  Chunks and branches are filled evenly, so none is left
+     * nearly empty at the end.
+     *
+     * @param exponents    the exponents, strictly decreasing.
+     * @param coefficients the coefficients, none 0.
+     * @param count        the number of terms used from the arrays.
+     * @return the root, null if count is 0.
+     */
+    private static Node build(int[] exponents, int[] coefficients, int count)
+    {
+        // local variables
+        Node[] level, next;
+        int parts, from, to;
+
+        if (count == 0)
+        {
+            return null;
+        }
+
+        parts = (count + MAX_ENTRIES - 1) / MAX_ENTRIES;
+        level = new Node[parts];
+        for (int i = 0; i < parts; i++)
+        {
+            from = (int) ((long) count * i / parts);
+            to = (int) ((long) count * (i + 1) / parts);
+            level[i] = new Node(Arrays.copyOfRange(exponents, from, to), Arrays.copyOfRange(coefficients, from, to));
+        }
+
+        while (level.length > 1)
+        {
+            parts = (level.length + MAX_ENTRIES - 1) / MAX_ENTRIES;
+            next = new Node[parts];
+            for (int i = 0; i < parts; i++)
+            {
+                from = (int) ((long) level.length * i / parts);
+                to = (int) ((long) level.length * (i + 1) / parts);
+                next[i] = new Node(Arrays.copyOfRange(level, from, to));
+            }
+            level = next;
+        }
+        return level[0];
+    }
+}
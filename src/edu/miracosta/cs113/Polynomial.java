@@ -1,290 +1,2360 @@
 /**
  * @author Carlos Sanchez
- * @version 1.01
+ * @version 1.03
  * @since 2/11/2001
  * <p>
- * Polynomial.java : holds a LinkedList of Terms which are ordered from highest to lower terms.  Polynomials can be
- * be added to local polynomial in which case any matching terms will be combine and the sum will take it's original place.
- * Individual terms can be added or removed as needed.
+ * Polynomial.java : holds the terms of a polynomial ordered from highest to lowest exponent.  Terms are kept in one
+ * of two forms which are switched between automatically after every change:
+ * <ul>
+ * <li>sparse : two parallel int arrays (coefficients and exponents) holding only the non zero terms.</li>
+ * <li>dense  : one int array of coefficients indexed by exponent, zero where there is no term.
+ * Used when most exponents between the lowest and highest term are present.  The array keeps spare room on both
+ * sides of the exponent range and grows geometrically, so extending the range at either end is amortized O(1).
+ * </li>
+ * </ul>
+ * Polynomials can be added to local polynomial in which case any matching terms will be combine and the sum will
+ * take it's original place.  Individual terms can be added or removed as needed.
  */
 package edu.miracosta.cs113;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
 
 public class Polynomial
 {
-    private final static char PLUS_SYMBOL = '+';
+    private final static int DEFAULT_CAPACITY = 8;
+
+    // Storage switching, dense needs at least DENSE_MIN_TERMS terms filling half of the exponent range,
+    // and goes back to sparse once less than a quarter is filled.
+    private final static int DENSE_MIN_TERMS = 32;
+    private final static int DENSE_FILL = 2;
+    private final static int SPARSE_FILL = 4;
+
+    // Points evaluated together by evaluate(double[], double[]), small enough to stay in the L1 cache
+    private final static int EVALUATE_BLOCK = 512;
+
+    // Largest dense array, the exponent range of a dense polynomial never gets larger
+    private final static int MAX_DENSE_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final static long NO_POSITION = -1;
 
     // Class variables
-    private LinkedList<Term> termList;
+    // sparse : coefficients and exponents are parallel, index 0 holds the highest exponent.
+    // dense  : coefficients[denseStart + exponent - lowExponent] for the denseLength exponents from lowExponent up,
+    //          exponents is null.  The rest of the array is spare room and always 0.
+    private int[] coefficients;
+    private int[] exponents;
+    private int numTerms;
+    private boolean dense;
+    private int lowExponent;
+    private int denseStart;
+    private int denseLength;
+    // index and array position of the last dense term found by positionOf, packed as (position << 32 | index)
+    private volatile long positionCache = NO_POSITION;
+    // hash is the sum of Term.hashOf over the terms when hashKnown, single term changes keep it up to date and
+    // bulk changes clear hashKnown so hashCode() adds it up again
+    private int hash;
+    private boolean hashKnown;
 
     /**
-     * Default constructor, initializes termList to new empty linked list.
+     * Default constructor, initializes an empty polynomial.
      */
     public Polynomial()
     {
-        this.termList = new LinkedList();
+        this.setEmpty();
     }
 
 
     /**
-     * Copy constructor, initializes termlist to new empty linked list then copies over
-     * every term from referenced polynomial.
+     * Copy constructor, initializes this polynomial with a copy of every term from referenced polynomial.
      *
      * @param polynomial the polynomial you want to copy from.
      */
     public Polynomial(Polynomial polynomial)
     {
-        this.termList = new LinkedList();
-
-        if (polynomial != null)
+        if (polynomial == null)
         {
-            for (int i = 0; i < polynomial.getNumTerms(); i++)
-            {
-                termList.add(new Term(polynomial.getTerm(i)));
-            }
+            this.setEmpty();
+        }
+        else if (polynomial.dense)
+        {
+            this.coefficients = Arrays.copyOfRange(polynomial.coefficients, polynomial.denseStart,
+                    polynomial.denseStart + polynomial.denseLength);
+            this.exponents = null;
+            this.numTerms = polynomial.numTerms;
+            this.dense = true;
+            this.lowExponent = polynomial.lowExponent;
+            this.denseStart = 0;
+            this.denseLength = polynomial.denseLength;
+            this.hash = polynomial.hash;
+            this.hashKnown = polynomial.hashKnown;
+        }
+        else
+        {
+            this.coefficients = Arrays.copyOf(polynomial.coefficients, Math.max(polynomial.numTerms, 1));
+            this.exponents = Arrays.copyOf(polynomial.exponents, Math.max(polynomial.numTerms, 1));
+            this.numTerms = polynomial.numTerms;
+            this.dense = false;
+            this.hash = polynomial.hash;
+            this.hashKnown = polynomial.hashKnown;
         }
     }
 
     /**
-     * Ittereates through the given polynomial and adds each term to local polynomial using the addTerm(Term) method.
+     * Merges the given polynomial into this polynomial.  Both polynomials are already ordered from highest
+     * exponent to lowest, so they are walked side by side once and the combined terms are built in a single
+     * pass, matching terms are summed and dropped if their sum is 0.
      *
      * @param polynomial The polynomial you would like to combine with this polynomial.
      */
     public void add(Polynomial polynomial)
     {
-        for (int i = 0; i < polynomial.getNumTerms(); i++)
+        merge(this, polynomial, this);
+    }
+
+    /**
+     * Returns the sum of two polynomials without modifying either one.
+     *
+     * @param polyA The first polynomial to add.
+     * @param polyB The second polynomial to add.
+     * @return a new Polynomial holding the sum of polyA and polyB.
+     */
+    public static Polynomial sum(Polynomial polyA, Polynomial polyB)
+    {
+        Polynomial temp = new Polynomial();
+        merge(polyA, polyB, temp);
+        return temp;
+    }
+
+    /**
+     * Multiplies this polynomial by the given polynomial, the product replaces the terms of this polynomial.
+     * The algorithm is picked by PolynomialMultiplier from the size and shape of both polynomials.  Like int
+     * multiplication, a product coefficient that does not fit in an int wraps around.
+     *
+     * @param polynomial The polynomial you would like to multiply this polynomial by.
+     * @throws ArithmeticException if a product exponent does not fit in an int.
+     */
+    public void multiply(Polynomial polynomial)
+    {
+        this.assign(PolynomialMultiplier.getDefault().multiply(this, polynomial));
+    }
+
+    /**
+     * Returns the product of two polynomials without modifying either one, see multiply(Polynomial).
+     *
+     * @param polyA The first polynomial to multiply.
+     * @param polyB The second polynomial to multiply.
+     * @return a new Polynomial holding the product of polyA and polyB.
+     */
+    public static Polynomial product(Polynomial polyA, Polynomial polyB)
+    {
+        return PolynomialMultiplier.getDefault().multiply(polyA, polyB);
+    }
+
+    /**
+     * Divides this polynomial by another with long division, without modifying either one.  The quotient q and
+     * remainder r satisfy this = q * divisor + r, where every exponent of r is below the highest exponent of
+     * divisor, and every exponent of q is 0 or higher.  Negative exponents of this polynomial and of divisor
+     * are fine, so x^2 + x^-1 divided by x is x remainder x^-1.  Coefficients wrap around on overflow like
+     * multiply(Polynomial).
+     * Small inputs are divided term by term, large ones by a divisor leading with 1 or -1 through a Newton
+     * inverse built on fast multiplication, see PolynomialDivision.
+     *
+     * @param divisor the polynomial to divide by.
+     * @return a new quotient at index 0 and a new remainder at index 1.
+     * @throws ArithmeticException if divisor has no terms, a quotient coefficient would not be an integer,
+     *                             example 3x divided by 2x, or a quotient exponent does not fit in an int,
+     *                             example x^2147483647 divided by x^-1.  ModPolynomial divides by any divisor.
+     */
+    public Polynomial[] divideAndRemainder(Polynomial divisor)
+    {
+        return PolynomialDivision.divideAndRemainder(this, divisor);
+    }
+
+    /**
+     * Returns the greatest common divisor of this polynomial and another over the integers, without modifying
+     * either one.  The GCD has the largest degree and content that divides both, and a positive leading
+     * coefficient, so the GCD of 6x^2 + 6x and 4x + 4 is 2x + 2.  With negative exponents the power of x is the
+     * lower of the two lowest, so the GCD of x^2 + x^-1 and x^-3 is x^-3.  The GCD with a polynomial that has no
+     * terms is the other polynomial.  Coefficients are taken as the integers they hold, not as residues of
+     * wrapped arithmetic.
+     * The GCD is found modulo primes and rebuilt with the Chinese remainder theorem, with a half GCD modulo each
+     * prime for large degrees, see PolynomialGcd.
+     *
+     * @param polynomial the other polynomial.
+     * @return a new Polynomial holding the GCD.
+     * @throws ArithmeticException if a coefficient of the GCD does not fit in an int.
+     */
+    public Polynomial gcd(Polynomial polynomial)
+    {
+        return PolynomialGcd.gcd(this, polynomial);
+    }
+
+    /**
+     * Evaluates this polynomial at x with Horner's method.  Gaps between exponents are crossed with one
+     * power of x done by repeated squaring, so a sparse polynomial costs O(terms * log(gap)) rather than
+     * O(degree).  Negative exponents are handled by factoring out x to the lowest exponent, 1 / x^n when
+     * that exponent is negative.
+     *
+     * @param x the value of the variable.
+     * @return the value of this polynomial at x, 0 if there are no terms.
+     */
+    public double evaluate(double x)
+    {
+        // local variables
+        int from, to;
+
+        if (this.numTerms == 0)
         {
-            this.addTerm(polynomial.getTerm(i));
+            return 0;
         }
+
+        from = this.firstSlot();
+        to = this.endSlot();
+        return this.evaluateSlots(x, from, to) * power(x, this.slotExponent(to - 1));
     }
 
+    /**
+     * Evaluates this polynomial at an integer x with Horner's method, see evaluate(double).  Like int
+     * multiplication, a result that does not fit in a long wraps around.
+     *
+     * @param x the value of the variable.
+     * @return the value of this polynomial at x, 0 if there are no terms.
+     * @throws ArithmeticException if this polynomial has a negative exponent, since 1 / x^n is not an integer.
+     */
+    public long evaluate(long x)
+    {
+        // local variables
+        int from, to;
+
+        if (this.numTerms == 0)
+        {
+            return 0;
+        }
+        if (this.lowestExponent() < 0)
+        {
+            throw new ArithmeticException("Negative exponent " + this.lowestExponent() + " in integer evaluation");
+        }
+
+        from = this.firstSlot();
+        to = this.endSlot();
+        return this.evaluateSlots(x, from, to) * power(x, this.slotExponent(to - 1));
+    }
 
     /**
-     * adds the given term to this polynomial in the correct position, going from highest exponent to lowest.
-     * if given term's exponent has the same value as local term's exponent, then both terms will be added
-     * together then the result would be inserted into the position occupied by local term, unless the coefficient
-     * sum = 0 in which case the local term will be removed from the list.
+     * Evaluates this polynomial at every value of xs, out[i] is set to evaluate(xs[i]) exactly.  Points are
+     * done in blocks with the terms in the outer loop and the points in the inner loop, so each term is read
+     * once per block and the inner loop is a simple multiply add over arrays.  Nothing is allocated per point.
+     * Dense polynomials use the SIMD evaluator from VectorSupport when the vector module is available.
      *
-     * @param termToAdd the term you would like to add to this polynomial.
+     * @param xs  the values of the variable.
+     * @param out where to store the results, a different array than xs.
+     * @throws IllegalArgumentException if out is xs or shorter than xs.
      */
-    public void addTerm(Term termToAdd)
+    public void evaluate(double[] xs, double[] out)
+    {
+        if (out == xs)
+        {
+            throw new IllegalArgumentException("Output array is the input array");
+        }
+        if (out.length < xs.length)
+        {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + xs.length);
+        }
+
+        this.evaluateRange(xs, out, 0, xs.length);
+    }
+
+    /**
+     * Evaluates this polynomial at the points of xs from start up to end, see evaluate(double[], double[]).
+     *
+     * @param xs    the values of the variable.
+     * @param out   where to store the results, a different array than xs.
+     * @param start the first point.
+     * @param end   one past the last point.
+     */
+    void evaluateRange(double[] xs, double[] out, int start, int end)
     {
-        // local variable
-        Term localTerm, currentTerm, nextTerm, sum;
-        int lastIndex;
+        // local variables
+        double[] powers;
+        int from, to;
+
+        if (this.numTerms == 0)
+        {
+            Arrays.fill(out, start, end, 0);
+            return;
+        }
 
-        // If list is empty, add term to index 0
-        if (this.termList.size() == 0)
+        powers = new double[Math.min(end - start, EVALUATE_BLOCK)];
+        from = this.firstSlot();
+        to = this.endSlot();
+
+        for (int blockStart = start; blockStart < end; blockStart += EVALUATE_BLOCK)
         {
-            this.termList.add(termToAdd);
+            this.evaluateBlock(xs, out, blockStart, Math.min(blockStart + EVALUATE_BLOCK, end), from, to, powers);
         }
-        // else if only one element in list
-        else if (this.termList.size() == 1)
+    }
+
+    /**
+     * Helper method for evaluateRange, evaluates the points from start up to end.  Does the same operations in
+     * the same order as evaluate(double) so results match it bit for bit.
+     *
+     * @param xs     the values of the variable.
+     * @param out    where to store the results.
+     * @param start  the first point.
+     * @param end    one past the last point.
+     * @param from   firstSlot() of this polynomial.
+     * @param to     endSlot() of this polynomial.
+     * @param powers scratch space for powers of the points, at least end - start long.
+     */
+    private void evaluateBlock(double[] xs, double[] out, int start, int end, int from, int to, double[] powers)
+    {
+        // local variables
+        VectorSupport.Evaluator vector;
+        int coefficient, gap, lowest, top, bottom;
+
+        if (this.dense)
         {
-            localTerm = termList.get(0);
-            if (termToAdd.compareTo(localTerm) == 1)
+            top = this.slotPosition(from);
+            bottom = this.slotPosition(to - 1);
+            vector = VectorSupport.evaluator();
+
+            if (vector != null)
             {
-                termList.add(0, termToAdd);
+                vector.horner(this.coefficients, bottom, top + 1, xs, out, start, end);
             }
-            else if (termToAdd.compareTo(localTerm) == 0)
+            else
             {
-
-                sum = termToAdd.plus(localTerm);
-                if (sum != null)
+                coefficient = this.coefficients[top];
+                for (int j = start; j < end; j++)
                 {
-                    termList.set(0, sum);
+                    out[j] = coefficient;
                 }
-                else
+                for (int i = top - 1; i >= bottom; i--)
                 {
-                    termList.remove(0);
+                    coefficient = this.coefficients[i];
+                    for (int j = start; j < end; j++)
+                    {
+                        out[j] = out[j] * xs[j] + coefficient;
+                    }
                 }
             }
-            else
-            {
-                termList.add(termToAdd);
-            }
-
         }
-        else  // there is more then 1 element in list
+        else
         {
-            // loop up too last index
-            for (int i = 0; i < this.getNumTerms() - 1; i++)
+            coefficient = this.coefficients[from];
+            for (int j = start; j < end; j++)
             {
-                currentTerm = this.getTerm(i);
-                nextTerm = this.getTerm(i + 1);
-
-                // if term to add exponent bigger then current term's exponent
-                if (termToAdd.compareTo(currentTerm) == 1)
-                {
-                    termList.add(i, termToAdd);
-                    return;
-                }
+                out[j] = coefficient;
+            }
+            for (int i = from + 1; i < to; i++)
+            {
+                coefficient = this.coefficients[i];
+                gap = this.exponents[i - 1] - this.exponents[i];
 
-                // else if term to Add Exponent matches current term's exponent
-                else if (termToAdd.compareTo(currentTerm) == 0)
+                if (gap == 1)
                 {
-                    sum = termToAdd.plus(currentTerm);
-                    if (sum != null)
+                    for (int j = start; j < end; j++)
                     {
-                        termList.set(i, sum);
+                        out[j] = out[j] * xs[j] + coefficient;
                     }
-                    else
+                }
+                else
+                {
+                    powers(xs, start, end, Integer.toUnsignedLong(gap), powers);
+                    for (int j = start; j < end; j++)
                     {
-                        termList.remove(i);
+                        out[j] = out[j] * powers[j - start] + coefficient;
                     }
-                    return;
                 }
+            }
+        }
 
-                // if term to add exponent is smaller then current term exponent
-                // and larger then the next term exponent
-                if (termToAdd.compareTo(currentTerm) == -1
-                        && termToAdd.compareTo(nextTerm) == 1)
-                {
-                    // Insert term in between current and next
-                    termList.add(i + 1, termToAdd);
-                    return;
-                }
+        lowest = this.slotExponent(to - 1);
+        if (lowest == 1)
+        {
+            for (int j = start; j < end; j++)
+            {
+                out[j] = out[j] * xs[j];
+            }
+        }
+        else if (lowest != 0)
+        {
+            powers(xs, start, end, Math.abs((long) lowest), powers);
+            for (int j = start; j < end; j++)
+            {
+                out[j] = out[j] * (lowest < 0 ? 1 / powers[j - start] : powers[j - start]);
             }
+        }
+    }
 
-            // reached last index
-            lastIndex = this.getNumTerms() - 1;
-            localTerm = this.getTerm(lastIndex);
+    /**
+     * Horner evaluation of the terms in storage slots from up to to, as if the exponent of the last one was 0.
+     * Slot 0 is the highest exponent, a dense polynomial has one slot per exponent in its range, zero or not.
+     * Precondition - from is less than to.
+     *
+     * @param x    the value of the variable.
+     * @param from the first slot.
+     * @param to   one past the last slot.
+     * @return the sum of coefficient * x^(exponent - slotExponent(to - 1)) over those slots.
+     */
+    double evaluateSlots(double x, int from, int to)
+    {
+        // local variables
+        double result;
 
-            if (termToAdd.compareTo(localTerm) == 0)
+        if (this.dense)
+        {
+            result = this.coefficients[this.slotPosition(from)];
+            for (int i = this.slotPosition(from) - 1; i >= this.slotPosition(to - 1); i--)
             {
-                sum = termToAdd.plus(localTerm);
-                if (sum != null)
-                {
-                    termList.set(lastIndex, sum);
-                }
-                else
-                {
-                    termList.remove(lastIndex);
-                }
+                result = result * x + this.coefficients[i];
             }
-            else
+        }
+        else
+        {
+            result = this.coefficients[from];
+            for (int i = from + 1; i < to; i++)
             {
-                termList.add(termToAdd);
+                result = result * power(x, (long) this.exponents[i - 1] - this.exponents[i]) + this.coefficients[i];
             }
         }
+        return result;
     }
 
     /**
-     * Removes the term at the selected index.
+     * Integer version of evaluateSlots(double, int, int) with long arithmetic that wraps around.
+     * Precondition - from is less than to, no slot has a negative exponent.
      *
-     * @param index the index to remove term from, which is checked prior to term removal.
-     * @return a boolean, true if removal was successful, false if failed.
+     * @param x    the value of the variable.
+     * @param from the first slot.
+     * @param to   one past the last slot.
+     * @return the sum of coefficient * x^(exponent - slotExponent(to - 1)) over those slots, modulo 2^64.
      */
-    public Term remove(int index)
+    long evaluateSlots(long x, int from, int to)
     {
-        if (index < 0 || index > this.getNumTerms() - 1)
+        // local variables
+        long result;
+
+        if (this.dense)
         {
-            return null;
+            result = this.coefficients[this.slotPosition(from)];
+            for (int i = this.slotPosition(from) - 1; i >= this.slotPosition(to - 1); i--)
+            {
+                result = result * x + this.coefficients[i];
+            }
         }
         else
         {
-            Term temp = new Term(this.getTerm(index));
-            this.termList.remove(index);
-            return temp;
+            result = this.coefficients[from];
+            for (int i = from + 1; i < to; i++)
+            {
+                result = result * power(x, this.exponents[i - 1] - this.exponents[i]) + this.coefficients[i];
+            }
         }
+        return result;
     }
 
     /**
-     * Returns a deep copy of the term at the index given.
+     * x^n by repeated squaring from the highest bit of n down.
      *
-     * @param index the location of the term you want to access.
-     * @return a new Term from desired index.
+     * @param x the base.
+     * @param n the exponent, 1 / x^-n when negative.
+     * @return x^n.
      */
-    public Term getTerm(int index)
+    static double power(double x, long n)
     {
-        return new Term(this.termList.get(index));
+        // local variables
+        double result;
+        long remaining;
+
+        remaining = Math.abs(n);
+        result = remaining == 0 ? 1 : x;
+        for (long bit = Long.highestOneBit(remaining) >> 1; bit != 0; bit >>= 1)
+        {
+            result *= result;
+            if ((remaining & bit) != 0)
+            {
+                result *= x;
+            }
+        }
+        return n < 0 ? 1 / result : result;
     }
 
     /**
-     * Removes every Term from this polynomial's term list.  The term list will then have a size of 0.
+     * x^n by repeated squaring with long arithmetic that wraps around.
+     *
+     * @param x the base.
+     * @param n the exponent, 0 or higher.
+     * @return x^n modulo 2^64.
      */
-    public void clear()
+    static long power(long x, int n)
     {
-        this.termList.clear();
+        // local variables
+        long result, base;
+
+        result = 1;
+        base = x;
+        while (n > 0)
+        {
+            if ((n & 1) == 1)
+            {
+                result *= base;
+            }
+            n >>= 1;
+            base *= base;
+        }
+        return result;
     }
 
     /**
-     * The term count accessor for this polynomial.
+     * Helper method for evaluateBlock, powers[j - start] = x^n for every point from start up to end.  The
+     * same squarings as power(double, long) are done for all points at once, bit by bit.
      *
-     * @return integer representing  term count in this polynomial.
+     * @param xs     the values of the variable.
+     * @param start  the first point.
+     * @param end    one past the last point.
+     * @param n      the exponent, 1 or higher.
+     * @param powers where to store the powers.
      */
-    public int getNumTerms()
+    private static void powers(double[] xs, int start, int end, long n, double[] powers)
     {
-        return this.termList.size();
+        System.arraycopy(xs, start, powers, 0, end - start);
+        for (long bit = Long.highestOneBit(n) >> 1; bit != 0; bit >>= 1)
+        {
+            for (int j = 0; j < end - start; j++)
+            {
+                powers[j] *= powers[j];
+            }
+            if ((n & bit) != 0)
+            {
+                for (int j = 0; j < end - start; j++)
+                {
+                    powers[j] *= xs[start + j];
+                }
+            }
+        }
     }
 
     /**
-     * Compares equality of two polynomials, both turms must have same term count and each term must
-     * match other's term and exponent.
+     * Helper method for add(Polynomial) and sum(Polynomial, Polynomial).  Two dense polynomials are added
+     * slot by slot, otherwise a two finger merge over both term sequences is done.  Runs in O(n + m).
      *
-     * @param other object to campre this polynomial againts.
-     * @return a boolean representing equality.
+     * @param polyA  the first polynomial.
+     * @param polyB  the second polynomial.
+     * @param result the polynomial to store the sum in, may be polyA or polyB.
      */
-    @Override
-    public boolean equals(Object other)
+    private static void merge(Polynomial polyA, Polynomial polyB, Polynomial result)
     {
-        if (other == null || other.getClass() != this.getClass())
+        if (polyA.dense && polyB.dense && fitsDense(polyA, polyB))
         {
-            return false;
+            mergeDense(polyA, polyB, result);
         }
         else
         {
-            Polynomial otherPolynomial = (Polynomial) other;
-            if (this.getNumTerms() != ((Polynomial) other).getNumTerms())
+            mergeSparse(polyA, polyB, result);
+        }
+        result.rebalance();
+    }
+
+    /**
+     * Checks the sum of two dense polynomials would still be mostly filled, used by merge and by the parallel add
+     * in ParallelPolynomialOps.
+     *
+     * @param polyA the first dense polynomial.
+     * @param polyB the second dense polynomial.
+     * @return true if the combined exponent range is small enough for a dense sum.
+     */
+    static boolean fitsDense(Polynomial polyA, Polynomial polyB)
+    {
+        long span = (long) Math.max(polyA.highExponent(), polyB.highExponent())
+                - Math.min(polyA.lowExponent, polyB.lowExponent) + 1;
+        return span <= Integer.MAX_VALUE - 8 && (long) (polyA.numTerms + polyB.numTerms) * SPARSE_FILL >= span;
+    }
+
+    /**
+     * Helper method for merge, adds two dense coefficient arrays.
+     *
+     * @param polyA  the first dense polynomial.
+     * @param polyB  the second dense polynomial.
+     * @param result the polynomial to store the sum in.
+     */
+    private static void mergeDense(Polynomial polyA, Polynomial polyB, Polynomial result)
+    {
+        // local variables
+        int[] sum;
+        int low, high, count, offset;
+
+        // initialize
+        low = Math.min(polyA.lowExponent, polyB.lowExponent);
+        high = Math.max(polyA.highExponent(), polyB.highExponent());
+        sum = new int[high - low + 1];
+        count = 0;
+
+        System.arraycopy(polyA.coefficients, polyA.denseStart, sum, polyA.lowExponent - low, polyA.denseLength);
+
+        offset = polyB.lowExponent - low - polyB.denseStart;
+        for (int i = polyB.denseStart; i < polyB.denseStart + polyB.denseLength; i++)
+        {
+            sum[offset + i] += polyB.coefficients[i];
+        }
+
+        for (int coefficient : sum)
+        {
+            if (coefficient != 0)
             {
-                return false;
+                count++;
+            }
+        }
+
+        result.coefficients = sum;
+        result.exponents = null;
+        result.numTerms = count;
+        result.dense = true;
+        result.lowExponent = low;
+        result.denseStart = 0;
+        result.denseLength = sum.length;
+        result.positionCache = NO_POSITION;
+        result.hashKnown = false;
+    }
+
+    /**
+     * Helper method for merge, two finger merge into sparse arrays.
+     *
+     * @param polyA  the first polynomial.
+     * @param polyB  the second polynomial.
+     * @param result the polynomial to store the sum in.
+     */
+    private static void mergeSparse(Polynomial polyA, Polynomial polyB, Polynomial result)
+    {
+        // local variables
+        int[] mergedCoefficients, mergedExponents;
+        TermCursor cursorA, cursorB;
+        boolean hasA, hasB;
+        int count, sum;
+
+        // initialize
+        mergedCoefficients = new int[Math.max(polyA.numTerms + polyB.numTerms, 1)];
+        mergedExponents = new int[mergedCoefficients.length];
+        cursorA = new TermCursor(polyA);
+        cursorB = new TermCursor(polyB);
+        hasA = cursorA.next();
+        hasB = cursorB.next();
+        count = 0;
+
+        while (hasA && hasB)
+        {
+            if (cursorA.exponent > cursorB.exponent)
+            {
+                mergedCoefficients[count] = cursorA.coefficient;
+                mergedExponents[count++] = cursorA.exponent;
+                hasA = cursorA.next();
+            }
+            else if (cursorA.exponent < cursorB.exponent)
+            {
+                mergedCoefficients[count] = cursorB.coefficient;
+                mergedExponents[count++] = cursorB.exponent;
+                hasB = cursorB.next();
             }
             else
             {
-                for (int i = 0; i < this.getNumTerms(); i++)
+                // matching exponents, drop the term when coefficients cancel out
+                sum = cursorA.coefficient + cursorB.coefficient;
+                if (sum != 0)
                 {
-                    if (this.getTerm(i).getCoefficient() != otherPolynomial.getTerm(i).getCoefficient()
-                            || this.getTerm(i).getExponent() != otherPolynomial.getTerm(i).getExponent())
-                    {
-                        return false;
-                    }
+                    mergedCoefficients[count] = sum;
+                    mergedExponents[count++] = cursorA.exponent;
                 }
-                return true;
+                hasA = cursorA.next();
+                hasB = cursorB.next();
             }
         }
+
+        // copy whatever is left over
+        while (hasA)
+        {
+            mergedCoefficients[count] = cursorA.coefficient;
+            mergedExponents[count++] = cursorA.exponent;
+            hasA = cursorA.next();
+        }
+        while (hasB)
+        {
+            mergedCoefficients[count] = cursorB.coefficient;
+            mergedExponents[count++] = cursorB.exponent;
+            hasB = cursorB.next();
+        }
+
+        result.coefficients = mergedCoefficients;
+        result.exponents = mergedExponents;
+        result.numTerms = count;
+        result.dense = false;
+        result.hashKnown = false;
+    }
+
+
+    /**
+     * adds the given term to this polynomial in the correct position, going from highest exponent to lowest.
+     * if given term's exponent has the same value as local term's exponent, then both terms will be added
+     * together then the result would be stored into the position occupied by local term, unless the coefficient
+     * sum = 0 in which case the local term will be removed.
+     *
+     * @param termToAdd the term you would like to add to this polynomial.
+     */
+    public void addTerm(Term termToAdd)
+    {
+        this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
     }
 
     /**
-     * toString method for polynomial.
+     * adds a term with the given values to this polynomial, see addTerm(Term).  In sparse form the position is
+     * found with a binary search, in dense form the exponent is the position.  Terms with a coefficient of 0
+     * are ignored.
      *
-     * @return String with all terms in termlist.
+     * @param coefficient the coefficient of the term to add.
+     * @param exponent    the exponent of the term to add.
      */
-    @Override
-    public String toString()
+    public void addTerm(int coefficient, int exponent)
     {
-        String temp;
+        if (coefficient == 0)
+        {
+            return;
+        }
 
-        if (this.termList == null || this.termList.size() == 0)
+        if (this.dense)
         {
-            temp = "0";
+            this.addDenseTerm(coefficient, exponent);
         }
         else
         {
-            temp = "";
+            this.addSparseTerm(coefficient, exponent);
+        }
+        this.rebalance();
+    }
+
+    /**
+     * Helper method for addTerm(int, int) in sparse form.
+     *
+     * @param coefficient the non zero coefficient of the term to add.
+     * @param exponent    the exponent of the term to add.
+     */
+    private void addSparseTerm(int coefficient, int exponent)
+    {
+        int index, sum;
 
-            for (Term term : termList)
+        index = this.indexOfExponent(exponent);
+
+        if (index >= 0)
+        {
+            // matching exponent, combine or drop when coefficients cancel out
+            sum = this.coefficients[index] + coefficient;
+            this.updateHash(exponent, this.coefficients[index], sum);
+            if (sum != 0)
             {
-                temp += term.toString();
+                this.coefficients[index] = sum;
             }
-
-            if (temp.charAt(0) == PLUS_SYMBOL)
+            else
             {
-                temp = temp.substring(1);
+                this.removeAt(index);
             }
         }
+        else
+        {
+            this.updateHash(exponent, 0, coefficient);
+            this.insertAt(-index - 1, coefficient, exponent);
+        }
+    }
 
-        return temp;
+    /**
+     * Helper method for addTerm(int, int) in dense form.  The exponent range grows to cover the new exponent,
+     * unless that would leave it mostly empty in which case this polynomial goes back to sparse form.
+     *
+     * @param coefficient the non zero coefficient of the term to add.
+     * @param exponent    the exponent of the term to add.
+     */
+    private void addDenseTerm(int coefficient, int exponent)
+    {
+        int low, high, position, before, after;
+        long span;
+
+        low = Math.min(this.lowExponent, exponent);
+        high = Math.max(this.highExponent(), exponent);
+        span = (long) high - low + 1;
+
+        if (span != this.denseLength)
+        {
+            if ((long) (this.numTerms + 1) * SPARSE_FILL < span || span > MAX_DENSE_LENGTH)
+            {
+                this.toSparse();
+                this.addSparseTerm(coefficient, exponent);
+                return;
+            }
+            this.extendDense(low, (int) span);
+        }
+
+        position = this.denseStart + exponent - this.lowExponent;
+        before = this.coefficients[position];
+        after = before + coefficient;
+        this.coefficients[position] = after;
+        this.positionCache = NO_POSITION;
+        this.updateHash(exponent, before, after);
+
+        if (before == 0)
+        {
+            this.numTerms++;
+        }
+        else if (after == 0)
+        {
+            this.numTerms--;
+        }
+    }
+
+    /**
+     * Removes the term at the selected index.
+     *
+     * @param index the index to remove term from, which is checked prior to term removal.
+     * @return the removed Term which is immutable, or null if index is out of range.
+     */
+    public Term remove(int index)
+    {
+        Term temp;
+        int position;
+
+        if (index < 0 || index > this.getNumTerms() - 1)
+        {
+            return null;
+        }
+        else if (this.dense)
+        {
+            position = this.positionOf(index);
+            temp = Term.of(this.coefficients[position], this.positionExponent(position));
+            this.coefficients[position] = 0;
+            this.numTerms--;
+            this.positionCache = NO_POSITION;
+        }
+        else
+        {
+            temp = Term.of(this.coefficients[index], this.exponents[index]);
+            this.removeAt(index);
+        }
+
+        this.updateHash(temp.getExponent(), temp.getCoefficient(), 0);
+        this.rebalance();
+        return temp;
+    }
+
+    /**
+     * Removes the term with the given exponent.  The term is found by a binary search in sparse form and
+     * directly in dense form, see TreePolynomial for a polynomial that also removes in O(log n).
+     *
+     * @param exponent the exponent of the term to remove.
+     * @return the removed Term which is immutable, or null if there is no term with that exponent.
+     */
+    public Term removeExponent(int exponent)
+    {
+        Term temp;
+        int index;
+
+        if (this.dense)
+        {
+            index = this.densePositionOf(exponent);
+            if (index < 0)
+            {
+                return null;
+            }
+            temp = Term.of(this.coefficients[index], exponent);
+            this.coefficients[index] = 0;
+            this.numTerms--;
+            this.positionCache = NO_POSITION;
+        }
+        else
+        {
+            index = this.indexOfExponent(exponent);
+            if (index < 0)
+            {
+                return null;
+            }
+            temp = Term.of(this.coefficients[index], exponent);
+            this.removeAt(index);
+        }
+
+        this.updateHash(temp.getExponent(), temp.getCoefficient(), 0);
+        this.rebalance();
+        return temp;
+    }
+
+    /**
+     * Returns the coefficient of the term with the given exponent, found by a binary search in sparse form and
+     * directly in dense form.
+     *
+     * @param exponent the exponent to look up.
+     * @return the coefficient of that term, 0 if there is none.
+     */
+    public int coefficientOf(int exponent)
+    {
+        int index;
+
+        if (this.dense)
+        {
+            index = this.densePositionOf(exponent);
+            return index < 0 ? 0 : this.coefficients[index];
+        }
+        index = this.indexOfExponent(exponent);
+        return index < 0 ? 0 : this.coefficients[index];
+    }
+
+    /**
+     * Returns a new Term holding the values of the term at the index given.  The Term is a mutable copy, changing
+     * it does not change this polynomial.
+     *
+     * @param index the location of the term you want to access.
+     * @return a new Term from desired index.
+     * @throws IndexOutOfBoundsException if index is not between 0 and getNumTerms() - 1.
+     */
+    public Term getTerm(int index)
+    {
+        int position;
+
+        this.checkIndex(index);
+
+        if (this.dense)
+        {
+            position = this.positionOf(index);
+            return new Term(this.coefficients[position], this.positionExponent(position));
+        }
+        else
+        {
+            return new Term(this.coefficients[index], this.exponents[index]);
+        }
+    }
+
+    /**
+     * Passes every term from highest exponent to lowest to the consumer without creating Term objects.
+     * This polynomial must not be changed until forEachTerm returns.
+     *
+     * @param consumer receives the coefficient and exponent of each term.
+     */
+    public void forEachTerm(TermConsumer consumer)
+    {
+        if (this.dense)
+        {
+            for (int i = this.denseStart + this.denseLength - 1; i >= this.denseStart; i--)
+            {
+                if (this.coefficients[i] != 0)
+                {
+                    consumer.accept(this.coefficients[i], this.positionExponent(i));
+                }
+            }
+        }
+        else
+        {
+            for (int i = 0; i < this.numTerms; i++)
+            {
+                consumer.accept(this.coefficients[i], this.exponents[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor that walks the terms from highest exponent to lowest without creating Term objects,
+     * call next() before reading each term.  This polynomial must not be changed while the cursor is used.
+     *
+     * @return a new cursor placed before the first term.
+     */
+    public TermCursor cursor()
+    {
+        return new TermCursor(this);
+    }
+
+    /**
+     * Returns a read only List view of the terms from highest exponent to lowest.  The view is not a copy, it
+     * always shows the current terms of this polynomial, and throws UnsupportedOperationException if changed.
+     * Its elements are immutable terms from Term.of(int, int).
+     *
+     * @return an unmodifiable List view of this polynomial.
+     */
+    public List<Term> asList()
+    {
+        return new TermListView(this);
+    }
+
+    /**
+     * Removes every Term from this polynomial.  The term count will then be 0.
+     */
+    public void clear()
+    {
+        this.setEmpty();
+    }
+
+    /**
+     * The term count accessor for this polynomial.
+     *
+     * @return integer representing  term count in this polynomial.
+     */
+    public int getNumTerms()
+    {
+        return this.numTerms;
+    }
+
+    /**
+     * Compares equality of two polynomials, both turms must have same term count and each term must
+     * match other's term and exponent.  Storage form does not matter.  Polynomials with a different term count,
+     * cached hash code, highest or lowest exponent are told apart without looking at their terms, and two sparse
+     * or two dense polynomials compare their arrays directly.
+     *
+     * @param other object to campre this polynomial againts.
+     * @return a boolean representing equality.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        // local variables
+        Polynomial otherPolynomial;
+        int low, offset, otherOffset, length;
+
+        if (this == other)
+        {
+            return true;
+        }
+        if (other == null || other.getClass() != this.getClass())
+        {
+            return false;
+        }
+
+        otherPolynomial = (Polynomial) other;
+        if (this.numTerms != otherPolynomial.numTerms)
+        {
+            return false;
+        }
+        if (this.numTerms == 0)
+        {
+            return true;
+        }
+        if (this.hashKnown && otherPolynomial.hashKnown && this.hash != otherPolynomial.hash)
+        {
+            return false;
+        }
+
+        low = this.lowestExponent();
+        if (low != otherPolynomial.lowestExponent() || this.highestExponent() != otherPolynomial.highestExponent())
+        {
+            return false;
+        }
+        if (!this.dense && !otherPolynomial.dense)
+        {
+            for (int i = 0; i < this.numTerms; i++)
+            {
+                if (this.exponents[i] != otherPolynomial.exponents[i]
+                        || this.coefficients[i] != otherPolynomial.coefficients[i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (this.dense && otherPolynomial.dense)
+        {
+            // the same exponent range, which may sit at different positions of the two arrays
+            offset = this.denseStart + low - this.lowExponent;
+            otherOffset = otherPolynomial.denseStart + low - otherPolynomial.lowExponent;
+            length = this.highestExponent() - low + 1;
+            for (int i = 0; i < length; i++)
+            {
+                if (this.coefficients[offset + i] != otherPolynomial.coefficients[otherOffset + i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return this.equalTerms(otherPolynomial);
+    }
+
+    /**
+     * Hash code consistent with equals(Object), the sum of Term.hashOf over the terms so it does not depend on
+     * storage form.  It is cached, addTerm and remove keep it up to date and other changes recompute it on the
+     * next call.  The hash changes with the terms, so a polynomial must not be changed while it is a key in a
+     * hash based collection.
+     *
+     * @return the hash code of the terms.
+     */
+    @Override
+    public int hashCode()
+    {
+        // local variables
+        TermCursor cursor;
+        int sum;
+
+        if (!this.hashKnown)
+        {
+            cursor = new TermCursor(this);
+            sum = 0;
+            while (cursor.next())
+            {
+                sum += Term.hashOf(cursor.coefficient, cursor.exponent);
+            }
+            this.hash = sum;
+            this.hashKnown = true;
+        }
+        return this.hash;
+    }
+
+    /**
+     * toString method for polynomial, built in one StringBuilder so its cost grows linearly with the term count.
+     *
+     * @return String with all terms in polynomial.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder temp = new StringBuilder(Term.textCapacity(this.numTerms));
+
+        try
+        {
+            this.writeTo(temp);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
+
+    /**
+     * Writes this polynomial in the same form as toString() term by term, so huge polynomials can be streamed
+     * to a Writer, PrintStream or StringBuilder without building the whole String first.
+     *
+     * @param out where to write the polynomial.
+     * @throws IOException if out throws IOException.
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
+        TermCursor cursor;
+        boolean leading;
+
+        if (this.numTerms == 0)
+        {
+            out.append('0');
+        }
+        else
+        {
+            cursor = new TermCursor(this);
+            leading = true;
+
+            while (cursor.next())
+            {
+                Term.appendTerm(out, cursor.coefficient, cursor.exponent, leading);
+                leading = false;
+            }
+        }
+    }
+
+    /**
+     * Writes this polynomial in the compact binary form described in PolynomialCodec, which readBinary and
+     * MappedPolynomialReader read back far faster than parsing toString().
+     *
+     * @param out where to write the polynomial, it is not closed.
+     * @throws IOException if out throws IOException.
+     */
+    public void writeBinary(OutputStream out) throws IOException
+    {
+        PolynomialCodec.write(this, out);
+    }
+
+    /**
+     * Reads a polynomial written by writeBinary.  Bytes are read ahead in blocks but never past the last term, so
+     * in is left at whatever follows the polynomial and several can be read from one stream.
+     *
+     * @param in where to read the polynomial from, it is not closed.
+     * @return a new Polynomial holding the terms read.
+     * @throws IOException if in throws IOException, ends early, or does not hold a binary polynomial.
+     */
+    public static Polynomial readBinary(InputStream in) throws IOException
+    {
+        return PolynomialCodec.read(in);
+    }
+
+    /**
+     * Lowest exponent accessor.
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @return exponent of the last term.
+     */
+    int lowestExponent()
+    {
+        return this.dense ? this.positionExponent(this.firstNonZero()) : this.exponents[this.numTerms - 1];
+    }
+
+    /**
+     * Highest exponent accessor.
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @return exponent of the first term.
+     */
+    int highestExponent()
+    {
+        return this.dense ? this.positionExponent(this.lastNonZero()) : this.exponents[0];
+    }
+
+    /**
+     * Returns the coefficients from lowest to highest exponent with zeros for missing exponents, index i holds
+     * the coefficient of x^(lowestExponent() + i).
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @return a new dense coefficient array.
+     */
+    int[] toDenseArray()
+    {
+        int[] temp;
+        int low;
+
+        if (this.dense)
+        {
+            return Arrays.copyOfRange(this.coefficients, this.firstNonZero(), this.lastNonZero() + 1);
+        }
+
+        low = this.exponents[this.numTerms - 1];
+        temp = new int[this.exponents[0] - low + 1];
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            temp[this.exponents[i] - low] = this.coefficients[i];
+        }
+        return temp;
+    }
+
+    /**
+     * Copies the terms from highest exponent to lowest into the given arrays.
+     * Precondition - both arrays hold at least getNumTerms() values.
+     *
+     * @param coefficientsOut receives the coefficients.
+     * @param exponentsOut    receives the exponents.
+     */
+    void copyTerms(int[] coefficientsOut, int[] exponentsOut)
+    {
+        TermCursor cursor = new TermCursor(this);
+
+        for (int i = 0; cursor.next(); i++)
+        {
+            coefficientsOut[i] = cursor.coefficient;
+            exponentsOut[i] = cursor.exponent;
+        }
+    }
+
+    /**
+     * Builds a polynomial from a dense coefficient array, index i holds the coefficient of x^(lowExponent + i).
+     * The array is used as is, not copied.
+     *
+     * @param denseCoefficients the coefficients, zero for missing exponents.
+     * @param lowExponent       the exponent of index 0.
+     * @return a new Polynomial holding those terms.
+     */
+    static Polynomial fromDense(int[] denseCoefficients, int lowExponent)
+    {
+        Polynomial temp = new Polynomial();
+        int count = 0;
+
+        for (int coefficient : denseCoefficients)
+        {
+            if (coefficient != 0)
+            {
+                count++;
+            }
+        }
+
+        temp.coefficients = denseCoefficients;
+        temp.exponents = null;
+        temp.numTerms = count;
+        temp.dense = true;
+        temp.lowExponent = lowExponent;
+        temp.denseStart = 0;
+        temp.denseLength = denseCoefficients.length;
+        temp.hashKnown = false;
+
+        if (count == 0)
+        {
+            temp.setEmpty();
+        }
+        else
+        {
+            temp.rebalance();
+        }
+        return temp;
+    }
+
+    /**
+     * Builds a polynomial from sparse arrays ordered from highest exponent to lowest with no repeated exponents
+     * and no zero coefficients.  The arrays are used as is, not copied.
+     *
+     * @param sparseCoefficients the coefficients.
+     * @param sparseExponents    the exponents, strictly decreasing.
+     * @param count              the number of terms used from the arrays.
+     * @return a new Polynomial holding those terms.
+     */
+    static Polynomial fromSparse(int[] sparseCoefficients, int[] sparseExponents, int count)
+    {
+        Polynomial temp = new Polynomial();
+
+        if (count > 0)
+        {
+            temp.coefficients = sparseCoefficients;
+            temp.exponents = sparseExponents;
+            temp.numTerms = count;
+            temp.hashKnown = false;
+            temp.rebalance();
+        }
+        return temp;
+    }
+
+    /**
+     * Storage form accessor, used for testing the sparse/dense switching.
+     *
+     * @return true if this polynomial is currently stored as a dense coefficient array.
+     */
+    boolean isDense()
+    {
+        return this.dense;
+    }
+
+    /**
+     * Number of storage slots, one per term when sparse, one per exponent in the array range when dense.
+     *
+     * @return the slot count.
+     */
+    int slotCount()
+    {
+        return this.dense ? this.denseLength : this.numTerms;
+    }
+
+    /**
+     * The slot of the highest exponent term, slots before it are empty.
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @return the first slot holding a term.
+     */
+    int firstSlot()
+    {
+        return this.dense ? this.slotPosition(0) - this.lastNonZero() : 0;
+    }
+
+    /**
+     * One past the slot of the lowest exponent term, slots from there on are empty.
+     * Precondition - polynomial has at least 1 term.
+     *
+     * @return one past the last slot holding a term.
+     */
+    int endSlot()
+    {
+        return this.dense ? this.slotPosition(0) + 1 - this.firstNonZero() : this.numTerms;
+    }
+
+    /**
+     * Exponent of a storage slot, slot 0 has the highest exponent.
+     *
+     * @param slot the slot, 0 up to slotCount() - 1.
+     * @return the exponent held by that slot.
+     */
+    int slotExponent(int slot)
+    {
+        return this.dense ? this.lowExponent + this.denseLength - 1 - slot : this.exponents[slot];
+    }
+
+    /**
+     * Finds the first storage slot whose exponent is at or below the given exponent.
+     *
+     * @param exponent the exponent to look for, any long so ranges past the int limits can be given.
+     * @return the slot, slotCount() if every slot is above exponent.
+     */
+    int slotAtOrBelow(long exponent)
+    {
+        // local variables
+        int low, high, middle;
+
+        if (this.dense)
+        {
+            return (int) Math.max(0, Math.min(this.denseLength, (long) this.highExponent() - exponent));
+        }
+
+        low = 0;
+        high = this.numTerms;
+        while (low < high)
+        {
+            middle = (low + high) >>> 1;
+            if (this.exponents[middle] > exponent)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copies the terms in storage slots from up to to into a new polynomial.
+     *
+     * @param from the first slot.
+     * @param to   one past the last slot.
+     * @return a new Polynomial holding those terms.
+     */
+    Polynomial slice(int from, int to)
+    {
+        if (this.dense)
+        {
+            return fromDense(Arrays.copyOfRange(this.coefficients, this.slotPosition(to - 1),
+                    this.slotPosition(from) + 1), this.slotExponent(to - 1));
+        }
+        return fromSparse(Arrays.copyOfRange(this.coefficients, from, to), Arrays.copyOfRange(this.exponents, from, to),
+                to - from);
+    }
+
+    /**
+     * Two finger merge of storage slot ranges of two polynomials into sparse arrays, like the sparse add.
+     * Empty dense slots and coefficients that cancel out are left out.
+     *
+     * @param polyA              the first polynomial.
+     * @param fromA              the first slot of polyA.
+     * @param toA                one past the last slot of polyA.
+     * @param polyB              the second polynomial.
+     * @param fromB              the first slot of polyB.
+     * @param toB                one past the last slot of polyB.
+     * @param mergedCoefficients receives the coefficients.
+     * @param mergedExponents    receives the exponents.
+     * @param offset             where to store the first term.
+     * @return the number of terms stored.
+     */
+    static int mergeSlots(Polynomial polyA, int fromA, int toA, Polynomial polyB, int fromB, int toB,
+                          int[] mergedCoefficients, int[] mergedExponents, int offset)
+    {
+        // local variables
+        int count, exponentA, exponentB, coefficient;
+
+        count = offset;
+        while (fromA < toA || fromB < toB)
+        {
+            exponentA = fromA < toA ? polyA.slotExponent(fromA) : Integer.MIN_VALUE;
+            exponentB = fromB < toB ? polyB.slotExponent(fromB) : Integer.MIN_VALUE;
+
+            if (fromB == toB || (fromA < toA && exponentA > exponentB))
+            {
+                coefficient = polyA.slotCoefficient(fromA++);
+                exponentB = exponentA;
+            }
+            else if (fromA == toA || exponentA < exponentB)
+            {
+                coefficient = polyB.slotCoefficient(fromB++);
+            }
+            else
+            {
+                coefficient = polyA.slotCoefficient(fromA++) + polyB.slotCoefficient(fromB++);
+            }
+
+            if (coefficient != 0)
+            {
+                mergedCoefficients[count] = coefficient;
+                mergedExponents[count++] = exponentB;
+            }
+        }
+        return count - offset;
+    }
+
+    /**
+     * Adds part of two dense polynomials, like the dense add.  sum[i] is set for every i from start up to end.
+     * Precondition - both polynomials are dense and fit in sum.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @param sum   receives the coefficients, index i holds the coefficient of x^(low + i).
+     * @param low   the exponent of sum[0].
+     * @param start the first index of sum to set.
+     * @param end   one past the last index of sum to set.
+     */
+    static void addDense(Polynomial polyA, Polynomial polyB, int[] sum, int low, int start, int end)
+    {
+        // local variables
+        int offset, from, to;
+
+        Arrays.fill(sum, start, end, 0);
+
+        offset = polyA.lowExponent - low;
+        from = Math.max(start, offset);
+        to = Math.min(end, offset + polyA.denseLength);
+        if (from < to)
+        {
+            System.arraycopy(polyA.coefficients, polyA.denseStart + from - offset, sum, from, to - from);
+        }
+
+        offset = polyB.lowExponent - low - polyB.denseStart;
+        from = Math.max(start, offset + polyB.denseStart);
+        to = Math.min(end, offset + polyB.denseStart + polyB.denseLength);
+        for (int i = from; i < to; i++)
+        {
+            sum[i] += polyB.coefficients[i - offset];
+        }
+    }
+
+    /**
+     * Helper method for mergeSlots, coefficient of a storage slot.
+     *
+     * @param slot the slot.
+     * @return the coefficient, 0 for an empty dense slot.
+     */
+    private int slotCoefficient(int slot)
+    {
+        return this.dense ? this.coefficients[this.slotPosition(slot)] : this.coefficients[slot];
+    }
+
+    /**
+     * Helper method, resets this polynomial to an empty sparse polynomial.
+     */
+    private void setEmpty()
+    {
+        this.coefficients = new int[DEFAULT_CAPACITY];
+        this.exponents = new int[DEFAULT_CAPACITY];
+        this.numTerms = 0;
+        this.dense = false;
+        this.lowExponent = 0;
+        this.denseStart = 0;
+        this.denseLength = 0;
+        this.positionCache = NO_POSITION;
+        this.hash = 0;
+        this.hashKnown = true;
+    }
+
+    /**
+     * Helper method, takes over the storage of a polynomial that is not used anywhere else.
+     *
+     * @param other the polynomial to take the terms from.
+     */
+    private void assign(Polynomial other)
+    {
+        this.coefficients = other.coefficients;
+        this.exponents = other.exponents;
+        this.numTerms = other.numTerms;
+        this.dense = other.dense;
+        this.lowExponent = other.lowExponent;
+        this.denseStart = other.denseStart;
+        this.denseLength = other.denseLength;
+        this.positionCache = NO_POSITION;
+        this.hash = other.hash;
+        this.hashKnown = other.hashKnown;
+    }
+
+    /**
+     * Helper method, switches storage form when the fill ratio crosses its threshold.  Dense form is used when
+     * there are at least DENSE_MIN_TERMS terms filling 1 / DENSE_FILL of the exponent range, and is left once
+     * less than 1 / SPARSE_FILL of the range is filled.  The gap between the two keeps it from switching back
+     * and forth.
+     */
+    private void rebalance()
+    {
+        long span;
+
+        if (this.dense)
+        {
+            if (this.numTerms < DENSE_MIN_TERMS / 2
+                    || (long) this.numTerms * SPARSE_FILL < this.denseLength)
+            {
+                this.toSparse();
+            }
+        }
+        else if (this.numTerms >= DENSE_MIN_TERMS)
+        {
+            span = (long) this.exponents[0] - this.exponents[this.numTerms - 1] + 1;
+            if ((long) this.numTerms * DENSE_FILL >= span)
+            {
+                this.toDense();
+            }
+        }
+    }
+
+    /**
+     * Helper method, converts sparse storage into a dense coefficient array.
+     */
+    private void toDense()
+    {
+        int[] denseCoefficients;
+        int low;
+
+        low = this.exponents[this.numTerms - 1];
+        denseCoefficients = new int[this.exponents[0] - low + 1];
+
+        for (int i = 0; i < this.numTerms; i++)
+        {
+            denseCoefficients[this.exponents[i] - low] = this.coefficients[i];
+        }
+
+        this.coefficients = denseCoefficients;
+        this.exponents = null;
+        this.lowExponent = low;
+        this.denseStart = 0;
+        this.denseLength = denseCoefficients.length;
+        this.positionCache = NO_POSITION;
+        this.dense = true;
+    }
+
+    /**
+     * Helper method, converts dense storage into sparse arrays, dropping the empty slots.
+     */
+    private void toSparse()
+    {
+        int[] sparseCoefficients, sparseExponents;
+        int count;
+
+        sparseCoefficients = new int[Math.max(this.numTerms, DEFAULT_CAPACITY)];
+        sparseExponents = new int[sparseCoefficients.length];
+        count = 0;
+
+        for (int i = this.denseStart + this.denseLength - 1; i >= this.denseStart; i--)
+        {
+            if (this.coefficients[i] != 0)
+            {
+                sparseCoefficients[count] = this.coefficients[i];
+                sparseExponents[count++] = this.positionExponent(i);
+            }
+        }
+
+        this.coefficients = sparseCoefficients;
+        this.exponents = sparseExponents;
+        this.dense = false;
+    }
+
+    /**
+     * Helper method, grows the dense exponent range down to low or up to low + length - 1.  The array is only
+     * replaced when the spare room on that side runs out, the new one is twice the range with half of the spare
+     * room on each side.
+     *
+     * @param low    the new lowest exponent of the range, at most lowExponent.
+     * @param length the new number of exponents in the range, at most MAX_DENSE_LENGTH.
+     */
+    private void extendDense(int low, int length)
+    {
+        // local variables
+        int[] grown;
+        int start;
+
+        start = this.denseStart - (this.lowExponent - low);
+        if (start < 0 || start + length > this.coefficients.length)
+        {
+            grown = new int[(int) Math.min(2L * length, MAX_DENSE_LENGTH)];
+            start = (grown.length - length) / 2;
+            System.arraycopy(this.coefficients, this.denseStart, grown, start + this.lowExponent - low,
+                    this.denseLength);
+            this.coefficients = grown;
+        }
+        this.denseStart = start;
+        this.denseLength = length;
+        this.lowExponent = low;
+    }
+
+    /**
+     * Helper method, highest exponent covered by the dense range.
+     *
+     * @return the exponent of the last dense slot.
+     */
+    private int highExponent()
+    {
+        return this.lowExponent + this.denseLength - 1;
+    }
+
+    /**
+     * Helper method, exponent held by a position of the dense coefficient array.
+     *
+     * @param position a position in the dense range.
+     * @return its exponent.
+     */
+    private int positionExponent(int position)
+    {
+        return this.lowExponent + position - this.denseStart;
+    }
+
+    /**
+     * Helper method, position in the dense coefficient array of a storage slot.
+     *
+     * @param slot the slot, slot 0 has the highest exponent.
+     * @return its position.
+     */
+    private int slotPosition(int slot)
+    {
+        return this.denseStart + this.denseLength - 1 - slot;
+    }
+
+    /**
+     * Helper method, first non zero position in the dense coefficient array.
+     *
+     * @return position of the lowest exponent term.
+     */
+    private int firstNonZero()
+    {
+        int position = this.denseStart;
+
+        while (this.coefficients[position] == 0)
+        {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Helper method, last non zero position in the dense coefficient array.
+     *
+     * @return position of the highest exponent term.
+     */
+    private int lastNonZero()
+    {
+        int position = this.slotPosition(0);
+
+        while (this.coefficients[position] == 0)
+        {
+            position--;
+        }
+        return position;
+    }
+
+    /**
+     * Helper method, finds the dense array position of the term at the given index.  When every slot holds a
+     * term the position is computed directly.  Otherwise non zero slots are counted from the nearest known term,
+     * the highest, the lowest or the one found last time, so reading the terms in order is O(1) per term.
+     *
+     * @param index a valid term index.
+     * @return position in the dense coefficient array.
+     */
+    private int positionOf(int index)
+    {
+        // local variables
+        long cache;
+        int position, found;
+
+        if (this.numTerms == this.denseLength)
+        {
+            return this.slotPosition(index);
+        }
+
+        cache = this.positionCache;
+        found = (int) cache;
+        position = (int) (cache >> 32);
+        if (cache == NO_POSITION || Math.abs(found - index) > Math.min(index, this.numTerms - 1 - index))
+        {
+            if (index <= this.numTerms - 1 - index)
+            {
+                found = 0;
+                position = this.lastNonZero();
+            }
+            else
+            {
+                found = this.numTerms - 1;
+                position = this.firstNonZero();
+            }
+        }
+
+        while (found < index)
+        {
+            position--;
+            if (this.coefficients[position] != 0)
+            {
+                found++;
+            }
+        }
+        while (found > index)
+        {
+            position++;
+            if (this.coefficients[position] != 0)
+            {
+                found--;
+            }
+        }
+
+        this.positionCache = (long) position << 32 | (index & 0xFFFFFFFFL);
+        return position;
+    }
+
+    /**
+     * Helper method, array position of an exponent in dense form.
+     *
+     * @param exponent the exponent to find.
+     * @return the position in coefficients of a non zero term with that exponent, or -1 if there is none.
+     */
+    private int densePositionOf(int exponent)
+    {
+        long position = (long) exponent - this.lowExponent;
+
+        if (position < 0 || position >= this.denseLength || this.coefficients[this.denseStart + (int) position] == 0)
+        {
+            return -1;
+        }
+        return this.denseStart + (int) position;
+    }
+
+    /**
+     * Helper method, binary search for an exponent in the descending sparse exponent array.
+     *
+     * @param exponent the exponent to search for.
+     * @return index of the exponent if found, otherwise (-(insertion point) - 1).
+     */
+    private int indexOfExponent(int exponent)
+    {
+        int low, high, middle;
+
+        low = 0;
+        high = this.numTerms - 1;
+
+        while (low <= high)
+        {
+            middle = (low + high) >>> 1;
+            if (this.exponents[middle] > exponent)
+            {
+                low = middle + 1;
+            }
+            else if (this.exponents[middle] < exponent)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Helper method for equals, walks the terms of both polynomials side by side.
+     *
+     * @param other a polynomial with the same term count.
+     * @return true if every term matches.
+     */
+    private boolean equalTerms(Polynomial other)
+    {
+        TermCursor thisCursor = new TermCursor(this);
+        TermCursor otherCursor = new TermCursor(other);
+
+        while (thisCursor.next() && otherCursor.next())
+        {
+            if (thisCursor.coefficient != otherCursor.coefficient
+                    || thisCursor.exponent != otherCursor.exponent)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method, keeps the cached hash up to date when the coefficient of one exponent changes.
+     *
+     * @param exponent the exponent whose coefficient changed.
+     * @param before   the old coefficient, 0 if there was no term.
+     * @param after    the new coefficient, 0 if the term is gone.
+     */
+    private void updateHash(int exponent, int before, int after)
+    {
+        if (this.hashKnown)
+        {
+            this.hash += (after == 0 ? 0 : Term.hashOf(after, exponent))
+                    - (before == 0 ? 0 : Term.hashOf(before, exponent));
+        }
+    }
+
+    /**
+     * Helper method, inserts a term at the given sparse index shifting lower terms right, grows arrays when full.
+     *
+     * @param index       the position to insert at.
+     * @param coefficient the coefficient to insert.
+     * @param exponent    the exponent to insert.
+     */
+    private void insertAt(int index, int coefficient, int exponent)
+    {
+        if (this.numTerms == this.coefficients.length)
+        {
+            int capacity = Math.max(DEFAULT_CAPACITY, this.numTerms * 2);
+            this.coefficients = Arrays.copyOf(this.coefficients, capacity);
+            this.exponents = Arrays.copyOf(this.exponents, capacity);
+        }
+
+        System.arraycopy(this.coefficients, index, this.coefficients, index + 1, this.numTerms - index);
+        System.arraycopy(this.exponents, index, this.exponents, index + 1, this.numTerms - index);
+        this.coefficients[index] = coefficient;
+        this.exponents[index] = exponent;
+        this.numTerms++;
+    }
+
+    /**
+     * Helper method, removes the term at the given sparse index shifting lower terms left.
+     *
+     * @param index the position to remove.
+     */
+    private void removeAt(int index)
+    {
+        System.arraycopy(this.coefficients, index + 1, this.coefficients, index, this.numTerms - index - 1);
+        System.arraycopy(this.exponents, index + 1, this.exponents, index, this.numTerms - index - 1);
+        this.numTerms--;
+    }
+
+    /**
+     * Helper method, throws IndexOutOfBoundsException when index is not a valid term index.
+     *
+     * @param index the index to check.
+     */
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= this.numTerms)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.numTerms);
+        }
+    }
+
+    /**
+     * Collects terms in any order and builds a Polynomial from all of them at once.  Calling addTerm(int, int) on
+     * a Polynomial finds each term's place as it goes, O(n) per term, so loading n unsorted terms costs O(n^2).
+     * A Builder instead packs each term into one long of a growing array, sorts the array once by exponent with
+     * a radix sort, and sums repeated exponents in a single pass, O(n) overall.  Repeated exponents combine like
+     * Term.sumOf(Term, Term): the coefficients wrap around on overflow, and a sum of 0 leaves no term.
+     * <pre>
+     *     Polynomial poly = new Polynomial.Builder().addTerm(5, 2).addTerm(3, 7).addTerm(-5, 2).build();
+     * </pre>
+     */
+    public static class Builder
+    {
+        // Fewer terms than this are sorted by Arrays.sort, the radix passes cost more than they save
+        private final static int RADIX_THRESHOLD = 256;
+        private final static int RADIX_BITS = 8;
+        private final static int RADIX_SIZE = 1 << RADIX_BITS;
+
+        // Class variables
+        // exponent in the high 32 bits, coefficient in the low 32 bits, so signed order is exponent order
+        private long[] terms;
+        private int count;
+
+        /**
+         * Default constructor, creates an empty builder.
+         */
+        public Builder()
+        {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * Full constructor, creates an empty builder with room for the expected number of terms.
+         *
+         * @param expectedTerms the number of terms expected, the builder still grows past it.
+         * @throws IllegalArgumentException if expectedTerms is negative.
+         */
+        public Builder(int expectedTerms)
+        {
+            if (expectedTerms < 0)
+            {
+                throw new IllegalArgumentException("Expected terms can not be negative: " + expectedTerms);
+            }
+            this.terms = new long[expectedTerms];
+            this.count = 0;
+        }
+
+        /**
+         * Adds a term, terms with a coefficient of 0 are left out.
+         *
+         * @param coefficient the coefficient of the term.
+         * @param exponent    the exponent of the term.
+         * @return this builder.
+         */
+        public Builder addTerm(int coefficient, int exponent)
+        {
+            if (coefficient != 0)
+            {
+                if (this.count == this.terms.length)
+                {
+                    this.terms = Arrays.copyOf(this.terms, Math.max(DEFAULT_CAPACITY, this.count * 2));
+                }
+                this.terms[this.count++] = ((long) exponent << 32) | (coefficient & 0xFFFFFFFFL);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a term.
+         *
+         * @param termToAdd the term to add.
+         * @return this builder.
+         */
+        public Builder addTerm(Term termToAdd)
+        {
+            return this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+        }
+
+        /**
+         * Adds terms from parallel arrays.
+         *
+         * @param termCoefficients the coefficients.
+         * @param termExponents    the exponents, termExponents[i] goes with termCoefficients[i].
+         * @return this builder.
+         * @throws IllegalArgumentException if the arrays have different lengths.
+         */
+        public Builder addTerms(int[] termCoefficients, int[] termExponents)
+        {
+            if (termCoefficients.length != termExponents.length)
+            {
+                throw new IllegalArgumentException("Coefficient and exponent arrays have different lengths: "
+                        + termCoefficients.length + " and " + termExponents.length);
+            }
+            this.ensureCapacity(this.count + termCoefficients.length);
+            for (int i = 0; i < termCoefficients.length; i++)
+            {
+                this.addTerm(termCoefficients[i], termExponents[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Adds every term of a collection of terms.
+         *
+         * @param termsToAdd the terms to add.
+         * @return this builder.
+         */
+        public Builder addTerms(Iterable<Term> termsToAdd)
+        {
+            for (Term term : termsToAdd)
+            {
+                this.addTerm(term.getCoefficient(), term.getExponent());
+            }
+            return this;
+        }
+
+        /**
+         * Adds terms from a stream of coefficient and exponent pairs, example IntStream.of(3, 2, 5, 0) adds
+         * 3x^2 and 5.
+         *
+         * @param pairs coefficients and exponents alternating, starting with a coefficient.
+         * @return this builder.
+         * @throws IllegalArgumentException if the stream has an odd number of values.
+         */
+        public Builder addTerms(IntStream pairs)
+        {
+            // local variables
+            PrimitiveIterator.OfInt values;
+            int coefficient;
+
+            values = pairs.iterator();
+            while (values.hasNext())
+            {
+                coefficient = values.nextInt();
+                if (!values.hasNext())
+                {
+                    throw new IllegalArgumentException("Coefficient " + coefficient + " has no exponent");
+                }
+                this.addTerm(coefficient, values.nextInt());
+            }
+            return this;
+        }
+
+        /**
+         * Adds every term of a polynomial.
+         *
+         * @param polynomial the polynomial whose terms are added.
+         * @return this builder.
+         */
+        public Builder addTerms(Polynomial polynomial)
+        {
+            this.ensureCapacity(this.count + polynomial.numTerms);
+            polynomial.forEachTerm(this::addTerm);
+            return this;
+        }
+
+        /**
+         * Number of terms added so far, before repeated exponents are combined.
+         *
+         * @return the number of terms with a non zero coefficient added.
+         */
+        public int getNumTerms()
+        {
+            return this.count;
+        }
+
+        /**
+         * Removes every term added so far.
+         */
+        public void clear()
+        {
+            this.count = 0;
+        }
+
+        /**
+         * Builds a polynomial from every term added so far.  The builder keeps its terms, so more can be added
+         * and build() called again.
+         *
+         * @return a new Polynomial holding the sum of the terms.
+         */
+        public Polynomial build()
+        {
+            // local variables
+            int[] sparseCoefficients, sparseExponents;
+            int size, exponent, sum;
+
+            if (this.count < RADIX_THRESHOLD)
+            {
+                Arrays.sort(this.terms, 0, this.count);
+            }
+            else
+            {
+                this.radixSort();
+            }
+
+            // from the highest exponent down, summing each run of equal exponents
+            sparseCoefficients = new int[this.count];
+            sparseExponents = new int[this.count];
+            size = 0;
+            for (int i = this.count - 1; i >= 0; )
+            {
+                exponent = (int) (this.terms[i] >> 32);
+                sum = 0;
+                for (; i >= 0 && (int) (this.terms[i] >> 32) == exponent; i--)
+                {
+                    sum += (int) this.terms[i];
+                }
+                if (sum != 0)
+                {
+                    sparseCoefficients[size] = sum;
+                    sparseExponents[size++] = exponent;
+                }
+            }
+            return fromSparse(sparseCoefficients, sparseExponents, size);
+        }
+
+        /**
+         * Helper method, least significant digit radix sort of the terms by exponent, one pass per byte of the
+         * exponent.  Passes where every term has the same byte are skipped, so exponents in a small range
+         * take one or two passes.
+         */
+        private void radixSort()
+        {
+            // local variables
+            long[] source, target, temp;
+            int[] counts;
+            int shift, digit, position, flip;
+            boolean skip;
+
+            source = this.terms;
+            target = new long[this.count];
+            counts = new int[RADIX_SIZE];
+            for (shift = 32; shift < 64; shift += RADIX_BITS)
+            {
+                // the sign bit is flipped in the top byte so negative exponents come first
+                flip = shift == 64 - RADIX_BITS ? RADIX_SIZE / 2 : 0;
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < this.count; i++)
+                {
+                    counts[((int) (source[i] >>> shift) & (RADIX_SIZE - 1)) ^ flip]++;
+                }
+
+                skip = false;
+                position = 0;
+                for (digit = 0; digit < RADIX_SIZE; digit++)
+                {
+                    skip |= counts[digit] == this.count;
+                    position += counts[digit];
+                    counts[digit] = position - counts[digit];
+                }
+                if (skip)
+                {
+                    continue;
+                }
+
+                for (int i = 0; i < this.count; i++)
+                {
+                    target[counts[((int) (source[i] >>> shift) & (RADIX_SIZE - 1)) ^ flip]++] = source[i];
+                }
+                temp = source;
+                source = target;
+                target = temp;
+            }
+            this.terms = source;
+        }
+
+        /**
+         * Helper method, grows the term array to hold at least the given number of terms.
+         *
+         * @param capacity the number of terms needed.
+         */
+        private void ensureCapacity(int capacity)
+        {
+            if (capacity > this.terms.length)
+            {
+                this.terms = Arrays.copyOf(this.terms, Math.max(capacity, this.terms.length * 2));
+            }
+        }
+    }
+
+    /**
+     * Walks the terms of a polynomial from highest exponent to lowest in either storage form, without
+     * creating Term objects.  Call next() before reading the coefficient and exponent of each term.
+     */
+    public static class TermCursor
+    {
+        private final Polynomial polynomial;
+        private int position;
+        private int coefficient;
+        private int exponent;
+
+        /**
+         * Full constructor, cursor starts before the first term.
+         *
+         * @param polynomial the polynomial to walk.
+         */
+        private TermCursor(Polynomial polynomial)
+        {
+            this.polynomial = polynomial;
+            this.position = polynomial.dense ? polynomial.denseStart + polynomial.denseLength : -1;
+        }
+
+        /**
+         * Moves to the next term.
+         *
+         * @return false if there are no more terms.
+         */
+        public boolean next()
+        {
+            if (this.polynomial.dense)
+            {
+                do
+                {
+                    this.position--;
+                }
+                while (this.position >= this.polynomial.denseStart && this.polynomial.coefficients[this.position] == 0);
+
+                if (this.position < this.polynomial.denseStart)
+                {
+                    return false;
+                }
+                this.coefficient = this.polynomial.coefficients[this.position];
+                this.exponent = this.polynomial.positionExponent(this.position);
+            }
+            else
+            {
+                this.position++;
+
+                if (this.position >= this.polynomial.numTerms)
+                {
+                    return false;
+                }
+                this.coefficient = this.polynomial.coefficients[this.position];
+                this.exponent = this.polynomial.exponents[this.position];
+            }
+            return true;
+        }
+
+        /**
+         * Accessor for the coefficient of the current term.
+         *
+         * @return the coefficient, never 0.
+         */
+        public int getCoefficient()
+        {
+            return this.coefficient;
+        }
+
+        /**
+         * Accessor for the exponent of the current term.
+         *
+         * @return the exponent.
+         */
+        public int getExponent()
+        {
+            return this.exponent;
+        }
+    }
+
+    /**
+     * Read only List view of a polynomial's terms, see asList().  Index access is O(1) in sparse form.
+     */
+    private static class TermListView extends AbstractList<Term> implements RandomAccess
+    {
+        private final Polynomial polynomial;
+
+        /**
+         * Full constructor.
+         *
+         * @param polynomial the polynomial to view.
+         */
+        private TermListView(Polynomial polynomial)
+        {
+            this.polynomial = polynomial;
+        }
+
+        /**
+         * Returns the term at the given index, see Polynomial.getTerm(int).
+         *
+         * @param index the location of the term.
+         * @return an immutable Term holding the values at that index.
+         */
+        @Override
+        public Term get(int index)
+        {
+            int position;
+
+            this.polynomial.checkIndex(index);
+
+            if (this.polynomial.dense)
+            {
+                position = this.polynomial.positionOf(index);
+                return Term.of(this.polynomial.coefficients[position], this.polynomial.positionExponent(position));
+            }
+            return Term.of(this.polynomial.coefficients[index], this.polynomial.exponents[index]);
+        }
+
+        /**
+         * Walks the terms with a TermCursor, so dense polynomials are not searched from the top for each term.
+         *
+         * @return an iterator over the terms from highest exponent to lowest.
+         */
+        @Override
+        public Iterator<Term> iterator()
+        {
+            final TermCursor cursor = this.polynomial.cursor();
+
+            return new Iterator<Term>()
+            {
+                private boolean hasNext = cursor.next();
+
+                @Override
+                public boolean hasNext()
+                {
+                    return this.hasNext;
+                }
+
+                @Override
+                public Term next()
+                {
+                    Term temp;
+
+                    if (!this.hasNext)
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    temp = Term.of(cursor.getCoefficient(), cursor.getExponent());
+                    this.hasNext = cursor.next();
+                    return temp;
+                }
+            };
+        }
+
+        /**
+         * The term count of the viewed polynomial.
+         *
+         * @return the number of terms.
+         */
+        @Override
+        public int size()
+        {
+            return this.polynomial.numTerms;
+        }
     }
 }
 
@@ -0,0 +1,379 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/28/2018
+ * <p>
+ * PolynomialCodec.java : the binary form of a polynomial, used by Polynomial.writeBinary(OutputStream),
+ * Polynomial.readBinary(InputStream) and MappedPolynomialReader.  A 9 byte header is followed by the terms from
+ * highest exponent to lowest, each one written as variable length integers of 7 bits per byte, low bits first:
+ * <pre>
+ *     header := magic "POLY" (4 bytes), version 1 (1 byte), term count (4 bytes, big endian)
+ *     term   := exponent, coefficient
+ * </pre>
+ * The first exponent is zigzag encoded, every later one is written as the gap below the exponent before it minus
+ * 1, so a dense polynomial spends a single byte per exponent.  Coefficients are zigzag encoded so small negative
+ * values stay short.  A term takes at most MAX_TERM_BYTES bytes and at least 2, one per variable length integer.
+ */
+package edu.miracosta.cs113;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+final class PolynomialCodec
+{
+    final static int MAGIC = 0x504F4C59;    // "POLY"
+    final static byte VERSION = 1;
+    final static int HEADER_BYTES = 9;
+    final static int MAX_TERM_BYTES = 10;
+
+    private final static int BUFFER_SIZE = 8192;
+    private final static int DEFAULT_CAPACITY = 8;
+
+    // Class variables, the term last read by next(ByteBuffer)
+    private int coefficient;
+    private int exponent;
+    private boolean first;
+
+    /**
+     * Default constructor, creates a decoder placed before the first term.
+     */
+    PolynomialCodec()
+    {
+        this.first = true;
+    }
+
+    /**
+     * Writes a polynomial in binary form.  Bytes are gathered in a buffer, so out does not need to be buffered.
+     *
+     * @param polynomial the polynomial to write.
+     * @param out        where to write it, not closed.
+     * @throws IOException if out throws IOException.
+     */
+    static void write(Polynomial polynomial, OutputStream out) throws IOException
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        ByteBuffer buffer;
+        long previous;
+
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).put(VERSION).putInt(polynomial.getNumTerms());
+
+        cursor = polynomial.cursor();
+        previous = Long.MIN_VALUE;
+        while (cursor.next())
+        {
+            if (buffer.remaining() < MAX_TERM_BYTES)
+            {
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+
+            if (previous == Long.MIN_VALUE)
+            {
+                writeVarInt(buffer, zigzag(cursor.getExponent()));
+            }
+            else
+            {
+                writeVarInt(buffer, previous - cursor.getExponent() - 1);
+            }
+            writeVarInt(buffer, zigzag(cursor.getCoefficient()));
+            previous = cursor.getExponent();
+        }
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * Reads a polynomial in binary form.  Bytes are read ahead in blocks, so in does not need to be buffered, but
+     * never past the end of the polynomial: every variable length integer still to come takes at least one more
+     * byte, so reads ask for no more bytes than that.  Whatever follows the polynomial is left in in.
+     *
+     * @param in where to read the polynomial from, not closed.
+     * @return a new Polynomial holding the terms read.
+     * @throws IOException if in throws IOException, ends early, or does not hold a valid polynomial.
+     */
+    static Polynomial read(InputStream in) throws IOException
+    {
+        // local variables
+        PolynomialCodec decoder;
+        ByteBuffer buffer;
+        int[] coefficients, exponents;
+        int count, capacity, read;
+        boolean end;
+
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        do
+        {
+            read = in.read(buffer.array(), buffer.position(), HEADER_BYTES - buffer.position());
+            if (read > 0)
+            {
+                buffer.position(buffer.position() + read);
+            }
+        }
+        while (read >= 0 && buffer.position() < HEADER_BYTES);
+        buffer.flip();
+        count = readHeader(buffer);
+        end = read < 0;
+
+        // the count is not trusted for the first allocation, a damaged header should not exhaust the heap
+        capacity = Math.min(count, BUFFER_SIZE);
+        coefficients = new int[Math.max(capacity, DEFAULT_CAPACITY)];
+        exponents = new int[coefficients.length];
+        decoder = new PolynomialCodec();
+
+        for (int i = 0; i < count; i++)
+        {
+            if (buffer.remaining() < MAX_TERM_BYTES && !end)
+            {
+                end = fill(in, buffer, 2L * (count - i));
+            }
+            if (i == coefficients.length)
+            {
+                capacity = (int) Math.min((long) coefficients.length * 2, count);
+                coefficients = Arrays.copyOf(coefficients, capacity);
+                exponents = Arrays.copyOf(exponents, capacity);
+            }
+
+            decoder.next(buffer);
+            coefficients[i] = decoder.coefficient;
+            exponents[i] = decoder.exponent;
+        }
+        return Polynomial.fromSparse(coefficients, exponents, count);
+    }
+
+    /**
+     * Reads and checks the header.
+     *
+     * @param buffer the bytes, placed at the start of the header.
+     * @return the number of terms.
+     * @throws IOException if the header is short or not a valid header.
+     */
+    static int readHeader(ByteBuffer buffer) throws IOException
+    {
+        // local variables
+        int count;
+
+        if (buffer.remaining() < HEADER_BYTES)
+        {
+            throw new EOFException("Polynomial header is " + buffer.remaining() + " bytes, expected " + HEADER_BYTES);
+        }
+        if (buffer.getInt() != MAGIC)
+        {
+            throw new StreamCorruptedException("Not a binary polynomial");
+        }
+        if (buffer.get() != VERSION)
+        {
+            throw new StreamCorruptedException("Unsupported binary polynomial version");
+        }
+
+        count = buffer.getInt();
+        if (count < 0)
+        {
+            throw new StreamCorruptedException("Negative term count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Reads the next term, afterwards getCoefficient() and getExponent() return it.
+     *
+     * @param buffer the bytes, placed at the start of the term.
+     * @throws IOException if the bytes end early or do not hold a valid term.
+     */
+    void next(ByteBuffer buffer) throws IOException
+    {
+        // local variables
+        long value;
+
+        value = readVarInt(buffer);
+        if (this.first)
+        {
+            this.exponent = unzigzag(value);
+            this.first = false;
+        }
+        else if (value > (long) this.exponent - Integer.MIN_VALUE - 1)
+        {
+            throw new StreamCorruptedException("Exponent below " + Integer.MIN_VALUE);
+        }
+        else
+        {
+            this.exponent = (int) (this.exponent - value - 1);
+        }
+
+        this.coefficient = unzigzag(readVarInt(buffer));
+        if (this.coefficient == 0)
+        {
+            throw new StreamCorruptedException("Term with coefficient 0 at exponent " + this.exponent);
+        }
+    }
+
+    /**
+     * Accessor for the coefficient of the last term read.
+     *
+     * @return the coefficient, never 0.
+     */
+    int getCoefficient()
+    {
+        return this.coefficient;
+    }
+
+    /**
+     * Accessor for the exponent of the last term read.
+     *
+     * @return the exponent.
+     */
+    int getExponent()
+    {
+        return this.exponent;
+    }
+
+    /**
+     * Helper method, keeps the unread bytes of the buffer and reads more after them until a whole term is unread,
+     * the rest of the polynomial is unread or in ends.  Each variable length integer ends with a byte whose high
+     * bit is clear, so the integers not yet ended need at least one more byte each and no read asks for more.
+     * Every unread byte ends at most one integer, which bounds the reads without looking at the bytes until the
+     * last few terms.  Reads take whatever in has ready up to that bound.
+     *
+     * @param in       where to read from.
+     * @param buffer   the buffer, unread bytes between position and limit.
+     * @param integers the number of variable length integers left in the polynomial from position on.
+     * @return true if in has ended.
+     * @throws IOException if in throws IOException.
+     */
+    private static boolean fill(InputStream in, ByteBuffer buffer, long integers) throws IOException
+    {
+        // local variables
+        byte[] bytes;
+        long missing;
+        int read;
+
+        buffer.compact();
+        bytes = buffer.array();
+        missing = integers - buffer.position();
+        read = 0;
+        while (buffer.position() < MAX_TERM_BYTES)
+        {
+            if (missing <= 0)
+            {
+                // at most MAX_TERM_BYTES unread bytes to count
+                missing = integers - ends(bytes, buffer.position());
+                if (missing <= 0)
+                {
+                    break;
+                }
+            }
+
+            read = in.read(bytes, buffer.position(), (int) Math.min(buffer.remaining(), missing));
+            if (read < 0)
+            {
+                break;
+            }
+            buffer.position(buffer.position() + read);
+            missing -= read;
+        }
+        buffer.flip();
+        return read < 0;
+    }
+
+    /**
+     * Helper method, counts the bytes that end a variable length integer.
+     *
+     * @param bytes the bytes.
+     * @param count the number of bytes counted from the start.
+     * @return the number of bytes with the high bit clear.
+     */
+    private static int ends(byte[] bytes, int count)
+    {
+        // local variables
+        int ended;
+
+        ended = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (bytes[i] >= 0)
+            {
+                ended++;
+            }
+        }
+        return ended;
+    }
+
+    /**
+     * Helper method, writes a value below 2^32 in 7 bit groups, low group first, the high bit set on every byte
+     * but the last.
+     *
+     * @param buffer where to write the value.
+     * @param value  the value, from 0 up to 2^32 - 1.
+     */
+    private static void writeVarInt(ByteBuffer buffer, long value)
+    {
+        while (value >= 0x80)
+        {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Helper method, reads a value written by writeVarInt.
+     *
+     * @param buffer where to read the value.
+     * @return the value, from 0 up to 2^32 - 1.
+     * @throws IOException if the bytes end early or the value has more than 32 bits.
+     */
+    private static long readVarInt(ByteBuffer buffer) throws IOException
+    {
+        // local variables
+        long value;
+        int current;
+
+        value = 0;
+        for (int shift = 0; shift < 35; shift += 7)
+        {
+            if (!buffer.hasRemaining())
+            {
+                throw new EOFException("Binary polynomial ends inside a term");
+            }
+            current = buffer.get();
+            value |= (long) (current & 0x7F) << shift;
+            if (current >= 0)
+            {
+                if (value >>> 32 != 0)
+                {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Variable length integer longer than 32 bits");
+    }
+
+    /**
+     * Helper method, maps signed values to unsigned ones so small magnitudes stay small: 0, -1, 1, -2 ... become
+     * 0, 1, 2, 3 ...
+     *
+     * @param value the signed value.
+     * @return the zigzag value, from 0 up to 2^32 - 1.
+     */
+    private static long zigzag(int value)
+    {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Helper method, undoes zigzag(int).
+     *
+     * @param value the zigzag value, from 0 up to 2^32 - 1.
+     * @return the signed value.
+     */
+    private static int unzigzag(long value)
+    {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+}
@@ -0,0 +1,321 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 3/3/2018
+ * <p>
+ * PolynomialDivision.java : long division of int coefficient polynomials for Polynomial.divideAndRemainder.
+ * Terms of the dividend are cancelled from the highest exponent down to the highest exponent of the divisor, so
+ * the remainder only has exponents below it.  Negative exponents need no special case.
+ * <ul>
+ * <li>schoolbook: cancels one quotient term at a time against every divisor term.  O(n * m).</li>
+ * <li>newton    : when the divisor leads with 1 or -1, the reversed divisor is inverted as a power series by
+ * Newton's iteration g = g * (2 - f * g), which doubles the correct terms per step, and the quotient is one
+ * product away.  Every step uses the fast multiplication of PolynomialMultiplier.  O(M(n)).</li>
+ * </ul>
+ * Coefficients are int, so like multiplication a coefficient that does not fit wraps around.  Both methods work
+ * in the same wrapped arithmetic and give the same result.
+ */
+package edu.miracosta.cs113;
+
+import java.util.Arrays;
+
+final class PolynomialDivision
+{
+    // Newton's iteration is used once the quotient and the divisor both span at least this many exponents
+    private final static int NEWTON_THRESHOLD = 4096;
+
+    // Dividends spanning more exponents than this are divided by merging instead of in dense arrays
+    private final static int MAX_DENSE_SPAN = 1 << 24;
+
+    /**
+     * Static helper class, not meant to be instantiated.
+     */
+    private PolynomialDivision()
+    {
+    }
+
+    /**
+     * Divides one polynomial by another, see Polynomial.divideAndRemainder(Polynomial).
+     *
+     * @param dividend the polynomial to divide.
+     * @param divisor  the polynomial to divide by.
+     * @return the quotient at index 0 and the remainder at index 1, both new.
+     * @throws ArithmeticException if divisor has no terms, a quotient coefficient is not an integer, or a quotient
+     *                             exponent does not fit in an int.
+     */
+    static Polynomial[] divideAndRemainder(Polynomial dividend, Polynomial divisor)
+    {
+        // local variables
+        int leading, low;
+        long quotientSpan, span;
+
+        if (divisor.getNumTerms() == 0)
+        {
+            throw new ArithmeticException("Division by a polynomial with no terms");
+        }
+        if (dividend.getNumTerms() == 0 || dividend.highestExponent() < divisor.highestExponent())
+        {
+            return new Polynomial[]{new Polynomial(), new Polynomial(dividend)};
+        }
+
+        leading = divisor.getTerm(0).getCoefficient();
+        quotientSpan = (long) dividend.highestExponent() - divisor.highestExponent() + 1;
+        if (quotientSpan - 1 > Integer.MAX_VALUE)
+        {
+            throw new ArithmeticException("Quotient exponent " + (quotientSpan - 1) + " does not fit in an int");
+        }
+        if (Math.abs(leading) == 1 && quotientSpan >= NEWTON_THRESHOLD && quotientSpan <= MAX_DENSE_SPAN
+                && (long) divisor.highestExponent() - divisor.lowestExponent() + 1 >= NEWTON_THRESHOLD)
+        {
+            return newton(dividend, divisor, (int) quotientSpan);
+        }
+
+        low = Math.min(dividend.lowestExponent(), divisor.lowestExponent());
+        span = (long) dividend.highestExponent() - low + 1;
+        if (span <= MAX_DENSE_SPAN)
+        {
+            return schoolbookDense(dividend, divisor, low, (int) span);
+        }
+        return schoolbookSparse(dividend, divisor);
+    }
+
+    /**
+     * Helper method, schoolbook division in a dense array holding the running remainder.
+     *
+     * @param dividend the polynomial to divide, highest exponent at least that of divisor.
+     * @param divisor  the polynomial to divide by.
+     * @param low      the lowest exponent of both.
+     * @param span     the number of exponents from low to the highest exponent of dividend.
+     * @return the quotient and remainder.
+     */
+    private static Polynomial[] schoolbookDense(Polynomial dividend, Polynomial divisor, int low, int span)
+    {
+        // local variables
+        int[] remainder, quotient, divisorCoefficients, divisorOffsets;
+        int top, leading, coefficient, factor, count;
+
+        remainder = new int[span];
+        dividend.forEachTerm((termCoefficient, exponent) -> remainder[exponent - low] = termCoefficient);
+
+        // divisor terms below the leading one, as offsets below its exponent
+        count = divisor.getNumTerms();
+        divisorCoefficients = new int[count];
+        divisorOffsets = new int[count];
+        divisor.copyTerms(divisorCoefficients, divisorOffsets);
+        top = divisorOffsets[0];
+        leading = divisorCoefficients[0];
+        for (int j = 0; j < count; j++)
+        {
+            divisorOffsets[j] = top - divisorOffsets[j];
+        }
+
+        quotient = new int[span - (top - low)];
+        for (int i = span - 1; i >= top - low; i--)
+        {
+            coefficient = remainder[i];
+            if (coefficient != 0)
+            {
+                factor = quotientCoefficient(coefficient, leading, i + low);
+                quotient[i - (top - low)] = factor;
+                remainder[i] = 0;
+                for (int j = 1; j < count; j++)
+                {
+                    remainder[i - divisorOffsets[j]] -= factor * divisorCoefficients[j];
+                }
+            }
+        }
+
+        Arrays.fill(remainder, top - low, span, 0);
+        return new Polynomial[]{Polynomial.fromDense(quotient, 0), Polynomial.fromDense(remainder, low)};
+    }
+
+    /**
+     * Helper method, schoolbook division for dividends spread over too many exponents for a dense array.  Each
+     * quotient term is cancelled by merging the scaled divisor into the running remainder.  Quotient terms come
+     * out from the highest exponent down, so they are collected in arrays and become a Polynomial at the end.
+     *
+     * @param dividend the polynomial to divide, highest exponent at least that of divisor.
+     * @param divisor  the polynomial to divide by.
+     * @return the quotient and remainder.
+     */
+    private static Polynomial[] schoolbookSparse(Polynomial dividend, Polynomial divisor)
+    {
+        // local variables
+        Polynomial remainder, scaled;
+        int[] divisorCoefficients, divisorExponents, scaledCoefficients, scaledExponents;
+        int[] quotientCoefficients, quotientExponents;
+        int top, leading, factor, shift, count, quotientCount;
+        Term highest;
+
+        divisorCoefficients = new int[divisor.getNumTerms()];
+        divisorExponents = new int[divisorCoefficients.length];
+        divisor.copyTerms(divisorCoefficients, divisorExponents);
+        top = divisorExponents[0];
+        leading = divisorCoefficients[0];
+
+        quotientCoefficients = new int[divisorCoefficients.length];
+        quotientExponents = new int[divisorCoefficients.length];
+        quotientCount = 0;
+        remainder = new Polynomial(dividend);
+        while (remainder.getNumTerms() > 0 && remainder.highestExponent() >= top)
+        {
+            highest = remainder.getTerm(0);
+            factor = quotientCoefficient(highest.getCoefficient(), leading, highest.getExponent());
+
+            // at most the highest quotient exponent, which divideAndRemainder checked fits in an int
+            shift = (int) ((long) highest.getExponent() - top);
+            if (quotientCount == quotientCoefficients.length)
+            {
+                quotientCoefficients = Arrays.copyOf(quotientCoefficients, 2 * quotientCount);
+                quotientExponents = Arrays.copyOf(quotientExponents, 2 * quotientCount);
+            }
+            quotientCoefficients[quotientCount] = factor;
+            quotientExponents[quotientCount++] = shift;
+
+            // minus factor * x^shift * divisor, the leading term cancels highest and products that wrap to 0 are
+            // left out
+            scaledCoefficients = new int[divisorCoefficients.length];
+            scaledExponents = new int[divisorCoefficients.length];
+            count = 0;
+            for (int j = 0; j < divisorCoefficients.length; j++)
+            {
+                if (factor * divisorCoefficients[j] != 0)
+                {
+                    scaledCoefficients[count] = -factor * divisorCoefficients[j];
+                    scaledExponents[count++] = divisorExponents[j] + shift;
+                }
+            }
+            scaled = Polynomial.fromSparse(scaledCoefficients, scaledExponents, count);
+            remainder.add(scaled);
+        }
+        return new Polynomial[]{Polynomial.fromSparse(quotientCoefficients, quotientExponents, quotientCount),
+                remainder};
+    }
+
+    /**
+     * Helper method, division by a divisor leading with 1 or -1 through a Newton power series inverse.  With
+     * the dividend written from its highest exponent a down as A(y) = sum of a_i y^i where a_i is the coefficient
+     * of x^(a - i), and the divisor likewise as B(y), the quotient written the same way is A(y) / B(y) cut after
+     * quotientSpan terms.
+     *
+     * @param dividend     the polynomial to divide.
+     * @param divisor      the polynomial to divide by, leading with 1 or -1.
+     * @param quotientSpan the highest exponent of dividend minus that of divisor, plus 1.
+     * @return the quotient and remainder.
+     */
+    private static Polynomial[] newton(Polynomial dividend, Polynomial divisor, int quotientSpan)
+    {
+        // local variables
+        PolynomialMultiplier multiplier;
+        Polynomial quotient, remainder;
+        int[] reversedDivisor, inverse, correction, reversedQuotient, quotientCoefficients;
+        int length;
+
+        multiplier = PolynomialMultiplier.getDefault();
+        reversedDivisor = topCoefficients(divisor, quotientSpan);
+
+        // 1 and -1 are their own inverses
+        inverse = new int[]{reversedDivisor[0]};
+        for (length = 1; length < quotientSpan; )
+        {
+            length = Math.min(length * 2, quotientSpan);
+
+            // correction = 2 - f * g
+            correction = multiplier.multiplyDense(Arrays.copyOf(reversedDivisor, length), inverse);
+            correction = Arrays.copyOf(correction, length);
+            for (int i = 0; i < length; i++)
+            {
+                correction[i] = -correction[i];
+            }
+            correction[0] += 2;
+
+            inverse = Arrays.copyOf(multiplier.multiplyDense(inverse, correction), length);
+        }
+
+        reversedQuotient = multiplier.multiplyDense(topCoefficients(dividend, quotientSpan), inverse);
+
+        // quotient exponent quotientSpan - 1 - i holds reversed index i
+        quotientCoefficients = new int[quotientSpan];
+        for (int i = 0; i < quotientSpan; i++)
+        {
+            quotientCoefficients[quotientSpan - 1 - i] = reversedQuotient[i];
+        }
+        quotient = Polynomial.fromDense(quotientCoefficients, 0);
+
+        // remainder = dividend - quotient * divisor, the terms from the top of the divisor up cancel exactly
+        remainder = Polynomial.product(quotient, divisor);
+        remainder = negate(remainder);
+        remainder.add(dividend);
+        return new Polynomial[]{quotient, remainder};
+    }
+
+    /**
+     * Helper method, the coefficients of the highest exponents from the highest down.
+     *
+     * @param polynomial a polynomial with at least 1 term.
+     * @param length     the number of exponents.
+     * @return index i holds the coefficient of x^(highest exponent - i), 0 where there is no term.
+     */
+    private static int[] topCoefficients(Polynomial polynomial, int length)
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        int[] temp;
+        long offset;
+        int top;
+
+        temp = new int[length];
+        top = polynomial.highestExponent();
+        cursor = polynomial.cursor();
+        while (cursor.next())
+        {
+            offset = (long) top - cursor.getExponent();
+            if (offset >= length)
+            {
+                break;
+            }
+            temp[(int) offset] = cursor.getCoefficient();
+        }
+        return temp;
+    }
+
+    /**
+     * Helper method, a new polynomial with every coefficient negated.
+     *
+     * @param polynomial the polynomial to negate.
+     * @return the negated copy.
+     */
+    private static Polynomial negate(Polynomial polynomial)
+    {
+        // local variables
+        int[] coefficients, exponents;
+
+        coefficients = new int[polynomial.getNumTerms()];
+        exponents = new int[coefficients.length];
+        polynomial.copyTerms(coefficients, exponents);
+        for (int i = 0; i < coefficients.length; i++)
+        {
+            coefficients[i] = -coefficients[i];
+        }
+        return Polynomial.fromSparse(coefficients, exponents, coefficients.length);
+    }
+
+    /**
+     * Helper method, one quotient coefficient.
+     *
+     * @param coefficient the coefficient to cancel.
+     * @param leading     the leading coefficient of the divisor.
+     * @param exponent    the exponent being cancelled, for the error message.
+     * @return coefficient / leading.
+     * @throws ArithmeticException if leading does not divide coefficient.
+     */
+    private static int quotientCoefficient(int coefficient, int leading, int exponent)
+    {
+        if (coefficient % leading != 0)
+        {
+            throw new ArithmeticException("Quotient coefficient " + coefficient + "/" + leading + " of x^" + exponent
+                    + " is not an integer");
+        }
+        return coefficient / leading;
+    }
+}
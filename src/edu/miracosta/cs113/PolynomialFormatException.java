@@ -0,0 +1,39 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/26/2018
+ * <p>
+ * PolynomialFormatException.java : thrown when text can not be parsed into a Term or Polynomial.  Holds the
+ * offset of the character where parsing failed.  Extends NumberFormatException, which Term(String) threw
+ * before, so existing catch blocks still work.
+ */
+package edu.miracosta.cs113;
+
+public class PolynomialFormatException extends NumberFormatException
+{
+    private final static long serialVersionUID = 1L;
+
+    private final int errorOffset;
+
+    /**
+     * Full constructor.
+     *
+     * @param message     description of the problem.
+     * @param errorOffset index of the character where parsing failed.
+     */
+    public PolynomialFormatException(String message, int errorOffset)
+    {
+        super(message + " at offset " + errorOffset);
+        this.errorOffset = errorOffset;
+    }
+
+    /**
+     * Accessor for the error offset.
+     *
+     * @return index of the character where parsing failed.
+     */
+    public int getErrorOffset()
+    {
+        return this.errorOffset;
+    }
+}
@@ -0,0 +1,696 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 3/4/2018
+ * <p>
+ * PolynomialGcd.java : greatest common divisors for Polynomial.gcd and ModPolynomial.gcd.
+ * <ul>
+ * <li>modulo a prime: Euclid's algorithm while the degrees are small, the half GCD above that.  The half GCD
+ * finds the 2 x 2 matrix of the first half of Euclid's steps from the top halves of the coefficients alone,
+ * recursively, so the whole GCD costs O(M(n) log n) instead of O(n^2).</li>
+ * <li>over the integers: Euclid's algorithm on int coefficients would blow up, so the GCD is found modulo
+ * several primes near 2^30 and the images are combined with the Chinese remainder theorem.  Each image is
+ * scaled so its leading coefficient is the GCD of the two leading coefficients, which makes every image the
+ * image of the same integer polynomial.  Primes that divide a leading coefficient are skipped, and an image of
+ * higher degree than another comes from an unlucky prime and is dropped.  The cofactors are combined along
+ * with the GCD, and once their coefficients are small enough that the product can not wrap around the
+ * combined modulus, the GCD divides both inputs exactly and no trial division is needed.</li>
+ * </ul>
+ * Laurent polynomials are handled by factoring out x to the lowest exponent of each, the GCD of those powers is
+ * the lower one.
+ */
+package edu.miracosta.cs113;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+final class PolynomialGcd
+{
+    // Euclid's algorithm is used while the higher degree is below this
+    private final static int HALF_GCD_THRESHOLD = 256;
+
+    // Primes tried once the three transform primes are used up, counting down from just below 2^30
+    private final static int PRIME_SEARCH_START = (1 << 30) - 1;
+
+    /**
+     * Static helper class, not meant to be instantiated.
+     */
+    private PolynomialGcd()
+    {
+    }
+
+    /**
+     * Greatest common divisor over the integers, see Polynomial.gcd(Polynomial).
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the GCD.
+     * @throws ArithmeticException if a coefficient of the GCD does not fit in an int.
+     */
+    static Polynomial gcd(Polynomial polyA, Polynomial polyB)
+    {
+        // local variables
+        Polynomial shiftedA, shiftedB;
+        ModPolynomial imageA, imageB, image, scaled;
+        Lift gcdLift, cofactorLiftA, cofactorLiftB;
+        BigInteger modulus;
+        long contentA, contentB, leadingA, leadingB, leadingGcd, boundA, boundB;
+        int low, degree, prime, factor;
+
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return normalize(polyA.getNumTerms() == 0 ? polyB : polyA);
+        }
+
+        low = Math.min(polyA.lowestExponent(), polyB.lowestExponent());
+        shiftedA = shift(polyA, -polyA.lowestExponent());
+        shiftedB = shift(polyB, -polyB.lowestExponent());
+
+        // primitive parts fA = A / contentA and fB = B / contentB are only ever formed modulo the primes
+        contentA = content(shiftedA);
+        contentB = content(shiftedB);
+        leadingA = shiftedA.getTerm(0).getCoefficient() / contentA;
+        leadingB = shiftedB.getTerm(0).getCoefficient() / contentB;
+        leadingGcd = gcd(Math.abs(leadingA), Math.abs(leadingB));
+        boundA = leadingGcd * (maxMagnitude(shiftedA) / contentA);
+        boundB = leadingGcd * (maxMagnitude(shiftedB) / contentB);
+
+        gcdLift = null;
+        cofactorLiftA = null;
+        cofactorLiftB = null;
+        modulus = null;
+        degree = Integer.MAX_VALUE;
+        prime = 0;
+        while (true)
+        {
+            prime = nextPrime(prime);
+            if (contentA % prime == 0 || contentB % prime == 0 || leadingA % prime == 0 || leadingB % prime == 0)
+            {
+                continue;
+            }
+
+            imageA = new ModPolynomial(shiftedA, prime);
+            imageA = imageA.scale(imageA.getArithmetic().inverse((int) (contentA % prime)));
+            imageB = new ModPolynomial(shiftedB, prime);
+            imageB = imageB.scale(imageB.getArithmetic().inverse((int) (contentB % prime)));
+            image = monicGcd(imageA, imageB);
+
+            if (degree(image) == 0)
+            {
+                // the primitive parts are coprime
+                return shift(Polynomial.fromSparse(new int[]{Math.toIntExact(gcd(contentA, contentB))},
+                        new int[]{0}, 1), low);
+            }
+            if (degree(image) > degree)
+            {
+                continue;
+            }
+            if (degree(image) < degree)
+            {
+                degree = degree(image);
+                gcdLift = new Lift();
+                cofactorLiftA = new Lift();
+                cofactorLiftB = new Lift();
+                modulus = BigInteger.ONE;
+            }
+
+            // H = leadingGcd * G / lc(G), then leadingGcd * fA = H * cofactorA and leadingGcd * fB = H * cofactorB
+            factor = (int) (leadingGcd % prime);
+            image = image.scale(factor);
+            scaled = imageA.scale(factor);
+            cofactorLiftA.combine(scaled.divideAndRemainder(image)[0], modulus, prime);
+            scaled = imageB.scale(factor);
+            cofactorLiftB.combine(scaled.divideAndRemainder(image)[0], modulus, prime);
+            gcdLift.combine(image, modulus, prime);
+            modulus = modulus.multiply(BigInteger.valueOf(prime));
+
+            if (gcdLift.divides(cofactorLiftA, boundA, modulus) && gcdLift.divides(cofactorLiftB, boundB, modulus))
+            {
+                return shift(gcdLift.toPrimitive(gcd(contentA, contentB), modulus), low);
+            }
+        }
+    }
+
+    /**
+     * Monic greatest common divisor modulo a prime, see ModPolynomial.gcd(ModPolynomial).
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial, with the same modulus.
+     * @return a new ModPolynomial holding the GCD.
+     * @throws IllegalArgumentException if the moduli differ.
+     */
+    static ModPolynomial gcd(ModPolynomial polyA, ModPolynomial polyB)
+    {
+        // local variables
+        int lowA, lowB;
+
+        if (polyA.getModulus() != polyB.getModulus())
+        {
+            throw new IllegalArgumentException("Moduli differ: " + polyA.getModulus() + " and "
+                    + polyB.getModulus());
+        }
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return monic(polyA.getNumTerms() == 0 ? polyB : polyA);
+        }
+
+        lowA = polyA.getExponent(polyA.getNumTerms() - 1);
+        lowB = polyB.getExponent(polyB.getNumTerms() - 1);
+        return monicGcd(polyA.shift(-lowA), polyB.shift(-lowB)).shift(Math.min(lowA, lowB));
+    }
+
+    /**
+     * Helper method, monic GCD of two polynomials with no negative exponents.  Euclid's steps are taken while
+     * the degrees are small or equal, otherwise one half GCD step brings both degrees below half the higher
+     * degree.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new ModPolynomial holding the GCD.
+     */
+    private static ModPolynomial monicGcd(ModPolynomial polyA, ModPolynomial polyB)
+    {
+        // local variables
+        ModPolynomial[] pair;
+        ModPolynomial temp;
+
+        if (degree(polyA) < degree(polyB))
+        {
+            temp = polyA;
+            polyA = polyB;
+            polyB = temp;
+        }
+        while (polyB.getNumTerms() > 0)
+        {
+            if (degree(polyA) >= HALF_GCD_THRESHOLD && degree(polyA) > degree(polyB))
+            {
+                pair = apply(halfGcd(polyA, polyB), polyA, polyB);
+                polyA = pair[0];
+                polyB = pair[1];
+                if (polyB.getNumTerms() == 0)
+                {
+                    break;
+                }
+            }
+            temp = polyA.divideAndRemainder(polyB)[1];
+            polyA = polyB;
+            polyB = temp;
+        }
+        return monic(polyA);
+    }
+
+    /**
+     * Helper method, the half GCD.  For polynomials with deg A > deg B it returns the matrix M, as
+     * {m00, m01, m10, m11}, of the Euclid steps that take (A, B) to (A', B') = M (A, B) with
+     * deg A' >= m > deg B', where m is half of deg A rounded up.  Those steps only depend on the coefficients
+     * from x^m up, so the first half of them are found from A / x^m and B / x^m, and the rest from the top of
+     * what is left after one more division.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial, of lower degree.
+     * @return the matrix of the Euclid steps.
+     */
+    private static ModPolynomial[] halfGcd(ModPolynomial polyA, ModPolynomial polyB)
+    {
+        // local variables
+        ModPolynomial[] first, second, pair, quotientRemainder;
+        int half, shift;
+
+        half = (degree(polyA) + 1) / 2;
+        if (degree(polyA) < HALF_GCD_THRESHOLD)
+        {
+            // small enough for plain Euclid steps
+            first = identity(polyA);
+            while (degree(polyB) >= half)
+            {
+                quotientRemainder = polyA.divideAndRemainder(polyB);
+                first = step(quotientRemainder[0], first);
+                polyA = polyB;
+                polyB = quotientRemainder[1];
+            }
+            return first;
+        }
+        if (degree(polyB) < half)
+        {
+            return identity(polyA);
+        }
+
+        first = halfGcd(polyA.divideByPower(half), polyB.divideByPower(half));
+        pair = apply(first, polyA, polyB);
+        if (degree(pair[1]) < half)
+        {
+            return first;
+        }
+
+        quotientRemainder = pair[0].divideAndRemainder(pair[1]);
+        shift = 2 * half - degree(pair[1]);
+        second = halfGcd(pair[1].divideByPower(shift), quotientRemainder[1].divideByPower(shift));
+        return multiply(second, step(quotientRemainder[0], first));
+    }
+
+    /**
+     * Helper method, one Euclid step after a matrix, [[0, 1], [1, -quotient]] * matrix.
+     *
+     * @param quotient the quotient of the step.
+     * @param matrix   the steps so far.
+     * @return the new matrix.
+     */
+    private static ModPolynomial[] step(ModPolynomial quotient, ModPolynomial[] matrix)
+    {
+        // local variables
+        ModPolynomial negated;
+
+        negated = quotient.negate();
+        return new ModPolynomial[]{matrix[2], matrix[3],
+                ModPolynomial.sum(matrix[0], ModPolynomial.product(negated, matrix[2])),
+                ModPolynomial.sum(matrix[1], ModPolynomial.product(negated, matrix[3]))};
+    }
+
+    /**
+     * Helper method, 2 x 2 matrix product.
+     *
+     * @param left  the left matrix.
+     * @param right the right matrix.
+     * @return left * right.
+     */
+    private static ModPolynomial[] multiply(ModPolynomial[] left, ModPolynomial[] right)
+    {
+        return new ModPolynomial[]{
+                ModPolynomial.sum(ModPolynomial.product(left[0], right[0]), ModPolynomial.product(left[1], right[2])),
+                ModPolynomial.sum(ModPolynomial.product(left[0], right[1]), ModPolynomial.product(left[1], right[3])),
+                ModPolynomial.sum(ModPolynomial.product(left[2], right[0]), ModPolynomial.product(left[3], right[2])),
+                ModPolynomial.sum(ModPolynomial.product(left[2], right[1]), ModPolynomial.product(left[3], right[3]))};
+    }
+
+    /**
+     * Helper method, a matrix times a pair of polynomials.
+     *
+     * @param matrix the matrix.
+     * @param polyA  the first polynomial.
+     * @param polyB  the second polynomial.
+     * @return matrix * (polyA, polyB).
+     */
+    private static ModPolynomial[] apply(ModPolynomial[] matrix, ModPolynomial polyA, ModPolynomial polyB)
+    {
+        return new ModPolynomial[]{
+                ModPolynomial.sum(ModPolynomial.product(matrix[0], polyA), ModPolynomial.product(matrix[1], polyB)),
+                ModPolynomial.sum(ModPolynomial.product(matrix[2], polyA), ModPolynomial.product(matrix[3], polyB))};
+    }
+
+    /**
+     * Helper method, the identity matrix.
+     *
+     * @param polynomial any polynomial with the modulus of the matrix.
+     * @return {1, 0, 0, 1}.
+     */
+    private static ModPolynomial[] identity(ModPolynomial polynomial)
+    {
+        // local variables
+        ModPolynomial zero, one;
+
+        zero = ModPolynomial.fromDense(polynomial.getArithmetic(), new int[0], 0);
+        one = ModPolynomial.fromDense(polynomial.getArithmetic(), new int[]{1}, 0);
+        return new ModPolynomial[]{one, zero, zero, one};
+    }
+
+    /**
+     * Helper method, degree of a polynomial with no negative exponents.
+     *
+     * @param polynomial the polynomial.
+     * @return the highest exponent, -1 if there are no terms.
+     */
+    private static int degree(ModPolynomial polynomial)
+    {
+        return polynomial.getNumTerms() == 0 ? -1 : polynomial.getExponent(0);
+    }
+
+    /**
+     * Helper method, divides a polynomial by its leading coefficient.
+     *
+     * @param polynomial the polynomial.
+     * @return a new monic ModPolynomial, no terms if polynomial has none.
+     */
+    private static ModPolynomial monic(ModPolynomial polynomial)
+    {
+        if (polynomial.getNumTerms() == 0)
+        {
+            return polynomial.scale(0);
+        }
+        return polynomial.scale(polynomial.getArithmetic().inverse(polynomial.getCoefficient(0)));
+    }
+
+    /**
+     * Helper method, the next prime to reduce modulo.  The three transform primes come first since products
+     * modulo them need one transform instead of three.
+     *
+     * @param prime the last prime used, 0 for the first.
+     * @return the next prime, all below 2^30.
+     */
+    private static int nextPrime(int prime)
+    {
+        // local variables
+        int candidate;
+
+        if (prime == 0)
+        {
+            return NumberTheoreticTransform.PRIME_A;
+        }
+        if (prime == NumberTheoreticTransform.PRIME_A)
+        {
+            return NumberTheoreticTransform.PRIME_C;
+        }
+        if (prime == NumberTheoreticTransform.PRIME_C)
+        {
+            return NumberTheoreticTransform.PRIME_B;
+        }
+
+        candidate = prime == NumberTheoreticTransform.PRIME_B ? PRIME_SEARCH_START : prime - 2;
+        while (!BigInteger.valueOf(candidate).isProbablePrime(64))
+        {
+            candidate -= 2;
+        }
+        return candidate;
+    }
+
+    /**
+     * Helper method, the polynomial with positive leading coefficient among it and its negation.
+     *
+     * @param polynomial the polynomial.
+     * @return a new Polynomial.
+     * @throws ArithmeticException if a negated coefficient does not fit in an int.
+     */
+    private static Polynomial normalize(Polynomial polynomial)
+    {
+        // local variables
+        int[] coefficients, exponents;
+
+        coefficients = new int[polynomial.getNumTerms()];
+        exponents = new int[coefficients.length];
+        polynomial.copyTerms(coefficients, exponents);
+        if (coefficients.length > 0 && coefficients[0] < 0)
+        {
+            for (int i = 0; i < coefficients.length; i++)
+            {
+                coefficients[i] = Math.negateExact(coefficients[i]);
+            }
+        }
+        return Polynomial.fromSparse(coefficients, exponents, coefficients.length);
+    }
+
+    /**
+     * Helper method, a new polynomial with every exponent moved by the same amount.
+     *
+     * @param polynomial the polynomial.
+     * @param offset     the amount added to every exponent.
+     * @return polynomial times x^offset.
+     */
+    private static Polynomial shift(Polynomial polynomial, int offset)
+    {
+        // local variables
+        int[] coefficients, exponents;
+
+        coefficients = new int[polynomial.getNumTerms()];
+        exponents = new int[coefficients.length];
+        polynomial.copyTerms(coefficients, exponents);
+        for (int i = 0; i < exponents.length; i++)
+        {
+            exponents[i] += offset;
+        }
+        return Polynomial.fromSparse(coefficients, exponents, coefficients.length);
+    }
+
+    /**
+     * Helper method, GCD of the magnitudes of the coefficients.
+     *
+     * @param polynomial a polynomial with at least 1 term.
+     * @return the content, from 1 up to 2^31.
+     */
+    private static long content(Polynomial polynomial)
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        long temp;
+
+        temp = 0;
+        cursor = polynomial.cursor();
+        while (cursor.next() && temp != 1)
+        {
+            temp = gcd(temp, Math.abs((long) cursor.getCoefficient()));
+        }
+        return temp;
+    }
+
+    /**
+     * Helper method, largest coefficient magnitude.
+     *
+     * @param polynomial the polynomial.
+     * @return the largest magnitude, up to 2^31.
+     */
+    private static long maxMagnitude(Polynomial polynomial)
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        long temp;
+
+        temp = 0;
+        cursor = polynomial.cursor();
+        while (cursor.next())
+        {
+            temp = Math.max(temp, Math.abs((long) cursor.getCoefficient()));
+        }
+        return temp;
+    }
+
+    /**
+     * Helper method, Euclid's algorithm on non negative longs.
+     *
+     * @param a the first value.
+     * @param b the second value.
+     * @return the GCD, 0 only if both are 0.
+     */
+    private static long gcd(long a, long b)
+    {
+        // local variables
+        long temp;
+
+        while (b != 0)
+        {
+            temp = a % b;
+            a = b;
+            b = temp;
+        }
+        return a;
+    }
+
+    /**
+     * An integer polynomial known modulo the product of the primes seen so far, combined one image at a time.
+     * Residues are kept from 0 up to the modulus, and read as the symmetric residue from -modulus / 2 up.
+     */
+    private static final class Lift
+    {
+        // Class variables
+        // exponents from highest to lowest, every exponent of any image so far
+        private int[] exponents;
+        private BigInteger[] residues;
+
+        /**
+         * Default constructor, the zero polynomial modulo 1.
+         */
+        Lift()
+        {
+            this.exponents = new int[0];
+            this.residues = new BigInteger[0];
+        }
+
+        /**
+         * Combines an image modulo a new prime with the residues modulo the primes so far, Garner's form of the
+         * Chinese remainder theorem: x = r + modulus * ((v - r) / modulus mod prime).
+         *
+         * @param image   the image modulo prime.
+         * @param modulus the product of the primes so far.
+         * @param prime   the new prime.
+         */
+        void combine(ModPolynomial image, BigInteger modulus, int prime)
+        {
+            // local variables
+            int[] mergedExponents;
+            BigInteger[] mergedResidues;
+            BigInteger residue;
+            long inverse, value, difference;
+            int index, indexImage, count, exponent;
+
+            inverse = modulus.mod(BigInteger.valueOf(prime)).modInverse(BigInteger.valueOf(prime)).longValue();
+            mergedExponents = new int[this.exponents.length + image.getNumTerms()];
+            mergedResidues = new BigInteger[mergedExponents.length];
+            index = 0;
+            indexImage = 0;
+            count = 0;
+            while (index < this.exponents.length || indexImage < image.getNumTerms())
+            {
+                if (indexImage == image.getNumTerms()
+                        || (index < this.exponents.length && this.exponents[index] > image.getExponent(indexImage)))
+                {
+                    exponent = this.exponents[index];
+                    residue = this.residues[index++];
+                    value = 0;
+                }
+                else if (index == this.exponents.length || this.exponents[index] < image.getExponent(indexImage))
+                {
+                    exponent = image.getExponent(indexImage);
+                    residue = BigInteger.ZERO;
+                    value = image.getCoefficient(indexImage++);
+                }
+                else
+                {
+                    exponent = this.exponents[index];
+                    residue = this.residues[index++];
+                    value = image.getCoefficient(indexImage++);
+                }
+
+                difference = Math.floorMod(value - residue.mod(BigInteger.valueOf(prime)).longValue(), prime);
+                mergedExponents[count] = exponent;
+                mergedResidues[count++] = residue.add(modulus.multiply(BigInteger.valueOf(difference * inverse
+                        % prime)));
+            }
+            this.exponents = Arrays.copyOf(mergedExponents, count);
+            this.residues = Arrays.copyOf(mergedResidues, count);
+        }
+
+        /**
+         * Checks the product of this polynomial and a cofactor can not have wrapped around the modulus.  Each
+         * image of the product equals the image of an integer polynomial whose coefficients are at most bound,
+         * so when the product's coefficients are also below half the modulus the two are equal as integer
+         * polynomials.
+         *
+         * @param cofactor the cofactor.
+         * @param bound    the largest coefficient magnitude of the polynomial this times cofactor should be.
+         * @param modulus  the product of the primes so far.
+         * @return true if this polynomial times cofactor is that polynomial.
+         */
+        boolean divides(Lift cofactor, long bound, BigInteger modulus)
+        {
+            // local variables
+            BigInteger half, largest;
+
+            half = modulus.shiftRight(1);
+            if (BigInteger.valueOf(bound).compareTo(half) >= 0)
+            {
+                return false;
+            }
+
+            // each product coefficient is at most max |a| * sum |b| for either order of the factors
+            largest = this.maxNorm(half).multiply(cofactor.sumNorm(half))
+                    .min(this.sumNorm(half).multiply(cofactor.maxNorm(half)));
+            return largest.compareTo(half) < 0;
+        }
+
+        /**
+         * Divides the symmetric residues by their GCD and multiplies them by a content, leading coefficient
+         * positive.
+         *
+         * @param content the content of the result.
+         * @param modulus the product of the primes so far.
+         * @return a new Polynomial.
+         * @throws ArithmeticException if a coefficient does not fit in an int.
+         */
+        Polynomial toPrimitive(long content, BigInteger modulus)
+        {
+            // local variables
+            BigInteger[] values;
+            BigInteger half, divisor;
+            int[] coefficients, exponents;
+            int count;
+
+            half = modulus.shiftRight(1);
+            values = new BigInteger[this.residues.length];
+            divisor = BigInteger.ZERO;
+            for (int i = 0; i < values.length; i++)
+            {
+                values[i] = symmetric(this.residues[i], modulus, half);
+                divisor = divisor.gcd(values[i]);
+            }
+            if (values[0].signum() < 0)
+            {
+                divisor = divisor.negate();
+            }
+
+            coefficients = new int[values.length];
+            exponents = new int[values.length];
+            count = 0;
+            for (int i = 0; i < values.length; i++)
+            {
+                if (values[i].signum() != 0)
+                {
+                    coefficients[count] = values[i].divide(divisor).multiply(BigInteger.valueOf(content))
+                            .intValueExact();
+                    exponents[count++] = this.exponents[i];
+                }
+            }
+            return Polynomial.fromSparse(coefficients, exponents, count);
+        }
+
+        /**
+         * Helper method, largest symmetric residue magnitude.
+         *
+         * @param half half the modulus.
+         * @return the largest magnitude.
+         */
+        private BigInteger maxNorm(BigInteger half)
+        {
+            // local variables
+            BigInteger temp;
+
+            temp = BigInteger.ZERO;
+            for (BigInteger residue : this.residues)
+            {
+                temp = temp.max(magnitude(residue, half));
+            }
+            return temp;
+        }
+
+        /**
+         * Helper method, sum of the symmetric residue magnitudes.
+         *
+         * @param half half the modulus.
+         * @return the sum.
+         */
+        private BigInteger sumNorm(BigInteger half)
+        {
+            // local variables
+            BigInteger temp;
+
+            temp = BigInteger.ZERO;
+            for (BigInteger residue : this.residues)
+            {
+                temp = temp.add(magnitude(residue, half));
+            }
+            return temp;
+        }
+
+        /**
+         * Helper method, magnitude of a symmetric residue.
+         *
+         * @param residue a residue from 0 up to the modulus.
+         * @param half    half the modulus.
+         * @return the distance from residue to the nearest multiple of the modulus.
+         */
+        private static BigInteger magnitude(BigInteger residue, BigInteger half)
+        {
+            // modulus - residue, with modulus = 2 * half + 1 since the modulus is odd
+            return residue.compareTo(half) <= 0 ? residue : half.shiftLeft(1).add(BigInteger.ONE).subtract(residue);
+        }
+
+        /**
+         * Helper method, symmetric residue.
+         *
+         * @param residue a residue from 0 up to the modulus.
+         * @param modulus the modulus.
+         * @param half    half the modulus.
+         * @return residue, or residue - modulus if residue is above half.
+         */
+        private static BigInteger symmetric(BigInteger residue, BigInteger modulus, BigInteger half)
+        {
+            return residue.compareTo(half) <= 0 ? residue : residue.subtract(modulus);
+        }
+    }
+}
@@ -0,0 +1,609 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/20/2018
+ * <p>
+ * PolynomialMultiplier.java : multiplies polynomials, picking an algorithm from the shape and size of the operands.
+ * <ul>
+ * <li>sparse    : a heap merges the term by term products in exponent order, for operands with few terms spread
+ * over a wide exponent range.  O(n * m * log(n)).</li>
+ * <li>schoolbook: every coefficient times every coefficient, fastest for tiny operands.  O(n * m).</li>
+ * <li>karatsuba : split in halves and recurse with 3 products instead of 4, for mid size operands.
+ * O(n^1.585).</li>
+ * <li>ntt       : number theoretic transform under three primes with exact CRT reconstruction, for large
+ * operands.  O(n * log(n)).</li>
+ * </ul>
+ * Coefficients are int, so like int multiplication a product coefficient that does not fit wraps around, all four
+ * algorithms give the same result.  The size thresholds between algorithms can be changed, PolynomialBenchmark
+ * measures where they cross over.
+ */
+package edu.miracosta.cs113;
+
+import java.util.Arrays;
+
+public class PolynomialMultiplier
+{
+    // Default thresholds, measured by PolynomialBenchmark
+    public final static int DEFAULT_KARATSUBA_THRESHOLD = 48;
+    public final static int DEFAULT_NTT_THRESHOLD = 4096;
+    public final static int DEFAULT_SPARSE_FILL = 8;
+
+    private final static PolynomialMultiplier DEFAULT_MULTIPLIER = new PolynomialMultiplier();
+
+    // Class variables
+    private int karatsubaThreshold;
+    private int nttThreshold;
+    private int sparseFill;
+
+    /**
+     * Default constructor, uses the default thresholds.
+     */
+    public PolynomialMultiplier()
+    {
+        this(DEFAULT_KARATSUBA_THRESHOLD, DEFAULT_NTT_THRESHOLD, DEFAULT_SPARSE_FILL);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param karatsubaThreshold dense operands whose shorter coefficient array is at least this long use karatsuba.
+     * @param nttThreshold       dense operands whose shorter coefficient array is at least this long use the ntt.
+     * @param sparseFill         operands with less than 1 term per sparseFill exponents use the sparse heap merge.
+     */
+    public PolynomialMultiplier(int karatsubaThreshold, int nttThreshold, int sparseFill)
+    {
+        this.setKaratsubaThreshold(karatsubaThreshold);
+        this.setNttThreshold(nttThreshold);
+        this.setSparseFill(sparseFill);
+    }
+
+    /**
+     * Accessor for the shared multiplier used by Polynomial.multiply(Polynomial).
+     *
+     * @return the default multiplier.
+     */
+    public static PolynomialMultiplier getDefault()
+    {
+        return DEFAULT_MULTIPLIER;
+    }
+
+    /**
+     * Mutator for the karatsuba threshold.
+     *
+     * @param value shortest coefficient array length that uses karatsuba, 2 or higher.
+     */
+    public void setKaratsubaThreshold(int value)
+    {
+        if (value < 2)
+        {
+            throw new IllegalArgumentException("Karatsuba threshold must be 2 or higher: " + value);
+        }
+        this.karatsubaThreshold = value;
+    }
+
+    /**
+     * Mutator for the ntt threshold.
+     *
+     * @param value shortest coefficient array length that uses the ntt, 1 or higher.
+     */
+    public void setNttThreshold(int value)
+    {
+        if (value < 1)
+        {
+            throw new IllegalArgumentException("NTT threshold must be 1 or higher: " + value);
+        }
+        this.nttThreshold = value;
+    }
+
+    /**
+     * Mutator for the sparse fill ratio.
+     *
+     * @param value exponents per term above which an operand counts as sparse, 1 or higher.
+     */
+    public void setSparseFill(int value)
+    {
+        if (value < 1)
+        {
+            throw new IllegalArgumentException("Sparse fill must be 1 or higher: " + value);
+        }
+        this.sparseFill = value;
+    }
+
+    /**
+     * Accessor for the karatsuba threshold.
+     *
+     * @return shortest coefficient array length that uses karatsuba.
+     */
+    public int getKaratsubaThreshold()
+    {
+        return this.karatsubaThreshold;
+    }
+
+    /**
+     * Accessor for the ntt threshold.
+     *
+     * @return shortest coefficient array length that uses the ntt.
+     */
+    public int getNttThreshold()
+    {
+        return this.nttThreshold;
+    }
+
+    /**
+     * Accessor for the sparse fill ratio.
+     *
+     * @return exponents per term above which an operand counts as sparse.
+     */
+    public int getSparseFill()
+    {
+        return this.sparseFill;
+    }
+
+    /**
+     * Multiplies two polynomials with the algorithm that fits them best, neither operand is modified.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     */
+    public Polynomial multiply(Polynomial polyA, Polynomial polyB)
+    {
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return new Polynomial();
+        }
+        else if (this.isSparse(polyA) || this.isSparse(polyB))
+        {
+            return multiplySparse(polyA, polyB);
+        }
+        else
+        {
+            return Polynomial.fromDense(this.multiplyDense(polyA.toDenseArray(), polyB.toDenseArray()),
+                    productLowExponent(polyA, polyB));
+        }
+    }
+
+    /**
+     * Multiplies two polynomials term by term with a heap, producing the product terms from highest exponent
+     * to lowest without building a dense array.  Suited to polynomials with few terms over a wide range.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     */
+    public static Polynomial multiplySparse(Polynomial polyA, Polynomial polyB)
+    {
+        // local variables
+        int[] coefficientsA, exponentsA, coefficientsB, exponentsB, resultCoefficients, resultExponents;
+        int[] heapRow, heapColumn;
+        long[] heapKey;
+        int heapSize, count, row, column, sum;
+        long key, currentKey;
+
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return new Polynomial();
+        }
+
+        // keep the shorter operand as rows, the heap holds at most one entry per row
+        if (polyA.getNumTerms() > polyB.getNumTerms())
+        {
+            Polynomial temp = polyA;
+            polyA = polyB;
+            polyB = temp;
+        }
+
+        // throws if the product exponents overflow, so the heap keys below always fit an int
+        productLowExponent(polyA, polyB);
+
+        // initialize
+        coefficientsA = new int[polyA.getNumTerms()];
+        exponentsA = new int[polyA.getNumTerms()];
+        coefficientsB = new int[polyB.getNumTerms()];
+        exponentsB = new int[polyB.getNumTerms()];
+        polyA.copyTerms(coefficientsA, exponentsA);
+        polyB.copyTerms(coefficientsB, exponentsB);
+
+        resultCoefficients = new int[Math.max(coefficientsB.length, 8)];
+        resultExponents = new int[resultCoefficients.length];
+        heapRow = new int[coefficientsA.length];
+        heapColumn = new int[coefficientsA.length];
+        heapKey = new long[coefficientsA.length];
+        count = 0;
+        sum = 0;
+        currentKey = Long.MAX_VALUE;
+
+        // row 0 starts the heap, row i + 1 joins once row i has produced its first product
+        heapSize = 1;
+        heapKey[0] = (long) exponentsA[0] + exponentsB[0];
+
+        while (heapSize > 0)
+        {
+            // pop the highest exponent product
+            row = heapRow[0];
+            column = heapColumn[0];
+            key = heapKey[0];
+            heapSize--;
+            siftDown(heapRow, heapColumn, heapKey, heapSize, heapRow[heapSize], heapColumn[heapSize],
+                    heapKey[heapSize]);
+
+            // keep summing while the exponent matches, store the running sum when it changes
+            if (key != currentKey)
+            {
+                if (sum != 0)
+                {
+                    if (count == resultCoefficients.length)
+                    {
+                        resultCoefficients = Arrays.copyOf(resultCoefficients, count * 2);
+                        resultExponents = Arrays.copyOf(resultExponents, count * 2);
+                    }
+                    resultCoefficients[count] = sum;
+                    resultExponents[count++] = (int) currentKey;
+                }
+                currentKey = key;
+                sum = 0;
+            }
+            sum += coefficientsA[row] * coefficientsB[column];
+
+            // next product in this row, and start the next row
+            if (column + 1 < coefficientsB.length)
+            {
+                siftUp(heapRow, heapColumn, heapKey, heapSize++, row, column + 1,
+                        (long) exponentsA[row] + exponentsB[column + 1]);
+            }
+            if (column == 0 && row + 1 < coefficientsA.length)
+            {
+                siftUp(heapRow, heapColumn, heapKey, heapSize++, row + 1, 0,
+                        (long) exponentsA[row + 1] + exponentsB[0]);
+            }
+        }
+
+        // last running sum
+        if (sum != 0)
+        {
+            if (count == resultCoefficients.length)
+            {
+                resultCoefficients = Arrays.copyOf(resultCoefficients, count + 1);
+                resultExponents = Arrays.copyOf(resultExponents, count + 1);
+            }
+            resultCoefficients[count] = sum;
+            resultExponents[count++] = (int) currentKey;
+        }
+
+        return Polynomial.fromSparse(resultCoefficients, resultExponents, count);
+    }
+
+    /**
+     * Multiplies two polynomials by multiplying every coefficient by every coefficient.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     */
+    public static Polynomial multiplySchoolbook(Polynomial polyA, Polynomial polyB)
+    {
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return new Polynomial();
+        }
+        return Polynomial.fromDense(schoolbook(polyA.toDenseArray(), polyB.toDenseArray()),
+                productLowExponent(polyA, polyB));
+    }
+
+    /**
+     * Multiplies two polynomials with karatsuba recursion, using schoolbook below this multiplier's threshold.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     */
+    public Polynomial multiplyKaratsuba(Polynomial polyA, Polynomial polyB)
+    {
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return new Polynomial();
+        }
+        return Polynomial.fromDense(this.karatsuba(polyA.toDenseArray(), polyB.toDenseArray()),
+                productLowExponent(polyA, polyB));
+    }
+
+    /**
+     * Multiplies two polynomials with the number theoretic transform.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return a new Polynomial holding the product.
+     * @throws ArithmeticException if the product has more than 2^23 exponents from lowest to highest.
+     */
+    public static Polynomial multiplyNtt(Polynomial polyA, Polynomial polyB)
+    {
+        int[] denseA, denseB;
+
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0)
+        {
+            return new Polynomial();
+        }
+
+        denseA = polyA.toDenseArray();
+        denseB = polyB.toDenseArray();
+        if (!NumberTheoreticTransform.supports((long) denseA.length + denseB.length - 1))
+        {
+            throw new ArithmeticException("Product too long for the number theoretic transform");
+        }
+        return Polynomial.fromDense(NumberTheoreticTransform.multiplyExact(denseA, denseB),
+                productLowExponent(polyA, polyB));
+    }
+
+    /**
+     * Multiplies two dense coefficient arrays (index i is the coefficient of x^i) with the algorithm
+     * that fits their length best.
+     *
+     * @param a the first coefficient array.
+     * @param b the second coefficient array.
+     * @return the product coefficient array of length a.length + b.length - 1.
+     */
+    int[] multiplyDense(int[] a, int[] b)
+    {
+        int shorter = Math.min(a.length, b.length);
+
+        if (shorter < this.karatsubaThreshold)
+        {
+            return schoolbook(a, b);
+        }
+        else if (shorter < this.nttThreshold
+                || !NumberTheoreticTransform.supports((long) a.length + b.length - 1))
+        {
+            return this.karatsuba(a, b);
+        }
+        else
+        {
+            return NumberTheoreticTransform.multiplyExact(a, b);
+        }
+    }
+
+    /**
+     * Checks if multiply(Polynomial, Polynomial) would use the number theoretic transform for two polynomials.
+     *
+     * @param polyA the first polynomial.
+     * @param polyB the second polynomial.
+     * @return true if both are dense enough and long enough for the ntt.
+     */
+    boolean usesNtt(Polynomial polyA, Polynomial polyB)
+    {
+        // local variables
+        long spanA, spanB;
+
+        if (polyA.getNumTerms() == 0 || polyB.getNumTerms() == 0 || this.isSparse(polyA) || this.isSparse(polyB))
+        {
+            return false;
+        }
+        spanA = (long) polyA.highestExponent() - polyA.lowestExponent() + 1;
+        spanB = (long) polyB.highestExponent() - polyB.lowestExponent() + 1;
+        return Math.min(spanA, spanB) >= this.nttThreshold && NumberTheoreticTransform.supports(spanA + spanB - 1);
+    }
+
+    /**
+     * Helper method, checks if a polynomial has less than 1 term per sparseFill exponents.
+     *
+     * @param polynomial a polynomial with at least 1 term.
+     * @return true if the polynomial should be multiplied term by term.
+     */
+    private boolean isSparse(Polynomial polynomial)
+    {
+        long span = (long) polynomial.highestExponent() - polynomial.lowestExponent() + 1;
+        return (long) polynomial.getNumTerms() * this.sparseFill < span;
+    }
+
+    /**
+     * Lowest exponent of the product, checked for int overflow.  The highest exponent is
+     * checked as well so the whole product range fits.
+     *
+     * @param polyA the first polynomial, with at least 1 term.
+     * @param polyB the second polynomial, with at least 1 term.
+     * @return lowest exponent of polyA times polyB.
+     * @throws ArithmeticException if a product exponent does not fit in an int.
+     */
+    static int productLowExponent(Polynomial polyA, Polynomial polyB)
+    {
+        Math.addExact(polyA.highestExponent(), polyB.highestExponent());
+        return Math.addExact(polyA.lowestExponent(), polyB.lowestExponent());
+    }
+
+    /**
+     * Helper method, schoolbook product of two coefficient arrays.
+     *
+     * @param a the first coefficient array.
+     * @param b the second coefficient array.
+     * @return the product coefficient array.
+     */
+    private static int[] schoolbook(int[] a, int[] b)
+    {
+        int[] result = new int[a.length + b.length - 1];
+
+        for (int i = 0; i < a.length; i++)
+        {
+            if (a[i] != 0)
+            {
+                for (int j = 0; j < b.length; j++)
+                {
+                    result[i + j] += a[i] * b[j];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method, karatsuba product of two coefficient arrays.  Unequal lengths are handled by cutting
+     * the longer array into pieces as long as the shorter one.
+     *
+     * @param a the first coefficient array.
+     * @param b the second coefficient array.
+     * @return the product coefficient array.
+     */
+    private int[] karatsuba(int[] a, int[] b)
+    {
+        // local variables
+        int[] result, shorter, longer, piece, partial;
+        int length;
+
+        if (Math.min(a.length, b.length) < this.karatsubaThreshold)
+        {
+            return schoolbook(a, b);
+        }
+        if (a.length == b.length)
+        {
+            return this.karatsubaEqual(a, b);
+        }
+
+        shorter = a.length < b.length ? a : b;
+        longer = a.length < b.length ? b : a;
+        result = new int[a.length + b.length - 1];
+
+        for (int start = 0; start < longer.length; start += shorter.length)
+        {
+            length = Math.min(shorter.length, longer.length - start);
+            piece = new int[shorter.length];
+            System.arraycopy(longer, start, piece, 0, length);
+
+            partial = this.karatsuba(piece, shorter);
+            for (int i = 0; i < partial.length && start + i < result.length; i++)
+            {
+                result[start + i] += partial[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method, karatsuba product of two coefficient arrays of the same length.
+     * a * b = low * low + ((aLow + aHigh)(bLow + bHigh) - low * low - high * high) x^half + high * high x^(2 half)
+     *
+     * @param a the first coefficient array.
+     * @param b the second coefficient array, same length as a.
+     * @return the product coefficient array.
+     */
+    private int[] karatsubaEqual(int[] a, int[] b)
+    {
+        // local variables
+        int[] result, aLow, aHigh, bLow, bHigh, aSum, bSum, lowProduct, highProduct, middleProduct;
+        int length, half;
+
+        length = a.length;
+        if (length < this.karatsubaThreshold)
+        {
+            return schoolbook(a, b);
+        }
+
+        half = length / 2;
+        aLow = Arrays.copyOfRange(a, 0, half);
+        bLow = Arrays.copyOfRange(b, 0, half);
+        aHigh = Arrays.copyOfRange(a, half, length);
+        bHigh = Arrays.copyOfRange(b, half, length);
+
+        // sums have the length of the high halves, which are at least as long as the low halves
+        aSum = aHigh.clone();
+        bSum = bHigh.clone();
+        for (int i = 0; i < half; i++)
+        {
+            aSum[i] += aLow[i];
+            bSum[i] += bLow[i];
+        }
+
+        lowProduct = this.karatsubaEqual(aLow, bLow);
+        highProduct = this.karatsubaEqual(aHigh, bHigh);
+        middleProduct = this.karatsubaEqual(aSum, bSum);
+
+        result = new int[2 * length - 1];
+        for (int i = 0; i < lowProduct.length; i++)
+        {
+            result[i] += lowProduct[i];
+            middleProduct[i] -= lowProduct[i];
+        }
+        for (int i = 0; i < highProduct.length; i++)
+        {
+            result[i + 2 * half] += highProduct[i];
+            middleProduct[i] -= highProduct[i];
+        }
+        for (int i = 0; i < middleProduct.length; i++)
+        {
+            result[i + half] += middleProduct[i];
+        }
+        return result;
+    }
+
+    /**
+     * Helper method for multiplySparse, moves an entry up the max heap from the given slot.
+     *
+     * @param rows    heap row indexes.
+     * @param columns heap column indexes.
+     * @param keys    heap keys, the product exponents.
+     * @param slot    the free slot to start from, the current heap size.
+     * @param row     row of the entry to add.
+     * @param column  column of the entry to add.
+     * @param key     key of the entry to add.
+     */
+    private static void siftUp(int[] rows, int[] columns, long[] keys, int slot, int row, int column, long key)
+    {
+        int parent;
+
+        while (slot > 0)
+        {
+            parent = (slot - 1) >>> 1;
+            if (keys[parent] >= key)
+            {
+                break;
+            }
+            rows[slot] = rows[parent];
+            columns[slot] = columns[parent];
+            keys[slot] = keys[parent];
+            slot = parent;
+        }
+        rows[slot] = row;
+        columns[slot] = column;
+        keys[slot] = key;
+    }
+
+    /**
+     * Helper method for multiplySparse, places an entry at the root of the max heap and moves it down.
+     *
+     * @param rows    heap row indexes.
+     * @param columns heap column indexes.
+     * @param keys    heap keys, the product exponents.
+     * @param size    heap size after the root was removed.
+     * @param row     row of the entry to place.
+     * @param column  column of the entry to place.
+     * @param key     key of the entry to place.
+     */
+    private static void siftDown(int[] rows, int[] columns, long[] keys, int size, int row, int column, long key)
+    {
+        int slot, child;
+
+        if (size == 0)
+        {
+            return;
+        }
+
+        slot = 0;
+        child = 1;
+        while (child < size)
+        {
+            if (child + 1 < size && keys[child + 1] > keys[child])
+            {
+                child++;
+            }
+            if (keys[child] <= key)
+            {
+                break;
+            }
+            rows[slot] = rows[child];
+            columns[slot] = columns[child];
+            keys[slot] = keys[child];
+            slot = child;
+            child = 2 * slot + 1;
+        }
+        rows[slot] = row;
+        columns[slot] = column;
+        keys[slot] = key;
+    }
+}
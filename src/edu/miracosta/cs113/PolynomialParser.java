@@ -0,0 +1,264 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/26/2018
+ * <p>
+ * PolynomialParser.java : reads polynomials such as "3x^5 + 2x^2 - 5x + 7" in a single pass over the characters.
+ * Numbers are accumulated digit by digit, so no substrings, split arrays or regular expressions are created.
+ * Terms may come in any order and repeat exponents, they are collected in a Polynomial.Builder and combined
+ * like Polynomial.addTerm(Term) once the whole text is read, so parsing n terms is O(n) in any order.
+ * Spaces are allowed between terms and after signs.  Errors throw PolynomialFormatException with the offset of
+ * the character that could not be read.
+ * <pre>
+ *     polynomial := [sign] term { sign term }
+ *     term       := digits [ 'x' [ '^' [sign] digits ] ]  |  'x' [ '^' [sign] digits ]
+ *     sign       := '+' | '-'
+ * </pre>
+ */
+package edu.miracosta.cs113;
+
+import java.nio.CharBuffer;
+
+public final class PolynomialParser
+{
+    private final static char VARIABLE_SYMBOL = 'x';
+    private final static char EXPONENT_SYMBOL = '^';
+    private final static char PLUS_SYMBOL = '+';
+    private final static char MINUS_SYMBOL = '-';
+
+    // Class variables
+    private final CharSequence text;
+    private final int baseOffset;
+    private int position;
+
+    // values of the last term read
+    private int coefficient;
+    private int exponent;
+
+    /**
+     * Full constructor, parsing starts at the first character.
+     *
+     * @param text       the characters to parse.
+     * @param baseOffset added to positions in error offsets, for text that is a slice of a larger array.
+     */
+    private PolynomialParser(CharSequence text, int baseOffset)
+    {
+        this.text = text;
+        this.baseOffset = baseOffset;
+        this.position = 0;
+    }
+
+    /**
+     * Parses a whole polynomial.
+     *
+     * @param text the polynomial, example "3x^5+2x^2-5x+7".
+     * @return a new Polynomial holding the parsed terms.
+     * @throws PolynomialFormatException if text is not a valid polynomial, offsets are indexes into text.
+     */
+    public static Polynomial parse(CharSequence text)
+    {
+        Polynomial.Builder temp = new Polynomial.Builder();
+        new PolynomialParser(text, 0).readPolynomial(temp);
+        return temp.build();
+    }
+
+    /**
+     * Parses a whole polynomial from a slice of a char array, without copying it.
+     *
+     * @param chars  the array holding the polynomial.
+     * @param offset index of the first character.
+     * @param length number of characters.
+     * @return a new Polynomial holding the parsed terms.
+     * @throws PolynomialFormatException if the slice is not a valid polynomial, offsets are indexes into chars.
+     */
+    public static Polynomial parse(char[] chars, int offset, int length)
+    {
+        Polynomial.Builder temp = new Polynomial.Builder();
+        new PolynomialParser(CharBuffer.wrap(chars, offset, length), offset).readPolynomial(temp);
+        return temp.build();
+    }
+
+    /**
+     * Parses a single term for Term(String), the leading sign is optional.
+     *
+     * @param text the term, example "-54x^-17".
+     * @return the coefficient in the high 32 bits and the exponent in the low 32 bits.
+     * @throws PolynomialFormatException if text is not a single valid term.
+     */
+    static long parseTerm(CharSequence text)
+    {
+        PolynomialParser parser = new PolynomialParser(text, 0);
+
+        parser.readTerm(true);
+        if (parser.position < text.length())
+        {
+            throw parser.error("Unexpected character '" + text.charAt(parser.position) + "'");
+        }
+        return ((long) parser.coefficient << 32) | (parser.exponent & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Helper method, reads every term and adds them to the builder.
+     *
+     * @param result the builder to add terms to.
+     */
+    private void readPolynomial(Polynomial.Builder result)
+    {
+        char symbol;
+
+        this.skipWhitespace();
+        if (this.position == this.text.length())
+        {
+            throw this.error("Empty polynomial");
+        }
+
+        this.readTerm(true);
+        result.addTerm(this.coefficient, this.exponent);
+        this.skipWhitespace();
+
+        while (this.position < this.text.length())
+        {
+            symbol = this.text.charAt(this.position);
+            if (symbol != PLUS_SYMBOL && symbol != MINUS_SYMBOL)
+            {
+                throw this.error("Expected '+' or '-' but found '" + symbol + "'");
+            }
+
+            this.readTerm(false);
+            result.addTerm(this.coefficient, this.exponent);
+            this.skipWhitespace();
+        }
+    }
+
+    /**
+     * Helper method, reads one term into coefficient and exponent.
+     *
+     * @param signOptional true if the term may start without a sign.
+     */
+    private void readTerm(boolean signOptional)
+    {
+        boolean negative, hasDigits;
+        long magnitude;
+        int numberStart;
+
+        // sign
+        negative = false;
+        if (this.position < this.text.length() && (this.peek() == PLUS_SYMBOL || this.peek() == MINUS_SYMBOL))
+        {
+            negative = this.text.charAt(this.position++) == MINUS_SYMBOL;
+            this.skipWhitespace();
+        }
+        else if (!signOptional)
+        {
+            throw this.error("Expected '+' or '-'");
+        }
+
+        // coefficient digits, none means 1
+        numberStart = this.position;
+        magnitude = this.readDigits(negative);
+        hasDigits = this.position > numberStart;
+        this.coefficient = (int) (hasDigits ? (negative ? -magnitude : magnitude) : (negative ? -1 : 1));
+
+        // variable and exponent
+        if (this.position < this.text.length() && this.peek() == VARIABLE_SYMBOL)
+        {
+            this.position++;
+            this.exponent = 1;
+
+            if (this.position < this.text.length() && this.peek() == EXPONENT_SYMBOL)
+            {
+                this.position++;
+                negative = false;
+                if (this.position < this.text.length()
+                        && (this.peek() == PLUS_SYMBOL || this.peek() == MINUS_SYMBOL))
+                {
+                    negative = this.text.charAt(this.position++) == MINUS_SYMBOL;
+                }
+
+                numberStart = this.position;
+                magnitude = this.readDigits(negative);
+                if (this.position == numberStart)
+                {
+                    throw this.error("Expected exponent digits");
+                }
+                this.exponent = (int) (negative ? -magnitude : magnitude);
+            }
+        }
+        else if (!hasDigits)
+        {
+            throw this.error("Expected a coefficient or '" + VARIABLE_SYMBOL + "'");
+        }
+        else
+        {
+            this.exponent = 0;
+        }
+    }
+
+    /**
+     * Helper method, reads decimal digits as an unsigned magnitude.
+     *
+     * @param negative true if the value will be negated, which allows one more than Integer.MAX_VALUE.
+     * @return the magnitude, 0 if there are no digits.
+     */
+    private long readDigits(boolean negative)
+    {
+        long magnitude, limit;
+        int start;
+        char symbol;
+
+        magnitude = 0;
+        limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        start = this.position;
+
+        while (this.position < this.text.length())
+        {
+            symbol = this.peek();
+            if (symbol < '0' || symbol > '9')
+            {
+                break;
+            }
+
+            magnitude = magnitude * 10 + (symbol - '0');
+            if (magnitude > limit)
+            {
+                this.position = start;
+                throw this.error("Number does not fit in an int");
+            }
+            this.position++;
+        }
+        return magnitude;
+    }
+
+    /**
+     * Helper method, moves past whitespace, any character Character.isWhitespace accepts.
+     */
+    private void skipWhitespace()
+    {
+        while (this.position < this.text.length() && Character.isWhitespace(this.peek()))
+        {
+            this.position++;
+        }
+    }
+
+    /**
+     * Helper method, the character at the current position.
+     * Precondition - position is before the end of the text.
+     *
+     * @return the current character.
+     */
+    private char peek()
+    {
+        return this.text.charAt(this.position);
+    }
+
+    /**
+     * Helper method, creates an exception for the current position.
+     *
+     * @param message description of the problem.
+     * @return the exception to throw.
+     */
+    private PolynomialFormatException error(String message)
+    {
+        return new PolynomialFormatException(message, this.baseOffset + this.position);
+    }
+}
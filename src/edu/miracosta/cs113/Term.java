@@ -7,10 +7,16 @@
  * where C is a coefficient which can be plus or minus. E is th Exponent that can be plus or minus.
  * Term can be created using integer values (coefficient,Term) or String can be parsed to derive the
  * coefficient Term values in it.
+ * Term.of(coefficient, exponent) returns an immutable Term instead, whose mutators throw
+ * UnsupportedOperationException.  Immutable terms for small values are cached and shared, so sums of small
+ * terms do not create new objects.
  */
 
 package edu.miracosta.cs113;
 
+import java.io.IOException;
+import java.math.BigInteger;
+
 public class Term implements Cloneable, Comparable
 {
 
@@ -20,15 +26,28 @@ public class Term implements Cloneable, Comparable
     private final static char PLUS_SYMBOL = '+';
     private final static char MINUS_SYMBOL = '-';
 
+    // Starting size of the text of a polynomial, a guess per term capped at the largest array
+    private final static int TEXT_CHARS_PER_TERM = 8;
+    private final static int MAX_TEXT_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // Range of values kept in the immutable term cache
+    private final static int CACHE_LOW_COEFFICIENT = -32;
+    private final static int CACHE_HIGH_COEFFICIENT = 32;
+    private final static int CACHE_LOW_EXPONENT = -8;
+    private final static int CACHE_HIGH_EXPONENT = 32;
+    private final static Term[] CACHE = createCache();
+
     // Class variables
     private int coefficient;
     private int exponent;
+    private final boolean immutable;
 
     /**
      * Default constructor for Term class, sets both coefficient and exponent to integer value 1.
      */
     public Term()
     {
+        this.immutable = false;
         this.setAll(1, 1);
     }
 
@@ -40,105 +59,109 @@ public class Term implements Cloneable, Comparable
      */
     public Term(int coefficient, int exponent)
     {
+        this.immutable = false;
         this.setAll(coefficient, exponent);
     }
 
     /**
-     * Copy constructor for Term class, copies coefficient and exponent from other and sets them
-     * to local variables.
+     * Constructor for immutable terms, used by Term.of(int, int).
      *
-     * @param other The term you want to copies the values from
+     * @param coefficient the coefficient value.
+     * @param exponent    the exponent value.
+     * @param immutable   true if mutators should throw UnsupportedOperationException.
      */
-    public Term(Term other)
+    private Term(int coefficient, int exponent, boolean immutable)
     {
-        if (other == null)
-        {
-            throw new NullPointerException();
-        }
-        else
+        this.coefficient = coefficient;
+        this.exponent = exponent;
+        this.immutable = immutable;
+    }
+
+    /**
+     * Returns an immutable term with the given values.  Terms with a coefficient between -32 and 32 and an
+     * exponent between -8 and 32 come from a cache and are shared, so compare terms with equals(), not ==.
+     *
+     * @param coefficient the coefficient value.
+     * @param exponent    the exponent value.
+     * @return an immutable Term.
+     */
+    public static Term of(int coefficient, int exponent)
+    {
+        if (coefficient >= CACHE_LOW_COEFFICIENT && coefficient <= CACHE_HIGH_COEFFICIENT
+                && exponent >= CACHE_LOW_EXPONENT && exponent <= CACHE_HIGH_EXPONENT)
         {
-            this.setAll(other.getCoefficient(), other.getExponent());
+            return CACHE[(coefficient - CACHE_LOW_COEFFICIENT) * (CACHE_HIGH_EXPONENT - CACHE_LOW_EXPONENT + 1)
+                    + exponent - CACHE_LOW_EXPONENT];
         }
+        return new Term(coefficient, exponent, true);
     }
 
     /**
-     * Full constructor using string input for both coefficient and exponent.
-     * Precondition - String must be formatted correctly example(+5, +x, +x^3, -54x^-17).
+     * Helper method, builds the immutable term cache in the order Term.of(int, int) reads it.
      *
-     * @param term The string to be parsed into coefficient and term values.
+     * @return every immutable term in the cache range.
      */
-    public Term(String term)
+    private static Term[] createCache()
     {
-        int coefficient, exponent;
+        Term[] temp;
+        int index;
 
-        if (!term.isEmpty())
-        {
+        temp = new Term[(CACHE_HIGH_COEFFICIENT - CACHE_LOW_COEFFICIENT + 1)
+                * (CACHE_HIGH_EXPONENT - CACHE_LOW_EXPONENT + 1)];
+        index = 0;
 
-            // Term contains variable
-            if (term.contains(Character.toString(VARIABLE_SYMBOL)))
+        for (int c = CACHE_LOW_COEFFICIENT; c <= CACHE_HIGH_COEFFICIENT; c++)
+        {
+            for (int e = CACHE_LOW_EXPONENT; e <= CACHE_HIGH_EXPONENT; e++)
             {
-                // Split string in between X variable
-                String[] splitTerm = term.split(Character.toString(VARIABLE_SYMBOL));
-
-                // Parse left side of variable X
-                coefficient = parseCoefficientString(splitTerm[0]);
-
-                // if right side of variable X is available
-                if (splitTerm.length == 2)
-                {
-                    exponent = parseExponentString(splitTerm[1]);
-                }
-                else
-                {
-                    exponent = 1;
-                }
-            }
-            else
-            { // Term does not contain variable
-                coefficient = parseCoefficientString(term);
-                exponent = 0;
+                temp[index++] = new Term(c, e, true);
             }
-
-        }
-        else // String is empty assign both coefficient and exponent to zero
-        {
-            coefficient = exponent = 0;
         }
-
-        this.setAll(coefficient, exponent);
+        return temp;
     }
 
     /**
-     * Helper Method for Constructor(String), parse coefficient side.
+     * Copy constructor for Term class, copies coefficient and exponent from other and sets them
+     * to local variables.
      *
-     * @param str The string to be parsed into coefficient value.
-     * @return Integer value representing coefficient.
+     * @param other The term you want to copies the values from
      */
-    private int parseCoefficientString(String str)
+    public Term(Term other)
     {
-        if (str.length() == 1 && str.charAt(0) == MINUS_SYMBOL)
-        {
-            return -1;
-        }
-        else if (str.length() == 1 && str.charAt(0) == PLUS_SYMBOL)
+        this.immutable = false;
+        if (other == null)
         {
-            return 1;
+            throw new NullPointerException();
         }
         else
         {
-            return Integer.parseInt(str);
+            this.setAll(other.getCoefficient(), other.getExponent());
         }
     }
 
     /**
-     * Helper method for Constructor(String), parse exponent side.
+     * Full constructor using string input for both coefficient and exponent.
+     * Precondition - String must be formatted correctly example(+5, +x, +x^3, -54x^-17).
+     * The string is read in a single pass by PolynomialParser, without splitting it.
      *
-     * @param str The string to be parsed into exponent value.
-     * @return Integer value representing exponent.
+     * @param term The string to be parsed into coefficient and term values.
+     * @throws PolynomialFormatException if term is not formatted correctly.
      */
-    private int parseExponentString(String str)
+    public Term(String term)
     {
-        return Integer.parseInt(str.substring(1));
+        long parsed;
+
+        this.immutable = false;
+
+        if (!term.isEmpty())
+        {
+            parsed = PolynomialParser.parseTerm(term);
+            this.setAll((int) (parsed >> 32), (int) parsed);
+        }
+        else // String is empty assign both coefficient and exponent to zero
+        {
+            this.setAll(0, 0);
+        }
     }
 
     /**
@@ -148,6 +171,7 @@ public class Term implements Cloneable, Comparable
      */
     public void setCoefficient(int value)
     {
+        this.checkMutable();
         this.coefficient = value;
     }
 
@@ -158,6 +182,7 @@ public class Term implements Cloneable, Comparable
      */
     public void setExponent(int value)
     {
+        this.checkMutable();
         this.exponent = value;
     }
 
@@ -173,6 +198,27 @@ public class Term implements Cloneable, Comparable
         this.setExponent(exponent);
     }
 
+    /**
+     * Accessor for immutability.
+     *
+     * @return true if this term was created by Term.of(int, int) and can not be changed.
+     */
+    public boolean isImmutable()
+    {
+        return this.immutable;
+    }
+
+    /**
+     * Helper method for mutators, throws UnsupportedOperationException for immutable terms.
+     */
+    private void checkMutable()
+    {
+        if (this.immutable)
+        {
+            throw new UnsupportedOperationException("Term is immutable: " + this);
+        }
+    }
+
     /**
      * Accessor for coefficient value.
      *
@@ -254,6 +300,45 @@ public class Term implements Cloneable, Comparable
         }
     }
 
+    /**
+     * Hash code consistent with equals(Object), see hashOf(int, int).  The hash changes with the values, so a
+     * mutable term must not be changed while it is a key in a hash based collection.
+     *
+     * @return the hash code of the coefficient and exponent.
+     */
+    @Override
+    public int hashCode()
+    {
+        return hashOf(this.coefficient, this.exponent);
+    }
+
+    /**
+     * Hash of the values of a term.  The bits are mixed well enough that hashes of terms can be added together,
+     * Polynomial.hashCode() is the sum over its terms so it does not depend on term order or storage form and can
+     * be kept up to date one term at a time.
+     *
+     * @param coefficient the coefficient value.
+     * @param exponent    the exponent value.
+     * @return the hash of that term.
+     */
+    static int hashOf(int coefficient, int exponent)
+    {
+        return mix(31 * mix(exponent) + coefficient);
+    }
+
+    /**
+     * Helper method, the finalizer of MurmurHash3, every input bit changes about half of the output bits.
+     *
+     * @param value the value to mix.
+     * @return the mixed value.
+     */
+    private static int mix(int value)
+    {
+        value = (value ^ (value >>> 16)) * 0x85EBCA6B;
+        value = (value ^ (value >>> 13)) * 0xC2B2AE35;
+        return value ^ (value >>> 16);
+    }
+
     /**
      * Override toString() method for Term.
      *
@@ -261,50 +346,192 @@ public class Term implements Cloneable, Comparable
      */
     public String toString()
     {
-        String temp = "";
+        StringBuilder temp = new StringBuilder();
+
+        try
+        {
+            appendTerm(temp, this.coefficient, this.exponent, false);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
 
+    /**
+     * Writes a term in the same form as toString() without creating a Term or String for it.
+     * Nothing is written if coefficient is zero.
+     *
+     * @param out         where to write the term.
+     * @param coefficient the coefficient of the term.
+     * @param exponent    the exponent of the term.
+     * @param leading     true for the first term of a polynomial, which leaves out the plus symbol.
+     * @throws IOException if out throws IOException.
+     */
+    static void appendTerm(Appendable out, long coefficient, int exponent, boolean leading) throws IOException
+    {
         // Will not run if coefficient is zero
-        if (this.coefficient != 0)
+        if (coefficient != 0)
         {
 
             // Handles Coefficient
             if (coefficient > 0)
             { // Adds plus symbol where needed
-                temp += PLUS_SYMBOL;
+                if (!leading)
+                {
+                    out.append(PLUS_SYMBOL);
+                }
                 if (coefficient > 1)
                 {
-                    temp += this.coefficient;
+                    appendLong(out, coefficient);
                 }
             }
             else
             { // Add minus symbol where needed
                 if (coefficient == -1)
                 {
-                    temp += MINUS_SYMBOL;
+                    out.append(MINUS_SYMBOL);
                 }
                 else
                 {
-                    temp += this.coefficient;
+                    appendLong(out, coefficient);
                 }
             }
-            // Handles Exponent
-            if (this.exponent != 0)
+            appendVariable(out, exponent);
+        }
+    }
+
+    /**
+     * Writes a term with a BigInteger coefficient in the same form as toString(), see
+     * appendTerm(Appendable, long, int, boolean).
+     *
+     * @param out         where to write the term.
+     * @param coefficient the coefficient of the term.
+     * @param exponent    the exponent of the term.
+     * @param leading     true for the first term of a polynomial, which leaves out the plus symbol.
+     * @throws IOException if out throws IOException.
+     */
+    static void appendTerm(Appendable out, BigInteger coefficient, int exponent, boolean leading) throws IOException
+    {
+        if (coefficient.bitLength() < Long.SIZE)
+        {
+            appendTerm(out, coefficient.longValue(), exponent, leading);
+        }
+        else
+        {
+            if (coefficient.signum() > 0 && !leading)
             {
-                temp += VARIABLE_SYMBOL;
+                out.append(PLUS_SYMBOL);
+            }
+            out.append(coefficient.toString());
+            appendVariable(out, exponent);
+        }
+    }
 
-                if (this.exponent > 1 || this.exponent < -1)
-                {
-                    temp += EXPONENT_SYMBOL + "" + this.exponent;
-                }
+    /**
+     * Writes a term so that PolynomialParser reads it back as the same term, which toString() does not do for a
+     * constant 1 or -1 (written as a lone sign) or for x^-1 (written as x).  The coefficient is only left out
+     * when it is 1 or -1 on a term with x, and the exponent only when it is 0 or 1.
+     * Nothing is written if coefficient is zero.
+     *
+     * @param out         where to write the term.
+     * @param coefficient the coefficient of the term.
+     * @param exponent    the exponent of the term.
+     * @param leading     true for the first term of a polynomial, which leaves out the plus symbol.
+     * @throws IOException if out throws IOException.
+     */
+    static void appendParsableTerm(Appendable out, int coefficient, int exponent, boolean leading)
+            throws IOException
+    {
+        if (coefficient == 0)
+        {
+            return;
+        }
+
+        if (coefficient < 0)
+        {
+            out.append(MINUS_SYMBOL);
+        }
+        else if (!leading)
+        {
+            out.append(PLUS_SYMBOL);
+        }
+        if (exponent == 0 || (coefficient != 1 && coefficient != -1))
+        {
+            appendLong(out, Math.abs((long) coefficient));
+        }
+
+        if (exponent != 0)
+        {
+            out.append(VARIABLE_SYMBOL);
+            if (exponent != 1)
+            {
+                out.append(EXPONENT_SYMBOL);
+                appendLong(out, exponent);
             }
         }
-        return temp;
+    }
+
+    /**
+     * Starting capacity of a StringBuilder that will hold the text of a polynomial, used by the toString() methods
+     * of the polynomial classes.  Computed in long arithmetic, so polynomials of hundreds of millions of terms get
+     * the largest capacity instead of a negative one.
+     *
+     * @param numTerms the number of terms of the polynomial.
+     * @return the capacity.
+     */
+    static int textCapacity(long numTerms)
+    {
+        return (int) Math.min(Math.max(numTerms, 1) * TEXT_CHARS_PER_TERM, MAX_TEXT_CAPACITY);
+    }
+
+    /**
+     * Helper method for appendTerm, writes the variable and exponent part of a term.
+     *
+     * @param out      where to write the value.
+     * @param exponent the exponent of the term.
+     * @throws IOException if out throws IOException.
+     */
+    private static void appendVariable(Appendable out, int exponent) throws IOException
+    {
+        // Handles Exponent
+        if (exponent != 0)
+        {
+            out.append(VARIABLE_SYMBOL);
+
+            if (exponent > 1 || exponent < -1)
+            {
+                out.append(EXPONENT_SYMBOL);
+                appendLong(out, exponent);
+            }
+        }
+    }
+
+    /**
+     * Helper method for appendTerm, writes a long in decimal.  StringBuilders get the digits directly.
+     *
+     * @param out   where to write the value.
+     * @param value the value to write.
+     * @throws IOException if out throws IOException.
+     */
+    private static void appendLong(Appendable out, long value) throws IOException
+    {
+        if (out instanceof StringBuilder)
+        {
+            ((StringBuilder) out).append(value);
+        }
+        else
+        {
+            out.append(Long.toString(value));
+        }
     }
 
     /**
      * Adds local term with given term if both exponents match, otherwise no sum is calculated and null is returned.
      * @param other The other term to add to local term.
-     * @return A new Term with both coefficients added together, if exponents do NOT match then null will be returned.
+     * @return An immutable Term with both coefficients added together, if exponents do NOT match then null will
+     * be returned.
      */
     public Term plus(Term other)
     {
@@ -313,9 +540,11 @@ public class Term implements Cloneable, Comparable
 
     /**
      * Adds two given terms together if their exponents match, otherwise no sum is calculated and null is returned.
+     * Like int addition, a coefficient sum that does not fit in an int wraps around, see sumOfExact(Term, Term).
      * @param termA The first term to add with termB.
      * @param termB The second term to add with termA.
-     * @return A new Term with both coefficients added together, if exponents do NOT match then null will be returned.
+     * @return An immutable Term with both coefficients added together, if exponents do NOT match or the sum
+     * is 0 then null will be returned.
      */
     public static Term sumOf(Term termA, Term termB)
     {
@@ -334,7 +563,7 @@ public class Term implements Cloneable, Comparable
             }
             else
             {
-                temp = new Term(coefficientSum, termA.exponent);
+                temp = Term.of(coefficientSum, termA.exponent);
             }
 
             //temp = new Term(termA.coefficient + termB.coefficient, termA.exponent);
@@ -343,6 +572,28 @@ public class Term implements Cloneable, Comparable
 
         return temp;
     }
+
+    /**
+     * Adds two given terms together like sumOf(Term, Term), but throws instead of wrapping around when the
+     * coefficient sum does not fit in an int.  BigPolynomial holds coefficients of any size.
+     * @param termA The first term to add with termB.
+     * @param termB The second term to add with termA.
+     * @return An immutable Term with both coefficients added together, if exponents do NOT match or the sum
+     * is 0 then null will be returned.
+     * @throws ArithmeticException if the coefficient sum overflows an int.
+     */
+    public static Term sumOfExact(Term termA, Term termB)
+    {
+        int coefficientSum;
+
+        if (termA.exponent != termB.exponent)
+        {
+            return null;
+        }
+
+        coefficientSum = Math.addExact(termA.coefficient, termB.coefficient);
+        return coefficientSum == 0 ? null : Term.of(coefficientSum, termA.exponent);
+    }
 }
 
 
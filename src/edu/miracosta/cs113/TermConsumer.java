@@ -0,0 +1,20 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/24/2018
+ * <p>
+ * TermConsumer.java : receives the coefficient and exponent of each term when walking a polynomial with
+ * forEachTerm, so no Term object has to be created per term.
+ */
+package edu.miracosta.cs113;
+
+public interface TermConsumer
+{
+    /**
+     * Called once per term, from highest exponent to lowest.
+     *
+     * @param coefficient the coefficient of the term, never 0.
+     * @param exponent    the exponent of the term.
+     */
+    void accept(int coefficient, int exponent);
+}
@@ -0,0 +1,791 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 3/5/2018
+ * <p>
+ * TreePolynomial.java : a polynomial for work that mixes many single term changes on a large polynomial.
+ * Polynomial keeps its terms in arrays, so each addTerm or remove in the middle moves every term after it, O(n).
+ * Here the terms are the nodes of a treap, a binary search tree by exponent that is kept balanced by giving each
+ * node a random priority and keeping every parent's priority above its children's.  Each node also counts the
+ * nodes below it, so terms are found by exponent or by index in O(log n) expected time:
+ * <ul>
+ * <li>addTerm, removeExponent and coefficientOf by exponent.</li>
+ * <li>getTerm and remove by index, from highest exponent to lowest like Polynomial.</li>
+ * </ul>
+ * Nodes are runs of 6 ints in one int array rather than objects, so a node is read from one cache line, a large
+ * tree costs 24 bytes per term, and removed nodes are reused without garbage.
+ */
+package edu.miracosta.cs113;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class TreePolynomial
+{
+    private final static int DEFAULT_CAPACITY = 8;
+
+    // Fields of a node, which starts at a multiple of NODE_SIZE in nodes.  A node is referred to by that index.
+    private final static int EXPONENT = 0;
+    private final static int COEFFICIENT = 1;
+    private final static int PRIORITY = 2;
+    private final static int SIZE = 3;
+    private final static int LEFT = 4;
+    private final static int RIGHT = 5;
+    private final static int NODE_SIZE = 6;
+
+    // The node at index 0 is no node, size 0
+    private final static int NONE = 0;
+    private final static int MAX_NODES = Integer.MAX_VALUE / NODE_SIZE;
+
+    // Class variables
+    // higher exponents on the left.  Free nodes are chained through LEFT.
+    private int[] nodes;
+    private int root;
+    private int freeList;
+    private int nextNode;
+    private int seed;
+
+    /**
+     * Default constructor, initializes an empty polynomial.
+     */
+    public TreePolynomial()
+    {
+        this.setEmpty(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Copy constructor, copies the terms of a polynomial.  The terms are already in order, so the tree is built
+     * in O(n) without searching.
+     *
+     * @param polynomial the polynomial to copy.
+     */
+    public TreePolynomial(Polynomial polynomial)
+    {
+        // local variables
+        Polynomial.TermCursor cursor;
+        int[] spine;
+        int depth, node, last;
+
+        this.setEmpty(polynomial.getNumTerms() + 1);
+
+        // Cartesian tree by priority over the terms in order, the right spine of the tree so far is on a stack
+        spine = new int[DEFAULT_CAPACITY];
+        depth = 0;
+        cursor = polynomial.cursor();
+        while (cursor.next())
+        {
+            node = this.newNode(cursor.getCoefficient(), cursor.getExponent());
+            last = NONE;
+            while (depth > 0 && this.nodes[spine[depth - 1] + PRIORITY] < this.nodes[node + PRIORITY])
+            {
+                last = spine[--depth];
+            }
+            this.nodes[node + LEFT] = last;
+            if (depth > 0)
+            {
+                this.nodes[spine[depth - 1] + RIGHT] = node;
+            }
+            if (depth == spine.length)
+            {
+                spine = Arrays.copyOf(spine, depth * 2);
+            }
+            spine[depth++] = node;
+        }
+        this.root = depth > 0 ? spine[0] : NONE;
+        this.updateSizes(this.root);
+    }
+
+    /**
+     * Adds a term to this polynomial, combining it with a term of the same exponent and dropping it if they
+     * cancel out.  Like Polynomial.addTerm(int, int), a coefficient sum that does not fit in an int wraps around.
+     * Terms with a coefficient of 0 are ignored.  O(log n).
+     *
+     * @param coefficient the coefficient of the term to add.
+     * @param exponent    the exponent of the term to add.
+     */
+    public void addTerm(int coefficient, int exponent)
+    {
+        // local variables
+        int node, sum;
+
+        if (coefficient == 0)
+        {
+            return;
+        }
+
+        node = this.find(exponent);
+        if (node == NONE)
+        {
+            this.root = this.insert(this.root, this.newNode(coefficient, exponent));
+            return;
+        }
+
+        sum = this.nodes[node + COEFFICIENT] + coefficient;
+        if (sum == 0)
+        {
+            this.root = this.delete(this.root, exponent);
+        }
+        else
+        {
+            this.nodes[node + COEFFICIENT] = sum;
+        }
+    }
+
+    /**
+     * Adds a term to this polynomial, see addTerm(int, int).
+     *
+     * @param termToAdd the term to add.
+     */
+    public void addTerm(Term termToAdd)
+    {
+        this.addTerm(termToAdd.getCoefficient(), termToAdd.getExponent());
+    }
+
+    /**
+     * Adds every term of a polynomial to this polynomial.  O(m log n) for m terms.
+     *
+     * @param polynomial the polynomial to add.
+     */
+    public void add(Polynomial polynomial)
+    {
+        polynomial.forEachTerm(this::addTerm);
+    }
+
+    /**
+     * Returns the coefficient of the term with the given exponent.  O(log n).
+     *
+     * @param exponent the exponent to look up.
+     * @return the coefficient of that term, 0 if there is none.
+     */
+    public int coefficientOf(int exponent)
+    {
+        // local variables
+        int node;
+
+        node = this.find(exponent);
+        return node == NONE ? 0 : this.nodes[node + COEFFICIENT];
+    }
+
+    /**
+     * Removes the term with the given exponent.  O(log n).
+     *
+     * @param exponent the exponent of the term to remove.
+     * @return the removed Term which is immutable, or null if there is no term with that exponent.
+     */
+    public Term removeExponent(int exponent)
+    {
+        // local variables
+        int node;
+        Term temp;
+
+        node = this.find(exponent);
+        if (node == NONE)
+        {
+            return null;
+        }
+        temp = Term.of(this.nodes[node + COEFFICIENT], exponent);
+        this.root = this.delete(this.root, exponent);
+        return temp;
+    }
+
+    /**
+     * Removes the term at the selected index, terms are numbered from highest exponent to lowest.  O(log n).
+     *
+     * @param index the index to remove term from.
+     * @return the removed Term which is immutable, or null if index is out of range.
+     */
+    public Term remove(int index)
+    {
+        // local variables
+        int node;
+        Term temp;
+
+        if (index < 0 || index >= this.getNumTerms())
+        {
+            return null;
+        }
+        node = this.nodeAt(index);
+        temp = Term.of(this.nodes[node + COEFFICIENT], this.nodes[node + EXPONENT]);
+        this.root = this.delete(this.root, temp.getExponent());
+        return temp;
+    }
+
+    /**
+     * Returns a new Term holding the values of the term at the index given.  O(log n).
+     *
+     * @param index the location of the term, from 0 for the highest exponent.
+     * @return a new Term from desired index.
+     * @throws IndexOutOfBoundsException if index is not between 0 and getNumTerms() - 1.
+     */
+    public Term getTerm(int index)
+    {
+        // local variables
+        int node;
+
+        if (index < 0 || index >= this.getNumTerms())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.getNumTerms());
+        }
+        node = this.nodeAt(index);
+        return new Term(this.nodes[node + COEFFICIENT], this.nodes[node + EXPONENT]);
+    }
+
+    /**
+     * Passes every term from highest exponent to lowest to the consumer without creating Term objects.
+     * This polynomial must not be changed until forEachTerm returns.
+     *
+     * @param consumer receives the coefficient and exponent of each term.
+     */
+    public void forEachTerm(TermConsumer consumer)
+    {
+        // local variables
+        NodeCursor cursor;
+        int node;
+
+        cursor = new NodeCursor();
+        while ((node = cursor.next()) != NONE)
+        {
+            consumer.accept(this.nodes[node + COEFFICIENT], this.nodes[node + EXPONENT]);
+        }
+    }
+
+    /**
+     * Copies the terms into a heap polynomial.
+     *
+     * @return a new Polynomial holding the same terms.
+     */
+    public Polynomial toPolynomial()
+    {
+        // local variables
+        final int[] sparseCoefficients, sparseExponents;
+        final int[] count;
+
+        sparseCoefficients = new int[this.getNumTerms()];
+        sparseExponents = new int[sparseCoefficients.length];
+        count = new int[1];
+        this.forEachTerm((coefficient, exponent) ->
+        {
+            sparseCoefficients[count[0]] = coefficient;
+            sparseExponents[count[0]++] = exponent;
+        });
+        return Polynomial.fromSparse(sparseCoefficients, sparseExponents, count[0]);
+    }
+
+    /**
+     * Removes every term from this polynomial.
+     */
+    public void clear()
+    {
+        this.setEmpty(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Accessor for the number of terms.
+     *
+     * @return the number of terms in this polynomial.
+     */
+    public int getNumTerms()
+    {
+        return this.nodes[this.root + SIZE];
+    }
+
+    /**
+     * Checks if two polynomials hold the same terms.  The shape of the trees does not matter, both are walked in
+     * order side by side and the walk stops at the first term that differs.
+     *
+     * @param other the object to compare with.
+     * @return true if other is a TreePolynomial with exactly the same terms.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        // local variables
+        TreePolynomial polynomial;
+        NodeCursor thisCursor, otherCursor;
+        int node, otherNode;
+
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof TreePolynomial) || ((TreePolynomial) other).getNumTerms() != this.getNumTerms())
+        {
+            return false;
+        }
+
+        polynomial = (TreePolynomial) other;
+        thisCursor = new NodeCursor();
+        otherCursor = polynomial.new NodeCursor();
+        while ((node = thisCursor.next()) != NONE)
+        {
+            // the same number of terms, so the other walk has not ended either
+            otherNode = otherCursor.next();
+            if (this.nodes[node + EXPONENT] != polynomial.nodes[otherNode + EXPONENT]
+                    || this.nodes[node + COEFFICIENT] != polynomial.nodes[otherNode + COEFFICIENT])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash code consistent with equals(Object), the same as Polynomial.hashCode() for the same terms.
+     *
+     * @return the hash code of the terms.
+     */
+    @Override
+    public int hashCode()
+    {
+        // local variables
+        final int[] hash;
+
+        hash = new int[1];
+        this.forEachTerm((coefficient, exponent) -> hash[0] += Term.hashOf(coefficient, exponent));
+        return hash[0];
+    }
+
+    /**
+     * toString method for polynomial, the same form as Polynomial.toString().
+     *
+     * @return String with all terms in polynomial.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder temp = new StringBuilder(Term.textCapacity(this.getNumTerms()));
+
+        try
+        {
+            this.writeTo(temp);
+        } catch (IOException e)
+        {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+        return temp.toString();
+    }
+
+    /**
+     * Writes this polynomial in the same form as toString() term by term, see Polynomial.writeTo(Appendable).
+     *
+     * @param out where to write the polynomial.
+     * @throws IOException if out throws IOException.
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
+        // local variables
+        NodeCursor cursor;
+        boolean leading;
+        int node;
+
+        if (this.root == NONE)
+        {
+            out.append('0');
+            return;
+        }
+
+        cursor = new NodeCursor();
+        leading = true;
+        while ((node = cursor.next()) != NONE)
+        {
+            Term.appendTerm(out, this.nodes[node + COEFFICIENT], this.nodes[node + EXPONENT], leading);
+            leading = false;
+        }
+    }
+
+    /**
+     * Helper method, finds the node with an exponent.
+     *
+     * @param exponent the exponent to find.
+     * @return the node, or NONE if there is none.
+     */
+    private int find(int exponent)
+    {
+        // local variables
+        int node;
+
+        node = this.root;
+        while (node != NONE && this.nodes[node + EXPONENT] != exponent)
+        {
+            node = exponent > this.nodes[node + EXPONENT] ? this.nodes[node + LEFT] : this.nodes[node + RIGHT];
+        }
+        return node;
+    }
+
+    /**
+     * Helper method, finds the node at an index by the subtree sizes.
+     * Precondition - index is between 0 and getNumTerms() - 1.
+     *
+     * @param index the index, from 0 for the highest exponent.
+     * @return the node.
+     */
+    private int nodeAt(int index)
+    {
+        // local variables
+        int node, before;
+
+        node = this.root;
+        while (true)
+        {
+            before = this.nodes[this.nodes[node + LEFT] + SIZE];
+            if (index == before)
+            {
+                return node;
+            }
+            if (index < before)
+            {
+                node = this.nodes[node + LEFT];
+            }
+            else
+            {
+                index -= before + 1;
+                node = this.nodes[node + RIGHT];
+            }
+        }
+    }
+
+    /**
+     * Helper method, inserts a node whose exponent is not in a subtree.  The node goes down by exponent until it
+     * meets a node of lower priority, that subtree is split around it and becomes its children.
+     *
+     * @param subtree the root of the subtree.
+     * @param node    the new node.
+     * @return the new root of the subtree.
+     */
+    private int insert(int subtree, int node)
+    {
+        if (subtree == NONE)
+        {
+            return node;
+        }
+        if (this.nodes[node + PRIORITY] > this.nodes[subtree + PRIORITY])
+        {
+            this.split(subtree, this.nodes[node + EXPONENT], node);
+            this.updateSize(node);
+            return node;
+        }
+
+        if (this.nodes[node + EXPONENT] > this.nodes[subtree + EXPONENT])
+        {
+            this.nodes[subtree + LEFT] = this.insert(this.nodes[subtree + LEFT], node);
+        }
+        else
+        {
+            this.nodes[subtree + RIGHT] = this.insert(this.nodes[subtree + RIGHT], node);
+        }
+        this.updateSize(subtree);
+        return subtree;
+    }
+
+    /**
+     * Helper method, splits a subtree into the nodes with exponents above and below an exponent that is not in
+     * it, stored as the left and right children of a node.
+     *
+     * @param subtree  the root of the subtree.
+     * @param exponent the exponent to split around.
+     * @param parent   receives the higher exponents as left child and the lower ones as right child.
+     */
+    private void split(int subtree, int exponent, int parent)
+    {
+        // local variables
+        int higher, lower, node;
+
+        // the last node added to each side, whose child on the split side is still open
+        higher = NONE;
+        lower = NONE;
+        this.nodes[parent + LEFT] = NONE;
+        this.nodes[parent + RIGHT] = NONE;
+        node = subtree;
+        while (node != NONE)
+        {
+            if (this.nodes[node + EXPONENT] > exponent)
+            {
+                if (higher == NONE)
+                {
+                    this.nodes[parent + LEFT] = node;
+                }
+                else
+                {
+                    this.nodes[higher + RIGHT] = node;
+                }
+                higher = node;
+                node = this.nodes[node + RIGHT];
+            }
+            else
+            {
+                if (lower == NONE)
+                {
+                    this.nodes[parent + RIGHT] = node;
+                }
+                else
+                {
+                    this.nodes[lower + LEFT] = node;
+                }
+                lower = node;
+                node = this.nodes[node + LEFT];
+            }
+        }
+        if (higher != NONE)
+        {
+            this.nodes[higher + RIGHT] = NONE;
+        }
+        if (lower != NONE)
+        {
+            this.nodes[lower + LEFT] = NONE;
+        }
+        this.updateSplitSizes(this.nodes[parent + LEFT], exponent);
+        this.updateSplitSizes(this.nodes[parent + RIGHT], exponent);
+    }
+
+    /**
+     * Helper method for split, recounts the sizes along the edge a split cut, from the bottom up.  Only the
+     * nodes on the path toward the split exponent changed.
+     *
+     * @param subtree  the root of one side of the split.
+     * @param exponent the exponent that was split around.
+     */
+    private void updateSplitSizes(int subtree, int exponent)
+    {
+        if (subtree == NONE)
+        {
+            return;
+        }
+        this.updateSplitSizes(exponent < this.nodes[subtree + EXPONENT] ? this.nodes[subtree + RIGHT]
+                : this.nodes[subtree + LEFT], exponent);
+        this.updateSize(subtree);
+    }
+
+    /**
+     * Helper method, deletes the node with an exponent in a subtree, its children are merged in its place.
+     * Precondition - the exponent is in the subtree.
+     *
+     * @param subtree  the root of the subtree.
+     * @param exponent the exponent to delete.
+     * @return the new root of the subtree.
+     */
+    private int delete(int subtree, int exponent)
+    {
+        // local variables
+        int merged;
+
+        if (this.nodes[subtree + EXPONENT] == exponent)
+        {
+            merged = this.merge(this.nodes[subtree + LEFT], this.nodes[subtree + RIGHT]);
+            this.freeNode(subtree);
+            return merged;
+        }
+        if (exponent > this.nodes[subtree + EXPONENT])
+        {
+            this.nodes[subtree + LEFT] = this.delete(this.nodes[subtree + LEFT], exponent);
+        }
+        else
+        {
+            this.nodes[subtree + RIGHT] = this.delete(this.nodes[subtree + RIGHT], exponent);
+        }
+        this.updateSize(subtree);
+        return subtree;
+    }
+
+    /**
+     * Helper method, merges two subtrees where every exponent of the first is above every exponent of the
+     * second.  The root of higher priority stays on top.
+     *
+     * @param higher the subtree of higher exponents.
+     * @param lower  the subtree of lower exponents.
+     * @return the root of the merged subtree.
+     */
+    private int merge(int higher, int lower)
+    {
+        if (higher == NONE)
+        {
+            return lower;
+        }
+        if (lower == NONE)
+        {
+            return higher;
+        }
+        if (this.nodes[higher + PRIORITY] > this.nodes[lower + PRIORITY])
+        {
+            this.nodes[higher + RIGHT] = this.merge(this.nodes[higher + RIGHT], lower);
+            this.updateSize(higher);
+            return higher;
+        }
+        this.nodes[lower + LEFT] = this.merge(higher, this.nodes[lower + LEFT]);
+        this.updateSize(lower);
+        return lower;
+    }
+
+    /**
+     * Helper method, recounts the size of a node from its children.
+     *
+     * @param node the node.
+     */
+    private void updateSize(int node)
+    {
+        this.nodes[node + SIZE] = this.nodes[this.nodes[node + LEFT] + SIZE]
+                + this.nodes[this.nodes[node + RIGHT] + SIZE] + 1;
+    }
+
+    /**
+     * Helper method, counts every subtree size below a node after building, children before parents.
+     *
+     * @param subtree the root of the subtree.
+     */
+    private void updateSizes(int subtree)
+    {
+        // local variables
+        int[] order;
+        int count, node;
+
+        // nodes in preorder, then sized in reverse so each child is done before its parent
+        order = new int[this.nextNode / NODE_SIZE];
+        count = 0;
+        if (subtree != NONE)
+        {
+            order[count++] = subtree;
+        }
+        for (int i = 0; i < count; i++)
+        {
+            node = order[i];
+            if (this.nodes[node + LEFT] != NONE)
+            {
+                order[count++] = this.nodes[node + LEFT];
+            }
+            if (this.nodes[node + RIGHT] != NONE)
+            {
+                order[count++] = this.nodes[node + RIGHT];
+            }
+        }
+        for (int i = count - 1; i >= 0; i--)
+        {
+            this.updateSize(order[i]);
+        }
+    }
+
+    /**
+     * Helper method, takes a free node and gives it a term and no children, growing the array when full.
+     *
+     * @param coefficient the coefficient.
+     * @param exponent    the exponent.
+     * @return the node.
+     */
+    private int newNode(int coefficient, int exponent)
+    {
+        // local variables
+        int node, capacity;
+
+        if (this.freeList != NONE)
+        {
+            node = this.freeList;
+            this.freeList = this.nodes[node + LEFT];
+        }
+        else
+        {
+            if (this.nextNode == this.nodes.length)
+            {
+                if (this.nextNode / NODE_SIZE == MAX_NODES)
+                {
+                    throw new IllegalStateException("TreePolynomial can not hold more than " + (MAX_NODES - 1)
+                            + " terms");
+                }
+                capacity = (int) Math.min((long) this.nextNode / NODE_SIZE * 2, MAX_NODES) * NODE_SIZE;
+                this.nodes = Arrays.copyOf(this.nodes, capacity);
+            }
+            node = this.nextNode;
+            this.nextNode += NODE_SIZE;
+        }
+
+        // xorshift, enough randomness to keep the tree balanced whatever order the exponents come in
+        this.seed ^= this.seed << 13;
+        this.seed ^= this.seed >>> 17;
+        this.seed ^= this.seed << 5;
+
+        this.nodes[node + EXPONENT] = exponent;
+        this.nodes[node + COEFFICIENT] = coefficient;
+        this.nodes[node + PRIORITY] = this.seed;
+        this.nodes[node + SIZE] = 1;
+        this.nodes[node + LEFT] = NONE;
+        this.nodes[node + RIGHT] = NONE;
+        return node;
+    }
+
+    /**
+     * Helper method, returns a node to the free chain.
+     *
+     * @param node the node that was removed from the tree.
+     */
+    private void freeNode(int node)
+    {
+        this.nodes[node + LEFT] = this.freeList;
+        this.nodes[node + RIGHT] = NONE;
+        this.nodes[node + SIZE] = 0;
+        this.freeList = node;
+    }
+
+    /**
+     * Helper method, resets this polynomial to no terms.
+     *
+     * @param capacity the number of nodes to start with, counting the empty node.
+     */
+    private void setEmpty(int capacity)
+    {
+        this.nodes = new int[Math.min(Math.max(capacity, 2), MAX_NODES) * NODE_SIZE];
+        this.root = NONE;
+        this.freeList = NONE;
+        this.nextNode = NODE_SIZE;
+        this.seed = 0x2545F491;
+    }
+
+    /**
+     * Walks the nodes in order, from highest exponent to lowest, keeping the path from the root on a stack instead
+     * of recursing.  The polynomial must not be changed during the walk.
+     */
+    private class NodeCursor
+    {
+        private int[] stack;
+        private int depth;
+        private int node;
+
+        /**
+         * Default constructor, starts before the highest exponent.
+         */
+        private NodeCursor()
+        {
+            this.stack = new int[DEFAULT_CAPACITY];
+            this.depth = 0;
+            this.node = TreePolynomial.this.root;
+        }
+
+        /**
+         * Moves to the next node.
+         *
+         * @return the node, or NONE after the last one.
+         */
+        private int next()
+        {
+            // local variables
+            int[] nodes;
+            int found;
+
+            nodes = TreePolynomial.this.nodes;
+            while (this.node != NONE)
+            {
+                if (this.depth == this.stack.length)
+                {
+                    this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+                }
+                this.stack[this.depth++] = this.node;
+                this.node = nodes[this.node + LEFT];
+            }
+            if (this.depth == 0)
+            {
+                return NONE;
+            }
+
+            found = this.stack[--this.depth];
+            this.node = nodes[found + RIGHT];
+            return found;
+        }
+    }
+}
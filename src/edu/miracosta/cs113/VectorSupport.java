@@ -0,0 +1,99 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/24/2018
+ * <p>
+ * VectorSupport.java : finds the optional SIMD evaluator used by Polynomial.evaluate(double[], double[]).
+ * VectorHornerEvaluator lives in the separate vector source root because it needs the jdk.incubator.vector
+ * module to compile and run.  It is loaded by name, so when it was not compiled in, or the JVM was started
+ * without --add-modules jdk.incubator.vector, the scalar loops in Polynomial are used instead.
+ * Setting the system property edu.miracosta.cs113.vector to false also turns it off.
+ */
+package edu.miracosta.cs113;
+
+final class VectorSupport
+{
+    private final static String EVALUATOR_CLASS = "edu.miracosta.cs113.VectorHornerEvaluator";
+    private final static String ENABLED_PROPERTY = "edu.miracosta.cs113.vector";
+
+    // null when the vector module or class is missing
+    private final static Evaluator LOADED = load();
+
+    private static volatile boolean enabled = !"false".equals(System.getProperty(ENABLED_PROPERTY));
+
+    /**
+     * Horner evaluation of a dense coefficient array at many points.
+     */
+    interface Evaluator
+    {
+        /**
+         * Sets out[j] to the value at xs[j] of the polynomial with coefficients[i] as the coefficient of
+         * x^(i - from), for every j from start up to end.  Each Horner step must be a multiply then an add, not
+         * a fused multiply add, so results match the scalar loop bit for bit.
+         * Precondition - from is less than to.
+         *
+         * @param coefficients the coefficients, lowest power first.
+         * @param from         the index of the lowest power used.
+         * @param to           one past the index of the highest power used.
+         * @param xs           the values of the variable.
+         * @param out          where to store the results.
+         * @param start        the first point.
+         * @param end          one past the last point.
+         */
+        void horner(int[] coefficients, int from, int to, double[] xs, double[] out, int start, int end);
+    }
+
+    /**
+     * Static helper class, not meant to be instantiated.
+     */
+    private VectorSupport()
+    {
+    }
+
+    /**
+     * Accessor for the SIMD evaluator.
+     *
+     * @return the evaluator, or null if it is not available or turned off.
+     */
+    static Evaluator evaluator()
+    {
+        return enabled ? LOADED : null;
+    }
+
+    /**
+     * Checks if the SIMD evaluator could be loaded, whether or not it is turned on.
+     *
+     * @return true if VectorHornerEvaluator and its module are available.
+     */
+    static boolean isAvailable()
+    {
+        return LOADED != null;
+    }
+
+    /**
+     * Turns the SIMD evaluator on or off, used to compare it against the scalar loops.
+     *
+     * @param value false to always use the scalar loops.
+     */
+    static void setEnabled(boolean value)
+    {
+        enabled = value;
+    }
+
+    /**
+     * Helper method for LOADED, creates the evaluator if its class and module are present.
+     *
+     * @return the evaluator, or null.
+     */
+    private static Evaluator load()
+    {
+        try
+        {
+            return (Evaluator) Class.forName(EVALUATOR_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e)
+        {
+            // vector source root not compiled in, or jdk.incubator.vector not resolved
+            return null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * BatchProcessorTest.java : JUnit test for BatchProcessor, the jobs behind Driver --batch.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BatchProcessorTest {
+
+    private static String[] run(String jobs, int expectedErrors) throws IOException {
+        StringWriter out = new StringWriter();
+        int errors = new BatchProcessor(new BufferedReader(new StringReader(jobs)), out).run();
+        assertEquals("Error count is WRONG", expectedErrors, errors);
+        return out.toString().split(System.lineSeparator());
+    }
+
+    @Test
+    public void testJobsWriteOneLineEach() throws IOException {
+        String[] lines = run("# comment\n"
+                + "add 3x^4+2x^2+3x+7 2x^3+4x+5\n"
+                + "\n"
+                + "  mul   x+2   x-1  \n"
+                + "eval 2x^3-5 -2\n"
+                + "eval x^-1 4\n"
+                + "eval 3x^2 0.5\n", 0);
+
+        assertArrayEquals("Results are WRONG", new String[]{
+                "3x^4+2x^3+2x^2+7x+12",
+                "x^2+x-2",
+                "-21",
+                "0.25",
+                "0.75"}, lines);
+    }
+
+    @Test
+    public void testBadJobsWriteErrorsAndContinue() throws IOException {
+        String[] lines = run("add 3x^2\n"
+                + "div x x\n"
+                + "add 3y x\n"
+                + "eval x abc\n"
+                + "mul 2x 3x^2 extra\n"
+                + "add x x\n", 5);
+
+        assertEquals("Line count is WRONG", 6, lines.length);
+        for(int i = 0; i < 5; i++) {
+            assertTrue("Line " + (i + 1) + " is NOT an error: " + lines[i],
+                    lines[i].startsWith("error line " + (i + 1) + ": "));
+        }
+        assertEquals("Job after errors is WRONG", "2x", lines[5]);
+    }
+
+    @Test
+    public void testResultsParseBack() throws IOException {
+        String[] lines = run("mul x^-1 x\n"
+                + "mul x+1 x-1\n"
+                + "mul -x^-1 1\n"
+                + "add x^-1 -x^-1\n", 0);
+
+        assertArrayEquals("Results are WRONG", new String[]{"1", "x^2-1", "-x^-1", "0"}, lines);
+
+        String[] again = run("add " + lines[0] + " " + lines[1] + "\n"
+                + "mul " + lines[2] + " " + lines[3] + "\n", 0);
+        assertArrayEquals("Results fed back are WRONG", new String[]{"x^2", "0"}, again);
+    }
+
+    @Test
+    public void testRandomResultsParseBack() throws IOException {
+        Random random = new Random(113);
+        int[] coefficients = {1, -1, 2, -7, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        int[] exponents = {-2, -1, 0, 1, 2, 15};
+        StringBuilder jobs = new StringBuilder();
+        Polynomial[] expected = new Polynomial[200];
+
+        for(int i = 0; i < expected.length; i++) {
+            Polynomial polyA = new Polynomial(), polyB = new Polynomial();
+            StringBuilder textA = new StringBuilder(), textB = new StringBuilder();
+            for(int j = 0; j < 3; j++) {
+                int coefficient = coefficients[random.nextInt(coefficients.length)];
+                int exponent = exponents[random.nextInt(exponents.length)];
+                polyA.addTerm(coefficient, exponent);
+                textA.append(coefficient < 0 ? "" : "+").append(coefficient).append("x^").append(exponent);
+                coefficient = coefficients[random.nextInt(coefficients.length)];
+                exponent = exponents[random.nextInt(exponents.length)];
+                polyB.addTerm(coefficient, exponent);
+                textB.append(coefficient < 0 ? "" : "+").append(coefficient).append("x^").append(exponent);
+            }
+            boolean add = random.nextBoolean();
+            jobs.append(add ? "add " : "mul ").append(textA).append(' ').append(textB).append('\n');
+            expected[i] = add ? Polynomial.sum(polyA, polyB) : Polynomial.product(polyA, polyB);
+        }
+
+        String[] lines = run(jobs.toString(), 0);
+        for(int i = 0; i < expected.length; i++) {
+            assertEquals("Result " + lines[i] + " DOESN'T parse back", expected[i], PolynomialParser.parse(lines[i]));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * BigPolynomialTest.java : JUnit test for BigPolynomial.  Sums and products must match BigInteger arithmetic
+ * done term by term, and coefficients must move between long and BigInteger without changing the result.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BigPolynomialTest {
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private static BigInteger randomCoefficient(Random random) {
+        switch(random.nextInt(3)) {
+            case 0:
+                return BigInteger.valueOf(random.nextInt(21) - 10);
+            case 1:
+                return BigInteger.valueOf(random.nextLong());
+            default:
+                return new BigInteger(100, random).subtract(BigInteger.ONE.shiftLeft(99));
+        }
+    }
+
+    private static BigPolynomial build(Map<Integer, BigInteger> terms) {
+        BigPolynomial temp = new BigPolynomial();
+        for(Map.Entry<Integer, BigInteger> entry : terms.entrySet()) {
+            temp.addTerm(entry.getValue(), entry.getKey());
+        }
+        return temp;
+    }
+
+    private static TreeMap<Integer, BigInteger> random(Random random, int numTerms, int range) {
+        TreeMap<Integer, BigInteger> temp = new TreeMap<>();
+        for(int i = 0; i < numTerms; i++) {
+            temp.merge(random.nextInt(range) - range / 2, randomCoefficient(random), BigInteger::add);
+        }
+        temp.values().removeIf(value -> value.signum() == 0);
+        return temp;
+    }
+
+    private static void assertMatches(String message, TreeMap<Integer, BigInteger> expected, BigPolynomial actual) {
+        expected.values().removeIf(value -> value.signum() == 0);
+        assertEquals(message + " term count", expected.size(), actual.getNumTerms());
+        int i = 0;
+        for(Map.Entry<Integer, BigInteger> entry : expected.descendingMap().entrySet()) {
+            assertEquals(message + " exponent", (int) entry.getKey(), actual.getExponent(i));
+            assertEquals(message + " coefficient", entry.getValue(), actual.getCoefficient(i++));
+        }
+    }
+
+    @Test
+    public void testLongOverflowPromotesAndComesBack() {
+        BigPolynomial test = new BigPolynomial();
+
+        test.addTerm(Long.MAX_VALUE, 3);
+        test.addTerm(Long.MAX_VALUE, 3);
+        test.addTerm(5, 0);
+        assertEquals("Overflowed coefficient is NOT exact", LONG_MAX.shiftLeft(1), test.getCoefficient(0));
+        assertEquals("Expected and actual string DON'T match", LONG_MAX.shiftLeft(1) + "x^3+5", test.toString());
+
+        test.addTerm(-Long.MAX_VALUE, 3);
+        assertEquals("Coefficient back in range DOESN'T match", LONG_MAX, test.getCoefficient(0));
+
+        BigPolynomial expected = new BigPolynomial();
+        expected.addTerm(5, 0);
+        expected.addTerm(Long.MAX_VALUE, 3);
+        assertEquals("Same terms stored differently are NOT equal", expected, test);
+        assertEquals("Equal polynomials have different hash codes", expected.hashCode(), test.hashCode());
+
+        test.addTerm(LONG_MAX.negate(), 3);
+        assertEquals("Cancelled term was NOT removed", "5", test.toString());
+    }
+
+    @Test
+    public void testSumAndProductMatchBigIntegerArithmetic() {
+        Random random = new Random(113);
+
+        for(int trial = 0; trial < 60; trial++) {
+            TreeMap<Integer, BigInteger> termsA = random(random, 1 + random.nextInt(40), trial % 2 == 0 ? 50 : 5000);
+            TreeMap<Integer, BigInteger> termsB = random(random, 1 + random.nextInt(40), trial % 3 == 0 ? 50 : 5000);
+            TreeMap<Integer, BigInteger> expected = new TreeMap<>(termsA);
+            BigPolynomial a = build(termsA), b = build(termsB);
+
+            termsB.forEach((exponent, value) -> expected.merge(exponent, value, BigInteger::add));
+            assertMatches("Sum", expected, BigPolynomial.sum(a, b));
+
+            expected.clear();
+            termsA.forEach((exponentA, valueA) -> termsB.forEach((exponentB, valueB) ->
+                    expected.merge(exponentA + exponentB, valueA.multiply(valueB), BigInteger::add)));
+            assertMatches("Product", expected, BigPolynomial.product(a, b));
+        }
+    }
+
+    @Test
+    public void testIntPolynomialConversion() {
+        Polynomial small = new Polynomial(), wrapped;
+        BigPolynomial exact;
+
+        small.addTerm(Integer.MAX_VALUE, 2);
+        small.addTerm(-7, 0);
+        wrapped = new Polynomial(small);
+        wrapped.add(small);
+        exact = new BigPolynomial(small);
+        exact.add(small);
+
+        assertEquals("Int coefficient DIDN'T wrap around", -2, wrapped.getTerm(0).getCoefficient());
+        assertEquals("Big coefficient is NOT exact", BigInteger.valueOf(2L * Integer.MAX_VALUE),
+                exact.getCoefficient(0));
+        assertFalse("Too big coefficient fits an int", exact.fitsInt());
+        assertEquals("Round trip DOESN'T match", small, new BigPolynomial(small).toPolynomial());
+
+        try {
+            exact.toPolynomial();
+            fail("Coefficient too big for an int was narrowed");
+        } catch(ArithmeticException e) {
+            assertEquals("Failed conversion changed the polynomial", 2, exact.getNumTerms());
+        }
+    }
+
+    @Test
+    public void testSumOfExactThrowsOnOverflow() {
+        assertEquals("Exact sum DOESN'T match", new Term(7, 2), Term.sumOfExact(new Term(3, 2), new Term(4, 2)));
+        assertNull("Exact sum of different exponents is NOT null", Term.sumOfExact(new Term(3, 2), new Term(4, 1)));
+
+        try {
+            Term.sumOfExact(new Term(Integer.MAX_VALUE, 2), new Term(1, 2));
+            fail("Overflowing exact sum DIDN'T throw");
+        } catch(ArithmeticException e) {
+            assertEquals("Wrapping sum DOESN'T wrap", Integer.MIN_VALUE,
+                    Term.sumOf(new Term(Integer.MAX_VALUE, 2), new Term(1, 2)).getCoefficient());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * ConcurrentPolynomialAccumulatorTest.java : JUnit test for ConcurrentPolynomialAccumulator.  Terms added from many
+ * threads must sum to the same polynomial as adding them one at a time.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConcurrentPolynomialAccumulatorTest {
+
+    private static final int THREADS = 4;
+    private static final int TERMS_PER_THREAD = 50000;
+
+    @Test
+    public void testThreadsMatchSequential() throws InterruptedException {
+        ConcurrentPolynomialAccumulator accumulator = new ConcurrentPolynomialAccumulator();
+        Polynomial expected = new Polynomial();
+        BigPolynomial expectedBig = new BigPolynomial();
+        Thread[] threads = new Thread[THREADS];
+
+        // every thread adds the same seeded terms, so the threads keep hitting the same exponents at once
+        for(int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                Random random = new Random(113);
+                for(int i = 0; i < TERMS_PER_THREAD; i++) {
+                    accumulator.addTerm(random.nextInt(), random.nextInt(500) - 100);
+                }
+            });
+            threads[t].start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Random random = new Random(113);
+        for(int i = 0; i < TERMS_PER_THREAD; i++) {
+            int coefficient = random.nextInt(), exponent = random.nextInt(500) - 100;
+            for(int t = 0; t < THREADS; t++) {
+                expected.addTerm(coefficient, exponent);
+                expectedBig.addTerm(coefficient, exponent);
+            }
+        }
+        assertEquals("Snapshot DOESN'T match", expected, accumulator.snapshot());
+        assertEquals("Big snapshot DOESN'T match", expectedBig, accumulator.snapshotBig());
+        assertEquals("Second snapshot DOESN'T match", expected.toString(), accumulator.toString());
+    }
+
+    @Test
+    public void testCancellingAndOverflow() {
+        ConcurrentPolynomialAccumulator accumulator = new ConcurrentPolynomialAccumulator();
+        Polynomial polynomial = new Polynomial();
+        polynomial.addTerm(5, 3);
+        polynomial.addTerm(-2, -4);
+
+        accumulator.add(polynomial);
+        accumulator.addTerm(new Term(-5, 3));
+        accumulator.addTerm(0, 9);
+        assertEquals("Cancelled term is NOT dropped", "-2x^-4", accumulator.snapshot().toString());
+        assertEquals("Exponent count is WRONG", 2, accumulator.getNumExponents());
+
+        accumulator.addTerm(Integer.MAX_VALUE, 1);
+        accumulator.addTerm(Integer.MAX_VALUE, 1);
+        assertEquals("Snapshot does NOT wrap around", -2, accumulator.snapshot().coefficientOf(1));
+        assertEquals("Big snapshot is NOT exact", BigInteger.valueOf(2L * Integer.MAX_VALUE),
+                accumulator.snapshotBig().getCoefficient(0));
+
+        accumulator.clear();
+        assertEquals("Cleared accumulator is NOT empty", 0, accumulator.snapshot().getNumTerms());
+    }
+}
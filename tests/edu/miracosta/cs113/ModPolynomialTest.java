@@ -0,0 +1,151 @@
+/**
+ * ModPolynomialTest.java : JUnit test for ModPolynomial and Montgomery.  Products and values are checked against
+ * BigInteger arithmetic, for a prime the transform uses directly and for one it does not.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ModPolynomialTest {
+
+    private static final int NTT_PRIME = 998244353;
+    private static final int OTHER_PRIME = 1000000007;
+
+    private static ModPolynomial random(Random random, int modulus, int numTerms, int range, int lowExponent,
+                                        Map<Integer, BigInteger> terms) {
+        ModPolynomial temp = new ModPolynomial(modulus);
+        for(int i = 0; i < numTerms; i++) {
+            long coefficient = random.nextLong();
+            int exponent = lowExponent + random.nextInt(range);
+            temp.addTerm(coefficient, exponent);
+            terms.merge(exponent, BigInteger.valueOf(coefficient), BigInteger::add);
+        }
+        return temp;
+    }
+
+    private static ModPolynomial reduce(Map<Integer, BigInteger> terms, int modulus) {
+        ModPolynomial temp = new ModPolynomial(modulus);
+        for(Map.Entry<Integer, BigInteger> term : terms.entrySet()) {
+            temp.addTerm(term.getValue().mod(BigInteger.valueOf(modulus)).longValue(), term.getKey());
+        }
+        return temp;
+    }
+
+    @Test
+    public void testMontgomeryMatchesBigInteger() {
+        Random random = new Random(113);
+        for(int modulus : new int[]{3, 65537, NTT_PRIME, OTHER_PRIME, 1073741789}) {
+            Montgomery arithmetic = new Montgomery(modulus);
+            BigInteger prime = BigInteger.valueOf(modulus);
+            for(int i = 0; i < 1000; i++) {
+                int a = random.nextInt(modulus), b = random.nextInt(modulus);
+                long exponent = random.nextInt(Integer.MAX_VALUE);
+                int expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(prime).intValue();
+                assertEquals("Montgomery product is WRONG", expected,
+                        arithmetic.multiply(arithmetic.toMontgomery(a), b));
+                assertEquals("Montgomery power is WRONG",
+                        BigInteger.valueOf(a).modPow(BigInteger.valueOf(exponent), prime).intValue(),
+                        arithmetic.power(a, exponent));
+                if(a != 0) {
+                    assertEquals("Montgomery inverse is WRONG", 1,
+                            arithmetic.multiply(arithmetic.toMontgomery(a), arithmetic.inverse(a)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSumAndProductMatchBigInteger() {
+        Random random = new Random(113);
+        int[][] shapes = {{40, 60, -20}, {300, 500, 0}, {200, 100000, -50000}, {1, 1, 7}};
+
+        for(int modulus : new int[]{NTT_PRIME, OTHER_PRIME, 65537}) {
+            for(int[] shapeA : shapes) {
+                for(int[] shapeB : shapes) {
+                    Map<Integer, BigInteger> termsA = new TreeMap<>(), termsB = new TreeMap<>();
+                    Map<Integer, BigInteger> sum = new TreeMap<>(), product = new TreeMap<>();
+                    ModPolynomial a = random(random, modulus, shapeA[0], shapeA[1], shapeA[2], termsA);
+                    ModPolynomial b = random(random, modulus, shapeB[0], shapeB[1], shapeB[2], termsB);
+
+                    sum.putAll(termsA);
+                    for(Map.Entry<Integer, BigInteger> termB : termsB.entrySet()) {
+                        sum.merge(termB.getKey(), termB.getValue(), BigInteger::add);
+                        for(Map.Entry<Integer, BigInteger> termA : termsA.entrySet()) {
+                            product.merge(termA.getKey() + termB.getKey(),
+                                    termA.getValue().multiply(termB.getValue()), BigInteger::add);
+                        }
+                    }
+
+                    assertEquals("Sum mod " + modulus + " is WRONG", reduce(sum, modulus), ModPolynomial.sum(a, b));
+                    assertEquals("Product mod " + modulus + " is WRONG", reduce(product, modulus),
+                            ModPolynomial.product(a, b));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluateMatchesBigInteger() {
+        Random random = new Random(113);
+        Map<Integer, BigInteger> terms = new TreeMap<>();
+        ModPolynomial test = random(random, OTHER_PRIME, 500, 4000, -2000, terms);
+        BigInteger prime = BigInteger.valueOf(OTHER_PRIME);
+
+        for(long x : new long[]{1, -1, 2, 123456789, -987654321987L, OTHER_PRIME + 5L}) {
+            BigInteger point = BigInteger.valueOf(x).mod(prime), expected = BigInteger.ZERO;
+            for(Map.Entry<Integer, BigInteger> term : terms.entrySet()) {
+                expected = expected.add(term.getValue().multiply(point.modPow(BigInteger.valueOf(term.getKey()), prime)));
+            }
+            assertEquals("Value at " + x + " is WRONG", expected.mod(prime).intValue(), test.evaluate(x));
+        }
+
+        try {
+            test.evaluate(OTHER_PRIME);
+            fail("Negative exponent at a multiple of the prime DIDN'T throw");
+        } catch(ArithmeticException e) {
+            // expected
+        }
+        assertEquals("Empty value is NOT 0", 0, new ModPolynomial(OTHER_PRIME).evaluate(5));
+    }
+
+    @Test
+    public void testModulusAndConversions() {
+        Polynomial poly = new Polynomial();
+        poly.addTerm(-1, 3);
+        poly.addTerm(7, 1);
+        poly.addTerm(14, 0);
+
+        ModPolynomial reduced = new ModPolynomial(poly, 7);
+        assertEquals("Reduced polynomial is WRONG", "6x^3", reduced.toString());
+        assertEquals("Modulus is WRONG", 7, reduced.getModulus());
+        assertEquals("Copy is NOT equal", reduced, new ModPolynomial(reduced));
+        assertEquals("toPolynomial is WRONG", "6x^3", reduced.toPolynomial().toString());
+        assertNotEquals("Different moduli are equal", new ModPolynomial(poly, 11), new ModPolynomial(poly, 13));
+
+        for(int modulus : new int[]{2, 9, -7, 0, 1 << 30, 1073741827}) {
+            try {
+                new ModPolynomial(modulus);
+                fail("Modulus " + modulus + " DIDN'T throw");
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+
+        try {
+            ModPolynomial.sum(new ModPolynomial(11), new ModPolynomial(13));
+            fail("Different moduli DIDN'T throw");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
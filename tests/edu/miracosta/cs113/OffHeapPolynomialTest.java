@@ -0,0 +1,86 @@
+/**
+ * OffHeapPolynomialTest.java : JUnit test for OffHeapPolynomial.  Every operation is checked against the same
+ * operations on a heap Polynomial.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OffHeapPolynomialTest {
+
+    @Test
+    public void testMatchesHeapPolynomial() {
+        Random random = new Random(113);
+        Polynomial heap = new Polynomial(), other = new Polynomial();
+
+        try(OffHeapPolynomial offHeap = new OffHeapPolynomial();
+            OffHeapPolynomial otherOffHeap = new OffHeapPolynomial()) {
+            assertEquals("Empty polynomial is NOT 0", "0", offHeap.toString());
+
+            for(int i = 0; i < 3000; i++) {
+                int coefficient = random.nextInt(21) - 10, exponent = random.nextInt(500) - 100;
+                heap.addTerm(coefficient, exponent);
+                offHeap.addTerm(new Term(coefficient, exponent));
+                assertEquals("Term count DOESN'T match", heap.getNumTerms(), offHeap.getNumTerms());
+            }
+            assertEquals("Terms DON'T match", heap.toString(), offHeap.toString());
+            assertEquals("Copy back to heap DOESN'T match", heap, offHeap.toPolynomial());
+
+            for(int i = 0; i < heap.getNumTerms(); i += 7) {
+                assertEquals("getTerm DOESN'T match", heap.getTerm(i), offHeap.getTerm(i));
+            }
+            assertEquals("remove DOESN'T match", heap.remove(5), offHeap.remove(5));
+            assertNull("Out of range remove is NOT null", offHeap.remove(offHeap.getNumTerms()));
+
+            for(int i = 0; i < 2000; i++) {
+                other.addTerm(random.nextInt(), random.nextInt(4000) - 2000);
+            }
+            otherOffHeap.add(other);
+            offHeap.add(otherOffHeap);
+            heap.add(other);
+            assertEquals("Sum DOESN'T match", heap, offHeap.toPolynomial());
+            try(OffHeapPolynomial copy = new OffHeapPolynomial(heap)) {
+                assertEquals("Sum with heap polynomial DOESN'T match", copy, offHeap);
+                assertEquals("Equal polynomials have different hash codes", copy.hashCode(), offHeap.hashCode());
+            }
+            assertEquals("Hash code DOESN'T match heap polynomial", heap.hashCode(), offHeap.hashCode());
+
+            offHeap.clear();
+            assertEquals("Cleared polynomial is NOT empty", 0, offHeap.getNumTerms());
+        }
+    }
+
+    @Test
+    public void testClosedPolynomialThrows() {
+        OffHeapPolynomial test = new OffHeapPolynomial();
+        test.addTerm(3, 2);
+        test.close();
+        test.close();
+
+        assertEquals("Closed polynomial is NOT equal to itself", test, test);
+        try(OffHeapPolynomial open = new OffHeapPolynomial()) {
+            assertNotEquals("Closed polynomial is equal to an open one", test, open);
+            assertNotEquals("Open polynomial is equal to a closed one", open, test);
+        }
+
+        try {
+            test.getNumTerms();
+            fail("Closed polynomial DIDN'T throw");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+        try {
+            test.addTerm(1, 1);
+            fail("Closed polynomial DIDN'T throw");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+    }
+}
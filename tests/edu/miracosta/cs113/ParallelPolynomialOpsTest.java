@@ -0,0 +1,108 @@
+/**
+ * ParallelPolynomialOpsTest.java : JUnit test for ParallelPolynomialOps.  Parallel results must match the
+ * sequential ones exactly, whatever pool they run on.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParallelPolynomialOpsTest {
+
+    private static final int THRESHOLD = 16;
+
+    private static Polynomial random(Random random, int numTerms, int range, int lowExponent) {
+        Polynomial temp = new Polynomial();
+        for(int i = 0; i < numTerms; i++) {
+            temp.addTerm(random.nextInt(), lowExponent + random.nextInt(range));
+        }
+        return temp;
+    }
+
+    private static Polynomial[] shapes(Random random) {
+        return new Polynomial[]{
+                random(random, 600, 700, -50),
+                random(random, 300, 20000, -5000),
+                random(random, 1000, 1000, 0),
+                random(random, 40, 50, 10),
+        };
+    }
+
+    @Test
+    public void testSumAndProductMatchSequential() {
+        Random random = new Random(113);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelPolynomialOps ops = new ParallelPolynomialOps(pool, THRESHOLD);
+        Polynomial[] shapes = shapes(random);
+        Polynomial minusOne = new Polynomial(), negated;
+
+        minusOne.addTerm(-1, 0);
+
+        try {
+            for(Polynomial a : shapes) {
+                for(Polynomial b : shapes) {
+                    assertEquals("Parallel sum DOESN'T match", Polynomial.sum(a, b), ops.sum(a, b));
+                    assertEquals("Parallel product DOESN'T match", Polynomial.product(a, b), ops.product(a, b));
+                }
+                negated = Polynomial.product(a, minusOne);
+                assertEquals("Parallel sum of opposites is NOT empty", 0, ops.sum(a, negated).getNumTerms());
+
+                negated.add(random(random, 100, 2000, -100));
+                assertEquals("Parallel sum DOESN'T match after cancelling", Polynomial.sum(a, negated),
+                        ops.sum(a, negated));
+            }
+
+            // small thresholds so the parallel transforms are used
+            ops.setMultiplier(new PolynomialMultiplier(4, 64, 8));
+            for(Polynomial a : shapes) {
+                for(Polynomial b : shapes) {
+                    assertEquals("Parallel NTT product DOESN'T match", Polynomial.product(a, b), ops.product(a, b));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEvaluateMatchesSequential() {
+        Random random = new Random(113);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        ParallelPolynomialOps ops = new ParallelPolynomialOps(pool, THRESHOLD);
+        ParallelPolynomialOps otherPool = new ParallelPolynomialOps(ForkJoinPool.commonPool(), THRESHOLD);
+        double[] xs = new double[1000], out = new double[xs.length], expected = new double[xs.length];
+        Polynomial test;
+
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 2 - 1;
+        }
+
+        try {
+            for(Polynomial p : shapes(random)) {
+                p.evaluate(xs, expected);
+                ops.evaluate(p, xs, out);
+                assertArrayEquals("Parallel batch DOESN'T match", expected, out, 0);
+
+                for(double x : new double[]{0.5, -0.999, 1.0, 1.001}) {
+                    double value = ops.evaluate(p, x);
+                    assertEquals("Parallel value DOESN'T match", p.evaluate(x), value, 0);
+                    assertEquals("Parallel value DEPENDS on the pool", value, otherPool.evaluate(p, x), 0);
+                }
+            }
+
+            test = random(random, 500, 900, 0);
+            for(long x : new long[]{0, 1, -1, 3, 123456789}) {
+                assertEquals("Parallel integer value DOESN'T match", test.evaluate(x), ops.evaluate(test, x));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
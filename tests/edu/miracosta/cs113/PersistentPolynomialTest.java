@@ -0,0 +1,100 @@
+/**
+ * PersistentPolynomialTest.java : JUnit test for PersistentPolynomial.  Every version is checked against the same
+ * operations on a Polynomial, and old versions must keep their terms after newer ones are made from them.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PersistentPolynomialTest {
+
+    @Test
+    public void testVersionsMatchPolynomial() {
+        Random random = new Random(113);
+
+        // a small exponent range keeps every chunk busy, a large one splits and merges many of them
+        for(int range : new int[]{300, 1 << 30}) {
+            Polynomial expected = new Polynomial();
+            PersistentPolynomial test = new PersistentPolynomial();
+            List<PersistentPolynomial> versions = new ArrayList<>();
+            List<Polynomial> copies = new ArrayList<>();
+
+            for(int i = 0; i < 20000; i++) {
+                int exponent = random.nextInt(range) - range / 4;
+                switch(random.nextInt(8)) {
+                    case 0:
+                        int index = random.nextInt(expected.getNumTerms() + 1);
+                        expected.remove(index);
+                        test = test.remove(index);
+                        break;
+                    case 1:
+                        expected.removeExponent(exponent);
+                        test = test.removeExponent(exponent);
+                        break;
+                    case 2:
+                        Polynomial other = new Polynomial();
+                        int numTerms = random.nextBoolean() ? random.nextInt(5) : random.nextInt(2000);
+                        for(int j = 0; j < numTerms; j++) {
+                            other.addTerm(random.nextInt(9) - 4, random.nextInt(range) - range / 4);
+                        }
+                        expected.add(other);
+                        test = random.nextBoolean() ? test.add(other) : test.add(new PersistentPolynomial(other));
+                        break;
+                    default:
+                        int coefficient = random.nextInt(9) - 4;
+                        expected.addTerm(coefficient, exponent);
+                        test = test.addTerm(coefficient, exponent);
+                }
+                assertEquals("Term count DOESN'T match", expected.getNumTerms(), test.getNumTerms());
+
+                if(i % 200 == 0) {
+                    assertEquals("Terms DON'T match", expected, test.toPolynomial());
+                    assertEquals("coefficientOf DOESN'T match", expected.coefficientOf(exponent),
+                            test.coefficientOf(exponent));
+                    if(expected.getNumTerms() > 0) {
+                        int index = random.nextInt(expected.getNumTerms());
+                        assertEquals("getTerm DOESN'T match", expected.getTerm(index), test.getTerm(index));
+                    }
+                    versions.add(test);
+                    copies.add(new Polynomial(expected));
+                }
+            }
+
+            for(int i = 0; i < versions.size(); i++) {
+                assertEquals("Old version has CHANGED", copies.get(i), versions.get(i).toPolynomial());
+            }
+        }
+    }
+
+    @Test
+    public void testSharingAndEquality() {
+        Polynomial polynomial = new Polynomial();
+        polynomial.addTerm(5, 3);
+        polynomial.addTerm(-2, -4);
+        PersistentPolynomial first = new PersistentPolynomial(polynomial);
+        PersistentPolynomial empty = new PersistentPolynomial();
+
+        assertSame("Adding no terms made a copy", first, first.add(empty));
+        assertSame("Adding to no terms made a copy", first, empty.add(first));
+        assertSame("Adding 0 made a copy", first, first.addTerm(0, 7));
+        assertSame("Removing a missing exponent made a copy", first, first.removeExponent(8));
+        assertSame("Removing a bad index made a copy", first, first.remove(2));
+
+        PersistentPolynomial second = first.addTerm(new Term(4, 1));
+        assertEquals("Old version has CHANGED", "5x^3-2x^-4", first.toString());
+        assertEquals("New version is WRONG", "5x^3+4x-2x^-4", second.toString());
+        assertEquals("Removing the new term DOESN'T give back the old version", first, second.remove(1));
+        assertEquals("Equal versions have different hash codes", first.hashCode(), second.remove(1).hashCode());
+        assertNotEquals("Different versions are equal", first, second);
+        assertEquals("Empty polynomial is NOT 0", "0", empty.toString());
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * PolynomialBuilderTest.java : JUnit test for Polynomial.Builder.  Built polynomials are checked against the same
+ * terms added one at a time with Polynomial.addTerm.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PolynomialBuilderTest {
+
+    @Test
+    public void testEverySourceCombinesTerms() {
+        Polynomial.Builder builder = new Polynomial.Builder()
+                .addTerm(5, 2)
+                .addTerm(new Term(3, 7))
+                .addTerms(new int[]{-5, 4, 0}, new int[]{2, -2, 9})
+                .addTerms(Arrays.asList(new Term(2, 0), new Term(-3, 7)))
+                .addTerms(IntStream.of(6, 1, 1, 0));
+        assertEquals("Term count is WRONG", 8, builder.getNumTerms());
+        assertEquals("Built polynomial is WRONG", "6x+3+4x^-2", builder.build().toString());
+
+        builder.addTerm(Integer.MAX_VALUE, 1).addTerm(2, 1);
+        assertEquals("Overflow does NOT wrap around like addTerm", "-2147483641x+3+4x^-2",
+                builder.build().toString());
+
+        builder.clear();
+        assertEquals("Cleared builder is NOT empty", 0, builder.build().getNumTerms());
+
+        try {
+            builder.addTerms(IntStream.of(1, 2, 3));
+            fail("Odd number of pair values DIDN'T throw");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMatchesAddTerm() {
+        Random random = new Random(113);
+
+        // below and above the radix sort threshold, exponents in a small range and over every int
+        for(int count : new int[]{100, 20000}) {
+            for(int range : new int[]{50, 0}) {
+                Polynomial expected = new Polynomial();
+                Polynomial.Builder builder = new Polynomial.Builder();
+                for(int i = 0; i < count; i++) {
+                    int coefficient = random.nextInt(7) - 3;
+                    int exponent = range == 0 ? random.nextInt() : random.nextInt(range) - range / 2;
+                    expected.addTerm(coefficient, exponent);
+                    builder.addTerm(coefficient, exponent);
+                }
+                assertEquals("Built polynomial DOESN'T match for " + count + " terms", expected, builder.build());
+                assertEquals("Second build DOESN'T match", expected, builder.build());
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * PolynomialCodecTest.java : JUnit test for the binary polynomial form, Polynomial.writeBinary and readBinary
+ * and MappedPolynomialReader.  Mapped files are read with small windows so the window moves many times.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PolynomialCodecTest {
+
+    private static Polynomial[] shapes() {
+        Random random = new Random(113);
+        Polynomial dense = new Polynomial(), sparse = new Polynomial(), extremes = new Polynomial();
+
+        for(int i = -40; i < 3000; i++) {
+            dense.addTerm(random.nextInt(121) - 60, i);
+        }
+        for(int i = 0; i < 2000; i++) {
+            sparse.addTerm(random.nextInt(), random.nextInt());
+        }
+        extremes.addTerm(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        extremes.addTerm(Integer.MAX_VALUE, 0);
+        extremes.addTerm(-1, Integer.MIN_VALUE);
+
+        return new Polynomial[]{new Polynomial(), dense, sparse, extremes};
+    }
+
+    private static byte[] toBytes(Polynomial polynomial) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        polynomial.writeBinary(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws IOException {
+        for(Polynomial polynomial : shapes()) {
+            byte[] bytes = toBytes(polynomial);
+            assertEquals("Round trip DOESN'T match", polynomial, Polynomial.readBinary(new ByteArrayInputStream(bytes)));
+        }
+
+        // a dense polynomial with small coefficients takes 2 bytes per term after the first
+        Polynomial dense = shapes()[1];
+        assertTrue("Dense form is NOT compact", toBytes(dense).length <= PolynomialCodec.HEADER_BYTES
+                + PolynomialCodec.MAX_TERM_BYTES + 2 * dense.getNumTerms());
+    }
+
+    @Test
+    public void testReadStopsAfterPolynomial() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayInputStream in;
+        Polynomial[] shapes = shapes();
+
+        //every shape twice, each followed by a marker byte the reader must leave in the stream
+        for(int i = 0; i < 2 * shapes.length; i++) {
+            shapes[i % shapes.length].writeBinary(out);
+            out.write(i);
+        }
+        in = new ByteArrayInputStream(out.toByteArray());
+
+        for(int i = 0; i < 2 * shapes.length; i++) {
+            assertEquals("Polynomial " + i + " DOESN'T match", shapes[i % shapes.length], Polynomial.readBinary(in));
+            assertEquals("Byte after polynomial " + i + " was consumed", i, in.read());
+        }
+        assertEquals("Stream DIDN'T end", -1, in.read());
+    }
+
+    @Test
+    public void testDamagedInputThrows() throws IOException {
+        byte[] bytes = toBytes(shapes()[2]), damaged;
+
+        try {
+            Polynomial.readBinary(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+            fail("Truncated input DIDN'T throw");
+        } catch(EOFException e) {
+            // expected
+        }
+
+        damaged = bytes.clone();
+        damaged[0] = 'X';
+        try {
+            Polynomial.readBinary(new ByteArrayInputStream(damaged));
+            fail("Wrong magic DIDN'T throw");
+        } catch(StreamCorruptedException e) {
+            // expected
+        }
+
+        // coefficient 0 in the first term
+        damaged = new byte[]{'P', 'O', 'L', 'Y', 1, 0, 0, 0, 1, 2, 0};
+        try {
+            Polynomial.readBinary(new ByteArrayInputStream(damaged));
+            fail("Zero coefficient DIDN'T throw");
+        } catch(StreamCorruptedException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMappedReaderMatches() throws IOException {
+        Path file = Files.createTempFile("polynomial", ".bin");
+        try {
+            for(Polynomial polynomial : shapes()) {
+                try(OutputStream out = Files.newOutputStream(file)) {
+                    polynomial.writeBinary(out);
+                }
+
+                for(long windowSize : new long[]{19, 4096, 1 << 28}) {
+                    try(MappedPolynomialReader reader = new MappedPolynomialReader(file, windowSize)) {
+                        Polynomial.TermCursor cursor = polynomial.cursor();
+                        assertEquals("Term count DOESN'T match", polynomial.getNumTerms(), reader.getNumTerms());
+                        while(reader.next()) {
+                            assertTrue("Mapped reader has EXTRA terms", cursor.next());
+                            assertEquals("Coefficient DOESN'T match", cursor.getCoefficient(), reader.getCoefficient());
+                            assertEquals("Exponent DOESN'T match", cursor.getExponent(), reader.getExponent());
+                        }
+                        assertFalse("Mapped reader is MISSING terms", cursor.next());
+                    }
+                }
+            }
+
+            MappedPolynomialReader reader = new MappedPolynomialReader(file);
+            reader.close();
+            try {
+                reader.next();
+                fail("Closed reader DIDN'T throw");
+            } catch(IOException e) {
+                // expected
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
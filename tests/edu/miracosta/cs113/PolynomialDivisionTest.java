@@ -0,0 +1,147 @@
+/**
+ * PolynomialDivisionTest.java : JUnit test for Polynomial.divideAndRemainder and ModPolynomial.divideAndRemainder.
+ * Quotients are checked against known products, large enough to take the Newton path as well as the schoolbook
+ * one.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PolynomialDivisionTest {
+
+    private static final int NEWTON_SPAN = 5000;
+
+    private static Polynomial random(Random random, int span, int lowExponent, int leading) {
+        return random(random, span, lowExponent, leading, 0);
+    }
+
+    private static Polynomial random(Random random, int span, int lowExponent, int leading, int bound) {
+        int[] coefficients = new int[span];
+        for(int i = 0; i < span - 1; i++) {
+            coefficients[i] = bound == 0 ? random.nextInt() : random.nextInt(2 * bound + 1) - bound;
+        }
+        coefficients[span - 1] = leading;
+        return Polynomial.fromDense(coefficients, lowExponent);
+    }
+
+    private static Polynomial polynomial(int... terms) {
+        Polynomial temp = new Polynomial();
+        for(int i = 0; i < terms.length; i += 2) {
+            temp.addTerm(terms[i], terms[i + 1]);
+        }
+        return temp;
+    }
+
+    @Test
+    public void testSmallDivision() {
+        // (3x^4 + 2x^2 + 3x + 7) / (x^2 + 2) = 3x^2 - 4 remainder 3x + 15
+        Polynomial[] result = polynomial(3, 4, 2, 2, 3, 1, 7, 0).divideAndRemainder(polynomial(1, 2, 2, 0));
+        assertEquals("Quotient is WRONG", polynomial(3, 2, -4, 0), result[0]);
+        assertEquals("Remainder is WRONG", polynomial(3, 1, 15, 0), result[1]);
+
+        // quotient exponents stop at 0, so 6x^-2 is left over from (2x^3 + 4x + 6x^-2) / 2x
+        result = polynomial(2, 3, 4, 1, 6, -2).divideAndRemainder(polynomial(2, 1));
+        assertEquals("Negative exponent quotient is WRONG", polynomial(1, 2, 2, 0), result[0]);
+        assertEquals("Negative exponent remainder is WRONG", polynomial(6, -2), result[1]);
+
+        result = polynomial(5, 1).divideAndRemainder(polynomial(1, 3));
+        assertEquals("Quotient of a lower degree dividend is NOT 0", 0, result[0].getNumTerms());
+        assertEquals("Remainder of a lower degree dividend is NOT the dividend", polynomial(5, 1), result[1]);
+    }
+
+    @Test
+    public void testDivisionErrors() {
+        try {
+            polynomial(3, 1).divideAndRemainder(new Polynomial());
+            fail("Division by 0 DIDN'T throw");
+        } catch(ArithmeticException e) {
+            // expected
+        }
+        try {
+            polynomial(3, 1).divideAndRemainder(polynomial(2, 1));
+            fail("Division with a fractional quotient DIDN'T throw");
+        } catch(ArithmeticException e) {
+            // expected
+        }
+        try {
+            polynomial(1, Integer.MAX_VALUE).divideAndRemainder(polynomial(1, Integer.MIN_VALUE));
+            fail("Division with a quotient exponent above Integer.MAX_VALUE DIDN'T throw");
+        } catch(ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWideDivision() {
+        // exponents too far apart for a dense array, (3x^60000000 - x^30000000 + 5) * (2x^20000000 + 3) + 7x^19999999
+        Polynomial quotient = polynomial(3, 60000000, -1, 30000000, 5, 0);
+        Polynomial divisor = polynomial(2, 20000000, 3, 0);
+        Polynomial remainder = polynomial(7, 19999999, -4, -5);
+        Polynomial dividend = Polynomial.product(quotient, divisor);
+        dividend.add(remainder);
+
+        Polynomial[] result = dividend.divideAndRemainder(divisor);
+        assertEquals("Wide quotient is WRONG", quotient, result[0]);
+        assertEquals("Wide remainder is WRONG", remainder, result[1]);
+
+        result = polynomial(1, Integer.MAX_VALUE, 1, 0).divideAndRemainder(polynomial(1, 0, 1, Integer.MIN_VALUE));
+        // (x^2147483647 + 1) / (1 + x^-2147483648) = x^2147483647 + 1 remainder -x^-1 - x^-2147483648
+        assertEquals("Quotient at Integer.MAX_VALUE is WRONG", polynomial(1, Integer.MAX_VALUE, 1, 0), result[0]);
+        assertEquals("Remainder at Integer.MAX_VALUE is WRONG", polynomial(-1, -1, -1, Integer.MIN_VALUE), result[1]);
+    }
+
+    @Test
+    public void testLargeDivisionMatchesProduct() {
+        Random random = new Random(113);
+
+        // leading 1 and -1 take the Newton path, which agrees with long division even when coefficients wrap
+        for(int leading : new int[]{1, -1}) {
+            Polynomial divisor = random(random, NEWTON_SPAN, -20, leading);
+            Polynomial quotient = random(random, NEWTON_SPAN + 100, 0, 7);
+            Polynomial remainder = random(random, 40, divisor.highestExponent() - 40, 9);
+            Polynomial dividend = Polynomial.product(quotient, divisor);
+            dividend.add(remainder);
+
+            Polynomial[] result = dividend.divideAndRemainder(divisor);
+            assertEquals("Quotient is WRONG for leading " + leading, quotient, result[0]);
+            assertEquals("Remainder is WRONG for leading " + leading, remainder, result[1]);
+        }
+
+        // any other leading coefficient takes the schoolbook path, small coefficients keep the quotient exact
+        Polynomial divisor = random(random, 300, -20, 3, 100);
+        Polynomial quotient = random(random, 400, 0, -5, 100);
+        Polynomial remainder = random(random, 40, divisor.highestExponent() - 40, 2, 100);
+        Polynomial dividend = Polynomial.product(quotient, divisor);
+        dividend.add(remainder);
+
+        Polynomial[] result = dividend.divideAndRemainder(divisor);
+        assertEquals("Schoolbook quotient is WRONG", quotient, result[0]);
+        assertEquals("Schoolbook remainder is WRONG", remainder, result[1]);
+    }
+
+    @Test
+    public void testModularDivision() {
+        Random random = new Random(113);
+
+        for(int modulus : new int[]{998244353, 1000000007, 7}) {
+            for(int span : new int[]{30, NEWTON_SPAN}) {
+                ModPolynomial divisor = new ModPolynomial(random(random, span, -5, 5), modulus);
+                divisor.addTerm(random.nextInt(modulus - 1) + 1, span);
+                ModPolynomial dividend = new ModPolynomial(random(random, 2 * span, 0, 1), modulus);
+
+                ModPolynomial[] result = dividend.divideAndRemainder(divisor);
+                assertTrue("Remainder degree is NOT below the divisor",
+                        result[1].getNumTerms() == 0 || result[1].getExponent(0) < divisor.getExponent(0));
+                assertEquals("Quotient * divisor + remainder is NOT the dividend for " + modulus, dividend,
+                        ModPolynomial.sum(ModPolynomial.product(result[0], divisor), result[1]));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * PolynomialGcdTest.java : JUnit test for Polynomial.gcd and ModPolynomial.gcd.  GCDs are checked against known
+ * common factors, and the half GCD against plain Euclid steps.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PolynomialGcdTest {
+
+    private static Polynomial polynomial(int... terms) {
+        Polynomial temp = new Polynomial();
+        for(int i = 0; i < terms.length; i += 2) {
+            temp.addTerm(terms[i], terms[i + 1]);
+        }
+        return temp;
+    }
+
+    private static Polynomial random(Random random, int span, int bound) {
+        int[] coefficients = new int[span];
+        for(int i = 0; i < span; i++) {
+            coefficients[i] = random.nextInt(2 * bound + 1) - bound;
+        }
+        coefficients[span - 1] = random.nextInt(bound) + 1;
+        coefficients[0] = random.nextInt(bound) + 1;
+        return Polynomial.fromDense(coefficients, 0);
+    }
+
+    @Test
+    public void testSmallGcd() {
+        assertEquals("GCD with content is WRONG", polynomial(2, 1, 2, 0),
+                polynomial(6, 2, 6, 1).gcd(polynomial(4, 1, 4, 0)));
+        assertEquals("GCD sign is NOT positive", polynomial(3, 1, -6, 0),
+                polynomial(-3, 2, 6, 1).gcd(polynomial(-9, 3, 18, 2, 3, 1, -6, 0)));
+        assertEquals("GCD of coprime polynomials is NOT 1", polynomial(1, 0),
+                polynomial(1, 2, 1, 0).gcd(polynomial(1, 1, 1, 0)));
+        assertEquals("GCD of powers of x is NOT the lower power", polynomial(1, -3),
+                polynomial(1, 2, 1, -1).gcd(polynomial(1, -3)));
+        assertEquals("GCD with no terms is NOT the other polynomial", polynomial(4, 1, 6, 0),
+                new Polynomial().gcd(polynomial(-4, 1, -6, 0)));
+        assertEquals("GCD of no terms is NOT empty", 0, new Polynomial().gcd(new Polynomial()).getNumTerms());
+    }
+
+    @Test
+    public void testLargeGcdMatchesCommonFactor() {
+        Random random = new Random(113);
+
+        for(int span : new int[]{50, 1500}) {
+            // 2 * (common) is the GCD as long as the cofactors are coprime, which random ones almost always are
+            Polynomial common = random(random, span, 100);
+            Polynomial cofactorA = random(random, span + 7, 100);
+            Polynomial cofactorB = random(random, span - 3, 100);
+            assertEquals("Random cofactors are NOT coprime", polynomial(1, 0), cofactorA.gcd(cofactorB));
+
+            Polynomial polyA = Polynomial.product(common, cofactorA);
+            Polynomial polyB = Polynomial.product(common, cofactorB);
+            polyA.multiply(polynomial(2, 0));
+            polyB.multiply(polynomial(6, 3));
+            Polynomial expected = Polynomial.product(common, polynomial(2, 0));
+            assertEquals("GCD is WRONG for span " + span, expected, polyA.gcd(polyB));
+        }
+    }
+
+    @Test
+    public void testModularGcdMatchesEuclid() {
+        Random random = new Random(113);
+
+        for(int modulus : new int[]{998244353, 1000000007}) {
+            ModPolynomial common = new ModPolynomial(random(random, 700, 1000), modulus);
+            ModPolynomial polyA = ModPolynomial.product(common, new ModPolynomial(random(random, 900, 1000), modulus));
+            ModPolynomial polyB = ModPolynomial.product(common, new ModPolynomial(random(random, 600, 1000), modulus));
+
+            ModPolynomial euclidA = polyA, euclidB = polyB;
+            while(euclidB.getNumTerms() > 0) {
+                ModPolynomial remainder = euclidA.divideAndRemainder(euclidB)[1];
+                euclidA = euclidB;
+                euclidB = remainder;
+            }
+            ModPolynomial gcd = polyA.gcd(polyB);
+            assertEquals("GCD is NOT monic", 1, gcd.getCoefficient(0));
+            assertEquals("GCD DOESN'T match Euclid", euclidA, ModPolynomial.product(gcd,
+                    new ModPolynomial(polynomial(euclidA.getCoefficient(0), 0), modulus)));
+            assertEquals("GCD does NOT divide", 0, polyA.divideAndRemainder(gcd)[1].getNumTerms());
+        }
+    }
+}
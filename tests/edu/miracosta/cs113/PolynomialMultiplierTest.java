@@ -0,0 +1,89 @@
+/**
+ * PolynomialMultiplierTest.java : JUnit test for PolynomialMultiplier.  Every algorithm must give the same
+ * product, including int coefficients that wrap around and negative exponents.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PolynomialMultiplierTest {
+
+    // (3x^4 + 2x^2 + 3x + 7) * (2x^3 + 4x + 5)
+    private static final Term[] FACTOR_A = {new Term(3, 4), new Term(2, 2), new Term(3, 1), new Term(7, 0)};
+    private static final Term[] FACTOR_B = {new Term(2, 3), new Term(4, 1), new Term(5, 0)};
+    private static final String PRODUCT = "6x^7+16x^5+21x^4+22x^3+22x^2+43x+35";
+
+    private static Polynomial build(Term[] terms) {
+        Polynomial temp = new Polynomial();
+        for(Term t : terms) {
+            temp.addTerm(t);
+        }
+        return temp;
+    }
+
+    private static Polynomial random(Random random, int numTerms, int range, int lowExponent) {
+        Polynomial temp = new Polynomial();
+        for(int i = 0; i < numTerms; i++) {
+            temp.addTerm(random.nextInt(), lowExponent + random.nextInt(range));
+        }
+        return temp;
+    }
+
+    @Test
+    public void testProductOfKnownPolynomials() {
+        Polynomial a = build(FACTOR_A), b = build(FACTOR_B);
+
+        assertEquals("Expected and actual product DON'T match", PRODUCT, Polynomial.product(a, b).toString());
+        assertEquals("Product with an empty polynomial is NOT empty", 0,
+                Polynomial.product(a, new Polynomial()).getNumTerms());
+
+        a.multiply(b);
+        assertEquals("multiply() DIDN'T store the product", PRODUCT, a.toString());
+    }
+
+    @Test
+    public void testAllAlgorithmsAgree() {
+        Random random = new Random(113);
+        PolynomialMultiplier multiplier = new PolynomialMultiplier(4, 64, 8);
+        Polynomial a, b, expected;
+
+        for(int i = 0; i < 50; i++) {
+            a = random(random, 1 + random.nextInt(400), 1 + random.nextInt(500), -random.nextInt(20));
+            b = random(random, 1 + random.nextInt(400), 1 + random.nextInt(500), -random.nextInt(20));
+            expected = PolynomialMultiplier.multiplySchoolbook(a, b);
+
+            assertEquals("Sparse product DOESN'T match", expected, PolynomialMultiplier.multiplySparse(a, b));
+            assertEquals("Karatsuba product DOESN'T match", expected, multiplier.multiplyKaratsuba(a, b));
+            assertEquals("NTT product DOESN'T match", expected, PolynomialMultiplier.multiplyNtt(a, b));
+            assertEquals("Selected product DOESN'T match", expected, multiplier.multiply(a, b));
+        }
+    }
+
+    @Test
+    public void testSparseProductKeepsFarApartExponents() {
+        Polynomial a = new Polynomial(), b = new Polynomial();
+
+        a.addTerm(new Term(2, 1000000));
+        a.addTerm(new Term(-1, -1000000));
+        b.addTerm(new Term(2, 1000000));
+        b.addTerm(new Term(1, -1000000));
+
+        assertEquals("Expected and actual product DON'T match", "4x^2000000-x^-2000000",
+                Polynomial.product(a, b).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testExponentOverflowThrows() {
+        Polynomial a = new Polynomial();
+        a.addTerm(new Term(1, Integer.MAX_VALUE));
+
+        Polynomial.product(a, a);
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * PolynomialParserTest.java : JUnit test for PolynomialParser.  Parsed polynomials must match ones built
+ * term by term, and bad input must report the offset of the character that could not be read.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PolynomialParserTest {
+
+    private static final String[] VALID = {
+            "3x^5+2x^2-5x+7",
+            "3x^13 + 11x^12 - 12x^11 + 12x^10 - x^4 + 7x^2 + 4x + 2 - 2x^-2",
+            "- 12x^11",
+            "x",
+            "-x^-7",
+            "7 + 2x^2 + 3x^5 - 5x",
+    };
+    private static final String[] EXPECTED = {
+            "3x^5+2x^2-5x+7",
+            "3x^13+11x^12-12x^11+12x^10-x^4+7x^2+4x+2-2x^-2",
+            "-12x^11",
+            "x",
+            "-x^-7",
+            "3x^5+2x^2-5x+7",
+    };
+
+    private static final String[] INVALID = {"", "3x^", "3x^5 2x", "3y", "+", "99999999999x", "3x^5++2"};
+    private static final int[] INVALID_OFFSETS = {0, 3, 5, 1, 1, 0, 5};
+
+    @Test
+    public void testParseValidPolynomials() {
+        for(int i = 0; i < VALID.length; i++) {
+            assertEquals("Expected and actual parsed polynomial DON'T match", EXPECTED[i],
+                    PolynomialParser.parse(VALID[i]).toString());
+        }
+    }
+
+    @Test
+    public void testParseCombinesDuplicateExponents() {
+        Polynomial test = PolynomialParser.parse("2x^3 + 5 - 2x^3 + x + x");
+
+        assertEquals("Duplicate exponents were NOT combined", "2x+5", test.toString());
+        assertEquals("Cancelled polynomial is NOT empty", 0, PolynomialParser.parse("x - x").getNumTerms());
+    }
+
+    @Test
+    public void testParseRoundTripsToString() {
+        Polynomial original = new Polynomial();
+
+        for(int i = -48; i < 200; i += 3) {
+            original.addTerm(new Term(i * 7919 % 1000 - 500, i));
+        }
+
+        assertEquals("Parsed toString() DOESN'T match original", original,
+                PolynomialParser.parse(original.toString()));
+    }
+
+    @Test
+    public void testParseCharArraySlice() {
+        char[] chars = "ignored 4x^2-x ignored".toCharArray();
+
+        assertEquals("Parsed slice DOESN'T match", "4x^2-x", PolynomialParser.parse(chars, 8, 6).toString());
+
+        try {
+            PolynomialParser.parse(chars, 8, 8);
+            fail("Slice with a trailing space and letter was parsed");
+        } catch(PolynomialFormatException e) {
+            assertEquals("Error offset is NOT an index into the array", 15, e.getErrorOffset());
+        }
+    }
+
+    @Test
+    public void testInvalidPolynomialsReportOffset() {
+        for(int i = 0; i < INVALID.length; i++) {
+            try {
+                PolynomialParser.parse(INVALID[i]);
+                fail("Invalid polynomial was parsed: " + INVALID[i]);
+            } catch(PolynomialFormatException e) {
+                assertEquals("Error offset DOESN'T match for " + INVALID[i], INVALID_OFFSETS[i], e.getErrorOffset());
+            }
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testTermStringConstructorRejectsBadInput() {
+        new Term("5x^");
+    }
+}
@@ -19,6 +19,13 @@
 
 package edu.miracosta.cs113;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -305,4 +312,309 @@ public class PolynomialTest {
      * - duplicate toString() tests
      * - anything else you can think of testing!
      */
-}
\ No newline at end of file
+
+    @Test
+    public void testSumDoesNotModifyOperands() {
+        Polynomial test1 = new Polynomial(), test2 = new Polynomial(), sum;
+
+        for(Term t : UNIQUE_TERMS1) {
+            test1.addTerm(t);
+        }
+        for(Term t : UNIQUE_TERMS2) {
+            test2.addTerm(t);
+        }
+
+        sum = Polynomial.sum(test1, test2);
+
+        assertEquals("Operand A was modified by sum", UNIQUE_POLY1[UNIQUE_POLY1.length - 1].replaceAll(" ", ""),
+                test1.toString());
+        assertEquals("Operand B was modified by sum", UNIQUE_POLY2[UNIQUE_POLY2.length - 1].replaceAll(" ", ""),
+                test2.toString());
+        for(int i = 0; i < UNIQUE_ADD_ORDER.length; i++) {
+            assertEquals("Expected and actual term DON'T match", UNIQUE_ADD_ORDER[i], sum.getTerm(i));
+        }
+    }
+
+    @Test
+    public void testAddCancelsMatchingTerms() {
+        Polynomial test1 = new Polynomial(), test2 = new Polynomial();
+
+        for(Term t : UNIQUE_TERMS1) {
+            test1.addTerm(t);
+            test2.addTerm(new Term(-t.getCoefficient(), t.getExponent()));
+        }
+        test2.addTerm(new Term(3, 0));
+
+        test1.add(test2);
+
+        assertEquals("Cancelled terms were NOT removed", 1, test1.getNumTerms());
+        assertEquals("Expected and actual term DON'T match", new Term(3, 0), test1.getTerm(0));
+    }
+
+    @Test
+    public void testAddTermKeepsOrderForManyTerms() {
+        Polynomial test = new Polynomial();
+
+        //insert exponents in a scrambled order, twice, the second pass cancels the even exponents
+        for(int i = 0; i < 1000; i++) {
+            test.addTerm(new Term(1, (i * 389) % 1000));
+        }
+        for(int i = 0; i < 1000; i += 2) {
+            test.addTerm(new Term(-1, i));
+        }
+
+        assertEquals("Cancelled terms were NOT removed", 500, test.getNumTerms());
+        for(int i = 0; i < test.getNumTerms(); i++) {
+            assertEquals("Expected and actual term DON'T match", new Term(1, 999 - 2 * i), test.getTerm(i));
+        }
+    }
+
+    @Test
+    public void testDenseAndSparseStorageSwitching() {
+        Polynomial dense = new Polynomial(), sparse = new Polynomial();
+
+        //every exponent 0-99 filled, switches to dense form
+        for(int i = 0; i < 100; i++) {
+            dense.addTerm(new Term(i + 1, i));
+            sparse.addTerm(new Term(i + 1, i * 1000));
+        }
+        assertTrue("Filled polynomial was NOT switched to dense form", dense.isDense());
+        assertFalse("Spread out polynomial was switched to dense form", sparse.isDense());
+
+        assertEquals("Dense term count DOESN'T match", 100, dense.getNumTerms());
+        assertEquals("Dense term order DOESN'T match", new Term(100, 99), dense.getTerm(0));
+        assertEquals("Dense term order DOESN'T match", new Term(1, 0), dense.getTerm(99));
+        assertEquals("Removed term DOESN'T match", new Term(51, 50), dense.remove(49));
+        assertEquals("Dense term order DOESN'T match", new Term(50, 49), dense.getTerm(49));
+
+        //a far away term leaves the range mostly empty, switches back to sparse form
+        dense.addTerm(new Term(7, 100000));
+        assertFalse("Mostly empty polynomial was NOT switched back to sparse form", dense.isDense());
+        assertEquals("Sparse term count DOESN'T match", 100, dense.getNumTerms());
+        assertEquals("Sparse term order DOESN'T match", new Term(7, 100000), dense.getTerm(0));
+    }
+
+    @Test
+    public void testEqualsIgnoresStorageForm() {
+        Polynomial dense = new Polynomial(), sparse = new Polynomial(), sum;
+
+        for(int i = 0; i < 64; i++) {
+            dense.addTerm(new Term(i - 20, i));
+            dense.addTerm(new Term(3, i * 1000));
+        }
+        //build the same polynomial with one far away term first, keeping it sparse until it is removed
+        sparse.addTerm(new Term(1, Integer.MAX_VALUE));
+        for(int i = 63; i >= 0; i--) {
+            sparse.addTerm(new Term(3, i * 1000));
+            sparse.addTerm(new Term(i - 20, i));
+        }
+        sparse.remove(0);
+
+        assertEquals("Same terms in different storage forms are NOT equal", dense, sparse);
+        assertEquals("Same terms in different storage forms DON'T print the same",
+                dense.toString(), sparse.toString());
+
+        sum = Polynomial.sum(dense, sparse);
+        sum.add(new Polynomial(dense));
+        for(int i = 0; i < sum.getNumTerms(); i++) {
+            assertEquals("Sum term DOESN'T match", 3 * dense.getTerm(i).getCoefficient(),
+                    sum.getTerm(i).getCoefficient());
+        }
+    }
+
+    @Test
+    public void testHashCodeFollowsChanges() {
+        Polynomial test = new Polynomial(), copy;
+        Set<Polynomial> seen = new HashSet<>();
+
+        for(int i = 0; i < 64; i++) {
+            test.addTerm(new Term(i + 1, i));
+        }
+
+        //the cached hash code after each change must match one added up again from a fresh copy of the terms
+        for(int change = 0; change < 6; change++) {
+            switch(change) {
+                case 0: test.addTerm(new Term(5, 1000000)); break;
+                case 1: test.remove(3); break;
+                case 2: test.removeExponent(10); break;
+                case 3: test.addTerm(new Term(-2, 0)); break;
+                case 4: test.add(new Polynomial(test)); break;
+                default: test.multiply(new Polynomial.Builder().addTerm(3, 0).build());
+            }
+            copy = new Polynomial.Builder().addTerms(test).build();
+            assertEquals("Hash code is WRONG after change " + change, copy.hashCode(), test.hashCode());
+            assertEquals("Copy is NOT equal after change " + change, copy, test);
+        }
+
+        assertTrue("First polynomial was NOT added to the set", seen.add(test));
+        assertFalse("Equal polynomial was added to the set", seen.add(new Polynomial(test)));
+        copy = new Polynomial(test);
+        copy.addTerm(new Term(1, 1));
+        assertNotEquals("Different polynomials are equal", copy, test);
+        test.clear();
+        assertEquals("Empty polynomial hash code is NOT 0", 0, test.hashCode());
+    }
+
+    @Test
+    public void testForEachTermAndCursorVisitInOrder() {
+        Polynomial test = new Polynomial();
+        final StringBuilder visited = new StringBuilder();
+        Polynomial.TermCursor cursor;
+        int i;
+
+        for(Term t : DUPLICATE_TERMS) {
+            test.addTerm(t);
+        }
+
+        test.forEachTerm((coefficient, exponent) -> visited.append(new Term(coefficient, exponent)));
+        assertEquals("forEachTerm DIDN'T visit terms in order", test.toString(), visited.substring(1));
+
+        cursor = test.cursor();
+        for(i = 0; cursor.next(); i++) {
+            assertEquals("Cursor coefficient DOESN'T match", DUPLICATE_FINAL_ORDER[i].getCoefficient(),
+                    cursor.getCoefficient());
+            assertEquals("Cursor exponent DOESN'T match", DUPLICATE_FINAL_ORDER[i].getExponent(),
+                    cursor.getExponent());
+        }
+        assertEquals("Cursor DIDN'T visit every term", DUPLICATE_FINAL_ORDER.length, i);
+    }
+
+    @Test
+    public void testAsListIsReadOnlyLiveView() {
+        Polynomial test = new Polynomial();
+        List<Term> view = test.asList();
+        int i = 0;
+
+        for(Term t : UNIQUE_TERMS1) {
+            test.addTerm(t);
+        }
+        assertEquals("View DOESN'T show terms added later", UNIQUE_TERMS1.length, view.size());
+
+        for(Term t : view) {
+            assertEquals("View term DOESN'T match", UNIQUE_TERMS1[UNIQUE_FINAL_ORDER1[i++]], t);
+        }
+
+        try {
+            view.remove(0);
+            fail("View allowed a term to be removed");
+        } catch(UnsupportedOperationException e) {
+            assertEquals("Polynomial changed through read only view", UNIQUE_TERMS1.length, test.getNumTerms());
+        }
+    }
+
+    @Test
+    public void testWriteToMatchesTermByTermString() throws IOException {
+        Random random = new Random(113);
+        Polynomial test = new Polynomial();
+        StringWriter writer = new StringWriter();
+        String expected = "";
+
+        for(int i = 0; i < 2000; i++) {
+            test.addTerm(new Term(random.nextInt(41) - 20, random.nextInt(3000) - 1000));
+        }
+        for(Term t : test.asList()) {
+            expected += t.toString();
+        }
+        if(expected.charAt(0) == '+') {
+            expected = expected.substring(1);
+        }
+
+        test.writeTo(writer);
+        assertEquals("writeTo DOESN'T match term by term string", expected, writer.toString());
+        assertEquals("toString DOESN'T match term by term string", expected, test.toString());
+
+        writer = new StringWriter();
+        new Polynomial().writeTo(writer);
+        assertEquals("Empty polynomial DIDN'T write 0", "0", writer.toString());
+    }
+
+    @Test
+    public void testEvaluateMatchesTermByTermSum() {
+        Random random = new Random(113);
+        double[] xs = {0.0, 1.0, -1.0, 0.5, -0.75, 1.01, 2.0, -3.0};
+        double[] out = new double[xs.length];
+        Polynomial sparse = new Polynomial(), dense = new Polynomial();
+        double expected;
+
+        for(int i = 0; i < 60; i++) {
+            sparse.addTerm(new Term(random.nextInt(21) - 10, random.nextInt(400)));
+            dense.addTerm(new Term(random.nextInt(21) - 10, i));
+        }
+
+        for(Polynomial test : new Polynomial[]{sparse, dense}) {
+            test.evaluate(xs, out);
+            for(int i = 0; i < xs.length; i++) {
+                expected = 0;
+                for(Term t : test.asList()) {
+                    expected += t.getCoefficient() * Math.pow(xs[i], t.getExponent());
+                }
+                assertEquals("Evaluated value DOESN'T match", expected, test.evaluate(xs[i]),
+                        1e-9 * Math.max(1, Math.abs(expected)));
+                assertEquals("Batch value DOESN'T match single value", test.evaluate(xs[i]), out[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluateNegativeExponentsAndIntegers() {
+        Polynomial test = new Polynomial();
+        double[] xs = new double[1500];
+
+        // 3x^40 - 2x^3 + 5 - 4x^-2
+        test.addTerm(new Term(3, 40));
+        test.addTerm(new Term(-2, 3));
+        test.addTerm(new Term(5, 0));
+        test.addTerm(new Term(-4, -2));
+
+        assertEquals("Value at 2 DOESN'T match", 3 * Math.pow(2, 40) - 16 + 5 - 1, test.evaluate(2.0), 0);
+        assertEquals("Empty polynomial is NOT 0", 0, new Polynomial().evaluate(7.0), 0);
+
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = (i - 750) / 300.0;
+        }
+        double[] single = new double[xs.length], out = new double[xs.length];
+        for(int i = 0; i < xs.length; i++) {
+            single[i] = test.evaluate(xs[i]);
+        }
+        test.evaluate(xs, out);
+        assertArrayEquals("Batch DOESN'T match single values across blocks", single, out, 0);
+
+        test.remove(3);
+        assertEquals("Integer value DOESN'T match", 3L * (1L << 40) - 16 + 5, test.evaluate(2L));
+        // 3 * 8^40 = 3 * 2^120 wraps around to 0
+        assertEquals("Integer value DIDN'T wrap around", -2 * 512 + 5, test.evaluate(8L));
+
+        try {
+            test.addTerm(new Term(1, -3));
+            test.evaluate(2L);
+            fail("Integer evaluation with a negative exponent DIDN'T throw");
+        } catch(ArithmeticException e) {
+            assertEquals("Polynomial changed", 4, test.getNumTerms());
+        }
+    }
+
+    @Test
+    public void testBatchEvaluateSameWithAndWithoutVectorSupport() {
+        Random random = new Random(113);
+        Polynomial test = new Polynomial();
+        double[] xs = new double[1003], vectorOut = new double[xs.length], scalarOut = new double[xs.length];
+
+        for(int i = -5; i < 300; i++) {
+            test.addTerm(new Term(random.nextInt(2001) - 1000, i));
+        }
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 2.2 - 1.1;
+        }
+
+        //gradle test puts the vector classes and module on the class path, without them this compares nothing
+        assertTrue("SIMD evaluator is NOT available", VectorSupport.isAvailable());
+        test.evaluate(xs, vectorOut);
+        try {
+            VectorSupport.setEnabled(false);
+            test.evaluate(xs, scalarOut);
+        } finally {
+            VectorSupport.setEnabled(true);
+        }
+        assertArrayEquals("Vector and scalar results DON'T match", scalarOut, vectorOut, 0);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * TermCacheTest.java : JUnit test for the immutable Term instances shared through Term.of and returned by
+ * Term.sumOf and Term.plus, and for Term.hashCode agreeing with equals across mutable and immutable terms.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TermCacheTest {
+
+    @Test
+    public void testOfReturnsCachedImmutableTerms() {
+        Term small = Term.of(5, 2), large = Term.of(1000, 2);
+
+        assertSame("Small terms are NOT shared from the cache", small, Term.of(5, 2));
+        assertEquals("Immutable and mutable terms with same values are NOT equal", new Term(5, 2), small);
+        assertEquals("Large immutable term values DON'T match", new Term(1000, 2), large);
+        assertTrue("Term.of DIDN'T return an immutable term", small.isImmutable() && large.isImmutable());
+        assertFalse("Constructor returned an immutable term", new Term(5, 2).isImmutable());
+
+        try {
+            small.setCoefficient(7);
+            fail("Immutable term was changed");
+        } catch(UnsupportedOperationException e) {
+            assertEquals("Immutable term was changed", 5, small.getCoefficient());
+        }
+    }
+
+    @Test
+    public void testSumOfSmallTermsDoesNotAllocate() {
+        Term sum = Term.sumOf(new Term(3, 4), new Term(-1, 4));
+
+        assertSame("Sum of small terms is NOT the cached term", Term.of(2, 4), sum);
+        assertNull("Cancelling terms did NOT return null", Term.sumOf(new Term(3, 4), new Term(-3, 4)));
+        assertNull("Terms with different exponents did NOT return null", new Term(3, 4).plus(new Term(3, 5)));
+    }
+
+    @Test
+    public void testHashCodeMatchesEquals() {
+        int[] coefficients = {0, 5, -3, 1, -1, 6, -9, 1000, -54};
+        int[] exponents = {3, 0, 0, 1, 1, -2, 13, 4, -17};
+
+        for(int i = 0; i < coefficients.length; i++) {
+            assertEquals("Equal terms have different hash codes", new Term(coefficients[i], exponents[i]).hashCode(),
+                    Term.of(coefficients[i], exponents[i]).hashCode());
+        }
+        assertNotEquals("Swapped values have the same hash code", new Term(3, 4).hashCode(),
+                new Term(4, 3).hashCode());
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * TreePolynomialTest.java : JUnit test for TreePolynomial and the exponent lookups of Polynomial.  Every operation
+ * is checked against the same operations on a Polynomial.
+ *
+ * @author  Carlos Sanchez
+ * @version 1.0
+ */
+
+package edu.miracosta.cs113;
+
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TreePolynomialTest {
+
+    @Test
+    public void testMatchesPolynomial() {
+        Random random = new Random(113);
+        Polynomial expected = new Polynomial();
+        for(int i = 0; i < 500; i++) {
+            expected.addTerm(random.nextInt(9) - 4, random.nextInt(400) - 100);
+        }
+        TreePolynomial test = new TreePolynomial(expected);
+        assertEquals("Copy DOESN'T match", expected.toString(), test.toString());
+
+        // dense and sparse exponent ranges, so both storage forms of Polynomial are compared
+        for(int range : new int[]{400, 1 << 30}) {
+            for(int i = 0; i < 20000; i++) {
+                int exponent = random.nextInt(range) - range / 4;
+                switch(random.nextInt(5)) {
+                    case 0:
+                    case 1:
+                        int coefficient = random.nextInt(9) - 4;
+                        expected.addTerm(coefficient, exponent);
+                        test.addTerm(coefficient, exponent);
+                        break;
+                    case 2:
+                        assertEquals("removeExponent DOESN'T match", expected.removeExponent(exponent),
+                                test.removeExponent(exponent));
+                        break;
+                    case 3:
+                        int index = random.nextInt(expected.getNumTerms() + 1);
+                        assertEquals("remove DOESN'T match", expected.remove(index), test.remove(index));
+                        break;
+                    default:
+                        assertEquals("coefficientOf DOESN'T match", expected.coefficientOf(exponent),
+                                test.coefficientOf(exponent));
+                        if(expected.getNumTerms() > 0) {
+                            index = random.nextInt(expected.getNumTerms());
+                            Term term = expected.getTerm(index);
+                            assertEquals("getTerm DOESN'T match", term, test.getTerm(index));
+                            assertEquals("coefficientOf a term DOESN'T match", term.getCoefficient(),
+                                    test.coefficientOf(term.getExponent()));
+                        }
+                }
+                assertEquals("Term count DOESN'T match", expected.getNumTerms(), test.getNumTerms());
+            }
+            assertEquals("Terms DON'T match", expected, test.toPolynomial());
+        }
+
+        assertEquals("Equal trees are NOT equal", new TreePolynomial(expected), test);
+        assertEquals("Equal trees have different hash codes", new TreePolynomial(expected).hashCode(),
+                test.hashCode());
+        assertNull("Missing exponent removal is NOT null", test.removeExponent(Integer.MIN_VALUE));
+        test.clear();
+        assertEquals("Cleared polynomial is NOT 0", "0", test.toString());
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * @author Carlos Sanchez
+ * @version 1.0
+ * @since 2/24/2018
+ * <p>
+ * VectorHornerEvaluator.java : Horner evaluation of a dense polynomial across SIMD lanes with the
+ * jdk.incubator.vector API, one x value per lane.  Several vectors of points are evaluated together and their
+ * running values stay in registers for the whole pass over the coefficients, where the scalar loop stores and
+ * reloads every point once per coefficient.  Compile and run with --add-modules jdk.incubator.vector, it is
+ * found by VectorSupport and never referenced directly.
+ */
+package edu.miracosta.cs113;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorHornerEvaluator implements VectorSupport.Evaluator
+{
+    private final static VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // Vectors evaluated together, enough independent multiply add chains to hide their latency
+    private final static int UNROLL = 8;
+
+    /**
+     * Default constructor, called by VectorSupport.
+     */
+    VectorHornerEvaluator()
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void horner(int[] coefficients, int from, int to, double[] xs, double[] out, int start, int end)
+    {
+        // local variables
+        DoubleVector x0, x1, x2, x3, x4, x5, x6, x7, sum0, sum1, sum2, sum3, sum4, sum5, sum6, sum7, coefficient;
+        int lanes, top, j;
+        double x, sum;
+
+        lanes = SPECIES.length();
+        top = to - 1;
+        j = start;
+
+        for (; j + UNROLL * lanes <= end; j += UNROLL * lanes)
+        {
+            x0 = DoubleVector.fromArray(SPECIES, xs, j);
+            x1 = DoubleVector.fromArray(SPECIES, xs, j + lanes);
+            x2 = DoubleVector.fromArray(SPECIES, xs, j + 2 * lanes);
+            x3 = DoubleVector.fromArray(SPECIES, xs, j + 3 * lanes);
+            x4 = DoubleVector.fromArray(SPECIES, xs, j + 4 * lanes);
+            x5 = DoubleVector.fromArray(SPECIES, xs, j + 5 * lanes);
+            x6 = DoubleVector.fromArray(SPECIES, xs, j + 6 * lanes);
+            x7 = DoubleVector.fromArray(SPECIES, xs, j + 7 * lanes);
+            sum0 = DoubleVector.broadcast(SPECIES, coefficients[top]);
+            sum1 = sum0;
+            sum2 = sum0;
+            sum3 = sum0;
+            sum4 = sum0;
+            sum5 = sum0;
+            sum6 = sum0;
+            sum7 = sum0;
+
+            for (int i = top - 1; i >= from; i--)
+            {
+                coefficient = DoubleVector.broadcast(SPECIES, coefficients[i]);
+                sum0 = sum0.mul(x0).add(coefficient);
+                sum1 = sum1.mul(x1).add(coefficient);
+                sum2 = sum2.mul(x2).add(coefficient);
+                sum3 = sum3.mul(x3).add(coefficient);
+                sum4 = sum4.mul(x4).add(coefficient);
+                sum5 = sum5.mul(x5).add(coefficient);
+                sum6 = sum6.mul(x6).add(coefficient);
+                sum7 = sum7.mul(x7).add(coefficient);
+            }
+
+            sum0.intoArray(out, j);
+            sum1.intoArray(out, j + lanes);
+            sum2.intoArray(out, j + 2 * lanes);
+            sum3.intoArray(out, j + 3 * lanes);
+            sum4.intoArray(out, j + 4 * lanes);
+            sum5.intoArray(out, j + 5 * lanes);
+            sum6.intoArray(out, j + 6 * lanes);
+            sum7.intoArray(out, j + 7 * lanes);
+        }
+
+        for (; j + lanes <= end; j += lanes)
+        {
+            x0 = DoubleVector.fromArray(SPECIES, xs, j);
+            sum0 = DoubleVector.broadcast(SPECIES, coefficients[top]);
+
+            for (int i = top - 1; i >= from; i--)
+            {
+                sum0 = sum0.mul(x0).add(coefficients[i]);
+            }
+            sum0.intoArray(out, j);
+        }
+
+        // points left over after the last full vector
+        for (; j < end; j++)
+        {
+            x = xs[j];
+            sum = coefficients[top];
+
+            for (int i = top - 1; i >= from; i--)
+            {
+                sum = sum * x + coefficients[i];
+            }
+            out[j] = sum;
+        }
+    }
+}